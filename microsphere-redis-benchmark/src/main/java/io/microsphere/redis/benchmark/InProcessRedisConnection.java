@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.benchmark;
+
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.lang.reflect.Method;
+
+import static io.microsphere.redis.benchmark.InProcessRedisConnectionFactory.VALUE;
+import static java.lang.Boolean.TRUE;
+import static java.lang.System.identityHashCode;
+import static java.lang.reflect.Modifier.isAbstract;
+
+/**
+ * The hand-written in-process {@link RedisConnection} as the baseline of the benchmarks, which implements the
+ * benchmarked commands and the methods required by {@link org.springframework.data.redis.core.RedisTemplate} as plain
+ * Java methods, so that the baseline is not measured through the reflective dispatch.
+ * <p>
+ * The other methods of {@link RedisConnection} are left abstract, the concrete class is generated once by
+ * {@link Enhancer}, whose implemented methods are not overridden, and its abstract methods throw
+ * {@link UnsupportedOperationException}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisConnection connection = InProcessRedisConnection.newInstance();
+ *   connection.set("key".getBytes(), "value".getBytes()); // true
+ *   connection.get("key".getBytes());                      // InProcessRedisConnectionFactory.VALUE
+ *   connection.keys("*".getBytes());                       // UnsupportedOperationException
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InProcessRedisConnectionFactory
+ * @since 1.0.0
+ */
+public abstract class InProcessRedisConnection implements RedisConnection {
+
+    /**
+     * The callback index of the abstract methods
+     */
+    static final int UNSUPPORTED_CALLBACK_INDEX = 0;
+
+    /**
+     * The callback index of the implemented methods, which are not overridden
+     */
+    static final int NO_OVERRIDE_CALLBACK_INDEX = 1;
+
+    private static final Factory factory = generate();
+
+    private volatile boolean closed;
+
+    @Override
+    public byte[] get(byte[] key) {
+        return VALUE;
+    }
+
+    @Override
+    public Boolean set(byte[] key, byte[] value) {
+        return TRUE;
+    }
+
+    @Override
+    public RedisStringCommands stringCommands() {
+        return this;
+    }
+
+    @Override
+    public boolean isPipelined() {
+        return false;
+    }
+
+    @Override
+    public boolean isQueueing() {
+        return false;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    @Override
+    public void close() throws DataAccessException {
+        this.closed = true;
+    }
+
+    @Override
+    public Object getNativeConnection() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "InProcessRedisConnection@" + identityHashCode(this);
+    }
+
+    /**
+     * Creates a new instance of the generated {@link InProcessRedisConnection} class.
+     *
+     * @return non-null
+     */
+    public static RedisConnection newInstance() {
+        return (RedisConnection) factory.newInstance(newCallbacks());
+    }
+
+    private static Factory generate() {
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(InProcessRedisConnection.class);
+        enhancer.setUseCache(false);
+        enhancer.setCallbackFilter(new InProcessCallbackFilter());
+        enhancer.setCallbacks(newCallbacks());
+        return (Factory) enhancer.create();
+    }
+
+    private static Callback[] newCallbacks() {
+        return new Callback[]{
+                (MethodInterceptor) (proxy, method, args, methodProxy) -> {
+                    throw new UnsupportedOperationException("The in-process RedisConnection does not support the method : " + method);
+                },
+                NoOp.INSTANCE
+        };
+    }
+
+    static class InProcessCallbackFilter implements CallbackFilter {
+
+        @Override
+        public int accept(Method method) {
+            return isAbstract(method.getModifiers()) ? UNSUPPORTED_CALLBACK_INDEX : NO_OVERRIDE_CALLBACK_INDEX;
+        }
+    }
+}
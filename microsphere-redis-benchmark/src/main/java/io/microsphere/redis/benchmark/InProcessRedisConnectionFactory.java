@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.benchmark;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The in-process stand-in {@link RedisConnectionFactory} for benchmarking, whose {@link InProcessRedisConnection}
+ * answers the benchmarked commands immediately with a canned value, so that the measurements only show the overhead
+ * of the interception layer instead of the network round-trip to a Redis server.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisConnectionFactory factory = new InProcessRedisConnectionFactory();
+ *   RedisConnection connection = factory.getConnection();
+ *   connection.set("key".getBytes(), "value".getBytes()); // true
+ *   connection.get("key".getBytes());                      // InProcessRedisConnectionFactory.VALUE
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InProcessRedisConnection
+ * @see RedisConnectionFactory
+ * @since 1.0.0
+ */
+public class InProcessRedisConnectionFactory implements RedisConnectionFactory {
+
+    /**
+     * The canned value returned by the commands whose result type is <code>byte[]</code>
+     */
+    public static final byte[] VALUE = "value".getBytes(UTF_8);
+
+    /**
+     * Returns a new in-process {@link RedisConnection} per call, like Lettuce and Jedis do.
+     *
+     * @return non-null
+     */
+    @Override
+    public RedisConnection getConnection() {
+        return newInProcessRedisConnection();
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        throw new UnsupportedOperationException("The in-process RedisConnectionFactory does not support the cluster");
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return false;
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        throw new UnsupportedOperationException("The in-process RedisConnectionFactory does not support the sentinel");
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return null;
+    }
+
+    static RedisConnection newInProcessRedisConnection() {
+        return InProcessRedisConnection.newInstance();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.benchmark;
+
+import io.microsphere.redis.spring.interceptor.RedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisMethodContext;
+import org.springframework.data.redis.connection.RedisCommands;
+
+/**
+ * The {@link RedisCommandInterceptor} doing nothing, which is used to measure the bare cost of the interceptor chain.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // register 8 interceptors with the distinct orders
+ *   for (int i = 0; i < 8; i++) {
+ *       context.registerBean("noOpRedisCommandInterceptor-" + i, NoOpRedisCommandInterceptor.class, i);
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandInterceptor
+ * @since 1.0.0
+ */
+public class NoOpRedisCommandInterceptor implements RedisCommandInterceptor {
+
+    private final int order;
+
+    public NoOpRedisCommandInterceptor(int order) {
+        this.order = order;
+    }
+
+    @Override
+    public void beforeExecute(RedisMethodContext<RedisCommands> context) {
+    }
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+    }
+
+    @Override
+    public int getOrder() {
+        return this.order;
+    }
+}
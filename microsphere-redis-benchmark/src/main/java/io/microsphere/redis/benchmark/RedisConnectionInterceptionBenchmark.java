@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.benchmark;
+
+import io.microsphere.redis.spring.beans.RedisTemplateWrapper;
+import io.microsphere.redis.spring.config.RedisConfiguration;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.EventPublishingRedisCommandInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor.newProxyRedisConnection;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * The JMH benchmark measuring the overhead of the Redis interception layer on a read command ({@code GET}) and
+ * a write command ({@code SET}) across three access paths :
+ * <ul>
+ *     <li>the raw {@link RedisConnection}, the hand-written {@link InProcessRedisConnection}, as the baseline</li>
+ *     <li>the proxy {@link RedisConnection} created by
+ *     {@link io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor#newProxyRedisConnection}</li>
+ *     <li>the {@link RedisTemplateWrapper}</li>
+ * </ul>
+ * with 0, 1 and N {@link NoOpRedisCommandInterceptor interceptors}, with and without
+ * {@link EventPublishingRedisCommandInterceptor}, with and without the recycled
+ * {@link io.microsphere.redis.spring.interceptor.RedisMethodContext}. The commands are served by {@link InProcessRedisConnectionFactory},
+ * so no Redis server is required and the numbers only reflect the client-side cost.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   mvn -pl microsphere-redis-benchmark -am package -DskipTests
+ *   // ns/op and B/op ("gc.alloc.rate.norm")
+ *   java -jar microsphere-redis-benchmark/target/benchmarks.jar RedisConnectionInterceptionBenchmark -prof gc
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InProcessRedisConnectionFactory
+ * @see NoOpRedisCommandInterceptor
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(1)
+public class RedisConnectionInterceptionBenchmark {
+
+    private static final String REDIS_CONNECTION_FACTORY_BEAN_NAME = "redisConnectionFactory";
+
+    private static final String REDIS_TEMPLATE_BEAN_NAME = "redisTemplate";
+
+    private static final byte[] KEY = "key".getBytes(UTF_8);
+
+    private static final byte[] VALUE = "value".getBytes(UTF_8);
+
+    /**
+     * The count of {@link NoOpRedisCommandInterceptor}
+     */
+    @Param({"0", "1", "8"})
+    public int interceptors;
+
+    /**
+     * Whether {@link EventPublishingRedisCommandInterceptor} is registered and exposes the command events
+     */
+    @Param({"false", "true"})
+    public boolean eventPublishing;
+
+    /**
+     * Whether the {@link io.microsphere.redis.spring.interceptor.RedisMethodContext} is recycled per thread
+     */
+    @Param({"false", "true"})
+    public boolean contextRecycled;
+
+    private AnnotationConfigApplicationContext context;
+
+    private RedisConnection rawConnection;
+
+    private RedisConnection proxyConnection;
+
+    private RedisTemplate<byte[], byte[]> redisTemplate;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME, eventPublishing);
+        properties.put(MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME, contextRecycled);
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+
+        context.registerBean(RedisConfiguration.BEAN_NAME, RedisConfiguration.class);
+        context.registerBean(RedisContext.BEAN_NAME, RedisContext.class);
+        context.registerBean(REDIS_CONNECTION_FACTORY_BEAN_NAME, InProcessRedisConnectionFactory.class);
+        for (int i = 0; i < interceptors; i++) {
+            context.registerBean("noOpRedisCommandInterceptor-" + i, NoOpRedisCommandInterceptor.class, i + 1);
+        }
+        if (eventPublishing) {
+            context.registerBean(EventPublishingRedisCommandInterceptor.BEAN_NAME, EventPublishingRedisCommandInterceptor.class);
+        }
+        context.refresh();
+
+        RedisContext redisContext = RedisContext.get(context);
+        RedisConnectionFactory redisConnectionFactory = context.getBean(RedisConnectionFactory.class);
+
+        this.context = context;
+        this.rawConnection = redisConnectionFactory.getConnection();
+        this.proxyConnection = newProxyRedisConnection(this.rawConnection, redisContext, redisConnectionFactory,
+                REDIS_CONNECTION_FACTORY_BEAN_NAME);
+        this.redisTemplate = newRedisTemplateWrapper(redisConnectionFactory, redisContext);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public byte[] rawGet() {
+        return this.rawConnection.get(KEY);
+    }
+
+    @Benchmark
+    public Boolean rawSet() {
+        return this.rawConnection.set(KEY, VALUE);
+    }
+
+    @Benchmark
+    public byte[] proxyGet() {
+        return this.proxyConnection.get(KEY);
+    }
+
+    @Benchmark
+    public Boolean proxySet() {
+        return this.proxyConnection.set(KEY, VALUE);
+    }
+
+    @Benchmark
+    public byte[] templateGet() {
+        return this.redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(KEY));
+    }
+
+    @Benchmark
+    public Boolean templateSet() {
+        return this.redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.set(KEY, VALUE));
+    }
+
+    static RedisTemplate<byte[], byte[]> newRedisTemplateWrapper(RedisConnectionFactory redisConnectionFactory,
+                                                                 RedisContext redisContext) {
+        RedisTemplate<byte[], byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redisConnectionFactory);
+        redisTemplate.setEnableDefaultSerializer(false);
+        redisTemplate.afterPropertiesSet();
+        RedisTemplateWrapper<byte[], byte[]> redisTemplateWrapper = new RedisTemplateWrapper<>(REDIS_TEMPLATE_BEAN_NAME,
+                redisTemplate, redisContext);
+        redisTemplateWrapper.afterPropertiesSet();
+        return redisTemplateWrapper;
+    }
+}
@@ -5,6 +5,7 @@ import io.microsphere.annotation.Nullable;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.function.Function;
 
 import static io.microsphere.constants.SymbolConstants.COMMA;
 import static io.microsphere.constants.SymbolConstants.LEFT_SQUARE_BRACKET;
@@ -38,6 +39,8 @@ public class Parameter {
 
     private @Nullable byte[] rawValue;
 
+    private @Nullable Function<? super Parameter, byte[]> rawValueResolver;
+
     /**
      * Creates a {@link Parameter} with the given value and metadata.
      *
@@ -45,8 +48,21 @@ public class Parameter {
      * @param metadata the {@link ParameterMetadata} describing this parameter
      */
     public Parameter(Object value, ParameterMetadata metadata) {
+        this(value, metadata, null);
+    }
+
+    /**
+     * Creates a {@link Parameter} with the given value and metadata, whose raw value is resolved on demand.
+     *
+     * @param value            the Java object value of this parameter
+     * @param metadata         the {@link ParameterMetadata} describing this parameter
+     * @param rawValueResolver the {@link Function} resolving the raw value at most once when
+     *                         {@link #getRawValue()} is invoked first, may be {@code null}
+     */
+    public Parameter(Object value, ParameterMetadata metadata, @Nullable Function<? super Parameter, byte[]> rawValueResolver) {
         this.value = value;
         this.metadata = metadata;
+        this.rawValueResolver = rawValueResolver;
     }
 
     /**
@@ -69,11 +85,21 @@ public class Parameter {
 
     /**
      * Returns the serialized raw byte array representation of this parameter value, if available.
+     * The raw value is resolved by the resolver on the first invocation if it was not set.
      *
      * @return the raw value bytes, or {@code null} if not yet serialized
      */
     @Nullable
     public byte[] getRawValue() {
+        byte[] rawValue = this.rawValue;
+        if (rawValue == null) {
+            Function<? super Parameter, byte[]> rawValueResolver = this.rawValueResolver;
+            if (rawValueResolver != null) {
+                rawValue = rawValueResolver.apply(this);
+                this.rawValue = rawValue;
+                this.rawValueResolver = null;
+            }
+        }
         return rawValue;
     }
 
@@ -84,6 +110,16 @@ public class Parameter {
      */
     public void setRawValue(@Nullable byte[] rawValue) {
         this.rawValue = rawValue;
+        this.rawValueResolver = null;
+    }
+
+    /**
+     * Is the raw value resolved or not
+     *
+     * @return {@code true} if the raw value was set or resolved, or there is no resolver
+     */
+    public boolean isRawValueResolved() {
+        return this.rawValueResolver == null;
     }
 
     /**
@@ -113,14 +149,14 @@ public class Parameter {
 
         if (!Objects.equals(value, parameter.value)) return false;
         if (!Objects.equals(metadata, parameter.metadata)) return false;
-        return Arrays.equals(rawValue, parameter.rawValue);
+        return Arrays.equals(getRawValue(), parameter.getRawValue());
     }
 
     @Override
     public int hashCode() {
         int result = value != null ? value.hashCode() : 0;
         result = 31 * result + (metadata != null ? metadata.hashCode() : 0);
-        result = 31 * result + Arrays.hashCode(rawValue);
+        result = 31 * result + Arrays.hashCode(getRawValue());
         return result;
     }
 
@@ -129,7 +165,8 @@ public class Parameter {
         return new StringJoiner(COMMA, Parameter.class.getSimpleName() + LEFT_SQUARE_BRACKET, RIGHT_SQUARE_BRACKET)
                 .add("value=" + value)
                 .add("metadata=" + metadata)
-                .add("rawValue=" + Arrays.toString(rawValue))
+                // The unresolved raw value is not resolved for the string representation
+                .add("rawValue=" + Arrays.toString(this.rawValue))
                 .toString();
     }
 }
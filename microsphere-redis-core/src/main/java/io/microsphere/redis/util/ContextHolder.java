@@ -0,0 +1,372 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.util;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.System.getProperty;
+import static java.lang.invoke.MethodHandles.publicLookup;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * The holder of a value bound to the current execution, e.g. the current Redis call context. On JDK 21+ (with the
+ * {@code ScopedValue} API available at runtime) the value is backed by a {@code ScopedValue}, otherwise by a
+ * {@link ThreadLocal}.
+ *
+ * <p>The scoped bindings established by {@link #call(Object, Callable)} and {@link #run(Object, Runnable)} are
+ * released automatically once the task completes, which is the preferred way on the virtual threads. The imperative
+ * {@link #get()}, {@link #set(Object)} and {@link #remove()} are backed by a plain {@link ThreadLocal} unless they are
+ * invoked inside such a task, in which case they access the innermost scoped binding, thus {@link #remove()} must
+ * still be invoked outside the tasks. The {@code ScopedValue} is only looked up while a scoped binding is active, so
+ * the imperative API costs no more than the {@link ThreadLocal}.
+ *
+ * <p>The {@code ScopedValue} implementation can be disabled by the system property
+ * {@value #SCOPED_VALUE_ENABLED_PROPERTY_NAME}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   private static final ContextHolder<String> holder = ContextHolder.newContextHolder();
+ *
+ *   // The value is visible during the task and is unbound after it completes
+ *   String result = holder.call("tenant-1", () -> "current : " + holder.get());
+ *
+ *   // The imperative binding
+ *   holder.set("tenant-2");
+ *   try {
+ *       ...
+ *   } finally {
+ *       holder.remove();
+ *   }
+ * }</pre>
+ *
+ * @param <T> the type of value
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ThreadLocal
+ * @since 1.0.0
+ */
+public abstract class ContextHolder<T> {
+
+    private static final Logger logger = getLogger(ContextHolder.class);
+
+    /**
+     * The name of the system property to enable or disable the {@code ScopedValue} implementation, default is
+     * {@code true}
+     */
+    public static final String SCOPED_VALUE_ENABLED_PROPERTY_NAME = "microsphere.redis.scoped-value.enabled";
+
+    static final String SCOPED_VALUE_CLASS_NAME = "java.lang.ScopedValue";
+
+    static final String SCOPED_VALUE_CARRIER_CLASS_NAME = "java.lang.ScopedValue$Carrier";
+
+    private static final MethodHandle newScopedValueMethodHandle;
+
+    private static final MethodHandle whereMethodHandle;
+
+    private static final MethodHandle runMethodHandle;
+
+    private static final MethodHandle isBoundMethodHandle;
+
+    private static final MethodHandle getMethodHandle;
+
+    private static final boolean scopedValueSupported;
+
+    private static final MethodHandle isVirtualMethodHandle;
+
+    static {
+        MethodHandle newScopedValue = null;
+        MethodHandle where = null;
+        MethodHandle run = null;
+        MethodHandle isBound = null;
+        MethodHandle get = null;
+        boolean supported = false;
+        if (parseBoolean(getProperty(SCOPED_VALUE_ENABLED_PROPERTY_NAME, "true"))) {
+            try {
+                ClassLoader classLoader = ContextHolder.class.getClassLoader();
+                Class<?> scopedValueClass = Class.forName(SCOPED_VALUE_CLASS_NAME, false, classLoader);
+                Class<?> carrierClass = Class.forName(SCOPED_VALUE_CARRIER_CLASS_NAME, false, classLoader);
+                newScopedValue = publicLookup().findStatic(scopedValueClass, "newInstance", methodType(scopedValueClass))
+                        .asType(methodType(Object.class));
+                where = publicLookup().findStatic(scopedValueClass, "where", methodType(carrierClass, scopedValueClass, Object.class))
+                        .asType(methodType(Object.class, Object.class, Object.class));
+                run = publicLookup().findVirtual(carrierClass, "run", methodType(void.class, Runnable.class))
+                        .asType(methodType(void.class, Object.class, Runnable.class));
+                isBound = publicLookup().findVirtual(scopedValueClass, "isBound", methodType(boolean.class))
+                        .asType(methodType(boolean.class, Object.class));
+                get = publicLookup().findVirtual(scopedValueClass, "get", methodType(Object.class))
+                        .asType(methodType(Object.class, Object.class));
+                // Probe the binding, the preview API may be disabled on JDK 21 - 24
+                Object scopedValue = newScopedValue.invokeExact();
+                Object carrier = where.invokeExact(scopedValue, (Object) Boolean.TRUE);
+                run.invokeExact(carrier, (Runnable) () -> {
+                });
+                supported = true;
+            } catch (Throwable e) {
+                logger.trace("The ScopedValue API is not supported, the ThreadLocal will be used", e);
+            }
+        }
+        newScopedValueMethodHandle = newScopedValue;
+        whereMethodHandle = where;
+        runMethodHandle = run;
+        isBoundMethodHandle = isBound;
+        getMethodHandle = get;
+        scopedValueSupported = supported;
+
+        MethodHandle isVirtual = null;
+        try {
+            isVirtual = publicLookup().findVirtual(Thread.class, "isVirtual", methodType(boolean.class));
+        } catch (Throwable e) {
+            logger.trace("The virtual thread is not supported", e);
+        }
+        isVirtualMethodHandle = isVirtual;
+    }
+
+    /**
+     * Returns the value bound to the current execution.
+     *
+     * @return {@code null} if no value is bound
+     */
+    @Nullable
+    public abstract T get();
+
+    /**
+     * Binds the value to the innermost scope of the current execution, or to the current thread if unbound.
+     *
+     * @param value the value to bind, {@code null} is allowed
+     */
+    public abstract void set(@Nullable T value);
+
+    /**
+     * Removes the value bound by {@link #set(Object)}.
+     */
+    public abstract void remove();
+
+    /**
+     * Binds the value during the execution of the given {@link Callable}, the previous binding is restored after it
+     * completes.
+     *
+     * @param value    the value to bind, {@code null} is allowed
+     * @param callable the task to execute
+     * @param <V>      the type of result
+     * @return the result of {@link Callable#call()}
+     * @throws Exception the exception thrown by {@link Callable#call()}
+     */
+    public abstract <V> V call(@Nullable T value, Callable<V> callable) throws Exception;
+
+    /**
+     * Binds the value during the execution of the given {@link Runnable}, the previous binding is restored after it
+     * completes.
+     *
+     * @param value    the value to bind, {@code null} is allowed
+     * @param runnable the task to execute
+     */
+    public abstract void run(@Nullable T value, Runnable runnable);
+
+    /**
+     * Creates a new {@link ContextHolder}, backed by the {@code ScopedValue} if {@link #isScopedValueSupported()
+     * supported}, otherwise by the {@link ThreadLocal}.
+     *
+     * @param <T> the type of value
+     * @return non-null
+     */
+    public static <T> ContextHolder<T> newContextHolder() {
+        return scopedValueSupported ? new ScopedValueContextHolder<>() : newThreadLocalContextHolder();
+    }
+
+    static <T> ContextHolder<T> newThreadLocalContextHolder() {
+        return new ThreadLocalContextHolder<>();
+    }
+
+    /**
+     * Whether the {@code ScopedValue} API is supported and enabled in the current runtime.
+     *
+     * @return {@code true} on JDK 21+ unless disabled by {@value #SCOPED_VALUE_ENABLED_PROPERTY_NAME}
+     */
+    public static boolean isScopedValueSupported() {
+        return scopedValueSupported;
+    }
+
+    /**
+     * Whether the current thread is a virtual thread.
+     *
+     * @return {@code false} before JDK 21
+     */
+    public static boolean isVirtualThread() {
+        MethodHandle isVirtual = isVirtualMethodHandle;
+        if (isVirtual == null) {
+            return false;
+        }
+        try {
+            return (boolean) isVirtual.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    static class ThreadLocalContextHolder<T> extends ContextHolder<T> {
+
+        private final ThreadLocal<T> threadLocal = new ThreadLocal<>();
+
+        @Override
+        public T get() {
+            return this.threadLocal.get();
+        }
+
+        @Override
+        public void set(T value) {
+            if (value == null) {
+                this.threadLocal.remove();
+            } else {
+                this.threadLocal.set(value);
+            }
+        }
+
+        @Override
+        public void remove() {
+            this.threadLocal.remove();
+        }
+
+        @Override
+        public <V> V call(T value, Callable<V> callable) throws Exception {
+            T previousValue = get();
+            set(value);
+            try {
+                return callable.call();
+            } finally {
+                set(previousValue);
+            }
+        }
+
+        @Override
+        public void run(T value, Runnable runnable) {
+            T previousValue = get();
+            set(value);
+            try {
+                runnable.run();
+            } finally {
+                set(previousValue);
+            }
+        }
+    }
+
+    /**
+     * The {@code ScopedValue} binds a mutable cell, so that {@link #set(Object)} is able to update the innermost
+     * binding. The imperative API falls back to the {@link ThreadLocal} directly if no binding is active in any thread.
+     */
+    static class ScopedValueContextHolder<T> extends ContextHolder<T> {
+
+        private final Object scopedValue;
+
+        private final ThreadLocalContextHolder<T> fallback = new ThreadLocalContextHolder<>();
+
+        /**
+         * The count of the active scoped bindings in all threads
+         */
+        private final AtomicInteger bindings = new AtomicInteger();
+
+        ScopedValueContextHolder() {
+            try {
+                this.scopedValue = newScopedValueMethodHandle.invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("The ScopedValue can't be created", e);
+            }
+        }
+
+        @Override
+        public T get() {
+            Object[] cell = cell();
+            return cell == null ? this.fallback.get() : (T) cell[0];
+        }
+
+        @Override
+        public void set(T value) {
+            Object[] cell = cell();
+            if (cell == null) {
+                this.fallback.set(value);
+            } else {
+                cell[0] = value;
+            }
+        }
+
+        @Override
+        public void remove() {
+            set(null);
+        }
+
+        @Override
+        public <V> V call(T value, Callable<V> callable) throws Exception {
+            Object[] result = new Object[1];
+            Exception[] failure = new Exception[1];
+            run(value, () -> {
+                try {
+                    result[0] = callable.call();
+                } catch (Exception e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            return (V) result[0];
+        }
+
+        @Override
+        public void run(T value, Runnable runnable) {
+            Object carrier;
+            try {
+                carrier = whereMethodHandle.invokeExact(this.scopedValue, (Object) new Object[]{value});
+            } catch (Throwable e) {
+                throw new IllegalStateException("The ScopedValue can't be bound", e);
+            }
+            this.bindings.incrementAndGet();
+            try {
+                runMethodHandle.invokeExact(carrier, runnable);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            } finally {
+                this.bindings.decrementAndGet();
+            }
+        }
+
+        boolean hasBindings() {
+            return this.bindings.get() > 0;
+        }
+
+        private Object[] cell() {
+            if (!hasBindings()) {
+                return null;
+            }
+            try {
+                if ((boolean) isBoundMethodHandle.invokeExact(this.scopedValue)) {
+                    Object cell = getMethodHandle.invokeExact(this.scopedValue);
+                    return (Object[]) cell;
+                }
+                return null;
+            } catch (Throwable e) {
+                throw new IllegalStateException("The ScopedValue can't be accessed", e);
+            }
+        }
+    }
+}
@@ -20,12 +20,13 @@ import io.microsphere.logging.Logger;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
-import static java.lang.ThreadLocal.withInitial;
+import static io.microsphere.redis.util.ContextHolder.newContextHolder;
 
 /**
- * Thread-local holder that maintains a bidirectional cache between Java objects and their
+ * Execution-scoped holder that maintains a bidirectional cache between Java objects and their
  * raw byte-array ({@link RawValue}) representations.  During a Redis serialization cycle
  * (e.g. inside a {@link org.springframework.data.redis.serializer.RedisSerializer}), the
  * original value and its serialized bytes are stored so the interceptor layer can later
@@ -46,16 +47,26 @@ import static java.lang.ThreadLocal.withInitial;
  *
  *   // Clean up the thread-local state after each request / command execution
  *   ValueHolder.clear();
+ *
+ *   // Or bind a new ValueHolder during the task, which is released automatically
+ *   ValueHolder.run(() -> redisTemplate.opsForValue().set("key", value));
  * }</pre>
  *
+ * <p>The current {@link ValueHolder} is kept by the {@link ContextHolder}, it's released automatically if it's bound
+ * by {@link #call(Callable)} or {@link #run(Runnable)}, otherwise it's bound to the current thread until
+ * {@link #clear()}.
+ *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ContextHolder
  * @since 1.0.0
  */
 public class ValueHolder {
 
     private static final Logger logger = getLogger(ValueHolder.class);
 
-    private static final ThreadLocal<ValueHolder> holder = withInitial(() -> new ValueHolder(4));
+    private static final int DEFAULT_INITIAL_CAPACITY = 4;
+
+    private static final ContextHolder<ValueHolder> holder = newContextHolder();
 
     private final Map<Object, Object> cache;
 
@@ -111,21 +122,47 @@ public class ValueHolder {
     }
 
     /**
-     * Returns the {@link ValueHolder} bound to the current thread, creating a new instance
+     * Returns the {@link ValueHolder} bound to the current execution, creating a new instance
      * (with initial capacity 4) if one does not yet exist.
      *
-     * @return the current thread's {@link ValueHolder}; never {@code null}
+     * @return the current {@link ValueHolder}; never {@code null}
      */
     public static ValueHolder get() {
-        return holder.get();
+        ValueHolder valueHolder = holder.get();
+        if (valueHolder == null) {
+            valueHolder = new ValueHolder(DEFAULT_INITIAL_CAPACITY);
+            holder.set(valueHolder);
+        }
+        return valueHolder;
     }
 
     /**
-     * Removes the {@link ValueHolder} from the current thread, releasing all cached mappings
+     * Removes the {@link ValueHolder} from the current execution, releasing all cached mappings
      * and avoiding memory leaks in thread-pool environments.
      */
     public static void clear() {
         holder.remove();
     }
 
+    /**
+     * Executes the given {@link Callable} with a new {@link ValueHolder}, which is released after it completes.
+     *
+     * @param callable the task to execute
+     * @param <V>      the type of result
+     * @return the result of {@link Callable#call()}
+     * @throws Exception the exception thrown by {@link Callable#call()}
+     */
+    public static <V> V call(Callable<V> callable) throws Exception {
+        return holder.call(new ValueHolder(DEFAULT_INITIAL_CAPACITY), callable);
+    }
+
+    /**
+     * Executes the given {@link Runnable} with a new {@link ValueHolder}, which is released after it completes.
+     *
+     * @param runnable the task to execute
+     */
+    public static void run(Runnable runnable) {
+        holder.run(new ValueHolder(DEFAULT_INITIAL_CAPACITY), runnable);
+    }
+
 }
@@ -20,6 +20,8 @@ package io.microsphere.redis.metadata;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -77,6 +79,30 @@ class ParameterTest {
         assertNotEquals(this.parameter.hashCode(), new Parameter(null, null).hashCode());
     }
 
+    @Test
+    void testRawValueResolver() {
+        AtomicInteger counter = new AtomicInteger();
+        Parameter parameter = new Parameter(testValue, new ParameterMetadata(0, "java.lang.String", "name"), p -> {
+            counter.incrementAndGet();
+            return ((String) p.getValue()).getBytes(UTF_8);
+        });
+        assertFalse(parameter.isRawValueResolved());
+        assertEquals(0, counter.get());
+
+        assertArrayEquals(testValue.getBytes(UTF_8), parameter.getRawValue());
+        assertTrue(parameter.isRawValueResolved());
+        assertArrayEquals(testValue.getBytes(UTF_8), parameter.getRawValue());
+        assertEquals(1, counter.get());
+        assertEquals(this.parameter, parameter);
+
+        parameter = new Parameter(testValue, new ParameterMetadata(0, "java.lang.String", "name"), p -> {
+            throw new AssertionError("The raw value must not be resolved");
+        });
+        parameter.setRawValue(testValue.getBytes(UTF_8));
+        assertTrue(parameter.isRawValueResolved());
+        assertArrayEquals(testValue.getBytes(UTF_8), parameter.getRawValue());
+    }
+
     @Test
     void testToString() {
         assertEquals(this.parameter.toString(), createParameter().toString());
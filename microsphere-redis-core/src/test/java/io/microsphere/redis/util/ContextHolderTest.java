@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+
+import static io.microsphere.redis.util.ContextHolder.isScopedValueSupported;
+import static io.microsphere.redis.util.ContextHolder.isVirtualThread;
+import static io.microsphere.redis.util.ContextHolder.newContextHolder;
+import static io.microsphere.redis.util.ContextHolder.newThreadLocalContextHolder;
+import static java.lang.Runtime.version;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ContextHolder} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ContextHolder
+ * @since 1.0.0
+ */
+class ContextHolderTest {
+
+    @Test
+    void testNewContextHolder() throws Exception {
+        assertContextHolder(newContextHolder());
+    }
+
+    @Test
+    void testNewThreadLocalContextHolder() throws Exception {
+        assertContextHolder(newThreadLocalContextHolder());
+    }
+
+    @Test
+    void testIsScopedValueSupported() {
+        if (version().feature() < 21) {
+            assertFalse(isScopedValueSupported());
+        }
+        assertSame(isScopedValueSupported(), newContextHolder() instanceof ContextHolder.ScopedValueContextHolder);
+    }
+
+    @Test
+    void testScopedValueContextHolderBindings() throws Exception {
+        if (!isScopedValueSupported()) {
+            return;
+        }
+        ContextHolder.ScopedValueContextHolder<String> holder = new ContextHolder.ScopedValueContextHolder<>();
+        // The imperative API uses the ThreadLocal without any scoped binding
+        holder.set("a");
+        assertFalse(holder.hasBindings());
+        assertEquals("a", holder.get());
+
+        holder.run("b", () -> assertTrue(holder.hasBindings()));
+        assertFalse(holder.hasBindings());
+
+        assertThrows(Exception.class, () -> holder.call("b", () -> {
+            throw new Exception("For testing");
+        }));
+        assertFalse(holder.hasBindings());
+        assertEquals("a", holder.get());
+
+        holder.remove();
+        assertNull(holder.get());
+    }
+
+    @Test
+    void testIsVirtualThread() {
+        assertFalse(isVirtualThread());
+    }
+
+    void assertContextHolder(ContextHolder<String> holder) throws Exception {
+        assertNull(holder.get());
+
+        holder.set("a");
+        assertEquals("a", holder.get());
+
+        // The binding is restored after the task
+        assertEquals("b", holder.call("b", holder::get));
+        assertEquals("a", holder.get());
+
+        holder.run(null, () -> assertNull(holder.get()));
+        assertEquals("a", holder.get());
+
+        // The imperative binding inside the task doesn't leak
+        holder.run("b", () -> {
+            holder.set("c");
+            assertEquals("c", holder.get());
+        });
+        assertEquals("a", holder.get());
+
+        // The nested bindings
+        assertEquals("c", holder.call("b", () -> holder.call("c", holder::get)));
+        assertEquals("a", holder.get());
+
+        Callable<String> failure = () -> {
+            throw new Exception("For testing");
+        };
+        assertThrows(Exception.class, () -> holder.call("b", failure));
+        assertThrows(IllegalStateException.class, () -> holder.run("b", () -> {
+            throw new IllegalStateException("For testing");
+        }));
+        assertEquals("a", holder.get());
+
+        holder.remove();
+        assertNull(holder.get());
+    }
+}
@@ -113,4 +113,15 @@ class ValueHolderTest {
         // but we can verify the holder was created successfully
         assertNotNull(holder);
     }
+
+    @Test
+    void testCallAndRun() throws Exception {
+        ValueHolder holder = get();
+        ValueHolder scopedHolder = ValueHolder.call(ValueHolder::get);
+        assertNotSame(holder, scopedHolder);
+        assertSame(holder, get());
+
+        ValueHolder.run(() -> assertNotSame(holder, get()));
+        assertSame(holder, get());
+    }
 }
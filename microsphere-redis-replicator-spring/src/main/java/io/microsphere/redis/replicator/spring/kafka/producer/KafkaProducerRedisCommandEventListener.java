@@ -3,40 +3,59 @@ package io.microsphere.redis.replicator.spring.kafka.producer;
 import io.microsphere.annotation.Nullable;
 import io.microsphere.logging.Logger;
 import io.microsphere.redis.replicator.spring.config.RedisReplicatorConfiguration;
+import io.microsphere.redis.spring.event.RedisCommandBatchEvent;
 import io.microsphere.redis.spring.event.RedisCommandEvent;
+import io.microsphere.redis.spring.event.RedisCommandEventListener;
+import io.microsphere.redis.spring.interceptor.RedisCommandEventBus;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
-import org.springframework.context.ApplicationListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.redis.spring.serializer.Serializers.serialize;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isRedisCommandsExecuteMethod;
 import static io.microsphere.spring.beans.BeanUtils.getOptionalBean;
-import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
- * {@link ApplicationListener} listens to {@link RedisCommandEvent} implementation -
- * Transfers {@link RedisCommandEvent} objects using Kafka messages
+ * {@link RedisCommandEventListener} implementation - Transfers the batches of {@link RedisCommandEvent} objects
+ * delivered by {@link RedisCommandEventBus} using Kafka messages. The Kafka messages are built in the consumer thread
+ * of the bus, and are handed off to the bounded send queue of each domain, whose own thread invokes
+ * {@link KafkaTemplate#send}, which may block until the Kafka metadata is available or the record accumulator has
+ * space, so the slow broker of one domain neither stalls the bus nor the other domains. The events, including the ones
+ * of {@link RedisCommandBatchEvent}, are transferred in the order of publishing per domain, and the ones overflowing
+ * the send queue ({@link KafkaProducerRedisReplicatorConfiguration#KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_NAME})
+ * are dropped with a warning.
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @since 1.0.0
  */
-public class KafkaProducerRedisCommandEventListener implements ApplicationListener<RedisCommandEvent>,
+public class KafkaProducerRedisCommandEventListener implements RedisCommandEventListener,
         SmartInitializingSingleton, ApplicationContextAware, DisposableBean {
 
     private static final Logger logger = getLogger(KafkaProducerRedisCommandEventListener.class);
 
+    static final String SENDER_THREAD_NAME_PREFIX = "microsphere-redis-replicator-kafka-sender-";
+
+    /**
+     * The timeout in milliseconds to wait for the pending Kafka messages to be sent on {@link #destroy()}
+     */
+    static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000L;
+
     private KafkaTemplate<byte[], byte[]> redisReplicatorKafkaTemplate;
 
     private ApplicationContext context;
@@ -48,11 +67,22 @@ public class KafkaProducerRedisCommandEventListener implements ApplicationListen
     @Nullable
     private RedisComandEventPartitioner redisComandEventPartitioner;
 
-    private ExecutorService executor;
+    /**
+     * The single-thread executors with the bounded send queues of the domains
+     */
+    private Map<String, ExecutorService> senders;
 
     @Override
-    public void onApplicationEvent(RedisCommandEvent event) {
-        onRedisCommandEvent(event);
+    public void onEvents(List<RedisCommandEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            RedisCommandEvent event = events.get(i);
+            try {
+                onRedisCommandEvent(event);
+            } catch (Throwable e) {
+                // The failure of one event, e.g. the serialization, must not drop the rest of the batch
+                logger.error("[Redis-Replicator-Kafka-P-E] The RedisCommandEvent can't be transferred : {}", event, e);
+            }
+        }
     }
 
     private void initRedisReplicatorConfiguration(ApplicationContext context) {
@@ -71,31 +101,50 @@ public class KafkaProducerRedisCommandEventListener implements ApplicationListen
         this.redisComandEventPartitioner = getOptionalBean(context, RedisComandEventPartitioner.class);
     }
 
-    private void initExecutor() {
+    private void initSenders(KafkaProducerRedisReplicatorConfiguration kafkaProducerRedisReplicatorConfiguration) {
         List<String> domains = this.redisReplicatorConfiguration.getDomains();
-        int size = domains.size();
-        this.executor = newFixedThreadPool(size, new CustomizableThreadFactory(domains.toString()));
+        int sendQueueCapacity = kafkaProducerRedisReplicatorConfiguration.getSendQueueCapacity();
+        Map<String, ExecutorService> senders = new HashMap<>(domains.size());
+        for (String domain : domains) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(SENDER_THREAD_NAME_PREFIX + domain + "-");
+            threadFactory.setDaemon(true);
+            ExecutorService sender = new ThreadPoolExecutor(1, 1, 0L, MILLISECONDS, new ArrayBlockingQueue<>(sendQueueCapacity),
+                    threadFactory, (task, executor) -> onRejected(domain));
+            senders.put(domain, sender);
+        }
+        this.senders = senders;
     }
 
     private void onRedisCommandEvent(RedisCommandEvent event) {
         String beanName = event.getSourceBeanName();
         List<String> domains = this.redisReplicatorConfiguration.getDomains(beanName);
-        for (String domain : domains) {
-            executor.execute(() -> sendRedisReplicatorKafkaMessage(domain, event));
+        if (domains.isEmpty()) {
+            return;
         }
-    }
-
-    private void sendRedisReplicatorKafkaMessage(String domain, RedisCommandEvent event) {
-        String topic = this.kafkaProducerRedisReplicatorConfiguration.createTopic(domain);
+        // The Kafka message is built once for all domains
         byte[] key = generateKafkaKey(event);
         byte[] value = serialize(event);
         Integer partition = calcPartition(event);
         // Use a timestamp of the event
         long timestamp = event.getTimestamp();
+        for (String domain : domains) {
+            // KafkaTemplate#send may block, so it's executed by the sender of the domain rather than the consumer thread
+            this.senders.get(domain).execute(() -> sendRedisReplicatorKafkaMessage(domain, partition, timestamp, key, value));
+        }
+    }
 
-        CompletableFuture<SendResult<byte[], byte[]>> future = this.redisReplicatorKafkaTemplate.send(topic, partition, timestamp, key, value);
+    private void sendRedisReplicatorKafkaMessage(String domain, Integer partition, long timestamp, byte[] key, byte[] value) {
+        String topic = this.kafkaProducerRedisReplicatorConfiguration.createTopic(domain);
+        try {
+            CompletableFuture<SendResult<byte[], byte[]>> future = this.redisReplicatorKafkaTemplate.send(topic, partition, timestamp, key, value);
+            future.whenComplete(this::onComplete);
+        } catch (Throwable e) {
+            onComplete(null, e);
+        }
+    }
 
-        future.whenComplete(this::onComplete);
+    void onRejected(String domain) {
+        logger.warn("[Redis-Replicator-Kafka-P-D] The Kafka message of domain '{}' is dropped, because the send queue is full or closed", domain);
     }
 
     void onComplete(SendResult<byte[], byte[]> result, Throwable failure) {
@@ -140,11 +189,30 @@ public class KafkaProducerRedisCommandEventListener implements ApplicationListen
         initRedisReplicatorKafkaProducerConfiguration(this.context);
         initRedisReplicatorKafkaTemplate(this.kafkaProducerRedisReplicatorConfiguration);
         initRedisComandEventPartitioner(this.context);
-        initExecutor();
+        initSenders(this.kafkaProducerRedisReplicatorConfiguration);
     }
 
     @Override
     public void destroy() throws Exception {
-        executor.shutdown();
+        Map<String, ExecutorService> senders = this.senders;
+        if (senders == null) {
+            return;
+        }
+        for (ExecutorService sender : senders.values()) {
+            sender.shutdown();
+        }
+        // Send the pending Kafka messages before the KafkaTemplate is destroyed
+        for (ExecutorService sender : senders.values()) {
+            if (!sender.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, MILLISECONDS)) {
+                logger.warn("[Redis-Replicator-Kafka-P-D] The pending Kafka messages are dropped, because the sender is not terminated in {} ms",
+                        SHUTDOWN_TIMEOUT_MILLIS);
+                sender.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
     }
 }
@@ -19,6 +19,7 @@ import java.util.Map;
 import static io.microsphere.annotation.ConfigurationProperty.APPLICATION_SOURCE;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.spring.core.env.PropertySourcesUtils.getSubProperties;
+import static java.lang.Integer.parseInt;
 import static org.apache.kafka.clients.CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG;
 
 /**
@@ -47,11 +48,30 @@ public class KafkaProducerRedisReplicatorConfiguration extends KafkaRedisReplica
     )
     public static final String KAFKA_PRODUCER_KEY_PREFIX_PROPERTY_NAME = KAFKA_PROPERTY_NAME_PREFIX + "key-prefix";
 
+    public static final String DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_VALUE = "8192";
+
+    /**
+     * The Spring property name for the capacity of the queue of the Kafka messages pending to be sent per domain.
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    public static final String KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_NAME = KAFKA_PROPERTY_NAME_PREFIX + "send-queue-capacity";
+
+    public static final int DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY = parseInt(DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_VALUE);
+
     /**
      * Key Prefix
      */
     private String keyPrefix;
 
+    /**
+     * The capacity of the send queue per domain
+     */
+    private int sendQueueCapacity;
+
     private Map<String, Object> producerConfigs;
 
     private KafkaTemplate<byte[], byte[]> redisReplicatorKafkaTemplate;
@@ -62,6 +82,7 @@ public class KafkaProducerRedisReplicatorConfiguration extends KafkaRedisReplica
     public void afterPropertiesSet() throws Exception {
         super.afterPropertiesSet();
         initKeyPrefix();
+        initSendQueueCapacity();
         initProducerConfigs();
         initRedisReplicatorKafkaTemplate();
     }
@@ -89,11 +110,20 @@ public class KafkaProducerRedisReplicatorConfiguration extends KafkaRedisReplica
         return this.keyPrefix;
     }
 
+    protected int getSendQueueCapacity() {
+        return this.sendQueueCapacity;
+    }
+
     private void initKeyPrefix() {
         this.keyPrefix = this.environment.getProperty(KAFKA_PRODUCER_KEY_PREFIX_PROPERTY_NAME, DEFAULT_KAFKA_PRODUCER_KEY_PREFIX);
         logger.trace("The Kafka key prefix : '{}'", this.keyPrefix);
     }
 
+    private void initSendQueueCapacity() {
+        this.sendQueueCapacity = this.environment.getProperty(KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_NAME, int.class, DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY);
+        logger.trace("The capacity of the Kafka send queue per domain : {}", this.sendQueueCapacity);
+    }
+
     private void initProducerConfigs() {
         Map<String, Object> producerConfigs = new HashMap<>();
         producerConfigs.put(BOOTSTRAP_SERVERS_CONFIG, this.brokerList);
@@ -17,10 +17,40 @@
 
 package io.microsphere.redis.replicator.spring.kafka.producer;
 
+import io.microsphere.redis.replicator.spring.config.FullRedisReplicationConfig;
+import io.microsphere.redis.replicator.spring.config.RedisReplicatorConfiguration;
+import io.microsphere.redis.spring.event.RedisCommandEvent;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.replicator.spring.kafka.KafkaRedisReplicatorConfiguration.DEFAULT_KAFKA_TOPIC_PREFIX_PROPERTY_VALUE;
+import static io.microsphere.redis.replicator.spring.kafka.producer.KafkaProducerRedisCommandEventListener.SENDER_THREAD_NAME_PREFIX;
+import static io.microsphere.redis.spring.event.RedisCommandEvent.Builder.source;
+import static io.microsphere.redis.spring.serializer.Serializers.serialize;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.spring.test.util.SpringTestUtils.testInSpringContainer;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.core.Ordered.LOWEST_PRECEDENCE;
+
 /**
  * {@link KafkaProducerRedisCommandEventListener} Test
  *
@@ -30,6 +60,8 @@ import org.springframework.kafka.support.SendResult;
  */
 class KafkaProducerRedisCommandEventListenerTest {
 
+    private static final Method SET_METHOD = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
     private KafkaProducerRedisCommandEventListener listener;
 
     @BeforeEach
@@ -43,4 +75,108 @@ class KafkaProducerRedisCommandEventListenerTest {
         this.listener.onComplete(result, null);
         this.listener.onComplete(result, new RuntimeException("For testing"));
     }
+
+    @Test
+    void testOnRejected() {
+        this.listener.onRejected("default");
+    }
+
+    @Test
+    void testDestroyOnNotInitialized() throws Exception {
+        this.listener.destroy();
+    }
+
+    @Test
+    void testOnEvents() {
+        testInSpringContainer(context -> {
+            KafkaProducerRedisCommandEventListener listener = context.getBean(KafkaProducerRedisCommandEventListener.class);
+            RecordingKafkaTemplate kafkaTemplate = context.getBean(RecordingKafkaProducerRedisReplicatorConfiguration.class).kafkaTemplate;
+
+            listener.onEvents(emptyList());
+
+            RedisCommandEvent defaultEvent = newRedisCommandEvent("defaultRedisTemplate", "k1");
+            // The event whose key is not byte[] fails without dropping the rest of the batch
+            RedisCommandEvent invalidEvent = source(this).sourceBeanName("defaultRedisTemplate").method(SET_METHOD).args("k", "v").build();
+            RedisCommandEvent testEvent = newRedisCommandEvent("testRedisTemplate", "k2");
+            RedisCommandEvent defaultEvent2 = newRedisCommandEvent("defaultRedisTemplate", "k3");
+            listener.onEvents(ofList(defaultEvent, invalidEvent, testEvent, defaultEvent2));
+
+            // Wait for the pending messages to be sent
+            listener.destroy();
+
+            // One message per domain of the source bean, in the order of the events per domain
+            assertEquals(8, kafkaTemplate.records.size());
+            assertRecords(kafkaTemplate, "default", defaultEvent, defaultEvent2);
+            assertRecords(kafkaTemplate, "fixed", defaultEvent, testEvent, defaultEvent2);
+            assertRecords(kafkaTemplate, "duplicated", defaultEvent, defaultEvent2);
+            assertRecords(kafkaTemplate, "test", testEvent);
+            // The messages are sent by the sender threads of the domains
+            assertTrue(kafkaTemplate.threadNames.stream().allMatch(name -> name.startsWith(SENDER_THREAD_NAME_PREFIX)));
+        }, RecordingKafkaProducerRedisReplicatorConfiguration.class, KafkaProducerRedisCommandEventListener.class,
+                RedisReplicatorConfiguration.class, FullRedisReplicationConfig.class);
+    }
+
+    @Test
+    void testGetOrder() {
+        assertEquals(LOWEST_PRECEDENCE, this.listener.getOrder());
+    }
+
+    private void assertRecords(RecordingKafkaTemplate kafkaTemplate, String domain, RedisCommandEvent... events) {
+        String topic = DEFAULT_KAFKA_TOPIC_PREFIX_PROPERTY_VALUE + domain;
+        List<ProducerRecord<byte[], byte[]>> records = new ArrayList<>();
+        for (ProducerRecord<byte[], byte[]> record : kafkaTemplate.records) {
+            if (topic.equals(record.topic())) {
+                records.add(record);
+            }
+        }
+        assertEquals(events.length, records.size());
+        for (int i = 0; i < events.length; i++) {
+            assertRecord(records.get(i), events[i]);
+        }
+    }
+
+    private void assertRecord(ProducerRecord<byte[], byte[]> record, RedisCommandEvent event) {
+        assertNull(record.partition());
+        assertEquals(event.getTimestamp(), record.timestamp());
+        assertArrayEquals((byte[]) event.getArg(0), record.key());
+        assertArrayEquals(serialize(event), record.value());
+    }
+
+    private RedisCommandEvent newRedisCommandEvent(String sourceBeanName, String key) {
+        return source(this)
+                .applicationName("test")
+                .sourceBeanName(sourceBeanName)
+                .method(SET_METHOD)
+                .args(key.getBytes(), "value".getBytes())
+                .build();
+    }
+
+    static class RecordingKafkaProducerRedisReplicatorConfiguration extends KafkaProducerRedisReplicatorConfiguration {
+
+        private final RecordingKafkaTemplate kafkaTemplate = new RecordingKafkaTemplate();
+
+        @Override
+        protected KafkaTemplate<byte[], byte[]> getRedisReplicatorKafkaTemplate() {
+            return this.kafkaTemplate;
+        }
+    }
+
+    static class RecordingKafkaTemplate extends KafkaTemplate<byte[], byte[]> {
+
+        private final List<ProducerRecord<byte[], byte[]>> records = new CopyOnWriteArrayList<>();
+
+        private final List<String> threadNames = new CopyOnWriteArrayList<>();
+
+        RecordingKafkaTemplate() {
+            super(new DefaultKafkaProducerFactory<>(emptyMap()));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<byte[], byte[]>> send(String topic, Integer partition, Long timestamp, byte[] key, byte[] data) {
+            ProducerRecord<byte[], byte[]> record = new ProducerRecord<>(topic, partition, timestamp, key, data);
+            this.records.add(record);
+            this.threadNames.add(currentThread().getName());
+            return completedFuture(new SendResult<>(record, null));
+        }
+    }
 }
@@ -23,8 +23,11 @@ import io.microsphere.redis.replicator.spring.config.RedisReplicatorConfiguratio
 import org.junit.jupiter.api.Test;
 
 import static io.microsphere.redis.replicator.spring.kafka.producer.KafkaProducerRedisReplicatorConfiguration.DEFAULT_KAFKA_PRODUCER_KEY_PREFIX;
+import static io.microsphere.redis.replicator.spring.kafka.producer.KafkaProducerRedisReplicatorConfiguration.DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY;
+import static io.microsphere.redis.replicator.spring.kafka.producer.KafkaProducerRedisReplicatorConfiguration.DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_VALUE;
 import static io.microsphere.redis.replicator.spring.kafka.producer.KafkaProducerRedisReplicatorConfiguration.KAFKA_PRODUCER_KEY_PREFIX_PROPERTY_NAME;
 import static io.microsphere.redis.replicator.spring.kafka.producer.KafkaProducerRedisReplicatorConfiguration.KAFKA_PRODUCER_PROPERTY_NAME_PREFIX;
+import static io.microsphere.redis.replicator.spring.kafka.producer.KafkaProducerRedisReplicatorConfiguration.KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_NAME;
 import static io.microsphere.spring.test.util.SpringTestUtils.testInSpringContainer;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -44,6 +47,9 @@ class KafkaProducerRedisReplicatorConfigurationTest {
         assertEquals("microsphere.redis.replicator.kafka.producer.", KAFKA_PRODUCER_PROPERTY_NAME_PREFIX);
         assertEquals("RPE-", DEFAULT_KAFKA_PRODUCER_KEY_PREFIX);
         assertEquals("microsphere.redis.replicator.kafka.key-prefix", KAFKA_PRODUCER_KEY_PREFIX_PROPERTY_NAME);
+        assertEquals("8192", DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_VALUE);
+        assertEquals("microsphere.redis.replicator.kafka.send-queue-capacity", KAFKA_PRODUCER_SEND_QUEUE_CAPACITY_PROPERTY_NAME);
+        assertEquals(8192, DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY);
     }
 
     @Test
@@ -52,6 +58,7 @@ class KafkaProducerRedisReplicatorConfigurationTest {
             KafkaProducerRedisReplicatorConfiguration configuration = context.getBean(KafkaProducerRedisReplicatorConfiguration.class);
             assertNotNull(configuration.getRedisReplicatorKafkaTemplate());
             assertEquals(DEFAULT_KAFKA_PRODUCER_KEY_PREFIX, configuration.getKeyPrefix());
+            assertEquals(DEFAULT_KAFKA_PRODUCER_SEND_QUEUE_CAPACITY, configuration.getSendQueueCapacity());
         }, KafkaProducerRedisReplicatorConfiguration.class, RedisReplicatorConfiguration.class, DefaultRedisReplicationConfig.class);
     }
 
@@ -61,6 +68,7 @@ class KafkaProducerRedisReplicatorConfigurationTest {
             KafkaProducerRedisReplicatorConfiguration configuration = context.getBean(KafkaProducerRedisReplicatorConfiguration.class);
             assertNotNull(configuration.getRedisReplicatorKafkaTemplate());
             assertEquals("redis-replicator-event-", configuration.getKeyPrefix());
+            assertEquals(1024, configuration.getSendQueueCapacity());
         }, KafkaProducerRedisReplicatorConfiguration.class, RedisReplicatorConfiguration.class, FullRedisReplicationConfig.class);
     }
 
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.boot.actuate.autoconfigure;
+
+import io.microsphere.redis.spring.boot.actuate.endpoint.RedisSlowCommandLogEndpoint;
+import io.microsphere.redis.spring.boot.autoconfigure.condition.ConditionalOnRedisInterceptorEnabled;
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED_PROPERTY_NAME;
+
+/**
+ * The Auto-{@link Configuration} for {@link RedisSlowCommandLog} and its {@link RedisSlowCommandLogEndpoint}.
+ * The {@link RedisSlowCommandLog} is registered if the property
+ * {@value io.microsphere.redis.spring.util.RedisConstants#MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED_PROPERTY_NAME}
+ * is <code>true</code>, and the endpoint is registered if the {@link RedisSlowCommandLog} is present, including the
+ * one registered by {@code @EnableRedisInterceptor(slowCommandLog = true)}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // application.properties:
+ *   // microsphere.redis.interceptor.slow-log.enabled = true
+ *   // microsphere.redis.interceptor.slow-log.threshold = 10
+ *   // management.endpoints.web.exposure.include = redisSlowLog
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisSlowCommandLog
+ * @see RedisSlowCommandLogEndpoint
+ * @since 1.0.0
+ */
+@ConditionalOnRedisInterceptorEnabled
+@ConditionalOnClass(name = {
+        "org.springframework.boot.actuate.endpoint.annotation.Endpoint"         // Spring Boot Actuator API
+})
+public class RedisSlowCommandLogEndpointAutoConfiguration {
+
+    @Bean(name = RedisSlowCommandLog.BEAN_NAME)
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED_PROPERTY_NAME, havingValue = "true")
+    public RedisSlowCommandLog redisSlowCommandLog() {
+        return new RedisSlowCommandLog();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(RedisSlowCommandLog.class)
+    @ConditionalOnAvailableEndpoint
+    public RedisSlowCommandLogEndpoint redisSlowCommandLogEndpoint(RedisSlowCommandLog redisSlowCommandLog) {
+        return new RedisSlowCommandLogEndpoint(redisSlowCommandLog);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.boot.actuate.endpoint;
+
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog;
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog.Entry;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The actuator {@link Endpoint} exposes the entries of {@link RedisSlowCommandLog}, the newest first, and clears them
+ * by the delete operation.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // application.properties:
+ *   // microsphere.redis.interceptor.slow-log.enabled = true
+ *   // management.endpoints.web.exposure.include = redisSlowLog
+ *
+ *   GET    /actuator/redisSlowLog   // {"capacity":128,"threshold":10,"totalCount":1,"entries":[{"command":"HGETALL",...}]}
+ *   DELETE /actuator/redisSlowLog   // clears the entries
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisSlowCommandLog
+ * @since 1.0.0
+ */
+@Endpoint(id = RedisSlowCommandLogEndpoint.ENDPOINT_ID)
+public class RedisSlowCommandLogEndpoint {
+
+    public static final String ENDPOINT_ID = "redisSlowLog";
+
+    private final RedisSlowCommandLog redisSlowCommandLog;
+
+    public RedisSlowCommandLogEndpoint(RedisSlowCommandLog redisSlowCommandLog) {
+        this.redisSlowCommandLog = redisSlowCommandLog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowLog() {
+        RedisSlowCommandLog redisSlowCommandLog = this.redisSlowCommandLog;
+        List<Entry> entries = redisSlowCommandLog.getEntries();
+        Map<String, Object> slowLog = new LinkedHashMap<>(4);
+        slowLog.put("capacity", redisSlowCommandLog.getCapacity());
+        slowLog.put("threshold", redisSlowCommandLog.getThreshold());
+        slowLog.put("totalCount", redisSlowCommandLog.getTotalCount());
+        slowLog.put("entries", entries);
+        return slowLog;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        this.redisSlowCommandLog.reset();
+    }
+}
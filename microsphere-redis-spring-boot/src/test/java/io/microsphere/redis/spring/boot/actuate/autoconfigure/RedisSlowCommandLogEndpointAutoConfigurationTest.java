@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.boot.actuate.autoconfigure;
+
+import io.microsphere.redis.spring.boot.actuate.endpoint.RedisSlowCommandLogEndpoint;
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog;
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog.Entry;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+/**
+ * {@link RedisSlowCommandLogEndpointAutoConfiguration} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisSlowCommandLogEndpointAutoConfiguration
+ * @since 1.0.0
+ */
+@SpringBootTest(
+        classes = {
+                RedisSlowCommandLogEndpointAutoConfigurationTest.class
+        },
+        properties = {
+                "microsphere.redis.interceptor.slow-log.enabled=true",
+                "microsphere.redis.interceptor.slow-log.threshold=0",
+                "management.endpoints.web.exposure.include=redisSlowLog"
+        },
+        webEnvironment = NONE
+)
+@EnableAutoConfiguration
+class RedisSlowCommandLogEndpointAutoConfigurationTest extends AbstractRedisTest {
+
+    @Autowired
+    private RedisSlowCommandLog redisSlowCommandLog;
+
+    @Autowired
+    private RedisSlowCommandLogEndpoint redisSlowCommandLogEndpoint;
+
+    @Test
+    void test() {
+        assertStringRedisTemplateSet("slow", "1");
+
+        List<Entry> entries = this.redisSlowCommandLog.getEntries();
+        assertFalse(entries.isEmpty());
+
+        Map<String, Object> slowLog = this.redisSlowCommandLogEndpoint.slowLog();
+        assertTrue((Long) slowLog.get("totalCount") > 0);
+
+        this.redisSlowCommandLogEndpoint.reset();
+        assertTrue(this.redisSlowCommandLog.getEntries().isEmpty());
+    }
+}
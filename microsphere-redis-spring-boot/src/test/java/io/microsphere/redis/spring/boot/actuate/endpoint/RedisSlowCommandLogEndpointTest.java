@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.boot.actuate.endpoint;
+
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisSlowCommandLogEndpoint} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisSlowCommandLogEndpoint
+ * @since 1.0.0
+ */
+class RedisSlowCommandLogEndpointTest {
+
+    @Test
+    void testSlowLog() {
+        RedisSlowCommandLog redisSlowCommandLog = new RedisSlowCommandLog();
+        RedisSlowCommandLogEndpoint endpoint = new RedisSlowCommandLogEndpoint(redisSlowCommandLog);
+        Map<String, Object> slowLog = endpoint.slowLog();
+        assertEquals(128, slowLog.get("capacity"));
+        assertEquals(10L, slowLog.get("threshold"));
+        assertEquals(0L, slowLog.get("totalCount"));
+        assertTrue(((List<?>) slowLog.get("entries")).isEmpty());
+        endpoint.reset();
+        assertEquals(0L, endpoint.slowLog().get("totalCount"));
+    }
+}
@@ -19,8 +19,18 @@ package io.microsphere.redis.spring.annotation;
 import io.microsphere.redis.spring.beans.RedisTemplateWrapper;
 import io.microsphere.redis.spring.beans.StringRedisTemplateWrapper;
 import io.microsphere.redis.spring.event.RedisCommandEvent;
+import io.microsphere.redis.spring.interceptor.FlightRecorderRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisBigKeyDetector;
+import io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor;
 import io.microsphere.redis.spring.interceptor.RedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisCommandJfrEvent;
+import io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms;
+import io.microsphere.redis.spring.interceptor.RedisCommandStatistics;
 import io.microsphere.redis.spring.interceptor.RedisConnectionInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisHotKeyDetector;
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog;
+import io.microsphere.redis.spring.metrics.RedisCommandLatencyMeterBinder;
 import io.microsphere.redis.spring.util.RedisConstants;
 import io.microsphere.spring.beans.BeanSource;
 import org.springframework.context.annotation.Import;
@@ -103,6 +113,68 @@ public @interface EnableRedisInterceptor {
      */
     boolean exposeCommandEvent() default true;
 
+    /**
+     * Register the built-in {@link RedisCommandStatistics} or not
+     *
+     * @return If the statistics of Redis commands are required, return <code>true</code>, or <code>false</code>
+     */
+    boolean commandStatistics() default true;
+
+    /**
+     * Register the optional {@link RedisCommandLatencyHistograms} or not, it requires HdrHistogram in the class-path,
+     * and the {@link RedisCommandLatencyMeterBinder} is also registered if Micrometer is present.
+     *
+     * @return If the latency histograms of Redis commands are required, return <code>true</code>, or <code>false</code>
+     */
+    boolean commandLatencyHistograms() default false;
+
+    /**
+     * Register the {@link RedisHotKeyDetector} or not
+     *
+     * @return If the hot keys of Redis commands are required to be detected, return <code>true</code>, or <code>false</code>
+     */
+    boolean hotKeyDetection() default false;
+
+    /**
+     * Register the {@link RedisBigKeyDetector} or not
+     *
+     * @return If the big keys and the big values of Redis commands are required to be detected, return <code>true</code>,
+     * or <code>false</code>
+     */
+    boolean bigKeyDetection() default false;
+
+    /**
+     * Register the {@link RedisSlowCommandLog} or not
+     *
+     * @return If the slow commands are required to be logged, return <code>true</code>, or <code>false</code>
+     */
+    boolean slowCommandLog() default false;
+
+    /**
+     * Register the {@link FlightRecorderRedisCommandInterceptor} or not, which emits the {@link RedisCommandJfrEvent}
+     * if JDK Flight Recorder is present. The event is disabled by default, so it costs almost nothing until a
+     * recording enables it.
+     *
+     * @return If the JFR events of Redis commands are required, return <code>true</code>, or <code>false</code>
+     */
+    boolean commandJfrEvent() default true;
+
+    /**
+     * Register the {@link ObservationRedisCommandInterceptor} or not, it requires Micrometer Observation in the
+     * class-path, and uses the {@link io.micrometer.observation.ObservationRegistry} bean if present.
+     *
+     * @return If the Redis commands are required to be observed, return <code>true</code>, or <code>false</code>
+     */
+    boolean commandObservation() default false;
+
+    /**
+     * Register the {@link RedisCommandCaptureInterceptor} or not, which captures the Redis commands into the rolling
+     * binary files in the background threads for the replay.
+     *
+     * @return If the Redis commands are required to be captured, return <code>true</code>, or <code>false</code>
+     */
+    boolean commandCapture() default false;
+
     /**
      * The sources that will be used to register the beans of Interceptor, such as:
      * <ul>
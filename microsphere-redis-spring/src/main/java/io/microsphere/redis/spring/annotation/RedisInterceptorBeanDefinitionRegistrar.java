@@ -19,9 +19,19 @@ package io.microsphere.redis.spring.annotation;
 import io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor;
 import io.microsphere.redis.spring.beans.RedisTemplateWrapperBeanPostProcessor;
 import io.microsphere.redis.spring.beans.WrapperProcessors;
+import io.microsphere.redis.spring.interceptor.EventPublishingReactiveRedisCommandInterceptor;
 import io.microsphere.redis.spring.interceptor.EventPublishingRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.FlightRecorderRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisBigKeyDetector;
+import io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor;
 import io.microsphere.redis.spring.interceptor.RedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms;
+import io.microsphere.redis.spring.interceptor.RedisCommandStatistics;
 import io.microsphere.redis.spring.interceptor.RedisConnectionInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisHotKeyDetector;
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog;
+import io.microsphere.redis.spring.metrics.RedisCommandLatencyMeterBinder;
 import io.microsphere.spring.beans.BeanSource;
 import io.microsphere.spring.context.annotation.AnnotatedBeanCapableImportBeanDefinitionRegistrar;
 import io.microsphere.spring.core.annotation.ResolvablePlaceholderAnnotationAttributes;
@@ -35,11 +45,14 @@ import java.util.Map;
 import java.util.Set;
 
 import static io.microsphere.redis.spring.interceptor.EventPublishingRedisCommandInterceptor.BEAN_NAME;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.isReactiveSupported;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.getWrappedRedisTemplateBeanNames;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.isMicrosphereRedisInterceptorEnabled;
+import static io.microsphere.redis.util.RedisUtils.CLASS_LOADER;
 import static io.microsphere.spring.beans.BeanSource.registerBeans;
 import static io.microsphere.spring.beans.factory.BeanFactoryUtils.asConfigurableBeanFactory;
 import static io.microsphere.spring.beans.factory.support.BeanRegistrar.registerBeanDefinition;
+import static org.springframework.util.ClassUtils.isPresent;
 import static org.springframework.util.CollectionUtils.isEmpty;
 
 /**
@@ -53,6 +66,25 @@ import static org.springframework.util.CollectionUtils.isEmpty;
  *   <li>{@link io.microsphere.redis.spring.beans.WrapperProcessors} for wrapper chain management</li>
  *   <li>{@link io.microsphere.redis.spring.interceptor.EventPublishingRedisCommandInterceptor} when
  *       {@code exposeCommandEvent = true}</li>
+ *   <li>{@link io.microsphere.redis.spring.interceptor.EventPublishingReactiveRedisCommandInterceptor} when
+ *       {@code exposeCommandEvent = true}, no template bean names are provided and Project Reactor is present</li>
+ *   <li>{@link io.microsphere.redis.spring.interceptor.RedisCommandStatistics} when
+ *       {@code commandStatistics = true}</li>
+ *   <li>{@link io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms} when
+ *       {@code commandLatencyHistograms = true} and HdrHistogram is present, with
+ *       {@link io.microsphere.redis.spring.metrics.RedisCommandLatencyMeterBinder} if Micrometer is present</li>
+ *   <li>{@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector} when
+ *       {@code hotKeyDetection = true}</li>
+ *   <li>{@link io.microsphere.redis.spring.interceptor.RedisBigKeyDetector} when
+ *       {@code bigKeyDetection = true}</li>
+ *   <li>{@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog} when
+ *       {@code slowCommandLog = true}</li>
+ *   <li>{@link io.microsphere.redis.spring.interceptor.FlightRecorderRedisCommandInterceptor} when
+ *       {@code commandJfrEvent = true} and JDK Flight Recorder is present</li>
+ *   <li>{@link io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor} when
+ *       {@code commandObservation = true} and Micrometer Observation is present</li>
+ *   <li>{@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor} when
+ *       {@code commandCapture = true}</li>
  * </ul>
  *
  * <h3>Example Usage</h3>
@@ -64,6 +96,14 @@ import static org.springframework.util.CollectionUtils.isEmpty;
  *   registrar.registerBeanDefinitions(
  *       Set.of("redisTemplate"), // wrapRedisTemplateBeanNames
  *       true,                    // exposedCommandEvent
+ *       true,                    // commandStatistics
+ *       false,                   // commandLatencyHistograms
+ *       false,                   // hotKeyDetection
+ *       false,                   // bigKeyDetection
+ *       false,                   // slowCommandLog
+ *       true,                    // commandJfrEvent
+ *       false,                   // commandObservation
+ *       false,                   // commandCapture
  *       registry
  *   );
  * }</pre>
@@ -74,19 +114,56 @@ import static org.springframework.util.CollectionUtils.isEmpty;
  */
 class RedisInterceptorBeanDefinitionRegistrar extends AnnotatedBeanCapableImportBeanDefinitionRegistrar<EnableRedisInterceptor> {
 
+    static final String RECORDER_CLASS_NAME = "org.HdrHistogram.Recorder";
+
+    static final String METER_BINDER_CLASS_NAME = "io.micrometer.core.instrument.binder.MeterBinder";
+
+    static final String JFR_EVENT_CLASS_NAME = "jdk.jfr.Event";
+
+    static final String OBSERVATION_REGISTRY_CLASS_NAME = "io.micrometer.observation.ObservationRegistry";
+
+    /**
+     * Whether HdrHistogram is present or not
+     */
+    static final boolean hdrHistogramPresent = isPresent(RECORDER_CLASS_NAME, CLASS_LOADER);
+
+    /**
+     * Whether Micrometer is present or not
+     */
+    static final boolean micrometerPresent = isPresent(METER_BINDER_CLASS_NAME, CLASS_LOADER);
+
+    /**
+     * Whether JDK Flight Recorder is present or not, it may be absent in the custom runtime images
+     */
+    static final boolean jfrPresent = isPresent(JFR_EVENT_CLASS_NAME, CLASS_LOADER);
+
+    /**
+     * Whether Micrometer Observation is present or not
+     */
+    static final boolean observationPresent = isPresent(OBSERVATION_REGISTRY_CLASS_NAME, CLASS_LOADER);
+
     @Override
     protected void registerBeanDefinitions(AnnotationMetadata metadata, BeanDefinitionRegistry registry,
                                            BeanNameGenerator importBeanNameGenerator,
                                            ResolvablePlaceholderAnnotationAttributes<EnableRedisInterceptor> attributes) {
         String[] wrapRedisTemplates = attributes.getStringArray("wrapRedisTemplates");
         boolean exposeCommandEvent = attributes.getBoolean("exposeCommandEvent");
+        boolean commandStatistics = attributes.getBoolean("commandStatistics");
+        boolean commandLatencyHistograms = attributes.getBoolean("commandLatencyHistograms");
+        boolean hotKeyDetection = attributes.getBoolean("hotKeyDetection");
+        boolean bigKeyDetection = attributes.getBoolean("bigKeyDetection");
+        boolean slowCommandLog = attributes.getBoolean("slowCommandLog");
+        boolean commandJfrEvent = attributes.getBoolean("commandJfrEvent");
+        boolean commandObservation = attributes.getBoolean("commandObservation");
+        boolean commandCapture = attributes.getBoolean("commandCapture");
         BeanSource[] sources = (BeanSource[]) attributes.get("sources");
 
         logger.trace("@EnableRedisInterceptor({}} annotated on the '{}'", attributes, metadata);
 
         Set<String> wrapRedisTemplateBeanNames = getWrappedRedisTemplateBeanNames(this.beanFactory, this.environment, wrapRedisTemplates);
 
-        registerBeanDefinitions(wrapRedisTemplateBeanNames, exposeCommandEvent, sources, registry);
+        registerBeanDefinitions(wrapRedisTemplateBeanNames, exposeCommandEvent, commandStatistics, commandLatencyHistograms,
+                hotKeyDetection, bigKeyDetection, slowCommandLog, commandJfrEvent, commandObservation, commandCapture, sources, registry);
     }
 
     @Override
@@ -102,13 +179,28 @@ class RedisInterceptorBeanDefinitionRegistrar extends AnnotatedBeanCapableImport
      *                                      bean names to wrap; may be empty
      * @param exposedCommandEvent           {@code true} to register the
      *                                      {@link EventPublishingRedisCommandInterceptor}
+     * @param commandStatistics             {@code true} to register the {@link RedisCommandStatistics}
+     * @param commandLatencyHistograms      {@code true} to register the {@link RedisCommandLatencyHistograms} if
+     *                                      HdrHistogram is present
+     * @param hotKeyDetection               {@code true} to register the {@link RedisHotKeyDetector}
+     * @param bigKeyDetection               {@code true} to register the {@link RedisBigKeyDetector}
+     * @param slowCommandLog                {@code true} to register the {@link RedisSlowCommandLog}
+     * @param commandJfrEvent               {@code true} to register the {@link FlightRecorderRedisCommandInterceptor}
+     *                                      if JDK Flight Recorder is present
+     * @param commandObservation            {@code true} to register the {@link ObservationRedisCommandInterceptor}
+     *                                      if Micrometer Observation is present
+     * @param commandCapture                {@code true} to register the {@link RedisCommandCaptureInterceptor}
      * @param sources                       the sources that will be used to register the beans of Interceptor
      * @param registry                      the Spring bean-definition registry to register beans into
      */
     protected void registerBeanDefinitions(Set<String> wrappedRedisTemplateBeanNames, boolean exposedCommandEvent,
+                                           boolean commandStatistics, boolean commandLatencyHistograms,
+                                           boolean hotKeyDetection, boolean bigKeyDetection, boolean slowCommandLog,
+                                           boolean commandJfrEvent, boolean commandObservation, boolean commandCapture,
                                            BeanSource[] sources, BeanDefinitionRegistry registry) {
 
-        if (isEmpty(wrappedRedisTemplateBeanNames)) {
+        boolean proxied = isEmpty(wrappedRedisTemplateBeanNames);
+        if (proxied) {
             addRedisConnectionFactoryProxyBeanPostProcessor(registry);
         } else {
             registerRedisTemplateWrapperBeanPostProcessor(wrappedRedisTemplateBeanNames, registry);
@@ -118,6 +210,50 @@ class RedisInterceptorBeanDefinitionRegistrar extends AnnotatedBeanCapableImport
 
         if (exposedCommandEvent) {
             registerEventPublishingRedisCommendInterceptor(registry);
+            if (proxied && isReactiveSupported()) {
+                // The reactive connections are only intercepted by the proxy of ReactiveRedisConnectionFactory
+                registerEventPublishingReactiveRedisCommandInterceptor(registry);
+            }
+        }
+
+        if (commandStatistics) {
+            registerRedisCommandStatistics(registry);
+        }
+
+        if (commandLatencyHistograms) {
+            if (hdrHistogramPresent) {
+                registerRedisCommandLatencyHistograms(registry);
+            } else {
+                logger.warn("The RedisCommandLatencyHistograms can't be registered, because HdrHistogram is absent in the class-path");
+            }
+        }
+
+        if (hotKeyDetection) {
+            registerRedisHotKeyDetector(registry);
+        }
+
+        if (bigKeyDetection) {
+            registerRedisBigKeyDetector(registry);
+        }
+
+        if (slowCommandLog) {
+            registerRedisSlowCommandLog(registry);
+        }
+
+        if (commandJfrEvent && jfrPresent) {
+            registerFlightRecorderRedisCommandInterceptor(registry);
+        }
+
+        if (commandObservation) {
+            if (observationPresent) {
+                registerObservationRedisCommandInterceptor(registry);
+            } else {
+                logger.warn("The ObservationRedisCommandInterceptor can't be registered, because Micrometer Observation is absent in the class-path");
+            }
+        }
+
+        if (commandCapture) {
+            registerRedisCommandCaptureInterceptor(registry);
         }
 
         registerInterceptors(sources);
@@ -140,6 +276,45 @@ class RedisInterceptorBeanDefinitionRegistrar extends AnnotatedBeanCapableImport
         registerBeanDefinition(registry, BEAN_NAME, EventPublishingRedisCommandInterceptor.class);
     }
 
+    private void registerEventPublishingReactiveRedisCommandInterceptor(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, EventPublishingReactiveRedisCommandInterceptor.BEAN_NAME, EventPublishingReactiveRedisCommandInterceptor.class);
+    }
+
+    private void registerRedisCommandStatistics(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, RedisCommandStatistics.BEAN_NAME, RedisCommandStatistics.class);
+    }
+
+    private void registerRedisCommandLatencyHistograms(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, RedisCommandLatencyHistograms.BEAN_NAME, RedisCommandLatencyHistograms.class);
+        if (micrometerPresent) {
+            registerBeanDefinition(registry, RedisCommandLatencyMeterBinder.BEAN_NAME, RedisCommandLatencyMeterBinder.class);
+        }
+    }
+
+    private void registerRedisHotKeyDetector(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, RedisHotKeyDetector.BEAN_NAME, RedisHotKeyDetector.class);
+    }
+
+    private void registerRedisBigKeyDetector(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, RedisBigKeyDetector.BEAN_NAME, RedisBigKeyDetector.class);
+    }
+
+    private void registerRedisSlowCommandLog(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, RedisSlowCommandLog.BEAN_NAME, RedisSlowCommandLog.class);
+    }
+
+    private void registerFlightRecorderRedisCommandInterceptor(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, FlightRecorderRedisCommandInterceptor.BEAN_NAME, FlightRecorderRedisCommandInterceptor.class);
+    }
+
+    private void registerObservationRedisCommandInterceptor(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, ObservationRedisCommandInterceptor.BEAN_NAME, ObservationRedisCommandInterceptor.class);
+    }
+
+    private void registerRedisCommandCaptureInterceptor(BeanDefinitionRegistry registry) {
+        registerBeanDefinition(registry, RedisCommandCaptureInterceptor.BEAN_NAME, RedisCommandCaptureInterceptor.class);
+    }
+
     private void registerInterceptors(BeanSource[] sources) {
         Map<Class<?>, String> beanTypesAndNames = registerBeans(this.beanFactory, sources,
                 RedisCommandInterceptor.class,
@@ -16,37 +16,51 @@
  */
 package io.microsphere.redis.spring.beans;
 
-import io.microsphere.annotation.Nonnull;
-import io.microsphere.annotation.Nullable;
 import io.microsphere.lang.DelegatingWrapper;
 import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.InterceptingReactiveRedisInvocationHandler;
+import io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionGenerator;
 import io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler;
 import io.microsphere.spring.beans.factory.config.GenericBeanPostProcessorAdapter;
-import org.aopalliance.intercept.MethodInterceptor;
-import org.aopalliance.intercept.MethodInvocation;
-import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.cglib.proxy.Dispatcher;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.FixedValue;
+import org.springframework.cglib.proxy.InvocationHandler;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConnection;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 
-import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import static io.microsphere.redis.spring.context.RedisContext.get;
-import static io.microsphere.reflect.AccessibleObjectUtils.trySetAccessible;
-import static io.microsphere.reflect.MethodUtils.findMethod;
-import static java.lang.reflect.Proxy.newProxyInstance;
+import static org.springframework.util.ClassUtils.getAllInterfacesForClass;
 
 /**
- * {@link BeanPostProcessor} that wraps every {@link RedisConnectionFactory} bean in an AOP proxy
- * so that each call to {@link RedisConnectionFactory#getConnection()} returns a JDK dynamic proxy
- * that implements both {@link RedisConnection} and {@link DelegatingWrapper}.  The proxy delegates
- * all calls to an {@link InterceptingRedisConnectionInvocationHandler}, enabling transparent
- * interception of Redis commands.
+ * {@link BeanPostProcessor} that wraps every {@link RedisConnectionFactory} bean in a delegating instance of the
+ * class generated for all interfaces of the bean, so that each call to {@link RedisConnectionFactory#getConnection()}
+ * returns an instance of the {@link RedisConnection} class generated by {@link InterceptingRedisConnectionGenerator}, which implements
+ * both {@link RedisConnection} and {@link DelegatingWrapper}.  The instance delegates the intercepted
+ * calls to an {@link InterceptingRedisConnectionInvocationHandler}, enabling transparent
+ * interception of Redis commands. The other methods of the generated class are dispatched to the raw
+ * {@link RedisConnectionFactory} directly without the AOP {@code MethodInvocation} chain.
+ *
+ * <p>{@link RedisConnectionFactory#getClusterConnection()} is intercepted in the same way, the returned
+ * {@link RedisClusterConnection} implements {@link RedisClusterConnection} as well, so that the node-specific methods
+ * are intercepted too, e.g. {@link org.springframework.data.redis.connection.RedisClusterServerCommands#flushDb(org.springframework.data.redis.connection.RedisClusterNode)}.
+ *
+ * <p>If the bean is also a {@link ReactiveRedisConnectionFactory}, the {@link ReactiveRedisConnection} returned by
+ * {@link ReactiveRedisConnectionFactory#getReactiveConnection()} is wrapped by {@link #newProxyReactiveRedisConnection}
+ * when any {@link io.microsphere.redis.spring.interceptor.ReactiveRedisCommandInterceptor} is present.
  *
  * <p>Registered by {@link io.microsphere.redis.spring.annotation.RedisInterceptorBeanDefinitionRegistrar}
  * when no explicit {@link org.springframework.data.redis.core.RedisTemplate} bean names are specified
@@ -73,11 +87,43 @@ import static java.lang.reflect.Proxy.newProxyInstance;
  */
 public class RedisConnectionFactoryProxyBeanPostProcessor extends GenericBeanPostProcessorAdapter<RedisConnectionFactory> {
 
-    private static final Class[] REDIS_CONNECTION_TYPES = new Class[]{RedisConnection.class, DelegatingWrapper.class};
-
     private static final String SOURCE_BEAN_ATTRIBUTE_NAME = "_sourceBean";
 
-    private static final Method GET_CONNECTION_METHOD = findMethod(RedisConnectionFactory.class, "getConnection");
+    /**
+     * The callback index of the methods dispatched to the raw {@link RedisConnectionFactory}
+     */
+    static final int DISPATCHER_CALLBACK_INDEX = 0;
+
+    /**
+     * The callback index of {@link RedisConnectionFactory#getConnection()}
+     */
+    static final int GET_CONNECTION_CALLBACK_INDEX = 1;
+
+    /**
+     * The callback index of the methods that are not overridden, e.g. {@link Object#equals(Object)}
+     */
+    static final int NO_OVERRIDE_CALLBACK_INDEX = 2;
+
+    /**
+     * The callback index of {@link ReactiveRedisConnectionFactory#getReactiveConnection()} and
+     * {@link ReactiveRedisConnectionFactory#getReactiveClusterConnection()}
+     */
+    static final int GET_REACTIVE_CONNECTION_CALLBACK_INDEX = 3;
+
+    /**
+     * The callback index of {@link RedisConnectionFactory#getClusterConnection()}
+     */
+    static final int GET_CLUSTER_CONNECTION_CALLBACK_INDEX = 4;
+
+    private static final String GET_CONNECTION = "getConnection";
+
+    private static final String GET_CLUSTER_CONNECTION = "getClusterConnection";
+
+    private static final String GET_REACTIVE_CONNECTION = "getReactiveConnection";
+
+    private static final String GET_REACTIVE_CLUSTER_CONNECTION = "getReactiveClusterConnection";
+
+    private static final String TO_STRING = "toString";
 
     private final ConfigurableBeanFactory beanFactory;
 
@@ -94,30 +140,46 @@ public class RedisConnectionFactoryProxyBeanPostProcessor extends GenericBeanPos
     @Override
     protected RedisConnectionFactory doPostProcessAfterInitialization(RedisConnectionFactory bean, String beanName) throws BeansException {
         setRawRedisConnectionFactory(this.beanFactory, beanName, bean);
-        ProxyFactory proxyFactory = new ProxyFactory(bean);
-        proxyFactory.addAdvice(new MethodInterceptor() {
-            @Nullable
-            @Override
-            public Object invoke(@Nonnull MethodInvocation invocation) throws Throwable {
-                Method method = invocation.getMethod();
-                trySetAccessible(method);
-                Object result = invocation.proceed();
-                if (GET_CONNECTION_METHOD.equals(method)) {
-                    RedisContext redisContext = get(beanFactory);
-                    if (redisContext.isEnabled()) {
-                        result = newProxyRedisConnection((RedisConnection) result, redisContext, bean, beanName);
-                    }
-                }
-                return result;
-            }
+        return newProxyRedisConnectionFactory(bean, beanName, this.beanFactory);
+    }
+
+    /**
+     * Creates a delegating instance of the class generated for all interfaces of the given {@link RedisConnectionFactory},
+     * whose {@link RedisConnectionFactory#getConnection()} and {@link RedisConnectionFactory#getClusterConnection()}
+     * return the connections created by {@link #newProxyRedisConnection} and {@link #newProxyRedisClusterConnection}
+     * if {@link RedisContext#isEnabled() enabled}, and the other methods are
+     * dispatched to the given {@link RedisConnectionFactory} directly.
+     *
+     * @param redisConnectionFactory the raw {@link RedisConnectionFactory}
+     * @param beanName               the Spring bean name of the raw {@link RedisConnectionFactory}
+     * @param beanFactory            the Spring bean factory to look up the {@link RedisContext}
+     * @return non-null
+     */
+    static RedisConnectionFactory newProxyRedisConnectionFactory(RedisConnectionFactory redisConnectionFactory,
+                                                                 String beanName, ConfigurableBeanFactory beanFactory) {
+        Class<?> beanClass = redisConnectionFactory.getClass();
+        ClassLoader classLoader = beanClass.getClassLoader();
+        Enhancer enhancer = new Enhancer();
+        enhancer.setClassLoader(classLoader);
+        enhancer.setInterfaces(getAllInterfacesForClass(beanClass, classLoader));
+        enhancer.setUseCache(false);
+        enhancer.setCallbackFilter(new RedisConnectionFactoryCallbackFilter());
+        GetConnectionCallback getConnectionCallback = new GetConnectionCallback(redisConnectionFactory, beanName, beanFactory);
+        enhancer.setCallbacks(new Callback[]{
+                (Dispatcher) () -> redisConnectionFactory,
+                getConnectionCallback,
+                NoOp.INSTANCE,
+                new GetReactiveConnectionCallback(getConnectionCallback),
+                new GetClusterConnectionCallback(getConnectionCallback)
         });
-        return (RedisConnectionFactory) proxyFactory.getProxy();
+        return (RedisConnectionFactory) enhancer.create();
     }
 
     /**
-     * Creates a JDK dynamic proxy that wraps {@code connection} and implements both
-     * {@link RedisConnection} and {@link DelegatingWrapper}. The proxy intercepts every
-     * method call through an {@link InterceptingRedisConnectionInvocationHandler}.
+     * Creates an instance of the {@link RedisConnection} class generated by {@link InterceptingRedisConnectionGenerator}
+     * that wraps {@code connection} and implements both {@link RedisConnection} and {@link DelegatingWrapper}.
+     * The methods that interceptors care about are routed through an {@link InterceptingRedisConnectionInvocationHandler},
+     * the others are delegated to {@code connection} directly.
      *
      * @param connection     the real {@link RedisConnection} to wrap
      * @param redisContext   the {@link RedisContext} providing interceptors and configuration
@@ -127,9 +189,147 @@ public class RedisConnectionFactoryProxyBeanPostProcessor extends GenericBeanPos
      */
     public static RedisConnection newProxyRedisConnection(RedisConnection connection, RedisContext redisContext,
                                                           Object sourceBean, String sourceBeanName) {
-        ClassLoader classLoader = redisContext.getClassLoader();
-        InvocationHandler invocationHandler = newInvocationHandler(connection, redisContext, sourceBean, sourceBeanName);
-        return (RedisConnection) newProxyInstance(classLoader, REDIS_CONNECTION_TYPES, invocationHandler);
+        InterceptingRedisConnectionGenerator generator = redisContext.getInterceptingRedisConnectionGenerator();
+        return generator.newRedisConnection(connection, sourceBean, sourceBeanName);
+    }
+
+    /**
+     * Creates an instance of the {@link RedisClusterConnection} class generated by {@link InterceptingRedisConnectionGenerator}
+     * that wraps {@code clusterConnection} and implements both {@link RedisClusterConnection} and {@link DelegatingWrapper}.
+     *
+     * @param clusterConnection the real {@link RedisClusterConnection} to wrap
+     * @param redisContext      the {@link RedisContext} providing interceptors and configuration
+     * @param sourceBean        the source bean (e.g. the {@link RedisConnectionFactory})
+     * @param sourceBeanName    the Spring bean name of the source bean
+     * @return a proxy {@link RedisClusterConnection} that intercepts all commands
+     */
+    public static RedisClusterConnection newProxyRedisClusterConnection(RedisClusterConnection clusterConnection,
+                                                                        RedisContext redisContext, Object sourceBean,
+                                                                        String sourceBeanName) {
+        InterceptingRedisConnectionGenerator generator = redisContext.getInterceptingRedisConnectionGenerator();
+        return generator.newRedisClusterConnection(clusterConnection, sourceBean, sourceBeanName);
+    }
+
+    /**
+     * Creates a proxy of {@code reactiveRedisConnection} that implements all interfaces of it and
+     * {@link DelegatingWrapper}, whose reactive Redis commands are decorated by the
+     * {@link io.microsphere.redis.spring.interceptor.ReactiveRedisCommandInterceptor ReactiveRedisCommandInterceptors}
+     * through an {@link InterceptingReactiveRedisInvocationHandler}.
+     *
+     * @param reactiveRedisConnection the real {@link ReactiveRedisConnection} to wrap
+     * @param redisContext            the {@link RedisContext} providing interceptors and configuration
+     * @param sourceBean              the source bean (e.g. the {@link ReactiveRedisConnectionFactory})
+     * @param sourceBeanName          the Spring bean name of the source bean
+     * @return a proxy {@link ReactiveRedisConnection} that intercepts the reactive Redis commands
+     */
+    public static ReactiveRedisConnection newProxyReactiveRedisConnection(ReactiveRedisConnection reactiveRedisConnection,
+                                                                          RedisContext redisContext, Object sourceBean,
+                                                                          String sourceBeanName) {
+        return InterceptingReactiveRedisInvocationHandler.newProxy(reactiveRedisConnection, redisContext, sourceBean, sourceBeanName);
+    }
+
+    static class RedisConnectionFactoryCallbackFilter implements CallbackFilter {
+
+        @Override
+        public int accept(Method method) {
+            String methodName = method.getName();
+            if (GET_CONNECTION.equals(methodName) && method.getParameterCount() == 0) {
+                return GET_CONNECTION_CALLBACK_INDEX;
+            } else if (GET_CLUSTER_CONNECTION.equals(methodName) && method.getParameterCount() == 0) {
+                return GET_CLUSTER_CONNECTION_CALLBACK_INDEX;
+            } else if ((GET_REACTIVE_CONNECTION.equals(methodName) || GET_REACTIVE_CLUSTER_CONNECTION.equals(methodName))
+                    && method.getParameterCount() == 0) {
+                return GET_REACTIVE_CONNECTION_CALLBACK_INDEX;
+            } else if (Object.class.equals(method.getDeclaringClass()) && !TO_STRING.equals(methodName)) {
+                // The identity of the generated instance, e.g. equals(Object), hashCode()
+                return NO_OVERRIDE_CALLBACK_INDEX;
+            }
+            return DISPATCHER_CALLBACK_INDEX;
+        }
+    }
+
+    static class GetConnectionCallback implements FixedValue {
+
+        private final RedisConnectionFactory redisConnectionFactory;
+
+        private final String beanName;
+
+        private final ConfigurableBeanFactory beanFactory;
+
+        private volatile RedisContext redisContext;
+
+        GetConnectionCallback(RedisConnectionFactory redisConnectionFactory, String beanName, ConfigurableBeanFactory beanFactory) {
+            this.redisConnectionFactory = redisConnectionFactory;
+            this.beanName = beanName;
+            this.beanFactory = beanFactory;
+        }
+
+        @Override
+        public Object loadObject() {
+            RedisConnection redisConnection = this.redisConnectionFactory.getConnection();
+            RedisContext redisContext = getRedisContext();
+            if (redisContext.isEnabled()) {
+                return newProxyRedisConnection(redisConnection, redisContext, this.redisConnectionFactory, this.beanName);
+            }
+            return redisConnection;
+        }
+
+        RedisContext getRedisContext() {
+            RedisContext redisContext = this.redisContext;
+            if (redisContext == null) {
+                // The RedisContext is resolved lazily, it may be not initialized when the RedisConnectionFactory is
+                redisContext = get(this.beanFactory);
+                this.redisContext = redisContext;
+            }
+            return redisContext;
+        }
+    }
+
+    static class GetClusterConnectionCallback implements FixedValue {
+
+        private final GetConnectionCallback getConnectionCallback;
+
+        GetClusterConnectionCallback(GetConnectionCallback getConnectionCallback) {
+            this.getConnectionCallback = getConnectionCallback;
+        }
+
+        @Override
+        public Object loadObject() {
+            GetConnectionCallback getConnectionCallback = this.getConnectionCallback;
+            RedisClusterConnection clusterConnection = getConnectionCallback.redisConnectionFactory.getClusterConnection();
+            RedisContext redisContext = getConnectionCallback.getRedisContext();
+            if (redisContext.isEnabled()) {
+                return newProxyRedisClusterConnection(clusterConnection, redisContext,
+                        getConnectionCallback.redisConnectionFactory, getConnectionCallback.beanName);
+            }
+            return clusterConnection;
+        }
+    }
+
+    static class GetReactiveConnectionCallback implements InvocationHandler {
+
+        private final GetConnectionCallback getConnectionCallback;
+
+        GetReactiveConnectionCallback(GetConnectionCallback getConnectionCallback) {
+            this.getConnectionCallback = getConnectionCallback;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            GetConnectionCallback getConnectionCallback = this.getConnectionCallback;
+            ReactiveRedisConnection reactiveRedisConnection;
+            try {
+                reactiveRedisConnection = (ReactiveRedisConnection) method.invoke(getConnectionCallback.redisConnectionFactory, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            RedisContext redisContext = getConnectionCallback.getRedisContext();
+            if (redisContext.isEnabled() && !redisContext.getReactiveRedisCommandInterceptorChains().isEmpty()) {
+                return newProxyReactiveRedisConnection(reactiveRedisConnection, redisContext,
+                        getConnectionCallback.redisConnectionFactory, getConnectionCallback.beanName);
+            }
+            return reactiveRedisConnection;
+        }
     }
 
     static void setRawRedisConnectionFactory(ConfigurableBeanFactory beanFactory, String beanName, RedisConnectionFactory redisConnectionFactory) {
@@ -150,9 +350,4 @@ public class RedisConnectionFactoryProxyBeanPostProcessor extends GenericBeanPos
         RedisConnectionFactory redisConnectionFactory = (RedisConnectionFactory) beanDefinition.getAttribute(SOURCE_BEAN_ATTRIBUTE_NAME);
         return redisConnectionFactory == null ? (RedisConnectionFactory) beanFactory.getBean(beanName) : redisConnectionFactory;
     }
-
-    private static InvocationHandler newInvocationHandler(RedisConnection connection, RedisContext redisContext,
-                                                          Object sourceBean, String sourceBeanName) {
-        return new InterceptingRedisConnectionInvocationHandler(connection, redisContext, sourceBean, sourceBeanName);
-    }
 }
@@ -0,0 +1,363 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.capture;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.channels.FileChannel.open;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The rolling binary log of the captured Redis commands, which appends the records into a direct {@link ByteBuffer}
+ * and writes them to the {@link FileChannel} of the current file when the buffer is full or {@link #flush() flushed}.
+ * The file is rolled over when its size would exceed the max file size, and the oldest files are deleted if the count
+ * of the files exceeds the max files.
+ * <p>
+ * Each file starts with the header :
+ * <pre>
+ * | magic (int) | version (byte) | capture epoch millis (long) |
+ * </pre>
+ * and is followed by the records :
+ * <pre>
+ * | length (int) | timestamp nanos (long) | thread id (long) | method index (int) | argument count (byte) |
+ * | argument length (int, -1 if null) | argument bytes | ...
+ * </pre>
+ * The length excludes itself, the timestamp is the nanoseconds since the capture epoch, the method index is the
+ * {@link io.microsphere.redis.metadata.MethodMetadata#getIndex() index} that is also used by
+ * {@link io.microsphere.redis.spring.serializer.RedisCommandEventSerializer#VERSION_V1}, and the arguments are
+ * serialized by {@link io.microsphere.redis.spring.serializer.Serializers}.
+ * <p>
+ * The instance is thread-safe, however it's expected to be written by the background threads only, e.g. the consumer
+ * threads of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(Paths.get("/data/capture"), "redis-capture",
+ *           64 * 1024, 64 * 1024 * 1024, 16);
+ *   captureLog.append(startTimeNanos, threadId, methodIndex, rawArguments);
+ *   captureLog.flush();
+ *   captureLog.close();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandCaptureReader
+ * @see RedisCommandReplayer
+ * @since 1.0.0
+ */
+public class RedisCommandCaptureLog implements Closeable, Flushable {
+
+    private static final Logger logger = getLogger(RedisCommandCaptureLog.class);
+
+    /**
+     * The magic number of the file : "MSRC"
+     */
+    public static final int MAGIC = 0x4D535243;
+
+    /**
+     * The version of the file format
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * The suffix of the file name
+     */
+    public static final String FILE_NAME_SUFFIX = ".rcap";
+
+    /**
+     * The length of the file header
+     */
+    static final int HEADER_LENGTH = 4 + 1 + 8;
+
+    /**
+     * The length of the fixed fields of the record excluding the length field
+     */
+    static final int RECORD_FIXED_LENGTH = 8 + 8 + 4 + 1;
+
+    /**
+     * The max count of the arguments per record
+     */
+    static final int MAX_ARGUMENTS = 0xFF;
+
+    private final Path directory;
+
+    private final String fileNamePrefix;
+
+    private final long maxFileSize;
+
+    private final int maxFiles;
+
+    private final long epochMillis;
+
+    private final long epochNanos;
+
+    private final ByteBuffer buffer;
+
+    private final Deque<Path> files = new ArrayDeque<>();
+
+    @Nullable
+    private FileChannel channel;
+
+    /**
+     * The size of the current file including the buffered bytes
+     */
+    private long fileSize;
+
+    private int sequence;
+
+    private long recordCount;
+
+    private boolean closed;
+
+    /**
+     * @param directory      the directory of the files, which is created on the first append if absent
+     * @param fileNamePrefix the prefix of the file names
+     * @param bufferSize     the size of the write buffer in bytes
+     * @param maxFileSize    the max size of a file in bytes, a file may exceed it only if it has a single record
+     * @param maxFiles       the max count of the files to retain
+     * @throws IllegalArgumentException if any of the sizes is too small
+     */
+    public RedisCommandCaptureLog(Path directory, String fileNamePrefix, int bufferSize, long maxFileSize, int maxFiles)
+            throws IllegalArgumentException {
+        assertTrue(bufferSize >= HEADER_LENGTH, () -> "The buffer size must not be less than " + HEADER_LENGTH + " : " + bufferSize);
+        assertTrue(maxFileSize > HEADER_LENGTH, () -> "The max file size must be greater than " + HEADER_LENGTH + " : " + maxFileSize);
+        assertTrue(maxFiles > 0, () -> "The max files must be positive : " + maxFiles);
+        this.directory = directory;
+        this.fileNamePrefix = fileNamePrefix;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+        this.epochMillis = currentTimeMillis();
+        this.epochNanos = nanoTime();
+        this.buffer = allocateDirect(bufferSize);
+    }
+
+    /**
+     * Append a record
+     *
+     * @param startTimeNanos the start time of the command from {@link System#nanoTime()}
+     * @param threadId       the id of the calling thread
+     * @param methodIndex    the index of the Redis command method
+     * @param arguments      the serialized arguments, the element is <code>null</code> if the argument is
+     *                       <code>null</code>
+     * @return <code>false</code> if the log was closed
+     * @throws IOException if the I/O error occurs
+     */
+    public synchronized boolean append(long startTimeNanos, long threadId, int methodIndex, byte[][] arguments) throws IOException {
+        if (this.closed) {
+            return false;
+        }
+        int argumentCount = arguments.length;
+        assertTrue(argumentCount <= MAX_ARGUMENTS, () -> "The count of arguments must not be greater than " + MAX_ARGUMENTS + " : " + argumentCount);
+        int recordLength = recordLength(arguments);
+        int totalLength = 4 + recordLength;
+        if (this.channel == null || (this.fileSize + totalLength > this.maxFileSize && this.fileSize > HEADER_LENGTH)) {
+            roll();
+        }
+        ByteBuffer buffer = this.buffer;
+        if (totalLength > buffer.remaining()) {
+            flushBuffer();
+        }
+        // The oversize record is written through a temporary buffer
+        ByteBuffer target = totalLength > buffer.capacity() ? allocate(totalLength) : buffer;
+        target.putInt(recordLength)
+                .putLong(startTimeNanos - this.epochNanos)
+                .putLong(threadId)
+                .putInt(methodIndex)
+                .put((byte) argumentCount);
+        for (byte[] argument : arguments) {
+            if (argument == null) {
+                target.putInt(-1);
+            } else {
+                target.putInt(argument.length).put(argument);
+            }
+        }
+        if (target != buffer) {
+            target.flip();
+            write(target);
+        }
+        this.fileSize += totalLength;
+        this.recordCount++;
+        return true;
+    }
+
+    /**
+     * Write the buffered records to the current file
+     *
+     * @throws IOException if the I/O error occurs
+     */
+    @Override
+    public synchronized void flush() throws IOException {
+        if (!this.closed) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Flush the buffered records, force them to the storage and close the current file
+     *
+     * @throws IOException if the I/O error occurs
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        closeChannel();
+        logger.trace("The RedisCommandCaptureLog[directory : '{}' , prefix : '{}'] closed, records : {}", this.directory,
+                this.fileNamePrefix, this.recordCount);
+    }
+
+    /**
+     * Get the directory of the files
+     *
+     * @return non-null
+     */
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Get the prefix of the file names
+     *
+     * @return non-null
+     */
+    public String getFileNamePrefix() {
+        return this.fileNamePrefix;
+    }
+
+    /**
+     * Get the wall-clock time in milliseconds that the timestamp <code>0</code> of the records refers to
+     *
+     * @return the epoch milliseconds
+     */
+    public long getEpochMillis() {
+        return this.epochMillis;
+    }
+
+    /**
+     * Get the count of the appended records
+     *
+     * @return non-negative
+     */
+    public synchronized long getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * Is closed or not
+     *
+     * @return <code>true</code> if closed
+     */
+    public synchronized boolean isClosed() {
+        return this.closed;
+    }
+
+    private void roll() throws IOException {
+        closeChannel();
+        createDirectories(this.directory);
+        Path file = this.directory.resolve(fileName(this.fileNamePrefix, this.epochMillis, ++this.sequence));
+        this.channel = open(file, CREATE_NEW, WRITE);
+        this.buffer.putInt(MAGIC)
+                .put(VERSION)
+                .putLong(this.epochMillis);
+        this.fileSize = HEADER_LENGTH;
+        Deque<Path> files = this.files;
+        files.addLast(file);
+        while (files.size() > this.maxFiles) {
+            Path oldestFile = files.removeFirst();
+            deleteIfExists(oldestFile);
+            logger.trace("The oldest capture file '{}' was deleted", oldestFile);
+        }
+        logger.trace("The capture file '{}' was created", file);
+    }
+
+    private void closeChannel() throws IOException {
+        FileChannel channel = this.channel;
+        if (channel != null) {
+            try {
+                flushBuffer();
+                channel.force(false);
+            } finally {
+                channel.close();
+                this.channel = null;
+            }
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        ByteBuffer buffer = this.buffer;
+        if (buffer.position() > 0) {
+            buffer.flip();
+            try {
+                write(buffer);
+            } finally {
+                buffer.clear();
+            }
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        FileChannel channel = this.channel;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    static int recordLength(byte[][] arguments) {
+        int length = RECORD_FIXED_LENGTH;
+        for (byte[] argument : arguments) {
+            length += 4;
+            if (argument != null) {
+                length += argument.length;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Build the file name, e.g. "redis-capture-1760000000000-000001.rcap", which keeps the files in the order of
+     * creation if sorted by name
+     *
+     * @param fileNamePrefix the prefix of the file names
+     * @param epochMillis    the epoch milliseconds of the capture
+     * @param sequence       the sequence of the file
+     * @return non-null
+     */
+    static String fileName(String fileNamePrefix, long epochMillis, int sequence) {
+        return format("%s-%013d-%06d%s", fileNamePrefix, epochMillis, sequence, FILE_NAME_SUFFIX);
+    }
+}
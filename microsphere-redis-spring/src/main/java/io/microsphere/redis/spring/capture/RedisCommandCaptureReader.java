@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.capture;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.FILE_NAME_SUFFIX;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.MAGIC;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.RECORD_FIXED_LENGTH;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.VERSION;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.newInputStream;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.sort;
+
+/**
+ * The sequential reader of the files written by {@link RedisCommandCaptureLog}. The files are read in the order of the
+ * names, and the truncated record at the tail of a file, e.g. the process was killed during the capture, is skipped.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   try (RedisCommandCaptureReader reader = new RedisCommandCaptureReader(Paths.get("/data/capture"), "redis-capture")) {
+ *       RedisCommandCaptureRecord record;
+ *       while ((record = reader.read()) != null) {
+ *           System.out.println(record);
+ *       }
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandCaptureLog
+ * @see RedisCommandCaptureRecord
+ * @since 1.0.0
+ */
+public class RedisCommandCaptureReader implements Closeable {
+
+    private static final Logger logger = getLogger(RedisCommandCaptureReader.class);
+
+    private final Iterator<Path> files;
+
+    @Nullable
+    private DataInputStream inputStream;
+
+    @Nullable
+    private Path file;
+
+    private long epochMillis = -1L;
+
+    /**
+     * @param directory      the directory of the files
+     * @param fileNamePrefix the prefix of the file names
+     * @throws IOException if the directory can't be listed
+     */
+    public RedisCommandCaptureReader(Path directory, String fileNamePrefix) throws IOException {
+        this(listFiles(directory, fileNamePrefix));
+    }
+
+    /**
+     * @param files the files in order
+     */
+    public RedisCommandCaptureReader(List<Path> files) {
+        this.files = new ArrayList<>(files).iterator();
+    }
+
+    /**
+     * Read the next record
+     *
+     * @return <code>null</code> if all files were read
+     * @throws IOException if the I/O error occurs or the file is not written by {@link RedisCommandCaptureLog}
+     */
+    @Nullable
+    public RedisCommandCaptureRecord read() throws IOException {
+        for (; ; ) {
+            DataInputStream inputStream = this.inputStream;
+            if (inputStream == null) {
+                if (!this.files.hasNext()) {
+                    return null;
+                }
+                inputStream = openNextFile();
+            }
+            int recordLength;
+            try {
+                recordLength = inputStream.readInt();
+            } catch (EOFException e) {
+                closeFile();
+                continue;
+            }
+            if (recordLength < RECORD_FIXED_LENGTH) {
+                throw new IOException("The length of the record is invalid : " + recordLength + " in the file '" + this.file + "'");
+            }
+            byte[] bytes = new byte[recordLength];
+            try {
+                inputStream.readFully(bytes);
+            } catch (EOFException e) {
+                logger.warn("The truncated record[length : {}] at the tail of the file '{}' is skipped", recordLength, this.file);
+                closeFile();
+                continue;
+            }
+            return decode(bytes);
+        }
+    }
+
+    /**
+     * Get the wall-clock time in milliseconds that the timestamp <code>0</code> of the records refers to
+     *
+     * @return <code>-1</code> if no file has been read
+     */
+    public long getEpochMillis() {
+        return this.epochMillis;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeFile();
+    }
+
+    private DataInputStream openNextFile() throws IOException {
+        Path file = this.files.next();
+        DataInputStream inputStream = new DataInputStream(new BufferedInputStream(newInputStream(file)));
+        try {
+            int magic = inputStream.readInt();
+            byte version = inputStream.readByte();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException("The file '" + file + "' is not the capture file of version " + VERSION);
+            }
+            this.epochMillis = inputStream.readLong();
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+        this.inputStream = inputStream;
+        this.file = file;
+        return inputStream;
+    }
+
+    private void closeFile() throws IOException {
+        DataInputStream inputStream = this.inputStream;
+        if (inputStream != null) {
+            this.inputStream = null;
+            this.file = null;
+            inputStream.close();
+        }
+    }
+
+    static RedisCommandCaptureRecord decode(byte[] bytes) throws IOException {
+        ByteBuffer buffer = wrap(bytes);
+        long timestampNanos = buffer.getLong();
+        long threadId = buffer.getLong();
+        int methodIndex = buffer.getInt();
+        int argumentCount = buffer.get() & 0xFF;
+        byte[][] rawArguments = new byte[argumentCount][];
+        for (int i = 0; i < argumentCount; i++) {
+            int length = buffer.getInt();
+            if (length < 0) {
+                continue;
+            }
+            if (length > buffer.remaining()) {
+                throw new IOException("The length of the argument[" + i + "] is invalid : " + length);
+            }
+            byte[] rawArgument = new byte[length];
+            buffer.get(rawArgument);
+            rawArguments[i] = rawArgument;
+        }
+        return new RedisCommandCaptureRecord(timestampNanos, threadId, methodIndex, rawArguments);
+    }
+
+    /**
+     * List the files written by {@link RedisCommandCaptureLog} in the order of creation
+     *
+     * @param directory      the directory of the files
+     * @param fileNamePrefix the prefix of the file names
+     * @return empty if the directory is absent
+     * @throws IOException if the directory can't be listed
+     */
+    public static List<Path> listFiles(Path directory, String fileNamePrefix) throws IOException {
+        if (!isDirectory(directory)) {
+            return emptyList();
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = newDirectoryStream(directory, fileNamePrefix + "-*" + FILE_NAME_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        sort(files);
+        return files;
+    }
+}
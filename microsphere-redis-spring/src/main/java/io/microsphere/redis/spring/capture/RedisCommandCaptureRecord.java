@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.capture;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository;
+
+import java.lang.reflect.Method;
+import java.util.StringJoiner;
+
+import static io.microsphere.redis.spring.serializer.Serializers.deserialize;
+import static io.microsphere.util.Assert.assertNotNull;
+
+/**
+ * The record of a captured Redis command that is read from the {@link RedisCommandCaptureLog} by
+ * {@link RedisCommandCaptureReader}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisCommandCaptureRecord record = reader.read();
+ *   RedisMethodInvoker redisMethodInvoker = record.getRedisMethodInvoker();
+ *   if (redisMethodInvoker != null) {
+ *       redisMethodInvoker.invoke(redisConnection, record.getArgs(redisMethodInvoker.getMethod()));
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandCaptureLog
+ * @see RedisCommandCaptureReader
+ * @since 1.0.0
+ */
+public final class RedisCommandCaptureRecord {
+
+    private final long timestampNanos;
+
+    private final long threadId;
+
+    private final int methodIndex;
+
+    private final byte[][] rawArguments;
+
+    RedisCommandCaptureRecord(long timestampNanos, long threadId, int methodIndex, byte[][] rawArguments) {
+        this.timestampNanos = timestampNanos;
+        this.threadId = threadId;
+        this.methodIndex = methodIndex;
+        this.rawArguments = rawArguments;
+    }
+
+    /**
+     * Get the start time of the command in nanoseconds since the {@link RedisCommandCaptureReader#getEpochMillis()
+     * capture epoch}
+     *
+     * @return the timestamp in nanoseconds, may be negative if the command started before the capture
+     */
+    public long getTimestampNanos() {
+        return this.timestampNanos;
+    }
+
+    /**
+     * Get the id of the thread that executed the command
+     *
+     * @return the thread id
+     */
+    public long getThreadId() {
+        return this.threadId;
+    }
+
+    /**
+     * Get the {@link io.microsphere.redis.metadata.MethodMetadata#getIndex() index} of the Redis command method
+     *
+     * @return the method index
+     */
+    public int getMethodIndex() {
+        return this.methodIndex;
+    }
+
+    /**
+     * Get the serialized arguments
+     *
+     * @return non-null, the element is <code>null</code> if the argument is <code>null</code>
+     */
+    public byte[][] getRawArguments() {
+        return this.rawArguments;
+    }
+
+    /**
+     * Get the {@link RedisMethodInvoker} of the Redis command method
+     *
+     * @return <code>null</code> if the method index is absent in the current metadata
+     */
+    @Nullable
+    public RedisMethodInvoker getRedisMethodInvoker() {
+        return SpringRedisMetadataRepository.getRedisMethodInvoker(this.methodIndex);
+    }
+
+    /**
+     * Deserialize the arguments by the parameter types of the specified Redis command method
+     *
+     * @param method the Redis command method
+     * @return non-null
+     * @throws IllegalArgumentException if the count of the arguments mismatches the method
+     */
+    public Object[] getArgs(Method method) throws IllegalArgumentException {
+        assertNotNull(method, () -> "The 'method' must not be null");
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        byte[][] rawArguments = this.rawArguments;
+        int length = rawArguments.length;
+        if (parameterTypes.length != length) {
+            throw new IllegalArgumentException("The count of arguments[" + length + "] mismatches the method : " + method);
+        }
+        Object[] args = new Object[length];
+        for (int i = 0; i < length; i++) {
+            byte[] rawArgument = rawArguments[i];
+            args[i] = rawArgument == null ? null : deserialize(rawArgument, parameterTypes[i].getName());
+        }
+        return args;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RedisCommandCaptureRecord.class.getSimpleName() + "[", "]")
+                .add("timestampNanos=" + this.timestampNanos)
+                .add("threadId=" + this.threadId)
+                .add("methodIndex=" + this.methodIndex)
+                .add("arguments=" + this.rawArguments.length)
+                .toString();
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.capture;
+
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.getRawRedisConnection;
+import static io.microsphere.util.Assert.assertNotNull;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Double.isInfinite;
+import static java.lang.Math.floorMod;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+/**
+ * The replayer of the Redis commands captured by {@link RedisCommandCaptureLog}, which reissues the records of
+ * {@link RedisCommandCaptureReader} against the raw {@link RedisConnection connections} of the
+ * {@link RedisConnectionFactory}, e.g. the staging Redis cluster.
+ * <p>
+ * The records are dispatched to the worker threads by the captured thread id, so the commands of a captured thread
+ * are reissued in order by the same worker thread with its own connection. The speed controls the pacing :
+ * <ul>
+ *     <li>{@link #ORIGINAL_SPEED} : the commands are reissued at the original intervals</li>
+ *     <li>the other positive speed : the intervals are scaled by <code>1 / speed</code>, e.g. <code>2.0</code> is
+ *     twice as fast as the original</li>
+ *     <li>{@link #MAX_SPEED} : the commands are reissued as soon as possible</li>
+ * </ul>
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisCommandReplayer replayer = new RedisCommandReplayer(stagingRedisConnectionFactory, 2.0, 8);
+ *   try (RedisCommandCaptureReader reader = new RedisCommandCaptureReader(Paths.get("/data/capture"), "redis-capture")) {
+ *       long replayed = replayer.replay(reader);
+ *   }
+ *   replayer.getFailedCount();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandCaptureReader
+ * @see RedisCommandCaptureLog
+ * @since 1.0.0
+ */
+public class RedisCommandReplayer {
+
+    private static final Logger logger = getLogger(RedisCommandReplayer.class);
+
+    /**
+     * The original speed
+     */
+    public static final double ORIGINAL_SPEED = 1.0d;
+
+    /**
+     * The maximum speed without pacing
+     */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    /**
+     * The prefix of the worker thread name
+     */
+    public static final String WORKER_THREAD_NAME_PREFIX = "microsphere-redis-replayer-";
+
+    /**
+     * The capacity of the queue per worker thread
+     */
+    static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * The record that stops the worker thread
+     */
+    private static final RedisCommandCaptureRecord END = new RedisCommandCaptureRecord(0L, 0L, 0, new byte[0][]);
+
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    private final double speed;
+
+    private final int concurrency;
+
+    private final LongAdder replayedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder skippedCount = new LongAdder();
+
+    /**
+     * @param redisConnectionFactory the {@link RedisConnectionFactory} of the target Redis
+     * @param speed                  the speed, {@link #ORIGINAL_SPEED}, {@link #MAX_SPEED} or the other positive
+     *                               scale
+     * @param concurrency            the count of the worker threads
+     * @throws IllegalArgumentException if the speed or the concurrency is not positive
+     */
+    public RedisCommandReplayer(RedisConnectionFactory redisConnectionFactory, double speed, int concurrency)
+            throws IllegalArgumentException {
+        assertNotNull(redisConnectionFactory, () -> "The 'redisConnectionFactory' must not be null");
+        assertTrue(speed > 0, () -> "The speed must be positive : " + speed);
+        assertTrue(concurrency > 0, () -> "The concurrency must be positive : " + concurrency);
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.speed = speed;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Replay all records of the {@link RedisCommandCaptureReader} and wait for the completion
+     *
+     * @param reader {@link RedisCommandCaptureReader}
+     * @return the count of the records that were read in this replay
+     * @throws IOException          if the records can't be read
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public long replay(RedisCommandCaptureReader reader) throws IOException, InterruptedException {
+        RedisCommandCaptureRecord record = reader.read();
+        if (record == null) {
+            return 0L;
+        }
+        long count = 0L;
+        int concurrency = this.concurrency;
+        long firstTimestampNanos = record.getTimestampNanos();
+        long startTimeNanos = nanoTime();
+        BlockingQueue<RedisCommandCaptureRecord>[] queues = new BlockingQueue[concurrency];
+        Thread[] workers = new Thread[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            BlockingQueue<RedisCommandCaptureRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            Thread worker = new Thread(() -> work(queue, firstTimestampNanos, startTimeNanos), WORKER_THREAD_NAME_PREFIX + i);
+            worker.setDaemon(true);
+            worker.start();
+            queues[i] = queue;
+            workers[i] = worker;
+        }
+        try {
+            do {
+                queues[floorMod(record.getThreadId(), concurrency)].put(record);
+                count++;
+            } while ((record = reader.read()) != null);
+        } finally {
+            for (BlockingQueue<RedisCommandCaptureRecord> queue : queues) {
+                queue.put(END);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+        return count;
+    }
+
+    private void work(BlockingQueue<RedisCommandCaptureRecord> queue, long firstTimestampNanos, long startTimeNanos) {
+        RedisConnection redisConnection = getRawRedisConnection(this.redisConnectionFactory.getConnection());
+        try {
+            for (; ; ) {
+                RedisCommandCaptureRecord record = queue.take();
+                if (record == END) {
+                    break;
+                }
+                pace(record.getTimestampNanos() - firstTimestampNanos, startTimeNanos);
+                reissue(record, redisConnection);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            redisConnection.close();
+        }
+    }
+
+    private void pace(long offsetNanos, long startTimeNanos) {
+        double speed = this.speed;
+        if (isInfinite(speed)) {
+            return;
+        }
+        long dueTimeNanos = startTimeNanos + (long) (offsetNanos / speed);
+        long waitNanos;
+        while ((waitNanos = dueTimeNanos - nanoTime()) > 0) {
+            parkNanos(waitNanos);
+        }
+    }
+
+    void reissue(RedisCommandCaptureRecord record, RedisConnection redisConnection) {
+        RedisMethodInvoker redisMethodInvoker = record.getRedisMethodInvoker();
+        if (redisMethodInvoker == null) {
+            this.skippedCount.increment();
+            logger.trace("The record is skipped, because its method is absent in the metadata : {}", record);
+            return;
+        }
+        try {
+            redisMethodInvoker.invoke(redisConnection, record.getArgs(redisMethodInvoker.getMethod()));
+            this.replayedCount.increment();
+        } catch (Throwable e) {
+            this.failedCount.increment();
+            logger.trace("The record failed to be replayed : {}", record, e);
+        }
+    }
+
+    /**
+     * Get the speed
+     *
+     * @return positive
+     */
+    public double getSpeed() {
+        return this.speed;
+    }
+
+    /**
+     * Get the count of the worker threads
+     *
+     * @return positive
+     */
+    public int getConcurrency() {
+        return this.concurrency;
+    }
+
+    /**
+     * Get the count of the commands that were reissued successfully
+     *
+     * @return non-negative
+     */
+    public long getReplayedCount() {
+        return this.replayedCount.sum();
+    }
+
+    /**
+     * Get the count of the commands that failed to be reissued
+     *
+     * @return non-negative
+     */
+    public long getFailedCount() {
+        return this.failedCount.sum();
+    }
+
+    /**
+     * Get the count of the records that were skipped because their methods are absent in the metadata
+     *
+     * @return non-negative
+     */
+    public long getSkippedCount() {
+        return this.skippedCount.sum();
+    }
+}
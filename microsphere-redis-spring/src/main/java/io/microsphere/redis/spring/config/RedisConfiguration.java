@@ -2,6 +2,7 @@ package io.microsphere.redis.spring.config;
 
 import io.microsphere.logging.Logger;
 import io.microsphere.redis.spring.event.RedisConfigurationPropertyChangedEvent;
+import io.microsphere.redis.spring.interceptor.RedisMethodSampler;
 import io.microsphere.redis.spring.util.RedisSpringUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
@@ -12,10 +13,17 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.interceptor.RedisMethodSampler.ALWAYS;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_ENABLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_PROPERTY_NAME_PREFIX;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.getMicrosphereRedisInterceptorSamplingCommandRates;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.getMicrosphereRedisInterceptorSamplingRate;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.getMicrosphereRedisInterceptorSamplingStrategy;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.isMicrosphereRedisCommandEventExposed;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.isMicrosphereRedisEnabled;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.isMicrosphereRedisInterceptorContextRecycled;
 import static io.microsphere.spring.context.ApplicationContextUtils.asConfigurableApplicationContext;
 import static io.microsphere.spring.core.env.EnvironmentUtils.asConfigurableEnvironment;
 
@@ -44,14 +52,35 @@ public class RedisConfiguration implements ApplicationListener<RedisConfiguratio
 
     protected volatile boolean commandEventExposed;
 
+    protected volatile boolean contextRecycled;
+
+    protected volatile RedisMethodSampler redisMethodSampler = ALWAYS;
+
     @Override
     public void onApplicationEvent(RedisConfigurationPropertyChangedEvent event) {
         logger.trace("onApplicationEvent : {}", event);
+        // The event may carry several changed properties, each of them is applied
         if (event.hasProperty(MICROSPHERE_REDIS_ENABLED_PROPERTY_NAME)) {
             setEnabled();
-        } else if (event.hasProperty(MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME)) {
+        }
+        if (event.hasProperty(MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME)) {
             setCommandEventExposed();
         }
+        if (event.hasProperty(MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME)) {
+            setContextRecycled();
+        }
+        if (hasSamplingProperty(event)) {
+            setRedisMethodSampler();
+        }
+    }
+
+    private boolean hasSamplingProperty(RedisConfigurationPropertyChangedEvent event) {
+        for (String propertyName : event.getPropertyNames()) {
+            if (propertyName.startsWith(MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_PROPERTY_NAME_PREFIX)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public void setEnabled() {
@@ -62,6 +91,17 @@ public class RedisConfiguration implements ApplicationListener<RedisConfiguratio
         this.commandEventExposed = isMicrosphereRedisCommandEventExposed(this.environment);
     }
 
+    public void setContextRecycled() {
+        this.contextRecycled = isMicrosphereRedisInterceptorContextRecycled(this.environment);
+    }
+
+    public void setRedisMethodSampler() {
+        ConfigurableEnvironment environment = this.environment;
+        this.redisMethodSampler = RedisMethodSampler.of(getMicrosphereRedisInterceptorSamplingStrategy(environment),
+                getMicrosphereRedisInterceptorSamplingRate(environment),
+                getMicrosphereRedisInterceptorSamplingCommandRates(environment));
+    }
+
     public ConfigurableEnvironment getEnvironment() {
         return this.environment;
     }
@@ -78,6 +118,14 @@ public class RedisConfiguration implements ApplicationListener<RedisConfiguratio
         return this.commandEventExposed;
     }
 
+    public boolean isContextRecycled() {
+        return this.contextRecycled;
+    }
+
+    public RedisMethodSampler getRedisMethodSampler() {
+        return this.redisMethodSampler;
+    }
+
     @Override
     public void setApplicationContext(ApplicationContext context) throws BeansException {
         this.context = asConfigurableApplicationContext(context);
@@ -85,6 +133,8 @@ public class RedisConfiguration implements ApplicationListener<RedisConfiguratio
         this.applicationName = RedisSpringUtils.getApplicationName(this.environment);
         setEnabled();
         setCommandEventExposed();
+        setContextRecycled();
+        setRedisMethodSampler();
     }
 
     public static RedisConfiguration get(BeanFactory beanFactory) {
@@ -2,6 +2,7 @@ package io.microsphere.redis.spring.connection.dynamic;
 
 import io.microsphere.annotation.Nonnull;
 import io.microsphere.logging.Logger;
+import io.microsphere.redis.util.ContextHolder;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.SmartInitializingSingleton;
@@ -15,8 +16,10 @@ import org.springframework.data.redis.connection.RedisSentinelConnection;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.util.ContextHolder.newContextHolder;
 import static io.microsphere.text.FormatUtils.format;
 import static io.microsphere.util.Assert.assertNotEmpty;
 import static io.microsphere.util.Assert.assertNotNull;
@@ -39,7 +42,7 @@ public class DynamicRedisConnectionFactory implements RedisConnectionFactory, Sm
      */
     public static final String DEFAULT_REDIS_CONNECTION_FACTORY_BEAN_NAME = "redisConnectionFactory";
 
-    private static final ThreadLocal<String> beanNameHolder = new ThreadLocal<>();
+    private static final ContextHolder<String> beanNameHolder = newContextHolder();
 
     private String beanName;
 
@@ -160,7 +163,8 @@ public class DynamicRedisConnectionFactory implements RedisConnectionFactory, Sm
      *     <li>When this method is called, actively call the {@link #clearTarget()} method to clear the tag state,
      *     especially in non-Web request threading scenarios, to avoid memory leakage sharing (although the framework does clear it at the end of the HTTP request).</li>
      *     <li>When the method invocation, if in a custom thread pool scene, please pay attention to copy
-     *     the current < code > ThreadLocal cache redisConnectionFactoryBeanName < code > to the target thread</li>
+     *     the current target to the target thread, e.g. wrapping the executor by
+     *     {@link io.microsphere.redis.spring.util.RedisContextExecutors#wrap(java.util.concurrent.Executor)}</li>
      *     <li>When a < code > redisConnectionFactoryBeanName < code > points to Bean in the current application context does not exist,
      *     will throw an exception</li>
      * </ul>
@@ -172,6 +176,33 @@ public class DynamicRedisConnectionFactory implements RedisConnectionFactory, Sm
         logger.trace("Switch target RedisConnectionFactory Bean Name: '{}'", redisConnectionFactoryBeanName);
     }
 
+    /**
+     * Executes the given {@link Callable} with the target {@link RedisConnectionFactory} switched, the previous target
+     * is restored after it completes without {@link #clearTarget()}.
+     *
+     * @param redisConnectionFactoryBeanName Target {@link RedisConnectionFactory} Bean name, {@code null} indicates
+     *                                       the default one
+     * @param callable                       the task to execute
+     * @param <V>                            the type of result
+     * @return the result of {@link Callable#call()}
+     * @throws Exception the exception thrown by {@link Callable#call()}
+     */
+    public static <V> V callWithTarget(String redisConnectionFactoryBeanName, Callable<V> callable) throws Exception {
+        return beanNameHolder.call(redisConnectionFactoryBeanName, callable);
+    }
+
+    /**
+     * Executes the given {@link Runnable} with the target {@link RedisConnectionFactory} switched, the previous target
+     * is restored after it completes without {@link #clearTarget()}.
+     *
+     * @param redisConnectionFactoryBeanName Target {@link RedisConnectionFactory} Bean name, {@code null} indicates
+     *                                       the default one
+     * @param runnable                       the task to execute
+     */
+    public static void runWithTarget(String redisConnectionFactoryBeanName, Runnable runnable) {
+        beanNameHolder.run(redisConnectionFactoryBeanName, runnable);
+    }
+
     public static void clearTarget() {
         String targetBeanName = getTargetBeanName();
         beanNameHolder.remove();
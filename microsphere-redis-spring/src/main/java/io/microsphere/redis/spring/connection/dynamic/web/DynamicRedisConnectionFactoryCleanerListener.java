@@ -8,7 +8,7 @@ import jakarta.servlet.annotation.WebListener;
 import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.clearTarget;
 
 /**
- * {@link DynamicRedisConnectionFactory} {@link ThreadLocal} state cleaner
+ * {@link DynamicRedisConnectionFactory} target state cleaner
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
  * @see DynamicRedisConnectionFactory
@@ -20,7 +20,7 @@ public class DynamicRedisConnectionFactoryCleanerListener implements ServletRequ
 
     @Override
     public void requestDestroyed(ServletRequestEvent sre) {
-        // Clear ThreadLocal
+        // Clear the target
         clearTarget();
     }
 }
@@ -17,14 +17,28 @@
 package io.microsphere.redis.spring.context;
 
 import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
 import io.microsphere.logging.Logger;
 import io.microsphere.redis.spring.config.RedisConfiguration;
+import io.microsphere.redis.spring.event.ApplicationEventPublishingRedisCommandEventListener;
+import io.microsphere.redis.spring.event.RedisCommandEventListener;
+import io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher;
+import io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionGenerator;
+import io.microsphere.redis.spring.interceptor.ReactiveRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.ReactiveRedisCommandInterceptorChains;
+import io.microsphere.redis.spring.interceptor.RedisCommandEventBus;
 import io.microsphere.redis.spring.interceptor.RedisCommandInterceptor;
 import io.microsphere.redis.spring.interceptor.RedisConnectionInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisMethodInterceptorChains;
+import io.microsphere.redis.spring.interceptor.RedisMethodSampler;
+import io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository;
+import io.microsphere.redis.spring.util.RedisSpringUtils;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
@@ -33,10 +47,16 @@ import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.isReactiveSupported;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.findAsyncRedisCommandInterceptors;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisCommandEventListeners;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisCommandInterceptors;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisConnectionFactoryBeanNames;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisConnectionInterceptors;
@@ -44,6 +64,8 @@ import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisTemplat
 import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisTemplateBeanNames;
 import static io.microsphere.spring.beans.factory.BeanFactoryUtils.asConfigurableListableBeanFactory;
 import static io.microsphere.spring.context.ApplicationContextUtils.asConfigurableApplicationContext;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 
 /**
  * Central Spring bean that aggregates all Redis infrastructure components for the Microsphere
@@ -51,6 +73,10 @@ import static io.microsphere.spring.context.ApplicationContextUtils.asConfigurab
  * <ul>
  *   <li>{@link RedisConfiguration} – environment-backed Redis settings</li>
  *   <li>Discovered {@link RedisConnectionInterceptor} and {@link RedisCommandInterceptor} lists</li>
+ *   <li>Discovered {@link ReactiveRedisCommandInterceptor} list if the reactive Redis commands are supported</li>
+ *   <li>The {@link AsyncRedisCommandInterceptorDispatcher} of the {@link AsyncRedisCommandInterceptor} beans if present</li>
+ *   <li>The {@link RedisCommandEventBus} of the {@link RedisCommandEventListener} beans if present, which also bridges
+ *       the events to the {@link org.springframework.context.ApplicationListener ApplicationListeners} by default</li>
  *   <li>Resolved bean names for all {@link RedisTemplate} and
  *       {@link org.springframework.data.redis.connection.RedisConnectionFactory} beans</li>
  * </ul>
@@ -73,7 +99,8 @@ import static io.microsphere.spring.context.ApplicationContextUtils.asConfigurab
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
  * @since 1.0.0
  */
-public class RedisContext implements SmartInitializingSingleton, ApplicationContextAware, BeanFactoryAware, BeanClassLoaderAware {
+public class RedisContext implements SmartInitializingSingleton, ApplicationContextAware, BeanFactoryAware, BeanClassLoaderAware,
+        DisposableBean {
 
     private static final Logger logger = getLogger(RedisConfiguration.class);
 
@@ -95,6 +122,18 @@ public class RedisContext implements SmartInitializingSingleton, ApplicationCont
 
     private List<RedisCommandInterceptor> redisCommandInterceptors;
 
+    private AsyncRedisCommandInterceptorDispatcher asyncRedisCommandInterceptorDispatcher;
+
+    private RedisCommandEventBus redisCommandEventBus;
+
+    private List<ReactiveRedisCommandInterceptor> reactiveRedisCommandInterceptors;
+
+    private volatile RedisMethodInterceptorChains redisMethodInterceptorChains;
+
+    private volatile ReactiveRedisCommandInterceptorChains reactiveRedisCommandInterceptorChains;
+
+    private volatile InterceptingRedisConnectionGenerator interceptingRedisConnectionGenerator;
+
     @Override
     public void afterSingletonsInstantiated() {
         this.redisConfiguration = getRedisConfiguration();
@@ -102,6 +141,60 @@ public class RedisContext implements SmartInitializingSingleton, ApplicationCont
         this.redisConnectionFactoryBeanNames = findRedisConnectionFactoryBeanNames(beanFactory);
         this.redisConnectionInterceptors = findRedisConnectionInterceptors(beanFactory);
         this.redisCommandInterceptors = findRedisCommandInterceptors(beanFactory);
+        initAsyncRedisCommandInterceptorDispatcher();
+        initRedisCommandEventBus();
+        this.reactiveRedisCommandInterceptors = findReactiveRedisCommandInterceptors();
+        this.redisMethodInterceptorChains = new RedisMethodInterceptorChains(this.redisConnectionInterceptors, this.redisCommandInterceptors);
+        this.reactiveRedisCommandInterceptorChains = new ReactiveRedisCommandInterceptorChains(this.reactiveRedisCommandInterceptors);
+        this.interceptingRedisConnectionGenerator = new InterceptingRedisConnectionGenerator(this);
+    }
+
+    private void initAsyncRedisCommandInterceptorDispatcher() {
+        List<AsyncRedisCommandInterceptor> asyncRedisCommandInterceptors = findAsyncRedisCommandInterceptors(beanFactory);
+        if (asyncRedisCommandInterceptors.isEmpty()) {
+            return;
+        }
+        AsyncRedisCommandInterceptorDispatcher dispatcher = AsyncRedisCommandInterceptorDispatcher.of(asyncRedisCommandInterceptors, getEnvironment());
+        dispatcher.start();
+        List<RedisCommandInterceptor> redisCommandInterceptors = new ArrayList<>(this.redisCommandInterceptors.size() + 1);
+        redisCommandInterceptors.addAll(this.redisCommandInterceptors);
+        redisCommandInterceptors.add(dispatcher);
+        this.redisCommandInterceptors = unmodifiableList(redisCommandInterceptors);
+        this.asyncRedisCommandInterceptorDispatcher = dispatcher;
+    }
+
+    private void initRedisCommandEventBus() {
+        List<RedisCommandEventListener> redisCommandEventListeners = findRedisCommandEventListeners(beanFactory);
+        if (redisCommandEventListeners.isEmpty()) {
+            return;
+        }
+        ConfigurableEnvironment environment = getEnvironment();
+        if (environment.getProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED_PROPERTY_NAME, boolean.class,
+                DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED)) {
+            // The RedisCommandEvents are no longer published to the ApplicationListeners in the thread executing the command
+            redisCommandEventListeners = new ArrayList<>(redisCommandEventListeners);
+            redisCommandEventListeners.add(new ApplicationEventPublishingRedisCommandEventListener(this.context));
+        }
+        RedisCommandEventBus bus = RedisCommandEventBus.of(redisCommandEventListeners, environment);
+        bus.start();
+        this.redisCommandEventBus = bus;
+    }
+
+    private List<ReactiveRedisCommandInterceptor> findReactiveRedisCommandInterceptors() {
+        // The reactive interceptors depend on Project Reactor
+        return isReactiveSupported() ? RedisSpringUtils.findReactiveRedisCommandInterceptors(beanFactory) : emptyList();
+    }
+
+    @Override
+    public void destroy() {
+        AsyncRedisCommandInterceptorDispatcher dispatcher = this.asyncRedisCommandInterceptorDispatcher;
+        if (dispatcher != null) {
+            dispatcher.destroy();
+        }
+        RedisCommandEventBus bus = this.redisCommandEventBus;
+        if (bus != null) {
+            bus.destroy();
+        }
     }
 
     /**
@@ -221,6 +314,26 @@ public class RedisContext implements SmartInitializingSingleton, ApplicationCont
         return getRedisConfiguration().isCommandEventExposed();
     }
 
+    /**
+     * Returns {@code true} if the {@link io.microsphere.redis.spring.interceptor.RedisMethodContext} is recycled per
+     * thread (controlled by {@link RedisConfiguration#isContextRecycled()}).
+     *
+     * @return {@code true} if the {@link io.microsphere.redis.spring.interceptor.RedisMethodContext} should be recycled
+     */
+    public boolean isContextRecycled() {
+        return getRedisConfiguration().isContextRecycled();
+    }
+
+    /**
+     * Returns the {@link RedisMethodSampler} deciding whether the sampleable interceptors run for a call
+     * (controlled by {@link RedisConfiguration#getRedisMethodSampler()}).
+     *
+     * @return non-null {@link RedisMethodSampler}
+     */
+    public RedisMethodSampler getRedisMethodSampler() {
+        return getRedisConfiguration().getRedisMethodSampler();
+    }
+
     /**
      * Returns the application name from the underlying {@link RedisConfiguration}.
      *
@@ -248,6 +361,104 @@ public class RedisContext implements SmartInitializingSingleton, ApplicationCont
         return redisCommandInterceptors;
     }
 
+    /**
+     * Returns the {@link AsyncRedisCommandInterceptorDispatcher} that was started for the
+     * {@link AsyncRedisCommandInterceptor} beans, which is also the last one of {@link #getRedisCommandInterceptors()}.
+     *
+     * @return <code>null</code> if no {@link AsyncRedisCommandInterceptor} bean is present
+     */
+    @Nullable
+    public AsyncRedisCommandInterceptorDispatcher getAsyncRedisCommandInterceptorDispatcher() {
+        return asyncRedisCommandInterceptorDispatcher;
+    }
+
+    /**
+     * Returns the {@link RedisCommandEventBus} that was started for the {@link RedisCommandEventListener} beans.
+     *
+     * @return <code>null</code> if no {@link RedisCommandEventListener} bean is present
+     */
+    @Nullable
+    public RedisCommandEventBus getRedisCommandEventBus() {
+        return redisCommandEventBus;
+    }
+
+    /**
+     * Returns the {@link RedisMethodInterceptorChains} precomputed from the interceptors of this context, creating it
+     * on first access if {@link #afterSingletonsInstantiated()} has not been executed yet.
+     *
+     * @return non-null {@link RedisMethodInterceptorChains}
+     */
+    @Nonnull
+    public RedisMethodInterceptorChains getRedisMethodInterceptorChains() {
+        RedisMethodInterceptorChains chains = this.redisMethodInterceptorChains;
+        if (chains == null) {
+            synchronized (this) {
+                chains = this.redisMethodInterceptorChains;
+                if (chains == null) {
+                    logger.trace("RedisMethodInterceptorChains is not initialized, it will be created");
+                    chains = new RedisMethodInterceptorChains(this.redisConnectionInterceptors, this.redisCommandInterceptors);
+                    this.redisMethodInterceptorChains = chains;
+                }
+            }
+        }
+        return chains;
+    }
+
+    /**
+     * Returns the ordered list of {@link ReactiveRedisCommandInterceptor} beans registered in the context.
+     *
+     * @return list of reactive command interceptors; empty if the reactive Redis commands are not
+     * {@link SpringRedisMetadataRepository#isReactiveSupported() supported}
+     */
+    public List<ReactiveRedisCommandInterceptor> getReactiveRedisCommandInterceptors() {
+        return reactiveRedisCommandInterceptors;
+    }
+
+    /**
+     * Returns the {@link ReactiveRedisCommandInterceptorChains} precomputed from the reactive interceptors of this
+     * context, creating it on first access if {@link #afterSingletonsInstantiated()} has not been executed yet.
+     *
+     * @return non-null {@link ReactiveRedisCommandInterceptorChains}
+     */
+    @Nonnull
+    public ReactiveRedisCommandInterceptorChains getReactiveRedisCommandInterceptorChains() {
+        ReactiveRedisCommandInterceptorChains chains = this.reactiveRedisCommandInterceptorChains;
+        if (chains == null) {
+            synchronized (this) {
+                chains = this.reactiveRedisCommandInterceptorChains;
+                if (chains == null) {
+                    logger.trace("ReactiveRedisCommandInterceptorChains is not initialized, it will be created");
+                    chains = new ReactiveRedisCommandInterceptorChains(this.reactiveRedisCommandInterceptors);
+                    this.reactiveRedisCommandInterceptorChains = chains;
+                }
+            }
+        }
+        return chains;
+    }
+
+    /**
+     * Returns the {@link InterceptingRedisConnectionGenerator} whose {@link org.springframework.data.redis.connection.RedisConnection}
+     * class is generated from the interceptors of this context, creating it on first access if
+     * {@link #afterSingletonsInstantiated()} has not been executed yet.
+     *
+     * @return non-null {@link InterceptingRedisConnectionGenerator}
+     */
+    @Nonnull
+    public InterceptingRedisConnectionGenerator getInterceptingRedisConnectionGenerator() {
+        InterceptingRedisConnectionGenerator generator = this.interceptingRedisConnectionGenerator;
+        if (generator == null) {
+            synchronized (this) {
+                generator = this.interceptingRedisConnectionGenerator;
+                if (generator == null) {
+                    logger.trace("InterceptingRedisConnectionGenerator is not initialized, it will be created");
+                    generator = new InterceptingRedisConnectionGenerator(this);
+                    this.interceptingRedisConnectionGenerator = generator;
+                }
+            }
+        }
+        return generator;
+    }
+
     /**
      * Retrieves the {@link RedisContext} bean from the given {@link BeanFactory}.
      *
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.event;
+
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.spring.interceptor.RedisCommandEventBus;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+
+/**
+ * The {@link RedisCommandEventListener} bridges the {@link RedisCommandEvent RedisCommandEvents} delivered by the
+ * {@link RedisCommandEventBus} to the {@link org.springframework.context.ApplicationListener ApplicationListeners}, so
+ * that the existing listeners keep receiving the events in the consumer thread of the bus instead of the thread
+ * executing the Redis command.
+ * <p>
+ * The events are published one by one, so the {@link RedisCommandBatchEvent} is not published when the bus is present.
+ * The failure of one event is logged without affecting the rest of the batch.
+ * The bridge is registered by {@link io.microsphere.redis.spring.context.RedisContext} unless the property
+ * "microsphere.redis.command-event.bus.application-event-bridged" is <code>false</code>.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisCommandEventListener bridge = new ApplicationEventPublishingRedisCommandEventListener(applicationContext);
+ *   bridge.onEvents(events); // ApplicationListener<RedisCommandEvent> beans receive each event
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventListener
+ * @see RedisCommandEventBus
+ * @see ApplicationEventPublisher
+ * @since 1.0.0
+ */
+public class ApplicationEventPublishingRedisCommandEventListener implements RedisCommandEventListener {
+
+    private static final Logger logger = getLogger(ApplicationEventPublishingRedisCommandEventListener.class);
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ApplicationEventPublishingRedisCommandEventListener(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void onEvents(List<RedisCommandEvent> events) {
+        for (int i = 0, size = events.size(); i < size; i++) {
+            RedisCommandEvent event = events.get(i);
+            try {
+                applicationEventPublisher.publishEvent(event);
+            } catch (Throwable e) {
+                logger.error("The ApplicationListener failed to handle the RedisCommandEvent : {}", event, e);
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
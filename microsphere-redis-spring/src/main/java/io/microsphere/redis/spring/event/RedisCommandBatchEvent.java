@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.event;
+
+import io.microsphere.annotation.Nonnull;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static io.microsphere.constants.SymbolConstants.COMMA;
+import static io.microsphere.constants.SymbolConstants.LEFT_SQUARE_BRACKET;
+import static io.microsphere.constants.SymbolConstants.RIGHT_SQUARE_BRACKET;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Spring {@link ApplicationEvent} that captures the Redis commands flushed by one pipeline or transaction, which is
+ * published by {@link io.microsphere.redis.spring.interceptor.EventPublishingRedisCommandInterceptor} once per flush
+ * instead of one {@link RedisCommandEvent} per queued command.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   @Component
+ *   public class MyRedisCommandBatchListener implements ApplicationListener<RedisCommandBatchEvent> {
+ *       @Override
+ *       public void onApplicationEvent(RedisCommandBatchEvent event) {
+ *           for (RedisCommandEvent redisCommandEvent : event) {
+ *               System.out.println("Redis write command executed: " + redisCommandEvent.getMethodName());
+ *           }
+ *       }
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEvent
+ * @since 1.0.0
+ */
+public class RedisCommandBatchEvent extends ApplicationEvent implements Iterable<RedisCommandEvent> {
+
+    private static final long serialVersionUID = -1L;
+
+    private final transient List<RedisCommandEvent> redisCommandEvents;
+
+    /**
+     * Creates a {@link RedisCommandBatchEvent}.
+     *
+     * @param source             the object on which the event initially occurred, e.g. the source bean
+     * @param redisCommandEvents the {@link RedisCommandEvent RedisCommandEvents} in the execution order
+     */
+    public RedisCommandBatchEvent(Object source, List<RedisCommandEvent> redisCommandEvents) {
+        super(source);
+        this.redisCommandEvents = unmodifiableList(redisCommandEvents);
+    }
+
+    /**
+     * Returns the {@link RedisCommandEvent RedisCommandEvents} in the execution order.
+     *
+     * @return non-null unmodifiable list
+     */
+    @Nonnull
+    public List<RedisCommandEvent> getRedisCommandEvents() {
+        return this.redisCommandEvents;
+    }
+
+    /**
+     * Returns the count of the Redis commands.
+     *
+     * @return non-negative
+     */
+    public int size() {
+        return this.redisCommandEvents.size();
+    }
+
+    @Override
+    public Iterator<RedisCommandEvent> iterator() {
+        return this.redisCommandEvents.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(COMMA, RedisCommandBatchEvent.class.getSimpleName() + LEFT_SQUARE_BRACKET, RIGHT_SQUARE_BRACKET)
+                .add("source=" + getSource())
+                .add("redisCommandEvents=" + this.redisCommandEvents)
+                .toString();
+    }
+}
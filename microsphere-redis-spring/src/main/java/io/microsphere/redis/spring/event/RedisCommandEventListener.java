@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.event;
+
+import io.microsphere.redis.spring.interceptor.RedisCommandEventBus;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * The listener of {@link RedisCommandEvent RedisCommandEvents} delivered by the {@link RedisCommandEventBus} in
+ * batches. Unlike {@link org.springframework.context.ApplicationListener}, the listener is executed by the consumer
+ * thread of the bus rather than the thread executing the Redis command, so a slow listener (e.g. sending the events to
+ * the message broker) does not add to the latency of Redis commands.
+ * <p>
+ * The listener beans are resolved once at the startup by {@link io.microsphere.redis.spring.context.RedisContext},
+ * and the events are delivered in the order of publishing, including the write commands flushed by the pipeline or the
+ * transaction, which are delivered one by one instead of {@link RedisCommandBatchEvent}. If the coalescing of the bus
+ * is enabled, the idempotent writes superseded within the window are not delivered.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   @Component
+ *   public class MyRedisCommandEventListener implements RedisCommandEventListener {
+ *
+ *       @Override
+ *       public void onEvents(List<RedisCommandEvent> events) {
+ *           for (RedisCommandEvent event : events) {
+ *               messageSender.send(event.getSourceBeanName(), event);
+ *           }
+ *       }
+ *
+ *       @Override
+ *       public int getOrder() { return Ordered.LOWEST_PRECEDENCE; }
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEvent
+ * @see RedisCommandEventBus
+ * @since 1.0.0
+ */
+public interface RedisCommandEventListener extends Ordered {
+
+    /**
+     * Callback for the batch of {@link RedisCommandEvent RedisCommandEvents} in the consumer thread of
+     * {@link RedisCommandEventBus}
+     *
+     * @param events the non-empty read-only {@link List} of {@link RedisCommandEvent RedisCommandEvents} in the order
+     *               of publishing, which must not be retained after the callback
+     * @throws Throwable When method implementations execute exceptions
+     */
+    void onEvents(List<RedisCommandEvent> events) throws Throwable;
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.event;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.spring.interceptor.RedisHotKeyDetector.HotKey;
+import io.microsphere.redis.spring.interceptor.RedisHotKeyDetector;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * The Spring {@link ApplicationEvent} published by {@link RedisHotKeyDetector} once per window when the estimated
+ * count of a hot key reaches the threshold.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   @Component
+ *   public class MyHotKeyListener implements ApplicationListener<RedisHotKeyEvent> {
+ *       @Override
+ *       public void onApplicationEvent(RedisHotKeyEvent event) {
+ *           HotKey hotKey = event.getHotKey();
+ *           System.out.println("Hot key : " + hotKey.getKeyAsString() + " , count : " + hotKey.getCount()
+ *                   + " , command : " + event.getCommand() + " , source bean : " + event.getSourceBeanName());
+ *       }
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisHotKeyDetector
+ * @since 1.0.0
+ */
+public class RedisHotKeyEvent extends ApplicationEvent {
+
+    private final HotKey hotKey;
+
+    private final String command;
+
+    @Nullable
+    private final String sourceBeanName;
+
+    /**
+     * @param redisHotKeyDetector the {@link RedisHotKeyDetector} as the source
+     * @param hotKey              the {@link HotKey}
+     * @param command             the name of Redis command that made the key hot, e.g. "GET"
+     * @param sourceBeanName      the source bean name, <code>null</code> if absent
+     */
+    public RedisHotKeyEvent(RedisHotKeyDetector redisHotKeyDetector, HotKey hotKey, String command,
+                            @Nullable String sourceBeanName) {
+        super(redisHotKeyDetector);
+        this.hotKey = hotKey;
+        this.command = command;
+        this.sourceBeanName = sourceBeanName;
+    }
+
+    @Override
+    public RedisHotKeyDetector getSource() {
+        return (RedisHotKeyDetector) super.getSource();
+    }
+
+    /**
+     * @return the {@link HotKey}
+     */
+    public HotKey getHotKey() {
+        return this.hotKey;
+    }
+
+    /**
+     * @return the name of Redis command that made the key hot, e.g. "GET"
+     */
+    public String getCommand() {
+        return this.command;
+    }
+
+    /**
+     * @return the source bean name, <code>null</code> if absent
+     */
+    @Nullable
+    public String getSourceBeanName() {
+        return this.sourceBeanName;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.metadata.MethodInfo;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+import static io.microsphere.redis.spring.interceptor.RedisMethodInterceptorChains.matches;
+import static org.springframework.core.annotation.AnnotationUtils.findAnnotation;
+
+/**
+ * The asynchronous interceptor of Redis commands, whose callbacks are executed by the consumer threads of
+ * {@link AsyncRedisCommandInterceptorDispatcher} rather than the calling thread, so a slow metrics or audit
+ * interceptor does not add to the latency of Redis commands. The {@link RedisCommandSnapshot snapshots} are handed
+ * off through the bounded ring buffers, so they may be dropped if the consumers fall behind, unless the overflow policy
+ * is {@link AsyncRedisCommandInterceptorDispatcher.OverflowPolicy#BLOCK}.
+ * <p>
+ * The snapshots are delivered in batches by {@link #onExecuted(List)}, which delegates to
+ * {@link #onExecuted(RedisCommandSnapshot)} one by one by default. The snapshots of one calling thread are delivered in
+ * order.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   @Component
+ *   @RedisInterceptorScope(type = CommandType.WRITE)
+ *   public class AuditAsyncRedisCommandInterceptor implements AsyncRedisCommandInterceptor {
+ *
+ *       @Override
+ *       public void onExecuted(RedisCommandSnapshot snapshot) {
+ *           auditLog.write(snapshot.getMethod(), snapshot.getArgs(), snapshot.getDurationNanos());
+ *       }
+ *
+ *       @Override
+ *       public int getOrder() { return Ordered.LOWEST_PRECEDENCE; }
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandSnapshot
+ * @see AsyncRedisCommandInterceptorDispatcher
+ * @since 1.0.0
+ */
+public interface AsyncRedisCommandInterceptor extends Ordered {
+
+    /**
+     * Does the interceptor support the specified Redis method or not. The result is evaluated once per method at the
+     * startup.
+     * <p>
+     * The default implementation matches the {@link RedisInterceptorScope} annotated on the interceptor class, or
+     * supports all methods if absent.
+     *
+     * @param methodInfo the {@link MethodInfo} of Redis command method, <code>null</code> if the method is not a Redis
+     *                   command, e.g. {@link org.springframework.data.redis.connection.RedisConnection#close()}
+     * @return <code>true</code> if supports
+     * @see RedisInterceptorScope
+     */
+    default boolean supports(@Nullable MethodInfo methodInfo) {
+        RedisInterceptorScope scope = findAnnotation(getClass(), RedisInterceptorScope.class);
+        return scope == null || matches(scope, methodInfo);
+    }
+
+    /**
+     * Callback after the execution of a Redis command in the consumer thread
+     *
+     * @param snapshot {@link RedisCommandSnapshot}
+     * @throws Throwable When method implementations execute exceptions
+     */
+    void onExecuted(RedisCommandSnapshot snapshot) throws Throwable;
+
+    /**
+     * Callback after the executions of the batch of Redis commands in the consumer thread
+     *
+     * @param snapshots the non-empty read-only {@link List} of {@link RedisCommandSnapshot snapshots} that the
+     *                  interceptor supports, which must not be retained after the callback
+     * @throws Throwable When method implementations execute exceptions
+     */
+    default void onExecuted(List<RedisCommandSnapshot> snapshots) throws Throwable {
+        for (int i = 0; i < snapshots.size(); i++) {
+            onExecuted(snapshots.get(i));
+        }
+    }
+}
@@ -0,0 +1,491 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.metadata.MethodInfo;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisCommands;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.metadata.RedisMethodInvoker.NON_COMMAND_ORDINAL;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokers;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+/**
+ * The {@link RedisCommandInterceptor} that hands off the {@link RedisCommandSnapshot snapshots} of the Redis command
+ * calls to the {@link AsyncRedisCommandInterceptor AsyncRedisCommandInterceptors}. The snapshot is offered to one of
+ * the bounded {@link MpscRingBuffer ring buffers} selected by the calling thread in {@link #afterExecute}, and each
+ * ring buffer is drained in batches by its own consumer thread, so the calling thread neither executes the
+ * asynchronous interceptors nor contends on any lock.
+ * <p>
+ * If the ring buffer is full, the snapshot is dropped by {@link OverflowPolicy#DROP}, or the calling thread waits for
+ * the free slot by {@link OverflowPolicy#BLOCK}. The counts of the queued, dropped and failed snapshots are recorded.
+ * <p>
+ * The instance is created and started by {@link io.microsphere.redis.spring.context.RedisContext} if any
+ * {@link AsyncRedisCommandInterceptor} bean is present, which is configured by the properties under
+ * "microsphere.redis.interceptor.async.".
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   AsyncRedisCommandInterceptorDispatcher dispatcher = new AsyncRedisCommandInterceptorDispatcher(
+ *           asyncRedisCommandInterceptors, 1024, 1, 64, OverflowPolicy.DROP);
+ *   dispatcher.start();
+ *   // registered as one of RedisCommandInterceptors
+ *   dispatcher.getDroppedCount();
+ *   dispatcher.destroy();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see AsyncRedisCommandInterceptor
+ * @see RedisCommandSnapshot
+ * @see MpscRingBuffer
+ * @since 1.0.0
+ */
+public class AsyncRedisCommandInterceptorDispatcher implements RedisCommandInterceptor, DisposableBean {
+
+    private static final Logger logger = getLogger(AsyncRedisCommandInterceptorDispatcher.class);
+
+    /**
+     * The prefix of the consumer thread name
+     */
+    public static final String CONSUMER_THREAD_NAME_PREFIX = "microsphere-redis-async-interceptor-";
+
+    /**
+     * The initial park time of the idle consumer thread, which is doubled on each idle loop up to
+     * {@link #MAX_IDLE_PARK_NANOS}, and is reset once the work is found
+     */
+    static final long MIN_IDLE_PARK_NANOS = 10_000L;
+
+    /**
+     * The maximum park time of the idle consumer thread, which bounds the wakeups of the idle thread to about
+     * 100 per second
+     */
+    static final long MAX_IDLE_PARK_NANOS = 10_000_000L;
+
+    /**
+     * The park time of the calling thread waiting for the free slot with {@link OverflowPolicy#BLOCK}
+     */
+    static final long BLOCK_PARK_NANOS = 10_000L;
+
+    /**
+     * The timeout in milliseconds to wait for the consumer threads on {@link #destroy()}
+     */
+    static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000L;
+
+    /**
+     * The start time of the execution recorded by {@link #beforeExecute(RedisMethodContext)}, which is kept private
+     * rather than {@link RedisMethodContext#start() starting} the shared context
+     */
+    static final AttributeKey<Long> START_TIME_NANOS_KEY = AttributeKey.valueOf("microsphere.redis.async-interceptor.start-time");
+
+    private final AsyncRedisCommandInterceptor[] interceptors;
+
+    /**
+     * The supported status indexed by the interceptor and the ordinal, the last column is for the methods absent in
+     * the metadata
+     */
+    private final boolean[][] supportsTable;
+
+    private final MpscRingBuffer<RedisCommandSnapshot>[] ringBuffers;
+
+    private final Thread[] consumers;
+
+    private final int batchSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final LongAdder queuedCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private volatile boolean running;
+
+    /**
+     * @param interceptors   the sorted {@link AsyncRedisCommandInterceptor AsyncRedisCommandInterceptors}
+     * @param bufferSize     the size of the ring buffer per consumer thread
+     * @param consumers      the count of the consumer threads
+     * @param batchSize      the maximum count of the snapshots per batch
+     * @param overflowPolicy the {@link OverflowPolicy}
+     * @throws IllegalArgumentException if any of the sizes is not positive
+     */
+    public AsyncRedisCommandInterceptorDispatcher(List<? extends AsyncRedisCommandInterceptor> interceptors, int bufferSize,
+                                                  int consumers, int batchSize, OverflowPolicy overflowPolicy) throws IllegalArgumentException {
+        assertTrue(consumers > 0, () -> "The count of consumers must be positive : " + consumers);
+        assertTrue(batchSize > 0, () -> "The batch size must be positive : " + batchSize);
+        this.interceptors = interceptors.toArray(new AsyncRedisCommandInterceptor[0]);
+        this.supportsTable = buildSupportsTable(this.interceptors);
+        this.ringBuffers = new MpscRingBuffer[consumers];
+        for (int i = 0; i < consumers; i++) {
+            this.ringBuffers[i] = new MpscRingBuffer<>(bufferSize);
+        }
+        this.consumers = new Thread[consumers];
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Start the consumer threads
+     */
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        for (int i = 0; i < this.consumers.length; i++) {
+            MpscRingBuffer<RedisCommandSnapshot> ringBuffer = this.ringBuffers[i];
+            Thread consumer = new Thread(() -> consume(ringBuffer), CONSUMER_THREAD_NAME_PREFIX + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            this.consumers[i] = consumer;
+        }
+        logger.trace("The AsyncRedisCommandInterceptorDispatcher[consumers : {} , buffer size : {} , batch size : {} , overflow policy : {}] started with the interceptors : {}",
+                this.consumers.length, this.ringBuffers[0].capacity(), this.batchSize, this.overflowPolicy, this.interceptors);
+    }
+
+    /**
+     * Stop the consumer threads after the pending snapshots are consumed
+     */
+    @Override
+    public synchronized void destroy() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        for (Thread consumer : this.consumers) {
+            unpark(consumer);
+        }
+        for (Thread consumer : this.consumers) {
+            try {
+                consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                currentThread().interrupt();
+                break;
+            }
+        }
+        logger.trace("The AsyncRedisCommandInterceptorDispatcher stopped, queued : {} , dropped : {} , failed : {}",
+                getQueuedCount(), getDroppedCount(), getFailedCount());
+    }
+
+    @Override
+    public boolean supports(@Nullable MethodInfo methodInfo) {
+        for (AsyncRedisCommandInterceptor interceptor : this.interceptors) {
+            if (interceptor.supports(methodInfo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void beforeExecute(RedisMethodContext<RedisCommands> context) {
+        context.setAttribute(START_TIME_NANOS_KEY, nanoTime());
+    }
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+        long endTimeNanos = nanoTime();
+        Long startTime = context.removeAttribute(START_TIME_NANOS_KEY);
+        long startTimeNanos = startTime == null ? endTimeNanos : startTime;
+        long durationNanos = endTimeNanos - startTimeNanos;
+        long threadId = currentThread().getId();
+        Method method = context.getMethod();
+        RedisMethodInvoker redisMethodInvoker = context.getRedisMethodInvoker();
+        RedisCommandSnapshot snapshot = redisMethodInvoker == null ?
+                new RedisCommandSnapshot(method, null, NON_COMMAND_ORDINAL, context.getArgs(), result, failure, durationNanos,
+                        context.getSourceBeanName(), startTimeNanos, threadId) :
+                new RedisCommandSnapshot(method, redisMethodInvoker.getMethodInfo(), redisMethodInvoker.getOrdinal(),
+                        context.getArgs(), result, failure, durationNanos, context.getSourceBeanName(), startTimeNanos, threadId);
+        dispatch(snapshot);
+    }
+
+    /**
+     * Dispatch the {@link RedisCommandSnapshot} to the ring buffer selected by the calling thread
+     *
+     * @param snapshot {@link RedisCommandSnapshot}
+     * @return <code>true</code> if queued, or <code>false</code> if dropped
+     */
+    boolean dispatch(RedisCommandSnapshot snapshot) {
+        MpscRingBuffer<RedisCommandSnapshot> ringBuffer = selectRingBuffer();
+        if (this.running) {
+            if (ringBuffer.offer(snapshot)) {
+                this.queuedCount.increment();
+                return true;
+            }
+            if (OverflowPolicy.BLOCK.equals(this.overflowPolicy)) {
+                while (this.running) {
+                    parkNanos(BLOCK_PARK_NANOS);
+                    if (ringBuffer.offer(snapshot)) {
+                        this.queuedCount.increment();
+                        return true;
+                    }
+                }
+            }
+        }
+        this.droppedCount.increment();
+        return false;
+    }
+
+    private MpscRingBuffer<RedisCommandSnapshot> selectRingBuffer() {
+        MpscRingBuffer<RedisCommandSnapshot>[] ringBuffers = this.ringBuffers;
+        int length = ringBuffers.length;
+        // The snapshots of one calling thread are kept in order
+        return length == 1 ? ringBuffers[0] : ringBuffers[(int) (currentThread().getId() % length)];
+    }
+
+    private void consume(MpscRingBuffer<RedisCommandSnapshot> ringBuffer) {
+        int batchSize = this.batchSize;
+        List<RedisCommandSnapshot> batch = new ArrayList<>(batchSize);
+        List<RedisCommandSnapshot> supportedBatch = new ArrayList<>(batchSize);
+        Consumer<RedisCommandSnapshot> collector = batch::add;
+        long idleParkNanos = MIN_IDLE_PARK_NANOS;
+        for (; ; ) {
+            if (ringBuffer.drain(collector, batchSize) == 0) {
+                if (!this.running) {
+                    // The pending snapshots were drained
+                    break;
+                }
+                parkNanos(idleParkNanos);
+                idleParkNanos = nextIdleParkNanos(idleParkNanos);
+                continue;
+            }
+            idleParkNanos = MIN_IDLE_PARK_NANOS;
+            onExecuted(batch, supportedBatch);
+            batch.clear();
+        }
+    }
+
+    void onExecuted(List<RedisCommandSnapshot> batch, List<RedisCommandSnapshot> supportedBatch) {
+        AsyncRedisCommandInterceptor[] interceptors = this.interceptors;
+        for (int i = 0; i < interceptors.length; i++) {
+            List<RedisCommandSnapshot> snapshots = filter(batch, this.supportsTable[i], supportedBatch);
+            if (snapshots.isEmpty()) {
+                continue;
+            }
+            AsyncRedisCommandInterceptor interceptor = interceptors[i];
+            try {
+                interceptor.onExecuted(unmodifiableList(snapshots));
+            } catch (Throwable e) {
+                this.failedCount.add(snapshots.size());
+                logger.error("The execution of AsyncRedisCommandInterceptor[class : '{}'] onExecuted method is failed, snapshots : {}",
+                        interceptor.getClass().getName(), snapshots, e);
+            }
+        }
+    }
+
+    private List<RedisCommandSnapshot> filter(List<RedisCommandSnapshot> batch, boolean[] supports,
+                                              List<RedisCommandSnapshot> supportedBatch) {
+        int size = batch.size();
+        int unsupported = 0;
+        for (int i = 0; i < size; i++) {
+            if (!supports[slot(batch.get(i), supports)]) {
+                unsupported++;
+            }
+        }
+        if (unsupported == 0) {
+            return batch;
+        }
+        supportedBatch.clear();
+        if (unsupported < size) {
+            for (int i = 0; i < size; i++) {
+                RedisCommandSnapshot snapshot = batch.get(i);
+                if (supports[slot(snapshot, supports)]) {
+                    supportedBatch.add(snapshot);
+                }
+            }
+        }
+        return supportedBatch;
+    }
+
+    private static int slot(RedisCommandSnapshot snapshot, boolean[] supports) {
+        int last = supports.length - 1;
+        int ordinal = snapshot.getOrdinal();
+        return ordinal >= 0 && ordinal < last ? ordinal : last;
+    }
+
+    /**
+     * The next park time of the idle consumer thread
+     *
+     * @param idleParkNanos the current park time
+     * @return the doubled park time, which is not greater than {@link #MAX_IDLE_PARK_NANOS}
+     */
+    static long nextIdleParkNanos(long idleParkNanos) {
+        return min(idleParkNanos << 1, MAX_IDLE_PARK_NANOS);
+    }
+
+    static boolean[][] buildSupportsTable(AsyncRedisCommandInterceptor[] interceptors) {
+        List<RedisMethodInvoker> redisMethodInvokers = getRedisMethodInvokers();
+        int size = redisMethodInvokers.size();
+        boolean[][] supportsTable = new boolean[interceptors.length][size + 1];
+        for (int i = 0; i < interceptors.length; i++) {
+            AsyncRedisCommandInterceptor interceptor = interceptors[i];
+            boolean[] supports = supportsTable[i];
+            for (int j = 0; j < size; j++) {
+                RedisMethodInvoker redisMethodInvoker = redisMethodInvokers.get(j);
+                supports[redisMethodInvoker.getOrdinal()] = interceptor.supports(redisMethodInvoker.getMethodInfo());
+            }
+            supports[size] = interceptor.supports(null);
+        }
+        return supportsTable;
+    }
+
+    /**
+     * Get the count of the queued snapshots
+     *
+     * @return non-negative
+     */
+    public long getQueuedCount() {
+        return this.queuedCount.sum();
+    }
+
+    /**
+     * Get the count of the dropped snapshots because of the overflow or the stop
+     *
+     * @return non-negative
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.sum();
+    }
+
+    /**
+     * Get the count of the snapshots whose {@link AsyncRedisCommandInterceptor} failed
+     *
+     * @return non-negative
+     */
+    public long getFailedCount() {
+        return this.failedCount.sum();
+    }
+
+    /**
+     * Get the approximate count of the snapshots pending in the ring buffers
+     *
+     * @return non-negative
+     */
+    public int getPendingCount() {
+        int pendingCount = 0;
+        for (MpscRingBuffer<RedisCommandSnapshot> ringBuffer : this.ringBuffers) {
+            pendingCount += ringBuffer.size();
+        }
+        return pendingCount;
+    }
+
+    /**
+     * Is running or not
+     *
+     * @return <code>true</code> if the consumer threads were started and not stopped
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Get the {@link OverflowPolicy}
+     *
+     * @return non-null
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    @Override
+    public int getOrder() {
+        // The latest interceptor before the execution, and the latest one after the execution
+        return LOWEST_PRECEDENCE;
+    }
+
+    /**
+     * Create an instance of {@link AsyncRedisCommandInterceptorDispatcher} configured by the {@link Environment}
+     *
+     * @param interceptors the sorted {@link AsyncRedisCommandInterceptor AsyncRedisCommandInterceptors}
+     * @param environment  {@link Environment}
+     * @return non-null
+     */
+    public static AsyncRedisCommandInterceptorDispatcher of(List<? extends AsyncRedisCommandInterceptor> interceptors,
+                                                            Environment environment) {
+        int bufferSize = environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE);
+        int consumers = environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS);
+        int batchSize = environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE);
+        OverflowPolicy overflowPolicy = OverflowPolicy.resolve(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_VALUE), OverflowPolicy.DROP);
+        return new AsyncRedisCommandInterceptorDispatcher(interceptors, bufferSize, consumers, batchSize, overflowPolicy);
+    }
+
+    /**
+     * The policy if the ring buffer is full
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drop the snapshot and increment the dropped count
+         */
+        DROP,
+
+        /**
+         * Wait for the free slot in the calling thread until the dispatcher is stopped
+         */
+        BLOCK;
+
+        /**
+         * Resolve the {@link OverflowPolicy} from the property value, e.g. "drop", "block"
+         *
+         * @param value         the property value
+         * @param defaultPolicy the {@link OverflowPolicy} of the caller if the value is absent or can't be resolved
+         * @return the resolved {@link OverflowPolicy}, or {@code defaultPolicy} if the value can't be resolved
+         */
+        public static OverflowPolicy resolve(@Nullable String value, OverflowPolicy defaultPolicy) {
+            if (value == null) {
+                return defaultPolicy;
+            }
+            String name = value.trim().toUpperCase();
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().equals(name)) {
+                    return policy;
+                }
+            }
+            logger.warn("The overflow policy '{}' can't be resolved, the default one '{}' will be used instead", value, defaultPolicy);
+            return defaultPolicy;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nonnull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.microsphere.util.Assert.assertTrue;
+import static io.microsphere.util.StringUtils.isNotBlank;
+
+/**
+ * The typed key of the attribute stored in {@link RedisMethodContext}, which is registered once (typically as a
+ * <code>static final</code> field) and is mapped to a small array index, so that the attribute value is accessed
+ * without hashing and boxing of the key on the hot path.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   public class TimingRedisCommandInterceptor implements RedisCommandInterceptor {
+ *
+ *       private static final AttributeKey<Long> START_TIME = AttributeKey.valueOf("timing.start-time");
+ *
+ *       @Override
+ *       public void beforeExecute(RedisMethodContext<RedisCommands> context) {
+ *           context.setAttribute(START_TIME, System.nanoTime());
+ *       }
+ *
+ *       @Override
+ *       public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+ *           long duration = System.nanoTime() - context.getAttribute(START_TIME);
+ *       }
+ *   }
+ * }</pre>
+ *
+ * @param <T> the type of attribute value
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodContext#setAttribute(AttributeKey, Object)
+ * @see RedisMethodContext#getAttribute(AttributeKey)
+ * @since 1.0.0
+ */
+public final class AttributeKey<T> {
+
+    private static final ConcurrentMap<String, AttributeKey<?>> registry = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger indexGenerator = new AtomicInteger();
+
+    private final String name;
+
+    private final int index;
+
+    private AttributeKey(String name, int index) {
+        this.name = name;
+        this.index = index;
+    }
+
+    /**
+     * Get the name of key
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the index of key, which is unique and allocated in the registration order from zero
+     *
+     * @return the index of key
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeKey{name='" + name + "', index=" + index + '}';
+    }
+
+    /**
+     * Get the {@link AttributeKey} by the specified name, it will be registered if absent.
+     *
+     * @param name the name of key
+     * @param <T>  the type of attribute value
+     * @return the same instance for the same name
+     * @throws IllegalArgumentException if <code>name</code> is blank
+     */
+    @Nonnull
+    public static <T> AttributeKey<T> valueOf(String name) throws IllegalArgumentException {
+        assertTrue(isNotBlank(name), () -> "The 'name' of AttributeKey must not be blank");
+        return (AttributeKey<T>) registry.computeIfAbsent(name, n -> new AttributeKey<>(n, indexGenerator.getAndIncrement()));
+    }
+
+    /**
+     * Get the count of the registered {@link AttributeKey AttributeKeys}
+     *
+     * @return the count of the registered {@link AttributeKey AttributeKeys}
+     */
+    public static int size() {
+        return indexGenerator.get();
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.spring.config.RedisConfiguration;
+import io.microsphere.redis.spring.event.RedisCommandEvent;
+import io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository;
+import io.microsphere.redis.spring.serializer.RedisCommandEventSerializer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.interceptor.RedisInterceptorScope.CommandType.WRITE;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getBlockingRedisCommandMethod;
+import static io.microsphere.redis.spring.serializer.RedisCommandEventSerializer.VERSION_V1;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.toBlockingRedisCommandArgs;
+import static reactor.core.publisher.Mono.empty;
+import static reactor.core.publisher.Mono.fromRunnable;
+
+/**
+ * {@link ReactiveRedisCommandInterceptor} that publishes a {@link RedisCommandEvent} to the Spring application context
+ * after each successful reactive Redis <em>write</em> command, provided that command-event exposure is enabled
+ * ({@link RedisConfiguration#isCommandEventExposed()}).
+ * <p>
+ * The event carries the blocking Redis command method that the reactive one mirrors, e.g.
+ * {@link org.springframework.data.redis.connection.RedisStringCommands#set(byte[], byte[])} for
+ * {@link org.springframework.data.redis.connection.ReactiveStringCommands#set(java.nio.ByteBuffer, java.nio.ByteBuffer)},
+ * and the arguments converted accordingly, so it is serialized by {@link RedisCommandEventSerializer} in the same
+ * format as the blocking one, and is replicated in the same way. The reactive write commands that no blocking one
+ * mirrors, e.g. the ones accepting the {@link org.reactivestreams.Publisher} of the commands, are not published.
+ * <p>
+ * Like {@link EventPublishingRedisCommandInterceptor}, the events are published to the {@link RedisCommandEventBus} only
+ * if present, otherwise to the {@link org.springframework.context.ApplicationListener ApplicationListeners} directly.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Registered automatically by @EnableRedisInterceptor(exposeCommandEvent = true) if Project Reactor is present.
+ *   reactiveRedisTemplate.opsForValue().set("key", "value").subscribe();
+ *   // The listeners of RedisCommandEvent receive the event of RedisStringCommands#set(byte[], byte[])
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReactiveRedisCommandInterceptor
+ * @see EventPublishingRedisCommandInterceptor
+ * @see SpringRedisMetadataRepository#getBlockingRedisCommandMethod(Method)
+ * @see RedisCommandEvent
+ * @see RedisCommandEventBus
+ * @since 1.0.0
+ */
+@RedisInterceptorScope(type = WRITE)
+public class EventPublishingReactiveRedisCommandInterceptor implements ReactiveRedisCommandInterceptor, ApplicationEventPublisherAware {
+
+    private static final Logger logger = getLogger(EventPublishingReactiveRedisCommandInterceptor.class);
+
+    public static final String BEAN_NAME = "microsphere:eventPublishingReactiveRedisCommandInterceptor";
+
+    private final RedisConfiguration redisConfiguration;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Creates the interceptor with the given {@link RedisConfiguration}.
+     *
+     * @param redisConfiguration the Redis configuration used to check whether command-event
+     *                           exposure is currently enabled
+     */
+    public EventPublishingReactiveRedisCommandInterceptor(RedisConfiguration redisConfiguration) {
+        this.redisConfiguration = redisConfiguration;
+    }
+
+    /**
+     * Returns {@code true} when command-event exposure is enabled via
+     * {@link RedisConfiguration#isCommandEventExposed()}.
+     *
+     * @return {@code true} if {@link RedisCommandEvent} should be published
+     */
+    public boolean isEnabled() {
+        return this.redisConfiguration.isCommandEventExposed();
+    }
+
+    @Override
+    public Mono<Void> afterExecute(RedisMethodContext<Object> context, Object result, Throwable failure) {
+        logger.trace("afterExecute - context : {} , result : {} , failure : {}", context, result, failure);
+        if (isEnabled() && failure == null && context.isWriteMethod()) {
+            Method blockingMethod = getBlockingRedisCommandMethod(context.getMethod());
+            if (blockingMethod == null) {
+                logger.trace("The reactive Redis write command can't be published without the blocking one : {}", context.getMethod());
+                return empty();
+            }
+            return fromRunnable(() -> publishRedisCommandEvent(context, blockingMethod));
+        }
+        return empty();
+    }
+
+    private void publishRedisCommandEvent(RedisMethodContext<Object> context, Method blockingMethod) {
+        RedisCommandEvent redisCommandEvent = RedisCommandEvent.Builder.source(context)
+                .applicationName(context.getApplicationName())
+                .sourceBeanName(context.getSourceBeanName())
+                .method(blockingMethod)
+                .args(toBlockingRedisCommandArgs(blockingMethod, context.getArgs()))
+                // The same serialization version as the events of the blocking Redis commands
+                .serializationVersion(VERSION_V1)
+                .build();
+        RedisCommandEventBus redisCommandEventBus = context.getRedisContext().getRedisCommandEventBus();
+        if (redisCommandEventBus == null) {
+            // Event handling allows exceptions to be thrown, which are signaled to the interceptor chain
+            applicationEventPublisher.publishEvent(redisCommandEvent);
+        } else {
+            redisCommandEventBus.publish(redisCommandEvent);
+        }
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
@@ -19,17 +19,34 @@ package io.microsphere.redis.spring.interceptor;
 import io.microsphere.logging.Logger;
 import io.microsphere.redis.spring.config.RedisConfiguration;
 import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.event.ApplicationEventPublishingRedisCommandEventListener;
+import io.microsphere.redis.spring.event.RedisCommandBatchEvent;
 import io.microsphere.redis.spring.event.RedisCommandEvent;
+import io.microsphere.redis.spring.event.RedisCommandEventListener;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.data.redis.connection.RedisCommands;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.interceptor.RedisInterceptorScope.CommandType.WRITE;
 
 /**
  * {@link RedisCommandInterceptor} that publishes a {@link RedisCommandEvent} to the Spring
  * application context after each successful Redis <em>write</em> command, provided that
- * command-event exposure is enabled ({@link RedisConfiguration#isCommandEventExposed()}).
+ * command-event exposure is enabled ({@link RedisConfiguration#isCommandEventExposed()}). The write commands queued
+ * by the pipeline or the transaction are published in one {@link RedisCommandBatchEvent} once they are flushed.
+ * <p>
+ * If the {@link RedisCommandEventBus} is present, the events are published to it only, whose
+ * {@link RedisCommandEventListener RedisCommandEventListeners} receive them in batches in the consumer thread, including
+ * the write commands flushed by the pipeline or the transaction in order. The
+ * {@link org.springframework.context.ApplicationListener ApplicationListeners} then receive the events one by one in
+ * the consumer thread through {@link ApplicationEventPublishingRedisCommandEventListener} unless the bridge is
+ * disabled. Otherwise, the events are published to the {@link org.springframework.context.ApplicationListener
+ * ApplicationListeners} in the thread executing the Redis command, so the slow listeners, e.g. sending the events to
+ * the message broker, are supposed to implement {@link RedisCommandEventListener}.
  *
  * <h3>Example Usage</h3>
  * <pre>{@code
@@ -49,10 +66,16 @@ import static io.microsphere.logging.LoggerFactory.getLogger;
  * @see RedisCommandInterceptor
  * @see RedisMethodContext
  * @see RedisCommandEvent
+ * @see RedisCommandBatchEvent
+ * @see RedisCommandEventBus
+ * @see RedisCommandEventListener
+ * @see ApplicationEventPublishingRedisCommandEventListener
  * @see RedisConfiguration
  * @see RedisContext
+ * @see RedisInterceptorScope
  * @since 1.0.0
  */
+@RedisInterceptorScope(type = WRITE)
 public class EventPublishingRedisCommandInterceptor implements RedisCommandInterceptor, ApplicationEventPublisherAware {
 
     private static final Logger logger = getLogger(EventPublishingRedisCommandInterceptor.class);
@@ -83,6 +106,16 @@ public class EventPublishingRedisCommandInterceptor implements RedisCommandInter
         return this.redisConfiguration.isCommandEventExposed();
     }
 
+    /**
+     * The write command events are used for the replication, so they must never be dropped by the sampling.
+     *
+     * @return <code>false</code> always
+     */
+    @Override
+    public final boolean isSampleable() {
+        return false;
+    }
+
     @Override
     public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
         if (isEnabled() && failure == null) {
@@ -94,9 +127,49 @@ public class EventPublishingRedisCommandInterceptor implements RedisCommandInter
         logger.trace("afterExecute - context : {} , result : {} , failure : {}", context, result, failure);
     }
 
+    /**
+     * Publishes one {@link RedisCommandBatchEvent} for the successful write commands flushed by the pipeline or the
+     * transaction, or publishes them to the {@link RedisCommandEventBus} in order if present.
+     *
+     * @param contexts the {@link RedisMethodContext contexts} of the queued calls
+     * @param results  the results of the queued calls
+     */
+    @Override
+    public void onBatch(List<RedisMethodContext<RedisCommands>> contexts, List<Object> results) {
+        if (isEnabled()) {
+            int size = contexts.size();
+            List<RedisCommandEvent> redisCommandEvents = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                RedisMethodContext<RedisCommands> context = contexts.get(i);
+                if (!(results.get(i) instanceof Throwable) && context.isWriteMethod(true)) {
+                    redisCommandEvents.add(new RedisCommandEvent(context.retain()));
+                }
+            }
+            if (!redisCommandEvents.isEmpty()) {
+                RedisCommandEventBus redisCommandEventBus = getRedisCommandEventBus(contexts.get(0));
+                if (redisCommandEventBus == null) {
+                    applicationEventPublisher.publishEvent(new RedisCommandBatchEvent(contexts, redisCommandEvents));
+                } else {
+                    redisCommandEventBus.publish(redisCommandEvents);
+                }
+            }
+        }
+        logger.trace("onBatch - contexts : {} , results : {}", contexts, results);
+    }
+
     private void publishRedisCommandEvent(RedisMethodContext<RedisCommands> context) {
-        // Event handling allows exceptions to be thrown
-        applicationEventPublisher.publishEvent(new RedisCommandEvent(context));
+        RedisCommandEventBus redisCommandEventBus = getRedisCommandEventBus(context);
+        // Event handling allows exceptions to be thrown, the event source may be kept by the listeners
+        RedisCommandEvent redisCommandEvent = new RedisCommandEvent(context.retain());
+        if (redisCommandEventBus == null) {
+            applicationEventPublisher.publishEvent(redisCommandEvent);
+        } else {
+            redisCommandEventBus.publish(redisCommandEvent);
+        }
+    }
+
+    private RedisCommandEventBus getRedisCommandEventBus(RedisMethodContext<RedisCommands> context) {
+        return context.getRedisContext().getRedisCommandEventBus();
     }
 
     @Override
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.metadata.MethodMetadata;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.data.redis.connection.RedisCommands;
+
+import java.lang.reflect.Method;
+
+import static io.microsphere.redis.spring.interceptor.RedisBigKeyDetector.resolveKey;
+import static io.microsphere.redis.spring.interceptor.RedisCommandNames.resolveCommand;
+import static io.microsphere.redis.spring.interceptor.RedisCommandStatistics.sizeOf;
+
+/**
+ * The {@link RedisCommandInterceptor} emits {@link RedisCommandJfrEvent} around the Redis commands. The event is only
+ * created and begun if a JFR recording enables it, and its fields, including the sizes, are only resolved if
+ * {@link RedisCommandJfrEvent#shouldCommit()} is <code>true</code> after the threshold of the recording is applied, so
+ * the cost is a disabled-event check per command otherwise.
+ *
+ * <p>The in-flight event is held by the typed {@link AttributeKey} of {@link RedisMethodContext}, thus the interceptor
+ * is stateless and thread-safe.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Registered by @EnableRedisInterceptor(commandJfrEvent = true), the default,
+ *   // then start a recording enabling "io.microsphere.redis.Command" :
+ *   // jcmd <pid> JFR.start settings=redis.jfc
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandJfrEvent
+ * @see RedisCommandInterceptor
+ * @since 1.0.0
+ */
+@RedisInterceptorScope
+public class FlightRecorderRedisCommandInterceptor implements RedisCommandInterceptor {
+
+    public static final String BEAN_NAME = "microsphere:flightRecorderRedisCommandInterceptor";
+
+    static final AttributeKey<RedisCommandJfrEvent> EVENT_KEY = AttributeKey.valueOf("microsphere.redis.jfr-event");
+
+    @Override
+    public void beforeExecute(RedisMethodContext<RedisCommands> context) {
+        RedisCommandJfrEvent event = new RedisCommandJfrEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            context.setAttribute(EVENT_KEY, event);
+        }
+    }
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+        RedisCommandJfrEvent event = context.removeAttribute(EVENT_KEY);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            Method method = context.getMethod();
+            Object[] args = context.getArgs();
+            RedisMethodInvoker redisMethodInvoker = context.getRedisMethodInvoker();
+            if (redisMethodInvoker == null) {
+                event.command = method.getName();
+                event.interfaceName = method.getDeclaringClass().getName();
+            } else {
+                MethodMetadata methodMetadata = redisMethodInvoker.getMethodInfo().getMethodMetadata();
+                event.command = resolveCommand(methodMetadata);
+                event.interfaceName = methodMetadata.getInterfaceName();
+                byte[] key = resolveKey(redisMethodInvoker, args);
+                event.keyLength = key == null ? 0 : key.length;
+            }
+            event.sourceBeanName = context.getSourceBeanName();
+            event.payloadBytes = sizeOf(args);
+            event.resultBytes = failure == null ? sizeOf(result) : 0;
+            event.errorClass = failure == null ? null : failure.getClass().getName();
+            event.commit();
+        }
+    }
+
+    /**
+     * The event begins before the other interceptors, thus their costs are included in the duration
+     *
+     * @return {@link #HIGHEST_PRECEDENCE}
+     */
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.lang.DelegatingWrapper;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.EQUALS_METHOD;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.GET_DELEGATE_METHOD;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.HASH_CODE_METHOD;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.getNonCommandMethodInvoker;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isRedisCommandsInterface;
+import static java.lang.System.identityHashCode;
+import static java.lang.reflect.InvocationHandler.invokeDefault;
+import static java.lang.reflect.Proxy.newProxyInstance;
+import static org.springframework.util.ClassUtils.getAllInterfacesForClass;
+import static reactor.core.publisher.Mono.defer;
+import static reactor.core.publisher.Mono.empty;
+import static reactor.core.publisher.Mono.just;
+
+/**
+ * JDK {@link InvocationHandler} backing the proxy {@link ReactiveRedisConnection} returned by the
+ * {@link ReactiveRedisConnectionFactory} proxy, and the proxies of the reactive Redis command objects it returns, e.g.
+ * {@link ReactiveRedisConnection#stringCommands()}. For every method call it:
+ * <ol>
+ *   <li>Short-circuits {@link Object#equals}, {@link Object#hashCode}, and {@link DelegatingWrapper#getDelegate()}.</li>
+ *   <li>Decorates the {@link Mono} or {@link Flux} returned by the reactive Redis command method with the
+ *       {@link ReactiveRedisCommandInterceptor ReactiveRedisCommandInterceptors} that
+ *       {@link ReactiveRedisCommandInterceptorChains support} it, which are subscribed lazily per subscription.</li>
+ *   <li>Wraps the reactive Redis command object returned by the accessor method, e.g.
+ *       {@link ReactiveRedisConnection#stringCommands()}, in a proxy backed by the same kind of handler, which is
+ *       created once per accessor method.</li>
+ *   <li>Delegates the other calls to the raw object directly.</li>
+ * </ol>
+ * The default methods of the reactive Redis command interfaces, e.g.
+ * {@link ReactiveStringCommands#set(java.nio.ByteBuffer, java.nio.ByteBuffer)}, are invoked on the raw object, so the
+ * methods they delegate to are not intercepted again.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   ReactiveRedisConnection connection = InterceptingReactiveRedisInvocationHandler.newProxy(
+ *           rawReactiveRedisConnection, redisContext, reactiveRedisConnectionFactory, "redisConnectionFactory");
+ *   connection.stringCommands().set(key, value) // intercepted on the subscription
+ *           .subscribe();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReactiveRedisCommandInterceptor
+ * @see ReactiveRedisCommandInterceptorChains
+ * @see InterceptingRedisConnectionInvocationHandler
+ * @since 1.0.0
+ */
+public class InterceptingReactiveRedisInvocationHandler implements InvocationHandler {
+
+    private static final Logger logger = getLogger(InterceptingReactiveRedisInvocationHandler.class);
+
+    private final Object target;
+
+    private final RedisContext redisContext;
+
+    private final Object sourceBean;
+
+    private final String sourceBeanName;
+
+    private final ReactiveRedisCommandInterceptorChains reactiveRedisCommandInterceptorChains;
+
+    private final ConcurrentMap<Method, Object> redisCommandsProxies = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an invocation handler that wraps the given raw reactive Redis object and decorates every reactive Redis
+     * command call with the registered interceptors supporting the method.
+     *
+     * @param target         the raw {@link ReactiveRedisConnection} or reactive Redis command object
+     * @param redisContext   the {@link RedisContext} providing interceptors and configuration
+     * @param sourceBean     the originating bean (e.g. a {@link ReactiveRedisConnectionFactory})
+     * @param sourceBeanName the Spring bean name of the originating bean
+     */
+    public InterceptingReactiveRedisInvocationHandler(Object target, RedisContext redisContext, Object sourceBean,
+                                                      String sourceBeanName) {
+        this.target = target;
+        this.redisContext = redisContext;
+        this.sourceBean = sourceBean;
+        this.sourceBeanName = sourceBeanName;
+        this.reactiveRedisCommandInterceptorChains = redisContext.getReactiveRedisCommandInterceptorChains();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+        RedisMethodInvoker redisMethodInvoker = getRedisMethodInvoker(method);
+
+        if (redisMethodInvoker != null) {
+            ReactiveRedisCommandInterceptor[] interceptors = this.reactiveRedisCommandInterceptorChains.getInterceptors(redisMethodInvoker);
+            Object result = redisMethodInvoker.invoke(this.target, args);
+            return interceptors.length == 0 ? result : intercept(interceptors, method, args, result);
+        } else if (EQUALS_METHOD.equals(method)) {
+            // Only consider equal when proxies are identical.
+            return (proxy == args[0]);
+        } else if (HASH_CODE_METHOD.equals(method)) {
+            // Use hashCode of proxy.
+            return identityHashCode(proxy);
+        } else if (GET_DELEGATE_METHOD.equals(method)) {
+            return this.target;
+        } else if (method.isDefault() && DelegatingWrapper.class.equals(method.getDeclaringClass())) {
+            // The default methods of DelegatingWrapper are not implemented by the target
+            return invokeDefault(proxy, method, args);
+        } else if (isRedisCommandsAccessor(method)) {
+            return this.redisCommandsProxies.computeIfAbsent(method, this::newRedisCommandsProxy);
+        }
+
+        return invokeTarget(method, args);
+    }
+
+    private Object intercept(ReactiveRedisCommandInterceptor[] interceptors, Method method, Object[] args, Object result) {
+        if (result instanceof Mono) {
+            Mono<Object> mono = (Mono<Object>) result;
+            return defer(() -> {
+                RedisMethodContext<Object> context = createRedisMethodContext(method, args);
+                return beforeExecute(interceptors, context)
+                        .then(mono)
+                        .materialize()
+                        .flatMap(signal -> afterExecute(interceptors, context, signal.get(), signal.getThrowable()).thenReturn(signal))
+                        .dematerialize();
+            });
+        } else if (result instanceof Flux) {
+            Flux<Object> flux = (Flux<Object>) result;
+            return Flux.defer(() -> {
+                RedisMethodContext<Object> context = createRedisMethodContext(method, args);
+                return beforeExecute(interceptors, context)
+                        .thenMany(flux)
+                        .materialize()
+                        .concatMap(signal -> signal.isOnNext() ? just(signal) :
+                                afterExecute(interceptors, context, null, signal.getThrowable()).thenReturn(signal))
+                        .dematerialize();
+            });
+        }
+        // Neither Mono nor Flux, e.g. the Publisher of the custom implementation
+        return result;
+    }
+
+    private RedisMethodContext<Object> createRedisMethodContext(Method method, Object[] args) {
+        // The context is not recycled, because the execution may span threads
+        return new RedisMethodContext<>(this.target, method, args, this.redisContext, this.sourceBean, this.sourceBeanName);
+    }
+
+    private Mono<Void> beforeExecute(ReactiveRedisCommandInterceptor[] interceptors, RedisMethodContext<Object> context) {
+        Mono<Void> result = empty();
+        for (int i = 0; i < interceptors.length; i++) {
+            ReactiveRedisCommandInterceptor interceptor = interceptors[i];
+            result = result.then(defer(() -> interceptor.beforeExecute(context))
+                    .onErrorResume(e -> {
+                        logger.error("The execution of ReactiveRedisCommandInterceptor[class : '{}'] beforeExecute method is failed, context : {}",
+                                interceptor.getClass().getName(), context, e);
+                        return empty();
+                    }));
+        }
+        return result;
+    }
+
+    private Mono<Void> afterExecute(ReactiveRedisCommandInterceptor[] interceptors, RedisMethodContext<Object> context,
+                                    @Nullable Object result, @Nullable Throwable failure) {
+        Mono<Void> mono = empty();
+        for (int i = 0; i < interceptors.length; i++) {
+            ReactiveRedisCommandInterceptor interceptor = interceptors[i];
+            mono = mono.then(defer(() -> interceptor.afterExecute(context, result, failure))
+                    .onErrorResume(e -> {
+                        logger.error("The execution of ReactiveRedisCommandInterceptor[class : '{}'] afterExecute method is failed, context : {}, result : {} , failure : {}",
+                                interceptor.getClass().getName(), context, result, failure, e);
+                        return empty();
+                    }));
+        }
+        return mono;
+    }
+
+    private Object newRedisCommandsProxy(Method method) {
+        Object redisCommands;
+        try {
+            redisCommands = invokeTarget(method, null);
+        } catch (Throwable e) {
+            throw new IllegalStateException("The reactive Redis commands can't be resolved by " + method, e);
+        }
+        return newProxy(redisCommands, this.redisContext, this.sourceBean, this.sourceBeanName);
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        RedisMethodInvoker redisMethodInvoker = getNonCommandMethodInvoker(method);
+        if (redisMethodInvoker == null) {
+            // Fallback to the Java Reflection if the MethodHandle can't be unreflected
+            try {
+                return method.invoke(this.target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+        return redisMethodInvoker.invoke(this.target, args);
+    }
+
+    /**
+     * Is the specified {@link Method} the accessor of the reactive Redis command object or not, e.g.
+     * {@link ReactiveRedisConnection#stringCommands()}
+     *
+     * @param method the {@link Method}
+     * @return <code>true</code> if the method has no parameter and returns a Redis command interface
+     */
+    static boolean isRedisCommandsAccessor(Method method) {
+        return method.getParameterCount() == 0 && isRedisCommandsInterface(method.getReturnType());
+    }
+
+    /**
+     * Creates a proxy implementing all interfaces of the given raw reactive Redis object and {@link DelegatingWrapper},
+     * which is backed by an {@link InterceptingReactiveRedisInvocationHandler}.
+     *
+     * @param target         the raw {@link ReactiveRedisConnection} or reactive Redis command object
+     * @param redisContext   the {@link RedisContext} providing interceptors and configuration
+     * @param sourceBean     the originating bean (e.g. a {@link ReactiveRedisConnectionFactory})
+     * @param sourceBeanName the Spring bean name of the originating bean
+     * @param <T>            the type of the proxy
+     * @return non-null
+     */
+    public static <T> T newProxy(T target, RedisContext redisContext, Object sourceBean, String sourceBeanName) {
+        Class<?> targetClass = target.getClass();
+        ClassLoader classLoader = targetClass.getClassLoader();
+        Class<?>[] interfaces = getAllInterfacesForClass(targetClass, classLoader);
+        Class<?>[] proxyInterfaces = new Class<?>[interfaces.length + 1];
+        System.arraycopy(interfaces, 0, proxyInterfaces, 0, interfaces.length);
+        proxyInterfaces[interfaces.length] = DelegatingWrapper.class;
+        InvocationHandler handler = new InterceptingReactiveRedisInvocationHandler(target, redisContext, sourceBean, sourceBeanName);
+        return (T) newProxyInstance(classLoader, proxyInterfaces, handler);
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.lang.DelegatingWrapper;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.CallbackFilter;
+import org.springframework.cglib.proxy.Dispatcher;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.FixedValue;
+import org.springframework.cglib.proxy.MethodInterceptor;
+import org.springframework.cglib.proxy.MethodProxy;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.isBatchMethod;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static java.lang.reflect.Modifier.isAbstract;
+
+/**
+ * The generator of the concrete {@link RedisConnection} class that replaces the JDK dynamic proxy. The class is
+ * generated once per {@link RedisContext}, and each of its methods is bound to one of the callbacks below by the
+ * generated byte code rather than being routed through a single {@link java.lang.reflect.InvocationHandler}:
+ * <ul>
+ *     <li>The methods that any interceptor {@link RedisMethodInterceptor#supports supports} are bound to their own
+ *     {@link MethodInterceptor}, which carries the {@link RedisMethodInvoker} resolved once on the generation, and
+ *     calls {@link InterceptingRedisConnectionInvocationHandler} of the instance without looking it up per call</li>
+ *     <li>The methods controlling the pipeline or the transaction, e.g. {@link RedisConnection#openPipeline()},
+ *     call {@link InterceptingRedisConnectionInvocationHandler} if any interceptor is present</li>
+ *     <li>The other methods are pure pass-through, which invoke the raw {@link RedisConnection} directly, the Redis
+ *     command methods among them are counted by the pipeline or the transaction in progress</li>
+ *     <li>{@link DelegatingWrapper#getDelegate()} returns the raw {@link RedisConnection}</li>
+ * </ul>
+ * If the raw {@link RedisConnection} is a {@link RedisClusterConnection}, e.g. the one returned by
+ * {@link org.springframework.data.redis.connection.RedisConnectionFactory#getClusterConnection()}, the instance of
+ * another class implementing {@link RedisClusterConnection} is created, whose node-specific methods, e.g.
+ * {@link org.springframework.data.redis.connection.RedisClusterServerCommands#flushDb(org.springframework.data.redis.connection.RedisClusterNode)},
+ * are bound in the same way. The class is generated on the first cluster connection.
+ * <p>
+ * The instances are created by the generated {@link Factory} without the Java Reflection, one per raw
+ * {@link RedisConnection}, because the connection factories, e.g. Lettuce and Jedis, return a new one on every
+ * {@link org.springframework.data.redis.connection.RedisConnectionFactory#getConnection()}, which is short-lived. The
+ * per-method callbacks are stateless and shared by the instances, only the callbacks bound to the raw
+ * {@link RedisConnection} are created per instance.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   InterceptingRedisConnectionGenerator generator = new InterceptingRedisConnectionGenerator(redisContext);
+ *   RedisConnection redisConnection = generator.newRedisConnection(rawRedisConnection, redisTemplate, "redisTemplate");
+ *   redisConnection.set(key, value); // intercepted if any interceptor supports it
+ *   ((DelegatingWrapper) redisConnection).getDelegate(); // rawRedisConnection
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InterceptingRedisConnectionInvocationHandler
+ * @see Enhancer
+ * @see RedisContext
+ * @since 1.0.0
+ */
+public class InterceptingRedisConnectionGenerator {
+
+    private static final Logger logger = getLogger(InterceptingRedisConnectionGenerator.class);
+
+    /**
+     * The callback index of the methods delegated to the raw {@link RedisConnection} directly
+     */
+    static final int PASS_THROUGH_CALLBACK_INDEX = 0;
+
+    /**
+     * The callback index of {@link DelegatingWrapper#getDelegate()}
+     */
+    static final int GET_DELEGATE_CALLBACK_INDEX = 1;
+
+    /**
+     * The callback index of the methods that are not overridden, e.g. {@link Object#finalize()}
+     */
+    static final int NO_OVERRIDE_CALLBACK_INDEX = 2;
+
+    /**
+     * The callback index of the Redis command methods delegated to the raw {@link RedisConnection} directly, which
+     * are counted by the pipeline or the transaction in progress
+     */
+    static final int PASS_THROUGH_COMMAND_CALLBACK_INDEX = 3;
+
+    /**
+     * The first callback index of the methods routed to {@link InterceptingRedisConnectionInvocationHandler}, one
+     * index per method
+     */
+    static final int FIRST_INTERCEPTING_CALLBACK_INDEX = 4;
+
+    private static final String EQUALS = "equals";
+
+    private static final String HASH_CODE = "hashCode";
+
+    private static final String GET_DELEGATE = "getDelegate";
+
+    private final RedisContext redisContext;
+
+    private final InterceptingRedisConnectionClass redisConnectionClass;
+
+    private volatile InterceptingRedisConnectionClass redisClusterConnectionClass;
+
+    /**
+     * Generates the {@link RedisConnection} class for the given {@link RedisContext}
+     *
+     * @param redisContext the {@link RedisContext} providing interceptors and configuration
+     */
+    public InterceptingRedisConnectionGenerator(RedisContext redisContext) {
+        this.redisContext = redisContext;
+        this.redisConnectionClass = generate(redisContext.getRedisMethodInterceptorChains(), RedisConnection.class);
+    }
+
+    /**
+     * Creates the instance of the generated {@link RedisConnection} class that wraps the given raw
+     * {@link RedisConnection}.
+     *
+     * @param rawRedisConnection the real {@link RedisConnection}
+     * @param sourceBean         the source bean (e.g. the {@link org.springframework.data.redis.connection.RedisConnectionFactory} or template)
+     * @param sourceBeanName     the Spring bean name of the source bean
+     * @return non-null {@link RedisConnection} that also implements {@link DelegatingWrapper}
+     */
+    public RedisConnection newRedisConnection(RedisConnection rawRedisConnection, Object sourceBean, String sourceBeanName) {
+        InterceptingRedisConnectionInvocationHandler handler = new InterceptingRedisConnectionInvocationHandler(
+                rawRedisConnection, this.redisContext, sourceBean, sourceBeanName);
+        InterceptingRedisConnectionClass redisConnectionClass = rawRedisConnection instanceof RedisClusterConnection ?
+                getRedisClusterConnectionClass() : this.redisConnectionClass;
+        return redisConnectionClass.newInstance(rawRedisConnection, handler);
+    }
+
+    /**
+     * Returns the instance of the generated {@link RedisClusterConnection} class that wraps the given raw
+     * {@link RedisClusterConnection}.
+     *
+     * @param rawRedisClusterConnection the real {@link RedisClusterConnection}
+     * @param sourceBean                the source bean (e.g. the {@link org.springframework.data.redis.connection.RedisConnectionFactory})
+     * @param sourceBeanName            the Spring bean name of the source bean
+     * @return non-null {@link RedisClusterConnection} that also implements {@link DelegatingWrapper}
+     * @see #newRedisConnection(RedisConnection, Object, String)
+     */
+    public RedisClusterConnection newRedisClusterConnection(RedisClusterConnection rawRedisClusterConnection, Object sourceBean,
+                                                            String sourceBeanName) {
+        return (RedisClusterConnection) newRedisConnection(rawRedisClusterConnection, sourceBean, sourceBeanName);
+    }
+
+    private InterceptingRedisConnectionClass getRedisClusterConnectionClass() {
+        InterceptingRedisConnectionClass redisClusterConnectionClass = this.redisClusterConnectionClass;
+        if (redisClusterConnectionClass == null) {
+            synchronized (this) {
+                redisClusterConnectionClass = this.redisClusterConnectionClass;
+                if (redisClusterConnectionClass == null) {
+                    redisClusterConnectionClass = generate(this.redisContext.getRedisMethodInterceptorChains(), RedisClusterConnection.class);
+                    this.redisClusterConnectionClass = redisClusterConnectionClass;
+                }
+            }
+        }
+        return redisClusterConnectionClass;
+    }
+
+    static InterceptingRedisConnectionClass generate(RedisMethodInterceptorChains redisMethodInterceptorChains,
+                                                     Class<? extends RedisConnection> redisConnectionInterface) {
+        Class<?> superclass = RedisClusterConnection.class.equals(redisConnectionInterface) ?
+                InterceptingRedisClusterConnection.class : InterceptingRedisConnection.class;
+        InterceptingCallbackFilter callbackFilter = new InterceptingCallbackFilter(redisMethodInterceptorChains, redisConnectionInterface);
+        // The callbacks of the intercepted methods are resolved before the generation
+        List<Method> methods = new ArrayList<>();
+        Enhancer.getMethods(superclass, null, methods);
+        for (Method method : methods) {
+            callbackFilter.accept(method);
+        }
+        Callback[] callbacks = callbackFilter.getCallbacks();
+
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(superclass);
+        enhancer.setUseCache(false);
+        enhancer.setCallbackFilter(callbackFilter);
+        enhancer.setCallbacks(callbacks);
+        Factory factory = (Factory) enhancer.create();
+        logger.trace("The RedisConnection class[{}] was generated, intercepted methods : {}", factory.getClass().getName(),
+                callbacks.length - FIRST_INTERCEPTING_CALLBACK_INDEX);
+        return new InterceptingRedisConnectionClass(factory, callbacks);
+    }
+
+    /**
+     * The generated {@link RedisConnection} class with its prototype callbacks
+     */
+    static class InterceptingRedisConnectionClass {
+
+        private final Factory factory;
+
+        private final Callback[] callbacks;
+
+        InterceptingRedisConnectionClass(Factory factory, Callback[] callbacks) {
+            this.factory = factory;
+            this.callbacks = callbacks;
+        }
+
+        RedisConnection newInstance(RedisConnection rawRedisConnection, InterceptingRedisConnectionInvocationHandler handler) {
+            // The per-method callbacks are shared, the placeholders are replaced by the ones bound to the raw RedisConnection
+            Callback[] callbacks = this.callbacks.clone();
+            callbacks[PASS_THROUGH_CALLBACK_INDEX] = (Dispatcher) () -> rawRedisConnection;
+            callbacks[GET_DELEGATE_CALLBACK_INDEX] = (FixedValue) () -> rawRedisConnection;
+            callbacks[PASS_THROUGH_COMMAND_CALLBACK_INDEX] = (Dispatcher) handler::passThroughCommand;
+            InterceptingRedisConnection redisConnection = (InterceptingRedisConnection) this.factory.newInstance(callbacks);
+            redisConnection.handler = handler;
+            return redisConnection;
+        }
+    }
+
+    /**
+     * The super class of the generated {@link RedisConnection} class
+     */
+    abstract static class InterceptingRedisConnection implements RedisConnection, DelegatingWrapper {
+
+        /**
+         * The {@link InterceptingRedisConnectionInvocationHandler} of the instance, which is called by the per-method
+         * {@link InterceptingMethodInterceptor}
+         */
+        InterceptingRedisConnectionInvocationHandler handler;
+    }
+
+    /**
+     * The super class of the generated {@link RedisClusterConnection} class
+     */
+    abstract static class InterceptingRedisClusterConnection extends InterceptingRedisConnection implements RedisClusterConnection {
+    }
+
+    /**
+     * The {@link MethodInterceptor} bound to one intercepted method, which is shared by the instances of the generated
+     * class
+     */
+    static class InterceptingMethodInterceptor implements MethodInterceptor {
+
+        @Nullable
+        private final RedisMethodInvoker redisMethodInvoker;
+
+        InterceptingMethodInterceptor(@Nullable RedisMethodInvoker redisMethodInvoker) {
+            this.redisMethodInvoker = redisMethodInvoker;
+        }
+
+        @Override
+        public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+            InterceptingRedisConnectionInvocationHandler handler = ((InterceptingRedisConnection) proxy).handler;
+            return handler.invoke(proxy, this.redisMethodInvoker, method, args);
+        }
+    }
+
+    static class InterceptingCallbackFilter implements CallbackFilter {
+
+        private final RedisMethodInterceptorChains redisMethodInterceptorChains;
+
+        private final Class<? extends RedisConnection> redisConnectionInterface;
+
+        private final Map<Method, Integer> interceptingCallbackIndexes = new HashMap<>();
+
+        private final List<Callback> interceptingCallbacks = new ArrayList<>();
+
+        InterceptingCallbackFilter(RedisMethodInterceptorChains redisMethodInterceptorChains) {
+            this(redisMethodInterceptorChains, RedisConnection.class);
+        }
+
+        InterceptingCallbackFilter(RedisMethodInterceptorChains redisMethodInterceptorChains,
+                                   Class<? extends RedisConnection> redisConnectionInterface) {
+            this.redisMethodInterceptorChains = redisMethodInterceptorChains;
+            this.redisConnectionInterface = redisConnectionInterface;
+        }
+
+        @Override
+        public int accept(Method method) {
+            String methodName = method.getName();
+            int parameterCount = method.getParameterCount();
+            if (GET_DELEGATE.equals(methodName) && parameterCount == 0) {
+                return GET_DELEGATE_CALLBACK_INDEX;
+            } else if ((EQUALS.equals(methodName) && parameterCount == 1) || (HASH_CODE.equals(methodName) && parameterCount == 0)) {
+                // The identity of the generated instance is handled by InterceptingRedisConnectionInvocationHandler
+                return getInterceptingCallbackIndex(method);
+            }
+
+            Class<?> declaringClass = method.getDeclaringClass();
+            if (Object.class.equals(declaringClass) && !"toString".equals(methodName)) {
+                // e.g. finalize(), clone()
+                return NO_OVERRIDE_CALLBACK_INDEX;
+            } else if (isForeignDefaultMethod(method.getModifiers(), declaringClass)) {
+                // e.g. the default methods of DelegatingWrapper
+                return NO_OVERRIDE_CALLBACK_INDEX;
+            }
+            RedisMethodInterceptorChains redisMethodInterceptorChains = this.redisMethodInterceptorChains;
+            if (redisMethodInterceptorChains.isEmpty()) {
+                return PASS_THROUGH_CALLBACK_INDEX;
+            } else if (redisMethodInterceptorChains.isIntercepted(method) || isBatchMethod(method)) {
+                // The pipeline and the transaction are tracked for the queued calls
+                return getInterceptingCallbackIndex(method);
+            }
+            // The methods that no interceptor supports are pure pass-through, the Redis commands may be queued
+            return getRedisMethodInvoker(method) == null ? PASS_THROUGH_CALLBACK_INDEX : PASS_THROUGH_COMMAND_CALLBACK_INDEX;
+        }
+
+        /**
+         * Returns the callbacks of the generated class, whose callbacks bound to the raw {@link RedisConnection} are
+         * placeholders, which are only used by the prototype instance.
+         *
+         * @return non-null
+         */
+        Callback[] getCallbacks() {
+            List<Callback> interceptingCallbacks = this.interceptingCallbacks;
+            Callback[] callbacks = new Callback[FIRST_INTERCEPTING_CALLBACK_INDEX + interceptingCallbacks.size()];
+            callbacks[PASS_THROUGH_CALLBACK_INDEX] = (Dispatcher) () -> null;
+            callbacks[GET_DELEGATE_CALLBACK_INDEX] = (FixedValue) () -> null;
+            callbacks[NO_OVERRIDE_CALLBACK_INDEX] = NoOp.INSTANCE;
+            callbacks[PASS_THROUGH_COMMAND_CALLBACK_INDEX] = (Dispatcher) () -> null;
+            for (int i = 0; i < interceptingCallbacks.size(); i++) {
+                callbacks[FIRST_INTERCEPTING_CALLBACK_INDEX + i] = interceptingCallbacks.get(i);
+            }
+            return callbacks;
+        }
+
+        private int getInterceptingCallbackIndex(Method method) {
+            Integer index = this.interceptingCallbackIndexes.get(method);
+            if (index == null) {
+                index = FIRST_INTERCEPTING_CALLBACK_INDEX + this.interceptingCallbacks.size();
+                this.interceptingCallbacks.add(new InterceptingMethodInterceptor(getRedisMethodInvoker(method)));
+                this.interceptingCallbackIndexes.put(method, index);
+            }
+            return index;
+        }
+
+        private boolean isForeignDefaultMethod(int modifiers, Class<?> declaringClass) {
+            return !isAbstract(modifiers)
+                    && !Object.class.equals(declaringClass)
+                    && !declaringClass.isAssignableFrom(this.redisConnectionInterface);
+        }
+    }
+}
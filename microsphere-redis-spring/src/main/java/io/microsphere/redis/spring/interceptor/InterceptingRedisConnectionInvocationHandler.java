@@ -1,44 +1,75 @@
 package io.microsphere.redis.spring.interceptor;
 
+import io.microsphere.annotation.Nullable;
 import io.microsphere.lang.DelegatingWrapper;
 import io.microsphere.logging.Logger;
 import io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor;
 import io.microsphere.redis.spring.beans.RedisTemplateWrapper;
 import io.microsphere.redis.spring.beans.StringRedisTemplateWrapper;
 import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.data.redis.connection.RedisTxCommands;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
-import static io.microsphere.reflect.AccessibleObjectUtils.trySetAccessible;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
 import static java.lang.System.identityHashCode;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 
 /**
  * JDK {@link InvocationHandler} used as the backing handler for the proxy {@link RedisConnection}
  * created by {@link RedisConnectionFactoryProxyBeanPostProcessor#newProxyRedisConnection}.
  * For every method call it:
  * <ol>
- *   <li>Short-circuits {@link Object#equals}, {@link Object#hashCode}, and
+ *   <li>Resolves the {@link RedisMethodInvoker} from the dispatch table of Redis command methods, and for the
+ *       methods absent in it, short-circuits {@link Object#equals}, {@link Object#hashCode}, and
  *       {@link DelegatingWrapper#getDelegate()} without creating a context object.</li>
- *   <li>Creates a {@link RedisMethodContext} and invokes all registered
+ *   <li>Delegates to the real {@link RedisConnection} directly if no interceptor supports the method
+ *       according to the {@link RedisMethodInterceptorChains}.</li>
+ *   <li>Skips the {@link RedisMethodInterceptor#isSampleable() sampleable} interceptors if the
+ *       {@link RedisMethodSampler} does not sample the call, which is decided before the {@link RedisMethodContext}
+ *       is created, and is exposed by {@link RedisMethodContext#isSampled()}.</li>
+ *   <li>Creates a {@link RedisMethodContext} and invokes the precomputed chain of
  *       {@link RedisConnectionInterceptor}s and {@link RedisCommandInterceptor}s
- *       in {@link #beforeExecute} / {@link #afterExecute} phases.</li>
- *   <li>Delegates the actual call to the real {@link RedisConnection}.</li>
+ *       in {@link #beforeExecute} / {@link #afterExecute} phases, the {@link RedisMethodContext} is recycled per
+ *       thread if {@link RedisContext#isContextRecycled()}.</li>
+ *   <li>Delegates the actual call to the real {@link RedisConnection} through the {@link RedisMethodInvoker}
+ *       from the dispatch table, or through the {@link RedisMethodInvoker} resolved once per non-command method,
+ *       e.g. {@link RedisConnection#close()}.</li>
  * </ol>
+ * <p>
+ * The Redis commands queued by the pipeline ({@link RedisConnection#openPipeline()}) or the transaction
+ * ({@link RedisTxCommands#multi()}) return the placeholder results, so their {@link RedisMethodContext contexts} are
+ * buffered after {@link RedisMethodInterceptor#beforeExecute(RedisMethodContext)}, and
+ * {@link RedisMethodInterceptor#onBatch(List, List)} is invoked once per interceptor with the actual results when
+ * the pipeline is closed or the transaction is executed. If the transaction is discarded or the connection is closed
+ * before, {@link RedisMethodInterceptor#afterExecute(RedisMethodContext, Object, Throwable)} is invoked with the
+ * {@link CancellationException}. The batch in progress is held by the instance, and is shared with the instances
+ * wrapping the same raw {@link RedisConnection} later in the same thread, e.g. the connection bound by
+ * {@link org.springframework.data.redis.core.SessionCallback}. As the {@link RedisConnection} itself, the instance is
+ * not thread-safe.
  *
  * <h3>Example Usage</h3>
  * <pre>{@code
- *   // Created internally by RedisConnectionFactoryProxyBeanPostProcessor:
- *   InvocationHandler handler = new InterceptingRedisConnectionInvocationHandler(
- *           rawConnection, redisContext, redisTemplate, "redisTemplate");
- *   RedisConnection proxy = (RedisConnection) Proxy.newProxyInstance(
- *           classLoader,
- *           new Class[]{RedisConnection.class, DelegatingWrapper.class},
- *           handler);
+ *   // Created internally by InterceptingRedisConnectionGenerator for each instance of the generated class:
+ *   RedisConnection redisConnection = redisContext.getInterceptingRedisConnectionGenerator()
+ *           .newRedisConnection(rawConnection, redisTemplate, "redisTemplate");
+ *   redisConnection.set(key, value); // routed to InterceptingRedisConnectionInvocationHandler
  * }</pre>
  *
  * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
@@ -56,41 +87,81 @@ public class InterceptingRedisConnectionInvocationHandler implements InvocationH
     /**
      * @see Object#hashCode()
      */
-    private static final String HASH_CODE = "hashCode";
+    static final Method HASH_CODE_METHOD = findMethod(Object.class, "hashCode");
 
     /**
      * @see Object#equals(Object)
      */
-    private static final String EQUALS = "equals";
+    static final Method EQUALS_METHOD = findMethod(Object.class, "equals", Object.class);
 
     /**
      * @see DelegatingWrapper#getDelegate()
      */
-    private static final String GET_DELEGATE = "getDelegate";
+    static final Method GET_DELEGATE_METHOD = findMethod(DelegatingWrapper.class, "getDelegate");
 
-    private final RedisConnection rawRedisConnection;
+    /**
+     * @see RedisConnection#openPipeline()
+     */
+    static final Method OPEN_PIPELINE_METHOD = findMethod(RedisConnection.class, "openPipeline");
 
-    private final RedisContext redisContext;
+    /**
+     * @see RedisConnection#closePipeline()
+     */
+    static final Method CLOSE_PIPELINE_METHOD = findMethod(RedisConnection.class, "closePipeline");
 
-    private final Object sourceBean;
+    /**
+     * @see RedisConnection#close()
+     */
+    static final Method CLOSE_METHOD = findMethod(RedisConnection.class, "close");
 
-    private final String sourceBeanName;
+    /**
+     * The ordinal of {@link RedisTxCommands#multi()}
+     */
+    static final int MULTI_ORDINAL = getOrdinal(findMethod(RedisTxCommands.class, "multi"));
 
-    private final List<RedisConnectionInterceptor> redisConnectionInterceptors;
+    /**
+     * The ordinal of {@link RedisTxCommands#exec()}
+     */
+    static final int EXEC_ORDINAL = getOrdinal(findMethod(RedisTxCommands.class, "exec"));
 
-    private final List<RedisCommandInterceptor> redisCommandInterceptors;
+    /**
+     * The ordinal of {@link RedisTxCommands#discard()}
+     */
+    static final int DISCARD_ORDINAL = getOrdinal(findMethod(RedisTxCommands.class, "discard"));
 
-    private final int redisConnectionInterceptorCount;
+    /**
+     * The dispatch table of {@link RedisMethodInvoker RedisMethodInvokers} for the methods absent in the metadata,
+     * e.g. {@link RedisConnection#close()}, whose accessibility is resolved once.
+     */
+    static final ConcurrentMap<Method, RedisMethodInvoker> nonCommandMethodInvokersCache = new ConcurrentHashMap<>(64);
 
-    private final int redisCommandInterceptorCount;
+    /**
+     * The {@link Batch} of the pipeline or the transaction last opened by the current thread, which is picked up by
+     * the instances wrapping the same raw {@link RedisConnection} again, e.g. the connection bound by
+     * {@link org.springframework.data.redis.core.SessionCallback} is wrapped for every execution of
+     * {@link org.springframework.data.redis.core.RedisTemplate}, and is removed once flushed or cancelled.
+     */
+    static final ThreadLocal<Batch> currentBatch = new ThreadLocal<>();
+
+    private final RedisConnection rawRedisConnection;
+
+    private final RedisContext redisContext;
+
+    private final Object sourceBean;
+
+    private final String sourceBeanName;
 
-    private final boolean hasRedisConnectionInterceptors;
+    private final RedisMethodInterceptorChains redisMethodInterceptorChains;
 
-    private final boolean hasRedisCommandInterceptors;
+    /**
+     * The {@link Batch} of the pipeline or the transaction in progress
+     */
+    @Nullable
+    private Batch batch;
 
     /**
      * Creates an invocation handler that wraps the given raw {@link RedisConnection} and routes
-     * every method call through all registered interceptors.
+     * every method call through the registered interceptors supporting the method.
      *
      * @param rawRedisConnection the real (non-proxied) {@link RedisConnection}
      * @param redisContext       the {@link RedisContext} providing interceptors and configuration
@@ -103,88 +174,413 @@ public class InterceptingRedisConnectionInvocationHandler implements InvocationH
         this.redisContext = redisContext;
         this.sourceBean = sourceBean;
         this.sourceBeanName = sourceBeanName;
-        this.redisConnectionInterceptors = redisContext.getRedisConnectionInterceptors();
-        this.redisCommandInterceptors = redisContext.getRedisCommandInterceptors();
-
-        this.redisConnectionInterceptorCount = redisConnectionInterceptors.size();
-        this.redisCommandInterceptorCount = redisCommandInterceptors.size();
-
-        this.hasRedisConnectionInterceptors = redisConnectionInterceptorCount > 0;
-        this.hasRedisCommandInterceptors = redisCommandInterceptorCount > 0;
+        this.redisMethodInterceptorChains = redisContext.getRedisMethodInterceptorChains();
+        Batch batch = currentBatch.get();
+        if (batch != null && batch.rawRedisConnection == rawRedisConnection) {
+            // The raw RedisConnection was wrapped by another instance that opened the batch
+            this.batch = batch;
+        }
     }
 
     @Override
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        return invoke(proxy, getRedisMethodInvoker(method), method, args);
+    }
 
-        String methodName = method.getName();
+    /**
+     * Invokes the method with the {@link RedisMethodInvoker} resolved by the caller, e.g. the per-method callback of
+     * the class generated by {@link InterceptingRedisConnectionGenerator}, which resolves it once.
+     *
+     * @param proxy              the instance wrapping the raw {@link RedisConnection}
+     * @param redisMethodInvoker the {@link RedisMethodInvoker} of the method, or {@code null} if absent in the metadata
+     * @param method             the invoked {@link Method}
+     * @param args               the arguments
+     * @return the result of the method
+     * @throws Throwable the failure of the method
+     */
+    Object invoke(Object proxy, @Nullable RedisMethodInvoker redisMethodInvoker, Method method, Object[] args) throws Throwable {
+        if (redisMethodInvoker == null) {
+            // The special methods are never Redis command methods, Method#equals compares the declaring class first
+            if (EQUALS_METHOD.equals(method)) {
+                // Only consider equal when proxies are identical.
+                return (proxy == args[0]);
+            } else if (HASH_CODE_METHOD.equals(method)) {
+                // Use hashCode of proxy.
+                return identityHashCode(proxy);
+            } else if (GET_DELEGATE_METHOD.equals(method)) {
+                return this.rawRedisConnection;
+            }
+            redisMethodInvoker = getNonCommandMethodInvoker(method);
+            if (OPEN_PIPELINE_METHOD.equals(method)) {
+                return openBatch(redisMethodInvoker, method, args, true);
+            } else if (CLOSE_PIPELINE_METHOD.equals(method)) {
+                return closeBatch(redisMethodInvoker, method, args, true);
+            } else if (CLOSE_METHOD.equals(method)) {
+                cancelBatch("The connection is closed");
+            }
+        } else if (isTransactionMethod(redisMethodInvoker)) {
+            Batch batch = getBatch();
+            if (batch != null && batch.pipelined) {
+                // The transaction commands are queued as usual in the pipeline
+                return intercept(redisMethodInvoker, method, args);
+            }
+            int ordinal = redisMethodInvoker.getOrdinal();
+            if (ordinal == MULTI_ORDINAL) {
+                return openBatch(redisMethodInvoker, method, args, false);
+            } else if (ordinal == EXEC_ORDINAL) {
+                return closeBatch(redisMethodInvoker, method, args, false);
+            } else if (ordinal == DISCARD_ORDINAL) {
+                batch = detachBatch();
+                try {
+                    return intercept(redisMethodInvoker, method, args);
+                } finally {
+                    if (batch != null) {
+                        cancelBatch(batch, new CancellationException("The transaction is discarded"));
+                    }
+                }
+            }
+        }
+
+        return intercept(redisMethodInvoker, method, args);
+    }
 
-        if (EQUALS.equals(methodName)) {
-            // Only consider equal when proxies are identical.
-            return (proxy == args[0]);
-        } else if (HASH_CODE.equals(methodName)) {
-            // Use hashCode of proxy.
-            return identityHashCode(proxy);
-        } else if (GET_DELEGATE.equals(methodName)) {
-            return this.rawRedisConnection;
+    private Object intercept(@Nullable RedisMethodInvoker redisMethodInvoker, Method method, Object[] args) throws Throwable {
+
+        RedisMethodInterceptor[] interceptors = this.redisMethodInterceptorChains.getInterceptors(redisMethodInvoker);
+
+        if (interceptors.length == 0) {
+            // No interceptor supports the method
+            return invokeRawRedisConnection(redisMethodInvoker, method, args);
         }
 
-        trySetAccessible(method);
+        RedisMethodInterceptor[] mandatoryInterceptors = this.redisMethodInterceptorChains.getMandatoryInterceptors(redisMethodInvoker);
+        // The sampling decision is made once per call, and is shared with the interceptors by RedisMethodContext
+        Boolean sampled = null;
+        if (interceptors != mandatoryInterceptors) {
+            sampled = this.redisContext.getRedisMethodSampler().sample(redisMethodInvoker);
+            if (!sampled) {
+                // The sampleable interceptors are skipped for the unsampled call
+                interceptors = mandatoryInterceptors;
+                if (interceptors.length == 0) {
+                    return invokeRawRedisConnection(redisMethodInvoker, method, args);
+                }
+            }
+        }
 
-        RedisMethodContext<RedisConnection> redisMethodContext = createRedisMethodContext(method, args);
+        Batch batch = getBatch();
+        if (batch != null && isCommandMethod(redisMethodInvoker)) {
+            return interceptQueued(batch, interceptors, redisMethodInvoker, sampled, method, args);
+        }
+
+        RedisMethodContext<RedisConnection> redisMethodContext = createRedisMethodContext(method, args)
+                .redisMethodInvoker(redisMethodInvoker)
+                .sampled(sampled);
 
         Object result = null;
         Throwable failure = null;
         try {
-            beforeExecute(redisMethodContext);
-            result = method.invoke(this.rawRedisConnection, args);
+            beforeExecute(interceptors, redisMethodContext);
+            result = invokeRawRedisConnection(redisMethodInvoker, method, args);
         } catch (Throwable e) {
             failure = e;
-            throw e.getCause();
+            throw e;
         } finally {
-            afterExecute(redisMethodContext, result, failure);
+            afterExecute(interceptors, redisMethodContext, result, failure);
+            redisMethodContext.release();
+        }
+        return result;
+    }
+
+    private Object interceptQueued(Batch batch, RedisMethodInterceptor[] interceptors, RedisMethodInvoker redisMethodInvoker,
+                                   @Nullable Boolean sampled, Method method, Object[] args) throws Throwable {
+        // The context is kept until the batch is flushed
+        RedisMethodContext<RedisConnection> redisMethodContext = new RedisMethodContext<>(this.rawRedisConnection, method,
+                args, this.redisContext, this.sourceBean, this.sourceBeanName).redisMethodInvoker(redisMethodInvoker).sampled(sampled);
+        beforeExecute(interceptors, redisMethodContext);
+        Object result;
+        try {
+            result = invokeRawRedisConnection(redisMethodInvoker, method, args);
+        } catch (Throwable e) {
+            // The command was not queued
+            afterExecute(interceptors, redisMethodContext, null, e);
+            throw e;
+        }
+        batch.add(redisMethodContext, interceptors);
+        return result;
+    }
+
+    private Object invokeRawRedisConnection(@Nullable RedisMethodInvoker redisMethodInvoker, Method method, Object[] args) throws Throwable {
+        Object result = doInvokeRawRedisConnection(redisMethodInvoker, method, args);
+        Batch batch = getBatch();
+        if (batch != null && isCommandMethod(redisMethodInvoker)) {
+            // Every queued command takes one position of the results
+            batch.position++;
+        }
+        return result;
+    }
+
+    private Object openBatch(@Nullable RedisMethodInvoker redisMethodInvoker, Method method, Object[] args, boolean pipelined) throws Throwable {
+        Object result = intercept(redisMethodInvoker, method, args);
+        // The pipeline may be opened after the transaction, which is queued as usual
+        if (getBatch() == null) {
+            Batch batch = new Batch(this.rawRedisConnection, pipelined);
+            this.batch = batch;
+            currentBatch.set(batch);
+        }
+        return result;
+    }
+
+    private Object closeBatch(@Nullable RedisMethodInvoker redisMethodInvoker, Method method, Object[] args, boolean pipelined) throws Throwable {
+        Batch batch = getBatch();
+        if (batch == null || batch.pipelined != pipelined) {
+            return intercept(redisMethodInvoker, method, args);
+        }
+        detachBatch();
+        Object result;
+        try {
+            result = intercept(redisMethodInvoker, method, args);
+        } catch (RedisPipelineException e) {
+            // The results contain the failures of the commands
+            flushBatch(batch, e.getResults());
+            throw e;
+        } catch (Throwable e) {
+            cancelBatch(batch, e);
+            throw e;
+        }
+        if (result == null && !pipelined) {
+            // The transaction was aborted by WATCH
+            cancelBatch(batch, new CancellationException("The transaction is aborted"));
+        } else {
+            flushBatch(batch, result instanceof List ? (List<Object>) result : emptyList());
         }
         return result;
     }
 
+    private void cancelBatch(String message) {
+        Batch batch = detachBatch();
+        if (batch != null) {
+            cancelBatch(batch, new CancellationException(message));
+        }
+    }
+
+    private void cancelBatch(Batch batch, Throwable failure) {
+        List<RedisMethodContext<RedisConnection>> contexts = batch.contexts;
+        List<RedisMethodInterceptor[]> interceptorsList = batch.interceptorsList;
+        for (int i = 0; i < contexts.size(); i++) {
+            afterExecute(interceptorsList.get(i), contexts.get(i), null, failure);
+        }
+    }
+
+    private void flushBatch(Batch batch, List<Object> results) {
+        if (batch.contexts.isEmpty()) {
+            return;
+        }
+        for (RedisMethodInterceptor interceptor : batch.getInterceptors()) {
+            List<RedisMethodContext<RedisConnection>> contexts = new ArrayList<>(batch.contexts.size());
+            List<Object> batchResults = new ArrayList<>(batch.contexts.size());
+            batch.collect(interceptor, results, contexts, batchResults);
+            try {
+                interceptor.onBatch(unmodifiableList(contexts), unmodifiableList(batchResults));
+            } catch (Throwable e) {
+                logger.error("The execution of RedisMethodInterceptor[class : '{}'] onBatch method is failed, contexts : {} , results : {}",
+                        interceptor.getClass().getName(), contexts, batchResults, e);
+            }
+        }
+    }
+
+    private Object doInvokeRawRedisConnection(@Nullable RedisMethodInvoker redisMethodInvoker, Method method, Object[] args) throws Throwable {
+        if (redisMethodInvoker == null) {
+            // Fallback to the Java Reflection if the MethodHandle can't be unreflected
+            try {
+                return method.invoke(this.rawRedisConnection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+        return redisMethodInvoker.invoke(this.rawRedisConnection, args);
+    }
+
+    @Nullable
+    static RedisMethodInvoker getNonCommandMethodInvoker(Method method) {
+        RedisMethodInvoker redisMethodInvoker = nonCommandMethodInvokersCache.get(method);
+        if (redisMethodInvoker == null) {
+            redisMethodInvoker = nonCommandMethodInvokersCache.computeIfAbsent(method, RedisMethodInvoker::of);
+        }
+        return redisMethodInvoker;
+    }
+
+    /**
+     * Returns the raw {@link RedisConnection} to invoke the Redis command method that no interceptor supports, which
+     * takes one position of the results if the pipeline or the transaction is in progress.
+     *
+     * @return the raw {@link RedisConnection}
+     */
+    RedisConnection passThroughCommand() {
+        Batch batch = getBatch();
+        if (batch != null) {
+            batch.position++;
+        }
+        return this.rawRedisConnection;
+    }
+
+    @Nullable
+    private Batch getBatch() {
+        Batch batch = this.batch;
+        if (batch != null && batch.detached) {
+            // The batch was flushed or cancelled by another instance wrapping the same raw RedisConnection
+            this.batch = batch = null;
+        }
+        return batch;
+    }
+
+    @Nullable
+    private Batch detachBatch() {
+        Batch batch = getBatch();
+        if (batch != null) {
+            batch.detached = true;
+            this.batch = null;
+            if (currentBatch.get() == batch) {
+                currentBatch.remove();
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Is the specified {@link Method} controlling the pipeline or the transaction or not, which must be routed to
+     * {@link InterceptingRedisConnectionInvocationHandler} if any interceptor is present.
+     *
+     * @param method the {@link Method} of {@link RedisConnection}
+     * @return <code>true</code> if it's one of openPipeline(), closePipeline(), close(), multi(), exec() and discard()
+     */
+    static boolean isBatchMethod(Method method) {
+        return OPEN_PIPELINE_METHOD.equals(method) || CLOSE_PIPELINE_METHOD.equals(method) || CLOSE_METHOD.equals(method)
+                || isTransactionMethod(getRedisMethodInvoker(method));
+    }
+
+    private static boolean isTransactionMethod(@Nullable RedisMethodInvoker redisMethodInvoker) {
+        if (redisMethodInvoker == null) {
+            return false;
+        }
+        int ordinal = redisMethodInvoker.getOrdinal();
+        return ordinal == MULTI_ORDINAL || ordinal == EXEC_ORDINAL || ordinal == DISCARD_ORDINAL;
+    }
+
+    private static boolean isCommandMethod(@Nullable RedisMethodInvoker redisMethodInvoker) {
+        return redisMethodInvoker != null && redisMethodInvoker.isCommandMethod();
+    }
+
+    static int getOrdinal(Method method) {
+        RedisMethodInvoker redisMethodInvoker = getRedisMethodInvoker(method);
+        // Never matches any ordinal if absent
+        return redisMethodInvoker == null ? Integer.MIN_VALUE : redisMethodInvoker.getOrdinal();
+    }
+
     private RedisMethodContext<RedisConnection> createRedisMethodContext(Method method, Object[] args) {
+        if (this.redisContext.isContextRecycled()) {
+            return RedisMethodContext.acquire(this.rawRedisConnection, method, args, this.redisContext, this.sourceBean, this.sourceBeanName);
+        }
         return new RedisMethodContext<>(this.rawRedisConnection, method, args, this.redisContext, this.sourceBean, this.sourceBeanName);
     }
 
-    private void beforeExecute(RedisMethodContext<RedisConnection> redisMethodContext) {
-        beforeExecute(redisConnectionInterceptors, redisConnectionInterceptorCount, hasRedisConnectionInterceptors, redisMethodContext);
-        beforeExecute(redisCommandInterceptors, redisCommandInterceptorCount, hasRedisCommandInterceptors, redisMethodContext);
+    private void beforeExecute(RedisMethodInterceptor[] interceptors, RedisMethodContext<RedisConnection> redisMethodContext) {
+        for (int i = 0; i < interceptors.length; i++) {
+            RedisMethodInterceptor interceptor = interceptors[i];
+            try {
+                interceptor.beforeExecute(redisMethodContext);
+            } catch (Throwable e) {
+                interceptor.handleError(redisMethodContext, true, null, null, e);
+                logger.error("The execution of RedisMethodInterceptor[class : '{}'] beforeExecute method is failed, context : {}", interceptor.getClass().getName(), redisMethodContext);
+            }
+        }
     }
 
-    private void beforeExecute(List<? extends RedisMethodInterceptor> redisMethodInterceptors, int size, boolean exists, RedisMethodContext<RedisConnection> redisMethodContext) {
-        if (exists) {
-            for (int i = 0; i < size; i++) {
-                RedisMethodInterceptor interceptor = redisMethodInterceptors.get(i);
-                try {
-                    interceptor.beforeExecute(redisMethodContext);
-                } catch (Throwable e) {
-                    interceptor.handleError(redisMethodContext, true, null, null, e);
-                    logger.error("The execution of RedisMethodInterceptor[class : '{}'] beforeExecute method is failed, context : {}", interceptor.getClass().getName(), redisMethodContext);
-                }
+    private void afterExecute(RedisMethodInterceptor[] interceptors, RedisMethodContext<RedisConnection> redisMethodContext, Object result, Throwable failure) {
+        for (int i = 0; i < interceptors.length; i++) {
+            RedisMethodInterceptor interceptor = interceptors[i];
+            try {
+                interceptor.afterExecute(redisMethodContext, result, failure);
+            } catch (Throwable e) {
+                interceptor.handleError(redisMethodContext, false, result, failure, e);
+                logger.error("The execution of RedisMethodInterceptor[class : '{}'] afterExecute method is failed, context : {}, result : {} , failure : {}", interceptor.getClass().getName(), redisMethodContext, result, failure);
             }
         }
     }
 
-    private void afterExecute(RedisMethodContext<RedisConnection> redisMethodContext, Object result, Throwable failure) {
-        afterExecute(redisConnectionInterceptors, redisConnectionInterceptorCount, hasRedisConnectionInterceptors, redisMethodContext, result, failure);
-        afterExecute(redisCommandInterceptors, redisCommandInterceptorCount, hasRedisCommandInterceptors, redisMethodContext, result, failure);
-    }
+    /**
+     * The intercepted calls queued by the pipeline or the transaction
+     */
+    static final class Batch {
 
-    private void afterExecute(List<? extends RedisMethodInterceptor> redisMethodInterceptors, int size, boolean exists, RedisMethodContext<RedisConnection> redisMethodContext, Object result, Throwable failure) {
-        if (exists) {
-            for (int i = 0; i < size; i++) {
-                RedisMethodInterceptor interceptor = redisMethodInterceptors.get(i);
-                try {
-                    interceptor.afterExecute(redisMethodContext, result, failure);
-                } catch (Throwable e) {
-                    interceptor.handleError(redisMethodContext, false, result, failure, e);
-                    logger.error("The execution of RedisMethodInterceptor[class : '{}'] afterExecute method is failed, context : {}, result : {} , failure : {}", interceptor.getClass().getName(), redisMethodContext, result, failure);
+        final RedisConnection rawRedisConnection;
+
+        final boolean pipelined;
+
+        final List<RedisMethodContext<RedisConnection>> contexts = new ArrayList<>();
+
+        final List<RedisMethodInterceptor[]> interceptorsList = new ArrayList<>();
+
+        /**
+         * The positions of the intercepted calls in the results
+         */
+        final List<Integer> positions = new ArrayList<>();
+
+        /**
+         * The count of the queued commands, including the ones not intercepted
+         */
+        int position;
+
+        /**
+         * Whether the batch was flushed or cancelled
+         */
+        boolean detached;
+
+        Batch(RedisConnection rawRedisConnection, boolean pipelined) {
+            this.rawRedisConnection = rawRedisConnection;
+            this.pipelined = pipelined;
+        }
+
+        void add(RedisMethodContext<RedisConnection> context, RedisMethodInterceptor[] interceptors) {
+            this.contexts.add(context);
+            this.interceptorsList.add(interceptors);
+            // The position was incremented after the command was queued
+            this.positions.add(this.position - 1);
+        }
+
+        /**
+         * Get the distinct interceptors of the queued calls in the order of their first occurrence
+         *
+         * @return non-null
+         */
+        Set<RedisMethodInterceptor> getInterceptors() {
+            Set<RedisMethodInterceptor> interceptors = new LinkedHashSet<>();
+            for (RedisMethodInterceptor[] chain : this.interceptorsList) {
+                for (RedisMethodInterceptor interceptor : chain) {
+                    interceptors.add(interceptor);
+                }
+            }
+            return interceptors;
+        }
+
+        void collect(RedisMethodInterceptor interceptor, List<Object> results, List<RedisMethodContext<RedisConnection>> contexts,
+                     List<Object> batchResults) {
+            int size = results.size();
+            for (int i = 0; i < this.contexts.size(); i++) {
+                if (contains(this.interceptorsList.get(i), interceptor)) {
+                    int position = this.positions.get(i);
+                    contexts.add(this.contexts.get(i));
+                    batchResults.add(position < size ? results.get(position) : null);
+                }
+            }
+        }
+
+        private static boolean contains(RedisMethodInterceptor[] interceptors, RedisMethodInterceptor interceptor) {
+            for (RedisMethodInterceptor element : interceptors) {
+                if (element == interceptor) {
+                    return true;
                 }
             }
+            return false;
         }
     }
 }
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * The bounded lock-free ring buffer for multiple producers and a single consumer, every slot is guarded by a sequence
+ * number, so that the producers claim the slots by the CAS of the producer index only and never wait for each other,
+ * and the consumer reads the slots without any CAS.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   MpscRingBuffer<String> ringBuffer = new MpscRingBuffer<>(1024);
+ *   // Any producer thread
+ *   boolean offered = ringBuffer.offer("a"); // false if full
+ *   // The consumer thread
+ *   String element = ringBuffer.poll();
+ *   int count = ringBuffer.drain(list::add, 64);
+ * }</pre>
+ *
+ * @param <E> the type of elements
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see AsyncRedisCommandInterceptorDispatcher
+ * @since 1.0.0
+ */
+final class MpscRingBuffer<E> {
+
+    /**
+     * The maximum capacity
+     */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private final Object[] elements;
+
+    /**
+     * The sequence of slot <code>i</code> is <code>index</code> if the slot is free for the producer of
+     * <code>index</code>, or <code>index + 1</code> if the slot is published for the consumer of <code>index</code>
+     */
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    /**
+     * Only written by the consumer thread, volatile for {@link #size()}
+     */
+    private volatile long consumerIndex;
+
+    /**
+     * @param capacity the capacity, which is rounded up to the power of two
+     * @throws IllegalArgumentException if <code>capacity</code> is not in the range of <code>[1, 2^30]</code>
+     */
+    MpscRingBuffer(int capacity) throws IllegalArgumentException {
+        assertTrue(capacity > 0 && capacity <= MAX_CAPACITY, () -> "The capacity must be in the range of [1, " + MAX_CAPACITY + "] : " + capacity);
+        int size = roundToPowerOfTwo(capacity);
+        AtomicLongArray sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.elements = new Object[size];
+        this.sequences = sequences;
+        this.mask = size - 1;
+    }
+
+    /**
+     * Offer the element by any producer thread
+     *
+     * @param element the non-null element
+     * @return <code>false</code> if the ring buffer is full
+     */
+    boolean offer(E element) {
+        AtomicLong producerIndex = this.producerIndex;
+        AtomicLongArray sequences = this.sequences;
+        long index = producerIndex.get();
+        for (; ; ) {
+            int slot = (int) (index & this.mask);
+            long difference = sequences.get(slot) - index;
+            if (difference == 0) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    this.elements[slot] = element;
+                    // Publish the element to the consumer
+                    sequences.lazySet(slot, index + 1);
+                    return true;
+                }
+                index = producerIndex.get();
+            } else if (difference < 0) {
+                // The slot has not been consumed for the previous round
+                return false;
+            } else {
+                // Another producer claimed the index
+                index = producerIndex.get();
+            }
+        }
+    }
+
+    /**
+     * Poll the element by the consumer thread
+     *
+     * @return <code>null</code> if the ring buffer is empty
+     */
+    @Nullable
+    E poll() {
+        long index = this.consumerIndex;
+        int slot = (int) (index & this.mask);
+        if (this.sequences.get(slot) != index + 1) {
+            return null;
+        }
+        E element = (E) this.elements[slot];
+        this.elements[slot] = null;
+        // Release the slot to the producer of the next round
+        this.sequences.lazySet(slot, index + this.mask + 1);
+        this.consumerIndex = index + 1;
+        return element;
+    }
+
+    /**
+     * Drain the elements by the consumer thread
+     *
+     * @param consumer the {@link Consumer} of the elements
+     * @param limit    the maximum count of the elements
+     * @return the count of the drained elements
+     */
+    int drain(Consumer<? super E> consumer, int limit) {
+        int count = 0;
+        E element;
+        while (count < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * The approximate count of the elements
+     *
+     * @return non-negative
+     */
+    int size() {
+        long size = this.producerIndex.get() - this.consumerIndex;
+        return (int) max(0L, min(size, capacity()));
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int capacity() {
+        return this.mask + 1;
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        int highestOneBit = highestOneBit(value);
+        return highestOneBit == value ? value : highestOneBit << 1;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.metadata.MethodMetadata;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention;
+import io.microsphere.redis.spring.observation.RedisCommandObservationContext;
+import io.microsphere.redis.spring.observation.RedisCommandObservationConvention;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisCommands;
+
+import java.lang.reflect.Method;
+
+import static io.microsphere.redis.spring.interceptor.RedisBigKeyDetector.resolveKey;
+import static io.microsphere.redis.spring.interceptor.RedisCommandNames.resolveCommand;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED_PROPERTY_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@link RedisCommandInterceptor} observes the Redis commands by Micrometer {@link Observation}, which is started
+ * in {@link #beforeExecute(RedisMethodContext)} and stopped in {@link #afterExecute(RedisMethodContext, Object, Throwable)},
+ * the in-flight {@link Observation} is held by the typed {@link AttributeKey} of {@link RedisMethodContext} rather
+ * than the attribute map.
+ *
+ * <p>The key values are provided by {@link DefaultRedisCommandObservationConvention} unless
+ * {@link #setObservationConvention(RedisCommandObservationConvention) the custom one} is set, the key is added as the
+ * high-cardinality key value only if {@link #setKeyEnabled(boolean) it's enabled}.
+ *
+ * <p>The current {@link Observation} is looked up once per call and is used as the parent directly, no scope is
+ * opened since the Redis command is a leaf. If there is no current {@link Observation} and the
+ * {@link RedisMethodSampler} does not sample the call, nothing is created, so the interceptor is cheap enough for the
+ * high-throughput services. The calls within an observed parent are always observed to keep the traces complete, thus
+ * the interceptor is not {@link #isSampleable() sampleable} by the chain, and reads the sampling decision of the call
+ * from {@link RedisMethodContext#isSampled()}, which is shared with the sampleable interceptors.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Registered by @EnableRedisInterceptor(commandObservation = true), configured by the property :
+ *   // microsphere.redis.interceptor.observation.key-enabled = false
+ *   ObservationRedisCommandInterceptor interceptor = new ObservationRedisCommandInterceptor(observationRegistryProvider);
+ *   interceptor.setObservationConvention(new MyRedisCommandObservationConvention());
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see Observation
+ * @see RedisCommandObservationConvention
+ * @see RedisMethodSampler
+ * @since 1.0.0
+ */
+@RedisInterceptorScope
+public class ObservationRedisCommandInterceptor implements RedisCommandInterceptor, EnvironmentAware {
+
+    public static final String BEAN_NAME = "microsphere:observationRedisCommandInterceptor";
+
+    static final AttributeKey<Observation> OBSERVATION_KEY = AttributeKey.valueOf("microsphere.redis.observation");
+
+    private final ObservationRegistry observationRegistry;
+
+    @Nullable
+    private RedisCommandObservationConvention observationConvention;
+
+    private boolean keyEnabled = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED;
+
+    /**
+     * @param observationRegistryProvider the provider of {@link ObservationRegistry}, {@link ObservationRegistry#NOOP}
+     *                                    is used if absent
+     */
+    public ObservationRedisCommandInterceptor(ObjectProvider<ObservationRegistry> observationRegistryProvider) {
+        this.observationRegistry = observationRegistryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    @Override
+    public void beforeExecute(RedisMethodContext<RedisCommands> context) {
+        ObservationRegistry observationRegistry = this.observationRegistry;
+        if (observationRegistry.isNoop()) {
+            return;
+        }
+        RedisMethodInvoker redisMethodInvoker = context.getRedisMethodInvoker();
+        Observation parentObservation = observationRegistry.getCurrentObservation();
+        if (parentObservation == null && !context.isSampled()) {
+            return;
+        }
+        RedisCommandObservationContext observationContext = createObservationContext(context, redisMethodInvoker);
+        Observation observation = Observation.createNotStarted(this.observationConvention,
+                DefaultRedisCommandObservationConvention.INSTANCE, () -> observationContext, observationRegistry);
+        if (parentObservation != null) {
+            observation.parentObservation(parentObservation);
+        }
+        context.setAttribute(OBSERVATION_KEY, observation.start());
+    }
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+        Observation observation = context.removeAttribute(OBSERVATION_KEY);
+        if (observation == null) {
+            return;
+        }
+        if (failure != null) {
+            observation.error(failure);
+        }
+        observation.stop();
+    }
+
+    /**
+     * @return the custom {@link RedisCommandObservationConvention}, <code>null</code> if the default one is used
+     */
+    @Nullable
+    public RedisCommandObservationConvention getObservationConvention() {
+        return this.observationConvention;
+    }
+
+    /**
+     * Sets the custom {@link RedisCommandObservationConvention}
+     *
+     * @param observationConvention the custom {@link RedisCommandObservationConvention}, <code>null</code> to use
+     *                              {@link DefaultRedisCommandObservationConvention}
+     */
+    public void setObservationConvention(@Nullable RedisCommandObservationConvention observationConvention) {
+        this.observationConvention = observationConvention;
+    }
+
+    /**
+     * @return <code>true</code> if the key is added as the high-cardinality key value
+     */
+    public boolean isKeyEnabled() {
+        return this.keyEnabled;
+    }
+
+    /**
+     * Sets the key is added as the high-cardinality key value or not
+     *
+     * @param keyEnabled <code>true</code> to add the key
+     */
+    public void setKeyEnabled(boolean keyEnabled) {
+        this.keyEnabled = keyEnabled;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        setKeyEnabled(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED_PROPERTY_NAME,
+                boolean.class, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED));
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    private RedisCommandObservationContext createObservationContext(RedisMethodContext<RedisCommands> context,
+                                                                    @Nullable RedisMethodInvoker redisMethodInvoker) {
+        String command;
+        String interfaceName;
+        String key = null;
+        if (redisMethodInvoker == null) {
+            Method method = context.getMethod();
+            command = method.getName();
+            interfaceName = method.getDeclaringClass().getName();
+        } else {
+            MethodMetadata methodMetadata = redisMethodInvoker.getMethodInfo().getMethodMetadata();
+            command = resolveCommand(methodMetadata);
+            interfaceName = methodMetadata.getInterfaceName();
+            if (this.keyEnabled) {
+                byte[] keyBytes = resolveKey(redisMethodInvoker, context.getArgs());
+                key = keyBytes == null ? null : new String(keyBytes, UTF_8);
+            }
+        }
+        return new RedisCommandObservationContext(command, interfaceName, context.getSourceBeanName(), key);
+    }
+}
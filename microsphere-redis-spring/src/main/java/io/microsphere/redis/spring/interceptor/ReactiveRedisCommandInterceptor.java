@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.metadata.MethodInfo;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static io.microsphere.redis.spring.interceptor.RedisMethodInterceptorChains.matches;
+import static org.springframework.core.annotation.AnnotationUtils.findAnnotation;
+import static reactor.core.publisher.Mono.empty;
+
+/**
+ * The interceptor of the reactive Redis commands, e.g.
+ * {@link org.springframework.data.redis.connection.ReactiveStringCommands}, executed through the
+ * {@link org.springframework.data.redis.connection.ReactiveRedisConnection} of
+ * {@link org.springframework.data.redis.connection.ReactiveRedisConnectionFactory}. The callbacks return the
+ * {@link Mono} that is composed into the {@link Mono} or {@link Flux} returned by the Redis command, so they are
+ * executed on the subscription and the termination of the Redis command without blocking:
+ * <ul>
+ *     <li>{@link #beforeExecute(RedisMethodContext)} is subscribed before the Redis command</li>
+ *     <li>{@link #afterExecute(RedisMethodContext, Object, Throwable)} is subscribed after the Redis command is
+ *     completed or failed, the result is the value of the {@link Mono}, or <code>null</code> for the {@link Flux}
+ *     whose elements are not buffered</li>
+ * </ul>
+ * A {@link RedisMethodContext} is created per subscription, whose target is the reactive Redis command object and
+ * whose method is the reactive Redis command method. The errors signaled by the callbacks are logged and ignored.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   @Component
+ *   @RedisInterceptorScope(type = CommandType.WRITE)
+ *   public class TimingReactiveRedisCommandInterceptor implements ReactiveRedisCommandInterceptor {
+ *
+ *       @Override
+ *       public Mono<Void> beforeExecute(RedisMethodContext<Object> context) {
+ *           return Mono.fromRunnable(context::start);
+ *       }
+ *
+ *       @Override
+ *       public Mono<Void> afterExecute(RedisMethodContext<Object> context, Object result, Throwable failure) {
+ *           return Mono.fromRunnable(() -> {
+ *               context.stop();
+ *               System.out.println(context.getMethod().getName() + " took " + context.getDuration(TimeUnit.MILLISECONDS) + " ms");
+ *           });
+ *       }
+ *
+ *       @Override
+ *       public int getOrder() { return Ordered.LOWEST_PRECEDENCE; }
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodContext
+ * @see InterceptingReactiveRedisInvocationHandler
+ * @see ReactiveRedisCommandInterceptorChains
+ * @since 1.0.0
+ */
+public interface ReactiveRedisCommandInterceptor extends Ordered {
+
+    /**
+     * Does the interceptor support the specified reactive Redis command method or not. The result is evaluated once
+     * per method at the startup, and the methods that no interceptor supports are not decorated.
+     * <p>
+     * The default implementation matches the {@link RedisInterceptorScope} annotated on the interceptor class, or
+     * supports all methods if absent.
+     *
+     * @param methodInfo the {@link MethodInfo} of the reactive Redis command method
+     * @return <code>true</code> if supports
+     * @see RedisInterceptorScope
+     */
+    default boolean supports(@Nullable MethodInfo methodInfo) {
+        RedisInterceptorScope scope = findAnnotation(getClass(), RedisInterceptorScope.class);
+        return scope == null || matches(scope, methodInfo);
+    }
+
+    /**
+     * Intercept the reactive Redis command before its execution
+     *
+     * @param context {@link RedisMethodContext}
+     * @return the {@link Mono} subscribed before the Redis command, non-null
+     */
+    default Mono<Void> beforeExecute(RedisMethodContext<Object> context) {
+        return empty();
+    }
+
+    /**
+     * Intercept the reactive Redis command after its execution
+     *
+     * @param context {@link RedisMethodContext}
+     * @param result  The nullable value emitted by the {@link Mono} of the Redis command, always <code>null</code>
+     *                for the {@link Flux}
+     * @param failure The nullable {@link Throwable Throwable} signaled by the Redis command
+     * @return the {@link Mono} subscribed after the Redis command, non-null
+     */
+    default Mono<Void> afterExecute(RedisMethodContext<Object> context, @Nullable Object result, @Nullable Throwable failure) {
+        return empty();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.metadata.MethodInfo;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokers;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isReactiveRedisCommandsInterface;
+
+/**
+ * The precomputed chains of {@link ReactiveRedisCommandInterceptor ReactiveRedisCommandInterceptors}, one array per
+ * reactive Redis command method indexed by {@link RedisMethodInvoker#getOrdinal()}, containing the interceptors that
+ * {@link ReactiveRedisCommandInterceptor#supports(MethodInfo) support} the method in the execution order. The
+ * blocking Redis command methods and the methods absent in the metadata have no interceptor. The identical chains
+ * share the same array.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   ReactiveRedisCommandInterceptorChains chains = redisContext.getReactiveRedisCommandInterceptorChains();
+ *   ReactiveRedisCommandInterceptor[] interceptors = chains.getInterceptors(redisMethodInvoker);
+ *   if (interceptors.length == 0) {
+ *       // no interceptor cares about the reactive Redis command method
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReactiveRedisCommandInterceptor#supports(MethodInfo)
+ * @see RedisMethodInterceptorChains
+ * @see InterceptingReactiveRedisInvocationHandler
+ * @since 1.0.0
+ */
+public class ReactiveRedisCommandInterceptorChains {
+
+    private static final Logger logger = getLogger(ReactiveRedisCommandInterceptorChains.class);
+
+    static final ReactiveRedisCommandInterceptor[] EMPTY_INTERCEPTORS = new ReactiveRedisCommandInterceptor[0];
+
+    private final ReactiveRedisCommandInterceptor[][] interceptorsTable;
+
+    private final boolean empty;
+
+    /**
+     * Precomputes the interceptor chains
+     *
+     * @param interceptors the sorted {@link ReactiveRedisCommandInterceptor ReactiveRedisCommandInterceptors}
+     */
+    public ReactiveRedisCommandInterceptorChains(@Nullable List<? extends ReactiveRedisCommandInterceptor> interceptors) {
+        Map<List<ReactiveRedisCommandInterceptor>, ReactiveRedisCommandInterceptor[]> chainsCache = newHashMap();
+        List<RedisMethodInvoker> redisMethodInvokers = getRedisMethodInvokers();
+        int size = redisMethodInvokers.size();
+        ReactiveRedisCommandInterceptor[][] interceptorsTable = new ReactiveRedisCommandInterceptor[size][];
+        boolean empty = true;
+        for (int i = 0; i < size; i++) {
+            RedisMethodInvoker redisMethodInvoker = redisMethodInvokers.get(i);
+            ReactiveRedisCommandInterceptor[] chain = EMPTY_INTERCEPTORS;
+            if (interceptors != null && isReactiveRedisCommandsInterface(redisMethodInvoker.getMethod().getDeclaringClass().getName())) {
+                chain = buildChain(interceptors, redisMethodInvoker.getMethodInfo(), chainsCache);
+            }
+            interceptorsTable[redisMethodInvoker.getOrdinal()] = chain;
+            empty &= chain.length == 0;
+        }
+        this.interceptorsTable = interceptorsTable;
+        this.empty = empty;
+        logger.trace("The ReactiveRedisCommandInterceptorChains[methods : {} , distinct chains : {}] were built from the interceptors : {}",
+                size, chainsCache.size(), interceptors);
+    }
+
+    /**
+     * Get the interceptors for the specified {@link RedisMethodInvoker}
+     *
+     * @param redisMethodInvoker the {@link RedisMethodInvoker}, <code>null</code> if the method is absent in the metadata
+     * @return non-null array, empty if no interceptor supports the method
+     */
+    public ReactiveRedisCommandInterceptor[] getInterceptors(@Nullable RedisMethodInvoker redisMethodInvoker) {
+        if (redisMethodInvoker == null) {
+            return EMPTY_INTERCEPTORS;
+        }
+        int ordinal = redisMethodInvoker.getOrdinal();
+        ReactiveRedisCommandInterceptor[][] interceptorsTable = this.interceptorsTable;
+        return ordinal >= 0 && ordinal < interceptorsTable.length ? interceptorsTable[ordinal] : EMPTY_INTERCEPTORS;
+    }
+
+    /**
+     * Is there no interceptor for any reactive Redis command method or not
+     *
+     * @return <code>true</code> if no interceptor supports any reactive Redis command method
+     */
+    public boolean isEmpty() {
+        return this.empty;
+    }
+
+    static ReactiveRedisCommandInterceptor[] buildChain(List<? extends ReactiveRedisCommandInterceptor> interceptors, MethodInfo methodInfo,
+                                                        Map<List<ReactiveRedisCommandInterceptor>, ReactiveRedisCommandInterceptor[]> chainsCache) {
+        List<ReactiveRedisCommandInterceptor> chain = newArrayList(interceptors.size());
+        for (ReactiveRedisCommandInterceptor interceptor : interceptors) {
+            if (interceptor.supports(methodInfo)) {
+                chain.add(interceptor);
+            }
+        }
+        if (chain.isEmpty()) {
+            return EMPTY_INTERCEPTORS;
+        }
+        return chainsCache.computeIfAbsent(chain, c -> c.toArray(EMPTY_INTERCEPTORS));
+    }
+}
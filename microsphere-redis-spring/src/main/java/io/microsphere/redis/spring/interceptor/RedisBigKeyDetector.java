@@ -0,0 +1,618 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisCommands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.redis.spring.interceptor.RedisCommandStatistics.sizeOf;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.NO_PARAMETER_INDEX;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The {@link RedisCommandInterceptor} detects the big keys and the big values from the client side. The request size
+ * is measured from the raw binary arguments, e.g. <code>byte[]</code>, <code>byte[][]</code> and
+ * <code>Map&lt;byte[], byte[]&gt;</code>, and the response size from the binary results, e.g. the results of
+ * <code>HGETALL</code>, <code>SMEMBERS</code> and <code>LRANGE</code>, nothing is serialized for the measurement.
+ *
+ * <p>The sizes are recorded into the per-command histograms of the power-of-two buckets, which are the
+ * {@link AtomicLongArray AtomicLongArrays} indexed by the command, so the recording neither allocates nor locks. The
+ * request or the response whose size reaches the {@link #setThreshold(long) threshold} is offered to the bounded
+ * table of the largest offenders with the key, the command, the size and the source bean, the table is only locked
+ * when the size exceeds the smallest one in the full table.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Registered by @EnableRedisInterceptor(bigKeyDetection = true), configured by the properties :
+ *   // microsphere.redis.interceptor.big-key.capacity = 16
+ *   // microsphere.redis.interceptor.big-key.threshold = 10240
+ *   @Autowired
+ *   private RedisBigKeyDetector redisBigKeyDetector;
+ *
+ *   for (RedisBigKeyDetector.BigKey bigKey : redisBigKeyDetector.getBigKeys()) {
+ *       System.out.println(bigKey.getCommand() + " " + bigKey.getKeyAsString() + " : " + bigKey.getSize());
+ *   }
+ *
+ *   RedisBigKeyDetector.Snapshot snapshot = redisBigKeyDetector.getSnapshotsByCommand().get("HGETALL");
+ *   long p99 = snapshot.getResponse().getValueAtPercentile(99.0);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandInterceptor
+ * @see RedisCommandStatistics#sizeOf(Object)
+ * @since 1.0.0
+ */
+@RedisInterceptorScope
+public class RedisBigKeyDetector implements RedisCommandInterceptor, EnvironmentAware {
+
+    public static final String BEAN_NAME = "microsphere:redisBigKeyDetector";
+
+    /**
+     * The count of the power-of-two buckets, the bucket <code>i</code> holds the sizes in
+     * <code>[2 ^ (i - 1), 2 ^ i)</code>, and the bucket <code>0</code> holds zero
+     */
+    static final int BUCKETS = Long.SIZE;
+
+    private final Object lock = new Object();
+
+    private volatile long threshold = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD;
+
+    private volatile AtomicReferenceArray<Sizes> sizesArray = new AtomicReferenceArray<>(RedisCommandNames.NAMES.length);
+
+    private volatile BigKeys bigKeys = new BigKeys(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY);
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+        RedisMethodInvoker redisMethodInvoker = context.getRedisMethodInvoker();
+        int ordinal = redisMethodInvoker == null ? RedisMethodInvoker.NON_COMMAND_ORDINAL : redisMethodInvoker.getOrdinal();
+        if (ordinal < 0) {
+            return;
+        }
+        int index = RedisCommandNames.INDEXES[ordinal];
+        Object[] args = context.getArgs();
+        long requestSize = sizeOf(args);
+        long responseSize = failure == null ? sizeOf(result) : 0;
+
+        Sizes sizes = getSizes(index);
+        sizes.request.record(requestSize);
+        sizes.response.record(responseSize);
+
+        long threshold = this.threshold;
+        if (requestSize >= threshold) {
+            offer(context, redisMethodInvoker, args, index, requestSize, false);
+        }
+        if (responseSize >= threshold) {
+            offer(context, redisMethodInvoker, args, index, responseSize, true);
+        }
+    }
+
+    /**
+     * Returns the largest offenders whose sizes reach the threshold in the descending order of the sizes
+     *
+     * @return non-null read-only {@link List}
+     */
+    public List<BigKey> getBigKeys() {
+        return this.bigKeys.getBigKeys();
+    }
+
+    /**
+     * Returns the snapshots of the size histograms by the commands that have been invoked
+     *
+     * @return non-null read-only {@link Map} whose key is the command name, e.g. "HGETALL"
+     */
+    public Map<String, Snapshot> getSnapshotsByCommand() {
+        AtomicReferenceArray<Sizes> sizesArray = this.sizesArray;
+        Map<String, Snapshot> snapshots = new LinkedHashMap<>();
+        for (int i = 0; i < sizesArray.length(); i++) {
+            Sizes sizes = sizesArray.get(i);
+            if (sizes != null) {
+                String command = RedisCommandNames.NAMES[i];
+                snapshots.put(command, new Snapshot(command, sizes.request.snapshot(), sizes.response.snapshot()));
+            }
+        }
+        return unmodifiableMap(snapshots);
+    }
+
+    /**
+     * Resets the size histograms and the largest offenders
+     */
+    public void reset() {
+        synchronized (this.lock) {
+            this.sizesArray = new AtomicReferenceArray<>(RedisCommandNames.NAMES.length);
+            this.bigKeys = new BigKeys(this.bigKeys.capacity);
+        }
+    }
+
+    /**
+     * @return the max count of the largest offenders
+     */
+    public int getCapacity() {
+        return this.bigKeys.capacity;
+    }
+
+    /**
+     * Sets the max count of the largest offenders, and clears the current ones
+     *
+     * @param capacity the max count of the largest offenders, must be positive
+     * @throws IllegalArgumentException if <code>capacity</code> is not positive
+     */
+    public void setCapacity(int capacity) throws IllegalArgumentException {
+        assertTrue(capacity > 0, () -> "The 'capacity' must be positive : " + capacity);
+        this.bigKeys = new BigKeys(capacity);
+    }
+
+    /**
+     * @return the threshold in bytes of the largest offenders
+     */
+    public long getThreshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Sets the threshold in bytes of the largest offenders
+     *
+     * @param threshold the threshold in bytes, must be positive
+     * @throws IllegalArgumentException if <code>threshold</code> is not positive
+     */
+    public void setThreshold(long threshold) throws IllegalArgumentException {
+        assertTrue(threshold > 0, () -> "The 'threshold' must be positive : " + threshold);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        setCapacity(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY));
+        setThreshold(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD_PROPERTY_NAME, long.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD));
+    }
+
+    private void offer(RedisMethodContext<RedisCommands> context, RedisMethodInvoker redisMethodInvoker, Object[] args,
+                       int index, long size, boolean response) {
+        BigKeys bigKeys = this.bigKeys;
+        if (size <= bigKeys.admissionSize) {
+            return;
+        }
+        byte[] key = resolveKey(redisMethodInvoker, args);
+        bigKeys.offer(key, RedisCommandNames.NAMES[index], size, response, context.getSourceBeanName());
+    }
+
+    private Sizes getSizes(int index) {
+        AtomicReferenceArray<Sizes> sizesArray = this.sizesArray;
+        Sizes sizes = sizesArray.get(index);
+        if (sizes == null) {
+            Sizes newSizes = new Sizes();
+            sizes = sizesArray.compareAndSet(index, null, newSizes) ? newSizes : sizesArray.get(index);
+        }
+        return sizes;
+    }
+
+    /**
+     * Resolves the key by {@link RedisMethodInvoker#getKeyParameterIndex() the key parameter}, the first key is used
+     * if the argument carries multiple keys
+     *
+     * @return <code>null</code> if the method has no key parameter or the key is not binary
+     */
+    @Nullable
+    static byte[] resolveKey(RedisMethodInvoker redisMethodInvoker, @Nullable Object[] args) {
+        int keyParameterIndex = redisMethodInvoker.getKeyParameterIndex();
+        if (keyParameterIndex == NO_PARAMETER_INDEX || args == null || keyParameterIndex >= args.length) {
+            return null;
+        }
+        Object keyArg = args[keyParameterIndex];
+        if (keyArg instanceof byte[]) {
+            return (byte[]) keyArg;
+        } else if (keyArg instanceof byte[][]) {
+            byte[][] keys = (byte[][]) keyArg;
+            return keys.length == 0 ? null : keys[0];
+        } else if (keyArg instanceof Collection) {
+            Collection<?> keys = (Collection<?>) keyArg;
+            Object key = keys.isEmpty() ? null : keys.iterator().next();
+            return key instanceof byte[] ? (byte[]) key : null;
+        }
+        return null;
+    }
+
+    /**
+     * @param size the size in bytes
+     * @return the index of the power-of-two bucket
+     */
+    static int bucketIndex(long size) {
+        return size <= 0 ? 0 : min(Long.SIZE - numberOfLeadingZeros(size), BUCKETS - 1);
+    }
+
+    /**
+     * @param bucketIndex the index of the power-of-two bucket
+     * @return the max size in bytes of the bucket
+     */
+    static long bucketUpperBound(int bucketIndex) {
+        return bucketIndex == 0 ? 0 : bucketIndex >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucketIndex) - 1;
+    }
+
+    /**
+     * The request and the response size histograms of a command
+     */
+    static final class Sizes {
+
+        final SizeHistogram request = new SizeHistogram();
+
+        final SizeHistogram response = new SizeHistogram();
+    }
+
+    static final class SizeHistogram {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        private final LongAdder totalSize = new LongAdder();
+
+        private final LongAccumulator maxSize = new LongAccumulator(Math::max, 0);
+
+        void record(long size) {
+            this.buckets.incrementAndGet(bucketIndex(size));
+            if (size > 0) {
+                this.totalSize.add(size);
+                this.maxSize.accumulate(size);
+            }
+        }
+
+        SizeDistribution snapshot() {
+            long[] buckets = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = this.buckets.get(i);
+                count += buckets[i];
+            }
+            return new SizeDistribution(count, this.totalSize.sum(), this.maxSize.get(), buckets);
+        }
+    }
+
+    /**
+     * The bounded table of the largest offenders
+     */
+    static final class BigKeys {
+
+        private final int capacity;
+
+        private final List<BigKey> bigKeys;
+
+        /**
+         * The smallest size in the full table, the sizes not greater than it are rejected without lock
+         */
+        private volatile long admissionSize = 0;
+
+        BigKeys(int capacity) {
+            this.capacity = capacity;
+            this.bigKeys = new ArrayList<>(capacity);
+        }
+
+        void offer(@Nullable byte[] key, String command, long size, boolean response, @Nullable String sourceBeanName) {
+            synchronized (this) {
+                List<BigKey> bigKeys = this.bigKeys;
+                int index = indexOf(key, command, response);
+                if (index > -1) {
+                    if (size <= bigKeys.get(index).size) {
+                        return;
+                    }
+                } else if (bigKeys.size() < this.capacity) {
+                    index = bigKeys.size();
+                    bigKeys.add(null);
+                } else {
+                    index = minIndex();
+                    if (size <= bigKeys.get(index).size) {
+                        return;
+                    }
+                }
+                // The key is copied only if it's admitted
+                bigKeys.set(index, new BigKey(key == null ? null : key.clone(), command, size, response, sourceBeanName,
+                        currentTimeMillis()));
+                if (bigKeys.size() == this.capacity) {
+                    this.admissionSize = bigKeys.get(minIndex()).size;
+                }
+            }
+        }
+
+        synchronized List<BigKey> getBigKeys() {
+            if (this.bigKeys.isEmpty()) {
+                return emptyList();
+            }
+            List<BigKey> bigKeys = new ArrayList<>(this.bigKeys);
+            bigKeys.sort((a, b) -> Long.compare(b.size, a.size));
+            return unmodifiableList(bigKeys);
+        }
+
+        private int indexOf(@Nullable byte[] key, String command, boolean response) {
+            List<BigKey> bigKeys = this.bigKeys;
+            for (int i = 0; i < bigKeys.size(); i++) {
+                BigKey bigKey = bigKeys.get(i);
+                if (bigKey.response == response && Objects.equals(bigKey.command, command) && Arrays.equals(bigKey.key, key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int minIndex() {
+            List<BigKey> bigKeys = this.bigKeys;
+            int index = 0;
+            for (int i = 1; i < bigKeys.size(); i++) {
+                if (bigKeys.get(i).size < bigKeys.get(index).size) {
+                    index = i;
+                }
+            }
+            return index;
+        }
+    }
+
+    /**
+     * The largest offender, either a big request or a big response
+     */
+    public static final class BigKey {
+
+        @Nullable
+        private final byte[] key;
+
+        private final String command;
+
+        private final long size;
+
+        private final boolean response;
+
+        @Nullable
+        private final String sourceBeanName;
+
+        private final long timestamp;
+
+        BigKey(@Nullable byte[] key, String command, long size, boolean response, @Nullable String sourceBeanName,
+               long timestamp) {
+            this.key = key;
+            this.command = command;
+            this.size = size;
+            this.response = response;
+            this.sourceBeanName = sourceBeanName;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * @return the copy of the key, <code>null</code> if the command has no binary key
+         */
+        @Nullable
+        public byte[] getKey() {
+            return this.key == null ? null : this.key.clone();
+        }
+
+        /**
+         * @return the key decoded by UTF-8, <code>null</code> if the command has no binary key
+         */
+        @Nullable
+        public String getKeyAsString() {
+            return this.key == null ? null : new String(this.key, UTF_8);
+        }
+
+        /**
+         * @return the name of Redis command, e.g. "HGETALL"
+         */
+        public String getCommand() {
+            return this.command;
+        }
+
+        /**
+         * @return the size in bytes of the request or the response
+         */
+        public long getSize() {
+            return this.size;
+        }
+
+        /**
+         * @return <code>true</code> if the response is big, or <code>false</code> if the request is big
+         */
+        public boolean isResponse() {
+            return this.response;
+        }
+
+        /**
+         * @return the source bean name, <code>null</code> if absent
+         */
+        @Nullable
+        public String getSourceBeanName() {
+            return this.sourceBeanName;
+        }
+
+        /**
+         * @return the time in milliseconds when the size was recorded
+         */
+        public long getTimestamp() {
+            return this.timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", BigKey.class.getSimpleName() + "[", "]")
+                    .add("key='" + getKeyAsString() + "'")
+                    .add("command='" + this.command + "'")
+                    .add("size=" + this.size)
+                    .add("response=" + this.response)
+                    .add("sourceBeanName='" + this.sourceBeanName + "'")
+                    .add("timestamp=" + this.timestamp)
+                    .toString();
+        }
+    }
+
+    /**
+     * The snapshot of the request and the response size histograms of a command
+     */
+    public static final class Snapshot {
+
+        private final String command;
+
+        private final SizeDistribution request;
+
+        private final SizeDistribution response;
+
+        Snapshot(String command, SizeDistribution request, SizeDistribution response) {
+            this.command = command;
+            this.request = request;
+            this.response = response;
+        }
+
+        /**
+         * @return the name of Redis command, e.g. "HGETALL"
+         */
+        public String getCommand() {
+            return this.command;
+        }
+
+        /**
+         * @return the distribution of the request sizes
+         */
+        public SizeDistribution getRequest() {
+            return this.request;
+        }
+
+        /**
+         * @return the distribution of the response sizes
+         */
+        public SizeDistribution getResponse() {
+            return this.response;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Snapshot.class.getSimpleName() + "[", "]")
+                    .add("command='" + this.command + "'")
+                    .add("request=" + this.request)
+                    .add("response=" + this.response)
+                    .toString();
+        }
+    }
+
+    /**
+     * The distribution of the sizes in the power-of-two buckets
+     */
+    public static final class SizeDistribution {
+
+        private final long count;
+
+        private final long totalSize;
+
+        private final long maxSize;
+
+        private final long[] buckets;
+
+        SizeDistribution(long count, long totalSize, long maxSize, long[] buckets) {
+            this.count = count;
+            this.totalSize = totalSize;
+            this.maxSize = maxSize;
+            this.buckets = buckets;
+        }
+
+        /**
+         * @return the count of the recorded sizes
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * @return the total size in bytes
+         */
+        public long getTotalSize() {
+            return this.totalSize;
+        }
+
+        /**
+         * @return the max size in bytes
+         */
+        public long getMaxSize() {
+            return this.maxSize;
+        }
+
+        /**
+         * @return the mean size in bytes, <code>0</code> if no size
+         */
+        public long getMeanSize() {
+            long count = this.count;
+            return count == 0 ? 0 : this.totalSize / count;
+        }
+
+        /**
+         * Returns the upper bound of the power-of-two bucket at the percentile, which is not greater than the
+         * {@link #getMaxSize() max size}
+         *
+         * @param percentile the percentile, from 0.0 to 100.0, e.g. 99.0
+         * @return the size in bytes, <code>0</code> if no size
+         */
+        public long getValueAtPercentile(double percentile) {
+            long count = this.count;
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * count);
+            long accumulated = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                accumulated += this.buckets[i];
+                if (accumulated >= rank && accumulated > 0) {
+                    return min(bucketUpperBound(i), this.maxSize);
+                }
+            }
+            return this.maxSize;
+        }
+
+        /**
+         * @return the copy of the counts of the power-of-two buckets, the bucket <code>i</code> holds the sizes in
+         * <code>[2 ^ (i - 1), 2 ^ i)</code>, and the bucket <code>0</code> holds zero
+         */
+        public long[] getBuckets() {
+            return this.buckets.clone();
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", SizeDistribution.class.getSimpleName() + "[", "]")
+                    .add("count=" + this.count)
+                    .add("totalSize=" + this.totalSize)
+                    .add("maxSize=" + this.maxSize)
+                    .toString();
+        }
+    }
+}
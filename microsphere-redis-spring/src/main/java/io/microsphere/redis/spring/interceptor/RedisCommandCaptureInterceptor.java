@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.metadata.MethodInfo;
+import io.microsphere.redis.spring.capture.RedisCommandCaptureLog;
+import io.microsphere.redis.spring.capture.RedisCommandCaptureReader;
+import io.microsphere.redis.spring.capture.RedisCommandReplayer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.serializer.Serializers.serialize;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE_PROPERTY_NAME;
+import static java.nio.file.Paths.get;
+
+/**
+ * The {@link AsyncRedisCommandInterceptor} captures the Redis command traffic into the rolling binary
+ * {@link RedisCommandCaptureLog}, which can be replayed by {@link RedisCommandReplayer} against another Redis, e.g. for
+ * the capacity planning.
+ * <p>
+ * Each record consists of the start time in nanoseconds, the id of the calling thread, the method index that is also
+ * used by {@link io.microsphere.redis.spring.serializer.RedisCommandEventSerializer#VERSION_V1} and the serialized
+ * arguments. The snapshots are serialized and written by the consumer threads of
+ * {@link AsyncRedisCommandInterceptorDispatcher}, and the log is flushed once per batch, so the calling thread never
+ * performs any I/O. The non-command methods, e.g. {@link org.springframework.data.redis.connection.RedisConnection#close()},
+ * and the calls whose arguments can't be serialized are skipped.
+ * <p>
+ * The log is configured by the properties under "microsphere.redis.interceptor.capture.".
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   @EnableRedisInterceptor(commandCapture = true)
+ *   public class MyConfiguration {
+ *   }
+ *
+ *   // Replay the captured commands against the staging Redis twice as fast
+ *   try (RedisCommandCaptureReader reader = new RedisCommandCaptureReader(directory, "redis-capture")) {
+ *       new RedisCommandReplayer(stagingRedisConnectionFactory, 2.0, 8).replay(reader);
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandCaptureLog
+ * @see RedisCommandCaptureReader
+ * @see RedisCommandReplayer
+ * @since 1.0.0
+ */
+public class RedisCommandCaptureInterceptor implements AsyncRedisCommandInterceptor, EnvironmentAware, DisposableBean {
+
+    private static final Logger logger = getLogger(RedisCommandCaptureInterceptor.class);
+
+    public static final String BEAN_NAME = "microsphere:redisCommandCaptureInterceptor";
+
+    private final LongAdder capturedCount = new LongAdder();
+
+    private final LongAdder skippedCount = new LongAdder();
+
+    private RedisCommandCaptureLog captureLog;
+
+    public RedisCommandCaptureInterceptor() {
+    }
+
+    /**
+     * @param captureLog {@link RedisCommandCaptureLog}
+     */
+    public RedisCommandCaptureInterceptor(RedisCommandCaptureLog captureLog) {
+        this.captureLog = captureLog;
+    }
+
+    @Override
+    public boolean supports(@Nullable MethodInfo methodInfo) {
+        return methodInfo != null && AsyncRedisCommandInterceptor.super.supports(methodInfo);
+    }
+
+    @Override
+    public void onExecuted(RedisCommandSnapshot snapshot) throws IOException {
+        capture(snapshot);
+        this.captureLog.flush();
+    }
+
+    @Override
+    public void onExecuted(List<RedisCommandSnapshot> snapshots) throws IOException {
+        for (int i = 0; i < snapshots.size(); i++) {
+            capture(snapshots.get(i));
+        }
+        this.captureLog.flush();
+    }
+
+    private void capture(RedisCommandSnapshot snapshot) throws IOException {
+        if (snapshot.getMethodInfo() == null) {
+            this.skippedCount.increment();
+            return;
+        }
+        byte[][] arguments = serializeArguments(snapshot.getMethod(), snapshot.getArgs());
+        if (arguments == null) {
+            this.skippedCount.increment();
+            logger.trace("The snapshot is skipped, because its arguments can't be serialized : {}", snapshot);
+            return;
+        }
+        if (this.captureLog.append(snapshot.getStartTimeNanos(), snapshot.getThreadId(), snapshot.getMethodIndex(), arguments)) {
+            this.capturedCount.increment();
+        } else {
+            this.skippedCount.increment();
+        }
+    }
+
+    /**
+     * Serialize the arguments by the parameter types of the method
+     *
+     * @param method the Redis command method
+     * @param args   the arguments, may be <code>null</code> if the method has no parameter
+     * @return <code>null</code> if any argument can't be serialized
+     */
+    @Nullable
+    static byte[][] serializeArguments(Method method, @Nullable Object[] args) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int length = parameterTypes.length;
+        byte[][] arguments = new byte[length][];
+        for (int i = 0; i < length; i++) {
+            Object arg = args[i];
+            if (arg == null) {
+                continue;
+            }
+            byte[] argument;
+            try {
+                argument = serialize(arg, parameterTypes[i]);
+            } catch (SerializationException e) {
+                argument = null;
+            }
+            if (argument == null) {
+                return null;
+            }
+            arguments[i] = argument;
+        }
+        return arguments;
+    }
+
+    /**
+     * Get the {@link RedisCommandCaptureLog}
+     *
+     * @return <code>null</code> before {@link #setEnvironment(Environment)} if it's not specified by the constructor
+     */
+    public RedisCommandCaptureLog getCaptureLog() {
+        return this.captureLog;
+    }
+
+    /**
+     * Get the count of the captured commands
+     *
+     * @return non-negative
+     */
+    public long getCapturedCount() {
+        return this.capturedCount.sum();
+    }
+
+    /**
+     * Get the count of the skipped commands
+     *
+     * @return non-negative
+     */
+    public long getSkippedCount() {
+        return this.skippedCount.sum();
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        if (this.captureLog != null) {
+            return;
+        }
+        String directory = environment.resolvePlaceholders(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_NAME,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_VALUE));
+        String fileNamePrefix = environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_NAME,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_VALUE);
+        int bufferSize = environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE);
+        long maxFileSize = environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE_PROPERTY_NAME, long.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE);
+        int maxFiles = environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES);
+        this.captureLog = new RedisCommandCaptureLog(get(directory), fileNamePrefix, bufferSize, maxFileSize, maxFiles);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        RedisCommandCaptureLog captureLog = this.captureLog;
+        if (captureLog != null) {
+            captureLog.close();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
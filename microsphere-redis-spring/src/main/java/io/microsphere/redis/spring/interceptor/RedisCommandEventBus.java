@@ -0,0 +1,416 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.spring.event.RedisCommandEvent;
+import io.microsphere.redis.spring.event.RedisCommandEventListener;
+import io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.OverflowPolicy;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.BLOCK_PARK_NANOS;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.MIN_IDLE_PARK_NANOS;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.SHUTDOWN_TIMEOUT_MILLIS;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.nextIdleParkNanos;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_NAME;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static java.util.concurrent.locks.LockSupport.unpark;
+
+/**
+ * The dedicated bus of {@link RedisCommandEvent RedisCommandEvents} that delivers them to the
+ * {@link RedisCommandEventListener RedisCommandEventListeners} in batches. The events are offered to the bounded
+ * {@link MpscRingBuffer ring buffer} by the publishing threads, and drained by the single consumer thread, so the
+ * publishing thread neither resolves the listeners nor executes them, and the events are delivered in the order of
+ * publishing.
+ * <p>
+ * The listeners are resolved once at the startup. If the ring buffer is full, the publishing thread waits for the free
+ * slot by {@link OverflowPolicy#BLOCK} (default), because the events are used for the replication, or the event is
+ * dropped by {@link OverflowPolicy#DROP}. The events published by the consumer thread itself, e.g. the Redis commands
+ * executed by the listeners, are dropped rather than waiting for the free slot, because nothing else would drain the
+ * ring buffer. The counts of the published, dropped and failed events are recorded.
+ * <p>
+ * If the coalescing window is positive, the consumer thread collects the events within the window since the first
+ * one, and removes the idempotent writes superseded by the later ones by {@link RedisCommandEventCoalescer} before the
+ * delivery, which delays the delivery by the window at most.
+ * <p>
+ * The instance is created and started by {@link io.microsphere.redis.spring.context.RedisContext} if any
+ * {@link RedisCommandEventListener} bean is present, which is configured by the properties under
+ * "microsphere.redis.command-event.bus.", and the events are published by {@link EventPublishingRedisCommandInterceptor}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisCommandEventBus bus = new RedisCommandEventBus(redisCommandEventListeners, 8192, 256, OverflowPolicy.BLOCK);
+ *   bus.start();
+ *   bus.publish(new RedisCommandEvent(context.retain()));
+ *   bus.getPublishedCount();
+ *   bus.destroy();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEvent
+ * @see RedisCommandEventListener
+ * @see EventPublishingRedisCommandInterceptor
+ * @see MpscRingBuffer
+ * @since 1.0.0
+ */
+public class RedisCommandEventBus implements DisposableBean {
+
+    private static final Logger logger = getLogger(RedisCommandEventBus.class);
+
+    /**
+     * The name of the consumer thread
+     */
+    public static final String CONSUMER_THREAD_NAME = "microsphere-redis-command-event-bus";
+
+    private final RedisCommandEventListener[] listeners;
+
+    private final MpscRingBuffer<RedisCommandEvent> ringBuffer;
+
+    private final int batchSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final long coalescingWindowNanos;
+
+    @Nullable
+    private final RedisCommandEventCoalescer coalescer;
+
+    private final LongAdder publishedCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    private final LongAdder failedCount = new LongAdder();
+
+    private final LongAdder coalescedCount = new LongAdder();
+
+    private Thread consumer;
+
+    private volatile boolean running;
+
+    /**
+     * @param listeners      the sorted {@link RedisCommandEventListener RedisCommandEventListeners}
+     * @param bufferSize     the size of the ring buffer
+     * @param batchSize      the maximum count of the events per batch
+     * @param overflowPolicy the {@link OverflowPolicy}
+     * @throws IllegalArgumentException if any of the sizes is not positive
+     */
+    public RedisCommandEventBus(List<? extends RedisCommandEventListener> listeners, int bufferSize, int batchSize,
+                                OverflowPolicy overflowPolicy) throws IllegalArgumentException {
+        this(listeners, bufferSize, batchSize, overflowPolicy, 0L);
+    }
+
+    /**
+     * @param listeners              the sorted {@link RedisCommandEventListener RedisCommandEventListeners}
+     * @param bufferSize             the size of the ring buffer
+     * @param batchSize              the maximum count of the events per batch
+     * @param overflowPolicy         the {@link OverflowPolicy}
+     * @param coalescingWindowMillis the coalescing window in milliseconds, the coalescing is disabled if not positive
+     * @throws IllegalArgumentException if any of the sizes is not positive
+     */
+    public RedisCommandEventBus(List<? extends RedisCommandEventListener> listeners, int bufferSize, int batchSize,
+                                OverflowPolicy overflowPolicy, long coalescingWindowMillis) throws IllegalArgumentException {
+        assertTrue(batchSize > 0, () -> "The batch size must be positive : " + batchSize);
+        this.listeners = listeners.toArray(new RedisCommandEventListener[0]);
+        this.ringBuffer = new MpscRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.coalescingWindowNanos = coalescingWindowMillis > 0 ? MILLISECONDS.toNanos(coalescingWindowMillis) : 0L;
+        this.coalescer = coalescingWindowMillis > 0 ? new RedisCommandEventCoalescer() : null;
+    }
+
+    /**
+     * Start the consumer thread
+     */
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        Thread consumer = new Thread(this::consume, CONSUMER_THREAD_NAME);
+        consumer.setDaemon(true);
+        // Assigned before the start, so the consumer thread recognizes itself in publish(RedisCommandEvent)
+        this.consumer = consumer;
+        consumer.start();
+        logger.trace("The RedisCommandEventBus[buffer size : {} , batch size : {} , overflow policy : {} , coalescing window : {} ns] started with the listeners : {}",
+                this.ringBuffer.capacity(), this.batchSize, this.overflowPolicy, this.coalescingWindowNanos, this.listeners);
+    }
+
+    /**
+     * Stop the consumer thread after the pending events are delivered
+     */
+    @Override
+    public synchronized void destroy() {
+        if (!this.running) {
+            return;
+        }
+        this.running = false;
+        Thread consumer = this.consumer;
+        unpark(consumer);
+        try {
+            consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            currentThread().interrupt();
+        }
+        logger.trace("The RedisCommandEventBus stopped, published : {} , dropped : {} , failed : {} , coalesced : {}",
+                getPublishedCount(), getDroppedCount(), getFailedCount(), getCoalescedCount());
+    }
+
+    /**
+     * Publish the {@link RedisCommandEvent} to the ring buffer
+     *
+     * @param event {@link RedisCommandEvent}
+     * @return <code>true</code> if queued, or <code>false</code> if dropped
+     */
+    public boolean publish(RedisCommandEvent event) {
+        MpscRingBuffer<RedisCommandEvent> ringBuffer = this.ringBuffer;
+        if (this.running) {
+            if (ringBuffer.offer(event)) {
+                this.publishedCount.increment();
+                return true;
+            }
+            if (OverflowPolicy.BLOCK.equals(this.overflowPolicy)) {
+                if (currentThread() == this.consumer) {
+                    // The consumer thread would wait for itself forever
+                    logger.warn("The RedisCommandEvent published by the consumer thread is dropped, because the ring buffer is full : {}", event);
+                    this.droppedCount.increment();
+                    return false;
+                }
+                while (this.running) {
+                    parkNanos(BLOCK_PARK_NANOS);
+                    if (ringBuffer.offer(event)) {
+                        this.publishedCount.increment();
+                        return true;
+                    }
+                }
+            }
+        }
+        this.droppedCount.increment();
+        return false;
+    }
+
+    /**
+     * Publish the {@link RedisCommandEvent RedisCommandEvents} to the ring buffer in order, e.g. the write commands
+     * flushed by the pipeline or the transaction
+     *
+     * @param events {@link RedisCommandEvent RedisCommandEvents}
+     * @return the count of the queued events
+     */
+    public int publish(List<RedisCommandEvent> events) {
+        int count = 0;
+        for (int i = 0; i < events.size(); i++) {
+            if (publish(events.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void consume() {
+        int batchSize = this.batchSize;
+        List<RedisCommandEvent> batch = new ArrayList<>(batchSize);
+        Consumer<RedisCommandEvent> collector = batch::add;
+        long idleParkNanos = MIN_IDLE_PARK_NANOS;
+        for (; ; ) {
+            if (this.ringBuffer.drain(collector, batchSize) == 0) {
+                if (!this.running) {
+                    // The pending events were drained
+                    break;
+                }
+                parkNanos(idleParkNanos);
+                idleParkNanos = nextIdleParkNanos(idleParkNanos);
+                continue;
+            }
+            idleParkNanos = MIN_IDLE_PARK_NANOS;
+            if (this.coalescer == null) {
+                onEvents(batch);
+            } else {
+                collect(collector, batch);
+                onCoalescedEvents(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Collect the events until the coalescing window since the first one is elapsed
+     */
+    private void collect(Consumer<RedisCommandEvent> collector, List<RedisCommandEvent> window) {
+        MpscRingBuffer<RedisCommandEvent> ringBuffer = this.ringBuffer;
+        long deadline = nanoTime() + this.coalescingWindowNanos;
+        // The window is bounded by the capacity of the ring buffer
+        int limit = ringBuffer.capacity();
+        long remaining;
+        long idleParkNanos = MIN_IDLE_PARK_NANOS;
+        while (window.size() < limit && (remaining = deadline - nanoTime()) > 0) {
+            if (ringBuffer.drain(collector, limit - window.size()) == 0) {
+                if (!this.running) {
+                    break;
+                }
+                parkNanos(min(idleParkNanos, remaining));
+                idleParkNanos = nextIdleParkNanos(idleParkNanos);
+            } else {
+                idleParkNanos = MIN_IDLE_PARK_NANOS;
+            }
+        }
+    }
+
+    void onCoalescedEvents(List<RedisCommandEvent> window) {
+        List<RedisCommandEvent> events = this.coalescer.coalesce(window);
+        int size = events.size();
+        this.coalescedCount.add(window.size() - size);
+        int batchSize = this.batchSize;
+        for (int from = 0; from < size; from += batchSize) {
+            onEvents(events.subList(from, min(size, from + batchSize)));
+        }
+    }
+
+    void onEvents(List<RedisCommandEvent> batch) {
+        List<RedisCommandEvent> events = unmodifiableList(batch);
+        for (RedisCommandEventListener listener : this.listeners) {
+            try {
+                listener.onEvents(events);
+            } catch (Throwable e) {
+                this.failedCount.add(events.size());
+                logger.error("The execution of RedisCommandEventListener[class : '{}'] onEvents method is failed, events : {}",
+                        listener.getClass().getName(), events, e);
+            }
+        }
+    }
+
+    /**
+     * Get the sorted {@link RedisCommandEventListener RedisCommandEventListeners} resolved at the startup
+     *
+     * @return non-null read-only
+     */
+    public List<RedisCommandEventListener> getListeners() {
+        return unmodifiableList(asList(this.listeners));
+    }
+
+    /**
+     * Get the count of the published events
+     *
+     * @return non-negative
+     */
+    public long getPublishedCount() {
+        return this.publishedCount.sum();
+    }
+
+    /**
+     * Get the count of the dropped events because of the overflow or the stop
+     *
+     * @return non-negative
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.sum();
+    }
+
+    /**
+     * Get the count of the events whose {@link RedisCommandEventListener} failed, the event is counted once per
+     * failed listener
+     *
+     * @return non-negative
+     */
+    public long getFailedCount() {
+        return this.failedCount.sum();
+    }
+
+    /**
+     * Get the count of the events removed by the coalescing
+     *
+     * @return non-negative
+     */
+    public long getCoalescedCount() {
+        return this.coalescedCount.sum();
+    }
+
+    /**
+     * Is the coalescing enabled or not
+     *
+     * @return <code>true</code> if the coalescing window is positive
+     */
+    public boolean isCoalescingEnabled() {
+        return this.coalescer != null;
+    }
+
+    /**
+     * Get the approximate count of the events pending in the ring buffer
+     *
+     * @return non-negative
+     */
+    public int getPendingCount() {
+        return this.ringBuffer.size();
+    }
+
+    /**
+     * Is running or not
+     *
+     * @return <code>true</code> if the consumer thread was started and not stopped
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Get the {@link OverflowPolicy}
+     *
+     * @return non-null
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    /**
+     * Create an instance of {@link RedisCommandEventBus} configured by the {@link Environment}
+     *
+     * @param listeners   the sorted {@link RedisCommandEventListener RedisCommandEventListeners}
+     * @param environment {@link Environment}
+     * @return non-null
+     */
+    public static RedisCommandEventBus of(List<? extends RedisCommandEventListener> listeners, Environment environment) {
+        int bufferSize = environment.getProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE);
+        int batchSize = environment.getProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE);
+        OverflowPolicy overflowPolicy = OverflowPolicy.resolve(environment.getProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_NAME,
+                DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_VALUE), OverflowPolicy.BLOCK);
+        long coalescingWindow = environment.getProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_NAME, long.class,
+                DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW);
+        return new RedisCommandEventBus(listeners, bufferSize, batchSize, overflowPolicy, coalescingWindow);
+    }
+}
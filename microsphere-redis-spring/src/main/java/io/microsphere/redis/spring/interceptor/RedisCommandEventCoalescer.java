@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.metadata.MethodInfo;
+import io.microsphere.redis.metadata.MethodMetadata;
+import io.microsphere.redis.metadata.ParameterMetadata;
+import io.microsphere.redis.spring.event.RedisCommandEvent;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static io.microsphere.redis.spring.interceptor.RedisCommandNames.resolveCommand;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokers;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.NO_PARAMETER_INDEX;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveKeyParameterIndex;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveSingleKeyParameterIndex;
+
+/**
+ * The coalescer of {@link RedisCommandEvent RedisCommandEvents} that removes the idempotent writes superseded by the
+ * later writes to the same key of the same source bean within one window, so only the last one is replicated:
+ * <ul>
+ *   <li>SET, SETEX or PSETEX is superseded by the later SET, SETEX, PSETEX, DEL or UNLINK of the key</li>
+ *   <li>HSET is superseded by the later HSET of the same field, or the later overwrite of the key above</li>
+ * </ul>
+ * The write commands are classified once by their metadata. The conditional SET (NX, XX or KEEPTTL) and all other
+ * commands, e.g. INCR or LPUSH, are never removed, nor are the writes to the same key before them, so they observe the
+ * same state as the source. The commands whose keys can't be resolved, e.g. RENAME or EVAL, keep all the writes
+ * before them. The remaining events are kept in order.
+ * <p>
+ * The instance is used by {@link RedisCommandEventBus} if the coalescing window is configured by the property
+ * "microsphere.redis.command-event.bus.coalescing-window".
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisCommandEventCoalescer coalescer = new RedisCommandEventCoalescer();
+ *   // [SET k 1, INCR n, SET k 2, HSET h f 1, HSET h f 2, DEL h] -> [INCR n, SET k 2, DEL h]
+ *   List<RedisCommandEvent> coalesced = coalescer.coalesce(events);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventBus
+ * @see MethodMetadata#isWrite()
+ * @since 1.0.0
+ */
+public class RedisCommandEventCoalescer {
+
+    /**
+     * The command is neither removed nor supersedes the others
+     */
+    static final byte NON_COALESCIBLE = 0;
+
+    /**
+     * The command overwrites the whole value of the key(s), e.g. SET, DEL
+     */
+    static final byte KEY_OVERWRITE = 1;
+
+    /**
+     * The command overwrites a field of the hash, e.g. HSET
+     */
+    static final byte FIELD_OVERWRITE = 2;
+
+    /**
+     * The SET command with the options, which is {@link #KEY_OVERWRITE} only if it's unconditional
+     */
+    static final byte SET_WITH_OPTIONS = 3;
+
+    static final String FIELD_PARAMETER_NAME = "field";
+
+    private static final String KEY_PARAMETER_TYPE = byte[].class.getName();
+
+    private static final String KEYS_PARAMETER_TYPE = byte[][].class.getName();
+
+    private static final String SET_OPTION_PARAMETER_TYPE = SetOption.class.getName();
+
+    /**
+     * The kinds indexed by {@link RedisMethodInvoker#getOrdinal()}
+     */
+    private final byte[] kinds;
+
+    /**
+     * The indexes of the key parameter indexed by {@link RedisMethodInvoker#getOrdinal()}, the ones of
+     * {@link #NON_COALESCIBLE} are available for the single-key commands only
+     */
+    private final int[] keyIndexes;
+
+    /**
+     * The indexes of the field parameter of {@link #FIELD_OVERWRITE} indexed by {@link RedisMethodInvoker#getOrdinal()}
+     */
+    private final int[] fieldIndexes;
+
+    public RedisCommandEventCoalescer() {
+        List<RedisMethodInvoker> redisMethodInvokers = getRedisMethodInvokers();
+        int size = redisMethodInvokers.size();
+        this.kinds = new byte[size];
+        this.keyIndexes = new int[size];
+        this.fieldIndexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            RedisMethodInvoker redisMethodInvoker = redisMethodInvokers.get(i);
+            MethodInfo methodInfo = redisMethodInvoker.getMethodInfo();
+            int ordinal = redisMethodInvoker.getOrdinal();
+            byte kind = resolveKind(methodInfo);
+            this.kinds[ordinal] = kind;
+            this.keyIndexes[ordinal] = kind == NON_COALESCIBLE ? resolveSingleKeyParameterIndex(methodInfo) :
+                    resolveKeyParameterIndex(methodInfo);
+            this.fieldIndexes[ordinal] = kind == FIELD_OVERWRITE ? resolveParameterIndex(methodInfo, FIELD_PARAMETER_NAME) :
+                    NO_PARAMETER_INDEX;
+        }
+    }
+
+    /**
+     * Coalesce the {@link RedisCommandEvent RedisCommandEvents} in the order of publishing
+     *
+     * @param events the {@link RedisCommandEvent RedisCommandEvents} in the order of publishing
+     * @return the same instance if none is removed, or the new {@link List} of the remaining events in order
+     */
+    public List<RedisCommandEvent> coalesce(List<RedisCommandEvent> events) {
+        int size = events.size();
+        if (size < 2) {
+            return events;
+        }
+        boolean[] superseded = new boolean[size];
+        int supersededCount = 0;
+        // The keys and the fields overwritten by the later events
+        Set<CoalescingKey> overwrittenKeys = new HashSet<>();
+        Map<CoalescingKey, Set<Object>> overwrittenFields = new HashMap<>();
+        for (int i = size - 1; i >= 0; i--) {
+            RedisCommandEvent event = events.get(i);
+            RedisMethodInvoker redisMethodInvoker = getRedisMethodInvoker(event.getMethod());
+            if (redisMethodInvoker == null) {
+                // Unknown command, e.g. RedisCommands#execute
+                overwrittenKeys.clear();
+                overwrittenFields.clear();
+                continue;
+            }
+            int ordinal = redisMethodInvoker.getOrdinal();
+            Object[] args = event.getArgs();
+            String sourceBeanName = event.getSourceBeanName();
+            Object keyArg = getArg(args, this.keyIndexes[ordinal]);
+            switch (resolveKind(ordinal, args, keyArg)) {
+                case KEY_OVERWRITE:
+                    if (overwriteKeys(sourceBeanName, keyArg, overwrittenKeys)) {
+                        superseded[i] = true;
+                        supersededCount++;
+                    }
+                    break;
+                case FIELD_OVERWRITE:
+                    if (overwriteField(new CoalescingKey(sourceBeanName, keyArg), getArg(args, this.fieldIndexes[ordinal]),
+                            overwrittenKeys, overwrittenFields)) {
+                        superseded[i] = true;
+                        supersededCount++;
+                    }
+                    break;
+                default:
+                    if (keyArg == null) {
+                        // The keys can't be resolved, all writes before it are kept
+                        overwrittenKeys.clear();
+                        overwrittenFields.clear();
+                    } else {
+                        CoalescingKey key = new CoalescingKey(sourceBeanName, keyArg);
+                        overwrittenKeys.remove(key);
+                        overwrittenFields.remove(key);
+                    }
+            }
+        }
+        if (supersededCount == 0) {
+            return events;
+        }
+        List<RedisCommandEvent> coalescedEvents = new ArrayList<>(size - supersededCount);
+        for (int i = 0; i < size; i++) {
+            if (!superseded[i]) {
+                coalescedEvents.add(events.get(i));
+            }
+        }
+        return coalescedEvents;
+    }
+
+    private byte resolveKind(int ordinal, Object[] args, @Nullable Object keyArg) {
+        if (keyArg == null) {
+            return NON_COALESCIBLE;
+        }
+        byte kind = this.kinds[ordinal];
+        if (kind == SET_WITH_OPTIONS) {
+            // SET key value [EX seconds | PX milliseconds] : neither NX, XX nor KEEPTTL
+            Object expiration = args[2];
+            boolean unconditional = args[3] == SetOption.UPSERT &&
+                    (expiration == null || (expiration instanceof Expiration && !((Expiration) expiration).isKeepTtl()));
+            return unconditional ? KEY_OVERWRITE : NON_COALESCIBLE;
+        }
+        return kind;
+    }
+
+    /**
+     * @return <code>true</code> if all keys were overwritten by the later events
+     */
+    private static boolean overwriteKeys(String sourceBeanName, Object keyArg, Set<CoalescingKey> overwrittenKeys) {
+        if (keyArg instanceof byte[][]) {
+            byte[][] keys = (byte[][]) keyArg;
+            boolean overwritten = keys.length > 0;
+            for (byte[] key : keys) {
+                if (overwrittenKeys.add(new CoalescingKey(sourceBeanName, key))) {
+                    overwritten = false;
+                }
+            }
+            return overwritten;
+        }
+        return !overwrittenKeys.add(new CoalescingKey(sourceBeanName, keyArg));
+    }
+
+    /**
+     * @return <code>true</code> if the key or the field was overwritten by the later events
+     */
+    private static boolean overwriteField(CoalescingKey key, @Nullable Object fieldArg, Set<CoalescingKey> overwrittenKeys,
+                                          Map<CoalescingKey, Set<Object>> overwrittenFields) {
+        if (overwrittenKeys.contains(key)) {
+            return true;
+        }
+        if (fieldArg == null) {
+            return false;
+        }
+        return !overwrittenFields.computeIfAbsent(key, k -> new HashSet<>()).add(toValue(fieldArg));
+    }
+
+    @Nullable
+    private static Object getArg(@Nullable Object[] args, int index) {
+        return args != null && index >= 0 && index < args.length ? args[index] : null;
+    }
+
+    static byte resolveKind(MethodInfo methodInfo) {
+        MethodMetadata methodMetadata = methodInfo.getMethodMetadata();
+        String[] parameterTypes = methodMetadata.getParameterTypes();
+        if (!methodMetadata.isWrite() || parameterTypes == null || parameterTypes.length == 0) {
+            return NON_COALESCIBLE;
+        }
+        String firstParameterType = parameterTypes[0];
+        switch (resolveCommand(methodMetadata)) {
+            case "SET":
+                if (parameterTypes.length == 2 && KEY_PARAMETER_TYPE.equals(firstParameterType)) {
+                    return KEY_OVERWRITE;
+                }
+                if (parameterTypes.length == 4 && KEY_PARAMETER_TYPE.equals(firstParameterType)
+                        && SET_OPTION_PARAMETER_TYPE.equals(parameterTypes[3])) {
+                    return SET_WITH_OPTIONS;
+                }
+                return NON_COALESCIBLE;
+            case "SETEX":
+            case "PSETEX":
+                return KEY_PARAMETER_TYPE.equals(firstParameterType) ? KEY_OVERWRITE : NON_COALESCIBLE;
+            case "DEL":
+            case "UNLINK":
+                return KEYS_PARAMETER_TYPE.equals(firstParameterType) ? KEY_OVERWRITE : NON_COALESCIBLE;
+            case "HSET":
+                return KEY_PARAMETER_TYPE.equals(firstParameterType)
+                        && resolveParameterIndex(methodInfo, FIELD_PARAMETER_NAME) != NO_PARAMETER_INDEX ?
+                        FIELD_OVERWRITE : NON_COALESCIBLE;
+            default:
+                return NON_COALESCIBLE;
+        }
+    }
+
+    static int resolveParameterIndex(MethodInfo methodInfo, String parameterName) {
+        for (ParameterMetadata parameterMetadata : methodInfo.getParameterMetadataList()) {
+            if (parameterName.equals(parameterMetadata.getParameterName())) {
+                return parameterMetadata.getParameterIndex();
+            }
+        }
+        return NO_PARAMETER_INDEX;
+    }
+
+    static Object toValue(Object arg) {
+        // byte[] is compared by the content
+        return arg instanceof byte[] ? ByteBuffer.wrap((byte[]) arg) : arg;
+    }
+
+    /**
+     * The key of the source bean, which may connect to the different Redis servers
+     */
+    static final class CoalescingKey {
+
+        private final String sourceBeanName;
+
+        private final Object key;
+
+        CoalescingKey(String sourceBeanName, Object key) {
+            this.sourceBeanName = sourceBeanName;
+            this.key = toValue(key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CoalescingKey)) {
+                return false;
+            }
+            CoalescingKey that = (CoalescingKey) o;
+            return Objects.equals(this.sourceBeanName, that.sourceBeanName) && this.key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(this.sourceBeanName) + this.key.hashCode();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The JDK Flight Recorder {@link Event} of the intercepted Redis command, which is emitted by
+ * {@link FlightRecorderRedisCommandInterceptor}. The event is disabled by default, so it costs almost nothing unless a
+ * recording enables it, then its duration covers the client call including the time of the connection pool and the
+ * network, and it can be correlated with the GC pauses, the lock contentions and the allocations in the same
+ * recording.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Enabled by the command line :
+ *   // java -XX:StartFlightRecording:settings=redis.jfc ...
+ *   // redis.jfc contains :
+ *   // <event name="io.microsphere.redis.Command">
+ *   //   <setting name="enabled">true</setting>
+ *   //   <setting name="threshold">1 ms</setting>
+ *   // </event>
+ *
+ *   // Or programmatically :
+ *   Recording recording = new Recording();
+ *   recording.enable(RedisCommandJfrEvent.class).withThreshold(Duration.ofMillis(1));
+ *   recording.start();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see FlightRecorderRedisCommandInterceptor
+ * @see Event
+ * @since 1.0.0
+ */
+@Name(RedisCommandJfrEvent.NAME)
+@Label("Redis Command")
+@Category({"Microsphere", "Redis"})
+@Description("The Redis command intercepted on the client side")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("0 ms")
+public final class RedisCommandJfrEvent extends Event {
+
+    /**
+     * The name of {@link RedisCommandJfrEvent}
+     */
+    public static final String NAME = "io.microsphere.redis.Command";
+
+    @Label("Command")
+    @Description("The name of Redis command, e.g. HGETALL")
+    String command;
+
+    @Label("Interface")
+    @Description("The name of the interface declaring the method")
+    String interfaceName;
+
+    @Label("Source Bean")
+    @Description("The name of the source bean, e.g. redisTemplate")
+    String sourceBeanName;
+
+    @Label("Key Length")
+    @Description("The length of the first key, 0 if absent")
+    @DataAmount(DataAmount.BYTES)
+    int keyLength;
+
+    @Label("Payload Bytes")
+    @Description("The size of the binary arguments")
+    @DataAmount(DataAmount.BYTES)
+    long payloadBytes;
+
+    @Label("Result Bytes")
+    @Description("The size of the binary result")
+    @DataAmount(DataAmount.BYTES)
+    long resultBytes;
+
+    @Label("Error Class")
+    @Description("The class name of the failure, absent if the command succeeded")
+    String errorClass;
+}
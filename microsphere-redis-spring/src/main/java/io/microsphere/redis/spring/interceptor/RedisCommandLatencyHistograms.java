@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.metadata.MethodMetadata;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.data.redis.connection.RedisCommands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Math.min;
+import static java.lang.System.arraycopy;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * The optional {@link RedisCommandInterceptor} that records the latency of each Redis command into the
+ * <a href="https://github.com/HdrHistogram/HdrHistogram">HdrHistogram</a> {@link Recorder Recorders}, one per
+ * {@link RedisMethodContext#getSourceBeanName() source bean} and {@link MethodMetadata#getCommands() command}, e.g.
+ * "SET".
+ *
+ * <p>The {@link Recorder} is double-buffered, the writers record the values into the active {@link Histogram}
+ * without lock and allocation, while the readers {@link LatencyHistogram flip} it to the inactive one and accumulate
+ * it, thus the interceptor is eligible to be on for all Redis commands in the production. The latency is
+ * {@link RedisMethodContext#getDurationNanos()} if {@link RedisMethodContext#stop() stopped}, or measured from
+ * {@link #beforeExecute(RedisMethodContext)} to {@link #afterExecute(RedisMethodContext, Object, Throwable)}
+ * otherwise, and it is truncated to {@link #getHighestTrackableValueNanos() the highest trackable value}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Registered by @EnableRedisInterceptor(commandLatencyHistograms = true)
+ *   @Autowired
+ *   private RedisCommandLatencyHistograms redisCommandLatencyHistograms;
+ *
+ *   LatencyHistogram latencyHistogram = redisCommandLatencyHistograms.getLatencyHistogram("redisTemplate", "SET");
+ *   long p99 = latencyHistogram.getValueAtPercentile(99.0); // in nano seconds
+ *
+ *   for (LatencyHistogram histogram : redisCommandLatencyHistograms.getLatencyHistograms()) {
+ *       System.out.println(histogram.getSourceBeanName() + " " + histogram.getCommand() + " : " + histogram.getMaxValue());
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandInterceptor
+ * @see RedisCommandStatistics
+ * @see Recorder
+ * @since 1.0.0
+ */
+@RedisInterceptorScope
+public class RedisCommandLatencyHistograms implements RedisCommandInterceptor {
+
+    public static final String BEAN_NAME = "microsphere:redisCommandLatencyHistograms";
+
+    /**
+     * The default highest trackable value in nano seconds : 1 minute
+     */
+    public static final long DEFAULT_HIGHEST_TRACKABLE_VALUE_NANOS = MINUTES.toNanos(1);
+
+    /**
+     * The default number of significant decimal digits : 2, the relative error is 1%
+     */
+    public static final int DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 2;
+
+    private static final Segment[] EMPTY_SEGMENTS = new Segment[0];
+
+    private final long highestTrackableValueNanos;
+
+    private final int numberOfSignificantValueDigits;
+
+    private final Object lock = new Object();
+
+    private final List<Consumer<LatencyHistogram>> listeners = new ArrayList<>();
+
+    private volatile Segment[] segments = EMPTY_SEGMENTS;
+
+    public RedisCommandLatencyHistograms() {
+        this(DEFAULT_HIGHEST_TRACKABLE_VALUE_NANOS, DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+    }
+
+    /**
+     * @param highestTrackableValueNanos     the highest trackable value in nano seconds, at least 2
+     * @param numberOfSignificantValueDigits the number of significant decimal digits, from 0 to 5
+     * @throws IllegalArgumentException if any argument is out of range
+     */
+    public RedisCommandLatencyHistograms(long highestTrackableValueNanos, int numberOfSignificantValueDigits)
+            throws IllegalArgumentException {
+        assertTrue(highestTrackableValueNanos >= 2, () -> "The 'highestTrackableValueNanos' must be at least 2");
+        assertTrue(numberOfSignificantValueDigits >= 0 && numberOfSignificantValueDigits <= 5,
+                () -> "The 'numberOfSignificantValueDigits' must be from 0 to 5");
+        this.highestTrackableValueNanos = highestTrackableValueNanos;
+        this.numberOfSignificantValueDigits = numberOfSignificantValueDigits;
+    }
+
+    /**
+     * The latencies must be complete for the percentiles, so they are never skipped by the sampling.
+     *
+     * @return <code>false</code> always
+     */
+    @Override
+    public final boolean isSampleable() {
+        return false;
+    }
+
+    @Override
+    public void beforeExecute(RedisMethodContext<RedisCommands> context) {
+        if (context.getStartTimeNanos() < 0) {
+            context.start();
+        }
+    }
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+        RedisMethodInvoker redisMethodInvoker = context.getRedisMethodInvoker();
+        int ordinal = redisMethodInvoker == null ? RedisMethodInvoker.NON_COMMAND_ORDINAL : redisMethodInvoker.getOrdinal();
+        if (ordinal < 0) {
+            return;
+        }
+        long durationNanos = context.getDurationNanos();
+        if (durationNanos < 0) {
+            long startTimeNanos = context.getStartTimeNanos();
+            if (startTimeNanos < 0) {
+                return;
+            }
+            durationNanos = nanoTime() - startTimeNanos;
+        }
+        Segment segment = getSegment(context.getSourceBeanName());
+        getOrCreateLatencyHistogram(segment, RedisCommandNames.INDEXES[ordinal]).record(durationNanos);
+    }
+
+    /**
+     * Returns the {@link LatencyHistogram LatencyHistograms} of the commands that have been invoked, one per source
+     * bean and command.
+     *
+     * @return non-null read-only {@link List}
+     */
+    public List<LatencyHistogram> getLatencyHistograms() {
+        Segment[] segments = this.segments;
+        List<LatencyHistogram> latencyHistograms = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.collect(latencyHistograms);
+        }
+        return unmodifiableList(latencyHistograms);
+    }
+
+    /**
+     * Returns the {@link LatencyHistogram} of the specified source bean and command.
+     *
+     * @param sourceBeanName the source bean name, <code>null</code> for the calls without source bean
+     * @param command        the name of Redis command, e.g. "SET"
+     * @return <code>null</code> if the command has not been invoked by the source bean
+     */
+    @Nullable
+    public LatencyHistogram getLatencyHistogram(@Nullable String sourceBeanName, String command) {
+        Segment segment = findSegment(this.segments, sourceBeanName);
+        if (segment == null) {
+            return null;
+        }
+        Integer index = RedisCommandNames.NAME_TO_INDEX.get(command);
+        return index == null ? null : segment.latencyHistograms.get(index);
+    }
+
+    /**
+     * Adds the listener that is notified with the existing {@link LatencyHistogram LatencyHistograms} at once, and
+     * the new one once a command is invoked by a source bean for the first time, e.g. exporting the histograms to the
+     * monitoring system.
+     *
+     * @param listener the listener of {@link LatencyHistogram}
+     */
+    public void addListener(Consumer<LatencyHistogram> listener) {
+        synchronized (this.lock) {
+            this.listeners.add(listener);
+            for (LatencyHistogram latencyHistogram : getLatencyHistograms()) {
+                listener.accept(latencyHistogram);
+            }
+        }
+    }
+
+    /**
+     * Resets all histograms in place, the {@link LatencyHistogram LatencyHistograms} are still valid for the
+     * listeners.
+     */
+    public void reset() {
+        for (LatencyHistogram latencyHistogram : getLatencyHistograms()) {
+            latencyHistogram.reset();
+        }
+    }
+
+    /**
+     * @return the highest trackable value in nano seconds
+     */
+    public long getHighestTrackableValueNanos() {
+        return this.highestTrackableValueNanos;
+    }
+
+    /**
+     * @return the number of significant decimal digits
+     */
+    public int getNumberOfSignificantValueDigits() {
+        return this.numberOfSignificantValueDigits;
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    private LatencyHistogram getOrCreateLatencyHistogram(Segment segment, int index) {
+        AtomicReferenceArray<LatencyHistogram> latencyHistograms = segment.latencyHistograms;
+        LatencyHistogram latencyHistogram = latencyHistograms.get(index);
+        if (latencyHistogram == null) {
+            synchronized (this.lock) {
+                latencyHistogram = latencyHistograms.get(index);
+                if (latencyHistogram == null) {
+                    latencyHistogram = new LatencyHistogram(segment.sourceBeanName, RedisCommandNames.NAMES[index],
+                            this.highestTrackableValueNanos, this.numberOfSignificantValueDigits);
+                    latencyHistograms.set(index, latencyHistogram);
+                    for (Consumer<LatencyHistogram> listener : this.listeners) {
+                        listener.accept(latencyHistogram);
+                    }
+                }
+            }
+        }
+        return latencyHistogram;
+    }
+
+    private Segment getSegment(@Nullable String sourceBeanName) {
+        Segment[] segments = this.segments;
+        Segment segment = findSegment(segments, sourceBeanName);
+        if (segment == null) {
+            synchronized (this.lock) {
+                segments = this.segments;
+                segment = findSegment(segments, sourceBeanName);
+                if (segment == null) {
+                    segment = new Segment(sourceBeanName, RedisCommandNames.NAMES.length);
+                    Segment[] newSegments = new Segment[segments.length + 1];
+                    arraycopy(segments, 0, newSegments, 0, segments.length);
+                    newSegments[segments.length] = segment;
+                    this.segments = newSegments;
+                }
+            }
+        }
+        return segment;
+    }
+
+    @Nullable
+    private static Segment findSegment(Segment[] segments, @Nullable String sourceBeanName) {
+        // The source beans are a few, and their names are usually the same instances
+        for (Segment segment : segments) {
+            if (segment.sourceBeanName == sourceBeanName) {
+                return segment;
+            }
+        }
+        for (Segment segment : segments) {
+            if (Objects.equals(segment.sourceBeanName, sourceBeanName)) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The {@link LatencyHistogram LatencyHistograms} of the source bean indexed by the command, created on demand
+     */
+    static final class Segment {
+
+        @Nullable
+        final String sourceBeanName;
+
+        final AtomicReferenceArray<LatencyHistogram> latencyHistograms;
+
+        Segment(@Nullable String sourceBeanName, int size) {
+            this.sourceBeanName = sourceBeanName;
+            this.latencyHistograms = new AtomicReferenceArray<>(size);
+        }
+
+        void collect(List<LatencyHistogram> latencyHistograms) {
+            AtomicReferenceArray<LatencyHistogram> array = this.latencyHistograms;
+            for (int i = 0; i < array.length(); i++) {
+                LatencyHistogram latencyHistogram = array.get(i);
+                if (latencyHistogram != null) {
+                    latencyHistograms.add(latencyHistogram);
+                }
+            }
+        }
+    }
+
+    /**
+     * The latency histogram of a Redis command invoked by a source bean in nano seconds. The values recorded are
+     * accumulated since the creation or the last {@link #reset()}, every read flips the double-buffered
+     * {@link Recorder} at first.
+     */
+    public static final class LatencyHistogram {
+
+        @Nullable
+        private final String sourceBeanName;
+
+        private final String command;
+
+        private final long highestTrackableValue;
+
+        private final Recorder recorder;
+
+        private final Histogram accumulatedHistogram;
+
+        private Histogram intervalHistogram;
+
+        LatencyHistogram(@Nullable String sourceBeanName, String command, long highestTrackableValue,
+                         int numberOfSignificantValueDigits) {
+            this.sourceBeanName = sourceBeanName;
+            this.command = command;
+            this.highestTrackableValue = highestTrackableValue;
+            this.recorder = new Recorder(1, highestTrackableValue, numberOfSignificantValueDigits);
+            this.accumulatedHistogram = new Histogram(1, highestTrackableValue, numberOfSignificantValueDigits);
+        }
+
+        void record(long valueNanos) {
+            this.recorder.recordValue(min(valueNanos, this.highestTrackableValue));
+        }
+
+        /**
+         * @return the source bean name, <code>null</code> if absent
+         */
+        @Nullable
+        public String getSourceBeanName() {
+            return this.sourceBeanName;
+        }
+
+        /**
+         * @return the name of Redis command, e.g. "SET"
+         */
+        public String getCommand() {
+            return this.command;
+        }
+
+        /**
+         * @return the count of recorded values
+         */
+        public synchronized long getCount() {
+            return flip().getTotalCount();
+        }
+
+        /**
+         * @return the max value in nano seconds, <code>0</code> if no value
+         */
+        public synchronized long getMaxValue() {
+            return flip().getMaxValue();
+        }
+
+        /**
+         * @return the mean value in nano seconds, <code>0</code> if no value
+         */
+        public synchronized double getMean() {
+            Histogram histogram = flip();
+            return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+        }
+
+        /**
+         * @return the approximate total time in nano seconds, that is the mean multiplied by the count
+         */
+        public synchronized double getTotalTime() {
+            Histogram histogram = flip();
+            long count = histogram.getTotalCount();
+            return count == 0 ? 0 : histogram.getMean() * count;
+        }
+
+        /**
+         * @param percentile the percentile, from 0.0 to 100.0, e.g. 99.0
+         * @return the value in nano seconds at the percentile, <code>0</code> if no value
+         */
+        public synchronized long getValueAtPercentile(double percentile) {
+            return flip().getValueAtPercentile(percentile);
+        }
+
+        /**
+         * @return the copy of the accumulated {@link Histogram}
+         */
+        public synchronized Histogram getHistogram() {
+            return flip().copy();
+        }
+
+        /**
+         * Resets the recorded values
+         */
+        public synchronized void reset() {
+            flip();
+            this.accumulatedHistogram.reset();
+        }
+
+        private Histogram flip() {
+            // The inactive histogram is recycled, so no allocation happens after the first flip
+            Histogram intervalHistogram = this.recorder.getIntervalHistogram(this.intervalHistogram);
+            this.accumulatedHistogram.add(intervalHistogram);
+            this.intervalHistogram = intervalHistogram;
+            return this.accumulatedHistogram;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", LatencyHistogram.class.getSimpleName() + "[", "]")
+                    .add("sourceBeanName='" + this.sourceBeanName + "'")
+                    .add("command='" + this.command + "'")
+                    .add("highestTrackableValue=" + this.highestTrackableValue)
+                    .toString();
+        }
+    }
+}
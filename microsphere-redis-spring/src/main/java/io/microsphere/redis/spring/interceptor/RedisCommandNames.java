@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.metadata.MethodMetadata;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokers;
+import static io.microsphere.util.ArrayUtils.isEmpty;
+
+/**
+ * The distinct names of Redis commands, e.g. "SET", and their indexes by {@link RedisMethodInvoker#getOrdinal()}, the
+ * overloaded methods of the same command share one index, thus the built-in interceptors are able to keep the
+ * per-command data in the arrays rather than the maps.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   int index = RedisCommandNames.INDEXES[redisMethodInvoker.getOrdinal()];
+ *   String command = RedisCommandNames.NAMES[index];
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodInvoker#getOrdinal()
+ * @since 1.0.0
+ */
+final class RedisCommandNames {
+
+    /**
+     * The distinct names of Redis commands indexed by the command index
+     */
+    static final String[] NAMES;
+
+    /**
+     * The command indexes indexed by {@link RedisMethodInvoker#getOrdinal()}
+     */
+    static final int[] INDEXES;
+
+    /**
+     * The command indexes by the names
+     */
+    static final Map<String, Integer> NAME_TO_INDEX;
+
+    static {
+        List<RedisMethodInvoker> redisMethodInvokers = getRedisMethodInvokers();
+        int size = redisMethodInvokers.size();
+        Map<String, Integer> nameToIndex = new LinkedHashMap<>(size);
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            String command = resolveCommand(redisMethodInvokers.get(i).getMethodInfo().getMethodMetadata());
+            indexes[i] = nameToIndex.computeIfAbsent(command, name -> nameToIndex.size());
+        }
+        NAMES = nameToIndex.keySet().toArray(new String[0]);
+        INDEXES = indexes;
+        NAME_TO_INDEX = nameToIndex;
+    }
+
+    private RedisCommandNames() {
+    }
+
+    /**
+     * Resolves the name of Redis command from the {@link MethodMetadata}
+     *
+     * @param methodMetadata {@link MethodMetadata}
+     * @return the first one of {@link MethodMetadata#getCommands()}, or the method name if absent
+     */
+    static String resolveCommand(MethodMetadata methodMetadata) {
+        String[] commands = methodMetadata.getCommands();
+        return isEmpty(commands) ? methodMetadata.getMethodName() : commands[0];
+    }
+}
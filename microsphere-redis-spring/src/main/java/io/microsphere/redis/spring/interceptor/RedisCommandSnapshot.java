@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.metadata.MethodInfo;
+
+import java.lang.reflect.Method;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The immutable snapshot of a Redis command call, which is handed off to the
+ * {@link AsyncRedisCommandInterceptor AsyncRedisCommandInterceptors} out of the calling thread. Unlike
+ * {@link RedisMethodContext}, the snapshot neither holds the Redis connection nor is recycled, so it can be retained
+ * safely by any thread. The arguments are referenced rather than copied, they must not be modified.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   public void onExecuted(RedisCommandSnapshot snapshot) {
+ *       if (snapshot.getFailure() == null) {
+ *           histogram.record(snapshot.getDuration(TimeUnit.MICROSECONDS));
+ *       }
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see AsyncRedisCommandInterceptor
+ * @see AsyncRedisCommandInterceptorDispatcher
+ * @since 1.0.0
+ */
+public final class RedisCommandSnapshot {
+
+    private final Method method;
+
+    @Nullable
+    private final MethodInfo methodInfo;
+
+    private final int ordinal;
+
+    private final Object[] args;
+
+    @Nullable
+    private final Object result;
+
+    @Nullable
+    private final Throwable failure;
+
+    private final long durationNanos;
+
+    @Nullable
+    private final String sourceBeanName;
+
+    private final long startTimeNanos;
+
+    private final long threadId;
+
+    /**
+     * Create the snapshot in the calling thread right after the execution
+     */
+    RedisCommandSnapshot(Method method, @Nullable MethodInfo methodInfo, int ordinal, Object[] args, @Nullable Object result,
+                         @Nullable Throwable failure, long durationNanos, @Nullable String sourceBeanName) {
+        this(method, methodInfo, ordinal, args, result, failure, durationNanos, sourceBeanName, nanoTime() - durationNanos,
+                currentThread().getId());
+    }
+
+    RedisCommandSnapshot(Method method, @Nullable MethodInfo methodInfo, int ordinal, Object[] args, @Nullable Object result,
+                         @Nullable Throwable failure, long durationNanos, @Nullable String sourceBeanName,
+                         long startTimeNanos, long threadId) {
+        this.method = method;
+        this.methodInfo = methodInfo;
+        this.ordinal = ordinal;
+        this.args = args;
+        this.result = result;
+        this.failure = failure;
+        this.durationNanos = durationNanos;
+        this.sourceBeanName = sourceBeanName;
+        this.startTimeNanos = startTimeNanos;
+        this.threadId = threadId;
+    }
+
+    /**
+     * Get the {@link io.microsphere.redis.metadata.MethodMetadata#getIndex() method index} of the Redis command
+     * method
+     *
+     * @return <code>-1</code> if the method is absent in the metadata
+     */
+    public int getMethodIndex() {
+        MethodInfo methodInfo = this.methodInfo;
+        return methodInfo == null ? -1 : methodInfo.getIndex();
+    }
+
+    /**
+     * Get the {@link MethodInfo} of the Redis command method
+     *
+     * @return <code>null</code> if the method is absent in the metadata
+     */
+    @Nullable
+    public MethodInfo getMethodInfo() {
+        return this.methodInfo;
+    }
+
+    /**
+     * Get the executed {@link Method}
+     *
+     * @return non-null
+     */
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Get the reference of the arguments
+     *
+     * @return the arguments, may be <code>null</code> if the method has no parameter
+     */
+    public Object[] getArgs() {
+        return this.args;
+    }
+
+    /**
+     * Get the result of the execution
+     *
+     * @return <code>null</code> if the method returns <code>void</code> or failed
+     */
+    @Nullable
+    public Object getResult() {
+        return this.result;
+    }
+
+    /**
+     * Get the failure of the execution
+     *
+     * @return <code>null</code> if the execution succeeded
+     */
+    @Nullable
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Get the duration of the execution in nanoseconds
+     *
+     * @return non-negative
+     */
+    public long getDurationNanos() {
+        return this.durationNanos;
+    }
+
+    /**
+     * Get the duration of the execution in the specified {@link TimeUnit}
+     *
+     * @param timeUnit {@link TimeUnit}
+     * @return non-negative
+     */
+    public long getDuration(TimeUnit timeUnit) {
+        return timeUnit.convert(this.durationNanos, NANOSECONDS);
+    }
+
+    /**
+     * Get the source bean name
+     *
+     * @return <code>null</code> if the source is unknown
+     */
+    @Nullable
+    public String getSourceBeanName() {
+        return this.sourceBeanName;
+    }
+
+    /**
+     * Get the start time of the execution from {@link System#nanoTime()}, which is only comparable with the others in
+     * the same JVM
+     *
+     * @return the start time in nanoseconds
+     */
+    public long getStartTimeNanos() {
+        return this.startTimeNanos;
+    }
+
+    /**
+     * Get the {@link Thread#getId() id} of the thread that executed the Redis command
+     *
+     * @return the id of the calling thread
+     */
+    public long getThreadId() {
+        return this.threadId;
+    }
+
+    /**
+     * The {@link io.microsphere.redis.spring.metadata.RedisMethodInvoker#getOrdinal() ordinal} of the method
+     */
+    int getOrdinal() {
+        return this.ordinal;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", RedisCommandSnapshot.class.getSimpleName() + "[", "]")
+                .add("method=" + this.method)
+                .add("result=" + this.result)
+                .add("failure=" + this.failure)
+                .add("durationNanos=" + this.durationNanos)
+                .add("sourceBeanName='" + this.sourceBeanName + "'")
+                .add("threadId=" + this.threadId)
+                .toString();
+    }
+}
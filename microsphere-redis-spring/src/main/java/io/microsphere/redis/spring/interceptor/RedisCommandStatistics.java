@@ -0,0 +1,490 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.metadata.MethodInfo;
+import io.microsphere.redis.metadata.MethodMetadata;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.data.redis.connection.RedisCommands;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokerCount;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokers;
+import static io.microsphere.util.ArrayUtils.isEmpty;
+import static java.lang.System.arraycopy;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The built-in {@link RedisCommandInterceptor} that keeps the statistics of each Redis command method, including the
+ * invocations, the errors, the total and max latency, and the bytes in and out.
+ *
+ * <p>The counters are {@link LongAdder LongAdders} held by the arrays indexed by
+ * {@link RedisMethodInvoker#getOrdinal()}, one array per {@link RedisMethodContext#getSourceBeanName() source bean},
+ * thus the recording neither looks up a {@link Map} nor contends on a shared counter. The latency is measured from
+ * {@link #beforeExecute(RedisMethodContext)} to {@link #afterExecute(RedisMethodContext, Object, Throwable)}, so the
+ * interceptor is {@link #getOrder() ordered} first. The calls queued by the pipeline or the transaction are recorded
+ * once they are flushed.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Registered automatically by @EnableRedisInterceptor(commandStatistics = true)
+ *   @Autowired
+ *   private RedisCommandStatistics redisCommandStatistics;
+ *
+ *   for (RedisCommandStatistics.Snapshot snapshot : redisCommandStatistics.getSnapshots()) {
+ *       System.out.println(snapshot.getSourceBeanName() + " " + snapshot.getCommand() + " : " + snapshot.getInvocations());
+ *   }
+ *
+ *   // The snapshots aggregated by the command name, e.g. "SET"
+ *   Map<String, RedisCommandStatistics.Snapshot> snapshotsByCommand = redisCommandStatistics.getSnapshotsByCommand();
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandInterceptor
+ * @see RedisMethodInvoker#getOrdinal()
+ * @since 1.0.0
+ */
+@RedisInterceptorScope
+public class RedisCommandStatistics implements RedisCommandInterceptor {
+
+    public static final String BEAN_NAME = "microsphere:redisCommandStatistics";
+
+    private static final Segment[] EMPTY_SEGMENTS = new Segment[0];
+
+    private final Object lock = new Object();
+
+    private volatile Segment[] segments = EMPTY_SEGMENTS;
+
+    /**
+     * The statistics must be accurate, so they are never skipped by the sampling.
+     *
+     * @return <code>false</code> always
+     */
+    @Override
+    public final boolean isSampleable() {
+        return false;
+    }
+
+    @Override
+    public void beforeExecute(RedisMethodContext<RedisCommands> context) {
+        if (context.getStartTimeNanos() < 0) {
+            context.start();
+        }
+    }
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+        RedisMethodInvoker redisMethodInvoker = context.getRedisMethodInvoker();
+        int ordinal = redisMethodInvoker == null ? RedisMethodInvoker.NON_COMMAND_ORDINAL : redisMethodInvoker.getOrdinal();
+        if (ordinal < 0) {
+            return;
+        }
+        long startTimeNanos = context.getStartTimeNanos();
+        long latencyNanos = startTimeNanos < 0 ? 0 : nanoTime() - startTimeNanos;
+        Counters counters = getSegment(context.getSourceBeanName()).getCounters(ordinal);
+        counters.record(latencyNanos, sizeOf(context.getArgs()), failure == null ? sizeOf(result) : 0, failure != null);
+    }
+
+    /**
+     * Returns the snapshots of the methods that have been invoked, one per source bean and method.
+     *
+     * @return non-null read-only {@link List}
+     */
+    public List<Snapshot> getSnapshots() {
+        Segment[] segments = this.segments;
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Segment segment : segments) {
+            segment.collect(snapshots);
+        }
+        return unmodifiableList(snapshots);
+    }
+
+    /**
+     * Returns the snapshots aggregated by the Redis command name, e.g. "SET".
+     *
+     * @return non-null read-only {@link Map} whose key is the command name
+     */
+    public Map<String, Snapshot> getSnapshotsByCommand() {
+        return aggregate(Snapshot::getCommand, snapshot -> new Snapshot(null, null, null, snapshot.command));
+    }
+
+    /**
+     * Returns the snapshots aggregated by the Redis command interface name, e.g.
+     * "org.springframework.data.redis.connection.RedisStringCommands".
+     *
+     * @return non-null read-only {@link Map} whose key is the interface name
+     */
+    public Map<String, Snapshot> getSnapshotsByInterface() {
+        return aggregate(Snapshot::getInterfaceName, snapshot -> new Snapshot(null, snapshot.interfaceName, null, null));
+    }
+
+    /**
+     * Returns the snapshots aggregated by the source bean name, the calls without source bean are aggregated by the
+     * <code>null</code> key.
+     *
+     * @return non-null read-only {@link Map} whose key is the source bean name
+     */
+    public Map<String, Snapshot> getSnapshotsBySourceBeanName() {
+        return aggregate(Snapshot::getSourceBeanName, snapshot -> new Snapshot(snapshot.sourceBeanName, null, null, null));
+    }
+
+    /**
+     * Resets all statistics
+     */
+    public void reset() {
+        synchronized (this.lock) {
+            this.segments = EMPTY_SEGMENTS;
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    private Map<String, Snapshot> aggregate(Function<Snapshot, String> classifier, Function<Snapshot, Snapshot> creator) {
+        Map<String, Snapshot> aggregatedSnapshots = new LinkedHashMap<>();
+        for (Snapshot snapshot : getSnapshots()) {
+            aggregatedSnapshots.computeIfAbsent(classifier.apply(snapshot), key -> creator.apply(snapshot)).add(snapshot);
+        }
+        return unmodifiableMap(aggregatedSnapshots);
+    }
+
+    private Segment getSegment(@Nullable String sourceBeanName) {
+        Segment[] segments = this.segments;
+        Segment segment = findSegment(segments, sourceBeanName);
+        if (segment == null) {
+            synchronized (this.lock) {
+                segments = this.segments;
+                segment = findSegment(segments, sourceBeanName);
+                if (segment == null) {
+                    segment = new Segment(sourceBeanName, getRedisMethodInvokerCount());
+                    Segment[] newSegments = new Segment[segments.length + 1];
+                    arraycopy(segments, 0, newSegments, 0, segments.length);
+                    newSegments[segments.length] = segment;
+                    this.segments = newSegments;
+                }
+            }
+        }
+        return segment;
+    }
+
+    @Nullable
+    private static Segment findSegment(Segment[] segments, @Nullable String sourceBeanName) {
+        // The source beans are a few, and their names are usually the same instances
+        for (Segment segment : segments) {
+            if (segment.sourceBeanName == sourceBeanName) {
+                return segment;
+            }
+        }
+        for (Segment segment : segments) {
+            if (Objects.equals(segment.sourceBeanName, sourceBeanName)) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the size in bytes of the Redis arguments or the result, only the binary values, including the arrays,
+     * the collections and the maps of them, are counted.
+     *
+     * @param value the argument(s) or the result
+     * @return the size in bytes, <code>0</code> if absent
+     */
+    static long sizeOf(@Nullable Object value) {
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        } else if (value instanceof Object[]) {
+            Object[] values = (Object[]) value;
+            if (isEmpty(values)) {
+                return 0;
+            }
+            long size = 0;
+            for (Object element : values) {
+                size += sizeOfElement(element);
+            }
+            return size;
+        } else if (value instanceof Collection) {
+            long size = 0;
+            for (Object element : (Collection<?>) value) {
+                size += sizeOfElement(element);
+            }
+            return size;
+        } else if (value instanceof Map) {
+            long size = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += sizeOfElement(entry.getKey()) + sizeOfElement(entry.getValue());
+            }
+            return size;
+        }
+        return 0;
+    }
+
+    private static long sizeOfElement(@Nullable Object element) {
+        if (element instanceof byte[]) {
+            return ((byte[]) element).length;
+        }
+        // One more level for the nested containers, e.g. byte[][] and Map<byte[], byte[]> arguments
+        return element instanceof Object[] || element instanceof Collection || element instanceof Map ? sizeOf(element) : 0;
+    }
+
+    /**
+     * The counters of the source bean indexed by {@link RedisMethodInvoker#getOrdinal()}, created on demand
+     */
+    static final class Segment {
+
+        @Nullable
+        final String sourceBeanName;
+
+        private final AtomicReferenceArray<Counters> countersArray;
+
+        Segment(@Nullable String sourceBeanName, int size) {
+            this.sourceBeanName = sourceBeanName;
+            this.countersArray = new AtomicReferenceArray<>(size);
+        }
+
+        Counters getCounters(int ordinal) {
+            Counters counters = this.countersArray.get(ordinal);
+            if (counters == null) {
+                Counters newCounters = new Counters();
+                counters = this.countersArray.compareAndSet(ordinal, null, newCounters) ? newCounters : this.countersArray.get(ordinal);
+            }
+            return counters;
+        }
+
+        void collect(List<Snapshot> snapshots) {
+            AtomicReferenceArray<Counters> countersArray = this.countersArray;
+            List<RedisMethodInvoker> redisMethodInvokers = null;
+            for (int i = 0; i < countersArray.length(); i++) {
+                Counters counters = countersArray.get(i);
+                if (counters == null) {
+                    continue;
+                }
+                if (redisMethodInvokers == null) {
+                    redisMethodInvokers = getRedisMethodInvokers();
+                }
+                MethodInfo methodInfo = redisMethodInvokers.get(i).getMethodInfo();
+                MethodMetadata methodMetadata = methodInfo.getMethodMetadata();
+                String[] commands = methodMetadata.getCommands();
+                String command = isEmpty(commands) ? methodMetadata.getMethodName() : commands[0];
+                Snapshot snapshot = new Snapshot(this.sourceBeanName, methodMetadata.getInterfaceName(), methodMetadata.getMethodName(), command);
+                snapshot.add(counters);
+                snapshots.add(snapshot);
+            }
+        }
+    }
+
+    static final class Counters {
+
+        final LongAdder invocations = new LongAdder();
+
+        final LongAdder errors = new LongAdder();
+
+        final LongAdder totalLatencyNanos = new LongAdder();
+
+        final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+        final LongAdder bytesIn = new LongAdder();
+
+        final LongAdder bytesOut = new LongAdder();
+
+        void record(long latencyNanos, long bytesIn, long bytesOut, boolean error) {
+            this.invocations.increment();
+            if (error) {
+                this.errors.increment();
+            }
+            this.totalLatencyNanos.add(latencyNanos);
+            this.maxLatencyNanos.accumulate(latencyNanos);
+            if (bytesIn > 0) {
+                this.bytesIn.add(bytesIn);
+            }
+            if (bytesOut > 0) {
+                this.bytesOut.add(bytesOut);
+            }
+        }
+    }
+
+    /**
+     * The snapshot of the statistics, either of one method or aggregated, whose dimensions absent in the aggregation
+     * are <code>null</code>.
+     */
+    public static final class Snapshot {
+
+        @Nullable
+        private final String sourceBeanName;
+
+        @Nullable
+        private final String interfaceName;
+
+        @Nullable
+        private final String methodName;
+
+        @Nullable
+        private final String command;
+
+        private long invocations;
+
+        private long errors;
+
+        private long totalLatencyNanos;
+
+        private long maxLatencyNanos;
+
+        private long bytesIn;
+
+        private long bytesOut;
+
+        Snapshot(@Nullable String sourceBeanName, @Nullable String interfaceName, @Nullable String methodName,
+                 @Nullable String command) {
+            this.sourceBeanName = sourceBeanName;
+            this.interfaceName = interfaceName;
+            this.methodName = methodName;
+            this.command = command;
+        }
+
+        void add(Counters counters) {
+            this.invocations += counters.invocations.sum();
+            this.errors += counters.errors.sum();
+            this.totalLatencyNanos += counters.totalLatencyNanos.sum();
+            this.maxLatencyNanos = Math.max(this.maxLatencyNanos, counters.maxLatencyNanos.get());
+            this.bytesIn += counters.bytesIn.sum();
+            this.bytesOut += counters.bytesOut.sum();
+        }
+
+        void add(Snapshot snapshot) {
+            this.invocations += snapshot.invocations;
+            this.errors += snapshot.errors;
+            this.totalLatencyNanos += snapshot.totalLatencyNanos;
+            this.maxLatencyNanos = Math.max(this.maxLatencyNanos, snapshot.maxLatencyNanos);
+            this.bytesIn += snapshot.bytesIn;
+            this.bytesOut += snapshot.bytesOut;
+        }
+
+        /**
+         * @return the source bean name, <code>null</code> if absent or aggregated
+         */
+        @Nullable
+        public String getSourceBeanName() {
+            return this.sourceBeanName;
+        }
+
+        /**
+         * @return the name of Redis command interface, <code>null</code> if aggregated
+         */
+        @Nullable
+        public String getInterfaceName() {
+            return this.interfaceName;
+        }
+
+        /**
+         * @return the name of Redis command method, <code>null</code> if aggregated
+         */
+        @Nullable
+        public String getMethodName() {
+            return this.methodName;
+        }
+
+        /**
+         * @return the name of Redis command, e.g. "SET", <code>null</code> if aggregated
+         */
+        @Nullable
+        public String getCommand() {
+            return this.command;
+        }
+
+        /**
+         * @return the count of invocations
+         */
+        public long getInvocations() {
+            return this.invocations;
+        }
+
+        /**
+         * @return the count of invocations that failed
+         */
+        public long getErrors() {
+            return this.errors;
+        }
+
+        /**
+         * @return the total latency in nano seconds
+         */
+        public long getTotalLatencyNanos() {
+            return this.totalLatencyNanos;
+        }
+
+        /**
+         * @return the max latency in nano seconds
+         */
+        public long getMaxLatencyNanos() {
+            return this.maxLatencyNanos;
+        }
+
+        /**
+         * @return the average latency in nano seconds, <code>0</code> if no invocation
+         */
+        public long getAverageLatencyNanos() {
+            long invocations = this.invocations;
+            return invocations == 0 ? 0 : this.totalLatencyNanos / invocations;
+        }
+
+        /**
+         * @return the size in bytes of the binary arguments
+         */
+        public long getBytesIn() {
+            return this.bytesIn;
+        }
+
+        /**
+         * @return the size in bytes of the binary results
+         */
+        public long getBytesOut() {
+            return this.bytesOut;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Snapshot.class.getSimpleName() + "[", "]")
+                    .add("sourceBeanName='" + this.sourceBeanName + "'")
+                    .add("interfaceName='" + this.interfaceName + "'")
+                    .add("methodName='" + this.methodName + "'")
+                    .add("command='" + this.command + "'")
+                    .add("invocations=" + this.invocations)
+                    .add("errors=" + this.errors)
+                    .add("totalLatencyNanos=" + this.totalLatencyNanos)
+                    .add("maxLatencyNanos=" + this.maxLatencyNanos)
+                    .add("bytesIn=" + this.bytesIn)
+                    .add("bytesOut=" + this.bytesOut)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,590 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.metadata.MethodInfo;
+import io.microsphere.redis.metadata.MethodMetadata;
+import io.microsphere.redis.spring.event.RedisHotKeyEvent;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisCommands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.interceptor.RedisCommandNames.resolveCommand;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.NO_PARAMETER_INDEX;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The {@link RedisCommandInterceptor} detects the hot keys of the Redis commands, the key arguments are resolved by
+ * {@link RedisMethodInvoker#getKeyParameterIndex() the parameter metadata}, and counted by the heavy-hitters
+ * structures of the read and the write commands respectively in the tumbling windows.
+ *
+ * <p>Each heavy-hitters structure is a Count-Min sketch of {@link AtomicLongArray} with the top-K table of the
+ * {@link #setCapacity(int) capacity}, so its memory stays constant however many distinct keys pass through. The
+ * sketch is updated without lock, the top-K table is only locked when the estimated count of the key exceeds the
+ * smallest one in the table, and the key is copied only when it is admitted into the table. The current and the
+ * previous windows are kept, the hot keys are queryable by {@link #getReadHotKeys()}, {@link #getWriteHotKeys()},
+ * {@link #getPreviousReadHotKeys()} and {@link #getPreviousWriteHotKeys()}.
+ *
+ * <p>If the {@link #setThreshold(long) threshold} is positive, the {@link RedisHotKeyEvent} is published once per
+ * window and per key when the estimated count of a top hot key reaches it.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Registered by @EnableRedisInterceptor(hotKeyDetection = true), configured by the properties :
+ *   // microsphere.redis.interceptor.hot-key.capacity = 32
+ *   // microsphere.redis.interceptor.hot-key.window = 10000
+ *   // microsphere.redis.interceptor.hot-key.threshold = 100000
+ *   @Autowired
+ *   private RedisHotKeyDetector redisHotKeyDetector;
+ *
+ *   for (RedisHotKeyDetector.HotKey hotKey : redisHotKeyDetector.getPreviousReadHotKeys()) {
+ *       System.out.println(hotKey.getKeyAsString() + " : " + hotKey.getCount());
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandInterceptor
+ * @see RedisMethodInvoker#getKeyParameterIndex()
+ * @see RedisHotKeyEvent
+ * @since 1.0.0
+ */
+@RedisInterceptorScope
+public class RedisHotKeyDetector implements RedisCommandInterceptor, EnvironmentAware, ApplicationEventPublisherAware {
+
+    private static final Logger logger = getLogger(RedisHotKeyDetector.class);
+
+    public static final String BEAN_NAME = "microsphere:redisHotKeyDetector";
+
+    /**
+     * The width of the Count-Min sketch, the over-estimation is at most about <code>e / width</code> of the window total
+     */
+    static final int SKETCH_WIDTH = 1024;
+
+    /**
+     * The depth of the Count-Min sketch, the probability of exceeding the bound is about <code>e ^ -depth</code>
+     */
+    static final int SKETCH_DEPTH = 4;
+
+    private final Object lock = new Object();
+
+    private int capacity = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY;
+
+    private long windowNanos = MILLISECONDS.toNanos(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW);
+
+    private long threshold = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD;
+
+    @Nullable
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private volatile Window currentWindow = newWindow(nanoTime());
+
+    @Nullable
+    private volatile Window previousWindow;
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+        RedisMethodInvoker redisMethodInvoker = context.getRedisMethodInvoker();
+        if (redisMethodInvoker == null) {
+            return;
+        }
+        int keyParameterIndex = redisMethodInvoker.getKeyParameterIndex();
+        Object[] args = context.getArgs();
+        if (keyParameterIndex == NO_PARAMETER_INDEX || args == null || keyParameterIndex >= args.length) {
+            return;
+        }
+        MethodMetadata methodMetadata = redisMethodInvoker.getMethodInfo().getMethodMetadata();
+        Window window = getCurrentWindow(nanoTime());
+        HeavyHitters heavyHitters = methodMetadata.isWrite() ? window.writes : window.reads;
+        Object keyArg = args[keyParameterIndex];
+        if (keyArg instanceof byte[]) {
+            record(heavyHitters, (byte[]) keyArg, redisMethodInvoker, context);
+        } else if (keyArg instanceof byte[][]) {
+            for (byte[] key : (byte[][]) keyArg) {
+                record(heavyHitters, key, redisMethodInvoker, context);
+            }
+        } else if (keyArg instanceof Collection) {
+            for (Object key : (Collection<?>) keyArg) {
+                if (key instanceof byte[]) {
+                    record(heavyHitters, (byte[]) key, redisMethodInvoker, context);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the read hot keys of the current window in the descending order of the estimated counts
+     */
+    public List<HotKey> getReadHotKeys() {
+        return this.currentWindow.reads.getHotKeys();
+    }
+
+    /**
+     * @return the write hot keys of the current window in the descending order of the estimated counts
+     */
+    public List<HotKey> getWriteHotKeys() {
+        return this.currentWindow.writes.getHotKeys();
+    }
+
+    /**
+     * @return the read hot keys of the previous window in the descending order of the estimated counts, empty if
+     * the first window is not complete
+     */
+    public List<HotKey> getPreviousReadHotKeys() {
+        Window previousWindow = this.previousWindow;
+        return previousWindow == null ? emptyList() : previousWindow.reads.getHotKeys();
+    }
+
+    /**
+     * @return the write hot keys of the previous window in the descending order of the estimated counts, empty if
+     * the first window is not complete
+     */
+    public List<HotKey> getPreviousWriteHotKeys() {
+        Window previousWindow = this.previousWindow;
+        return previousWindow == null ? emptyList() : previousWindow.writes.getHotKeys();
+    }
+
+    /**
+     * Estimates the count of the key read in the current window, it may be over-estimated but never under-estimated
+     *
+     * @param key the key
+     * @return the estimated count
+     */
+    public long estimateReadCount(byte[] key) {
+        return this.currentWindow.reads.estimate(hash(key));
+    }
+
+    /**
+     * Estimates the count of the key written in the current window, it may be over-estimated but never
+     * under-estimated
+     *
+     * @param key the key
+     * @return the estimated count
+     */
+    public long estimateWriteCount(byte[] key) {
+        return this.currentWindow.writes.estimate(hash(key));
+    }
+
+    /**
+     * Resets the current and the previous windows
+     */
+    public void reset() {
+        synchronized (this.lock) {
+            this.previousWindow = null;
+            this.currentWindow = newWindow(nanoTime());
+        }
+    }
+
+    /**
+     * @return the max count of the hot keys per window
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Sets the max count of the hot keys per window, and {@link #reset() resets} the windows
+     *
+     * @param capacity the max count of the hot keys per window, must be positive
+     * @throws IllegalArgumentException if <code>capacity</code> is not positive
+     */
+    public void setCapacity(int capacity) throws IllegalArgumentException {
+        assertTrue(capacity > 0, () -> "The 'capacity' must be positive : " + capacity);
+        this.capacity = capacity;
+        reset();
+    }
+
+    /**
+     * @return the window in milliseconds
+     */
+    public long getWindow() {
+        return NANOSECONDS.toMillis(this.windowNanos);
+    }
+
+    /**
+     * Sets the window in milliseconds, and {@link #reset() resets} the windows
+     *
+     * @param window the window in milliseconds, must be positive
+     * @throws IllegalArgumentException if <code>window</code> is not positive
+     */
+    public void setWindow(long window) throws IllegalArgumentException {
+        assertTrue(window > 0, () -> "The 'window' must be positive : " + window);
+        this.windowNanos = MILLISECONDS.toNanos(window);
+        reset();
+    }
+
+    /**
+     * @return the threshold of {@link RedisHotKeyEvent}, non-positive if disabled
+     */
+    public long getThreshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Sets the threshold of {@link RedisHotKeyEvent}
+     *
+     * @param threshold the threshold, non-positive value disables the event
+     */
+    public void setThreshold(long threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        setCapacity(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY));
+        setWindow(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW_PROPERTY_NAME, long.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW));
+        setThreshold(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD_PROPERTY_NAME, long.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD));
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    private void record(HeavyHitters heavyHitters, byte[] key, RedisMethodInvoker redisMethodInvoker,
+                        RedisMethodContext<RedisCommands> context) {
+        long hash = hash(key);
+        long count = heavyHitters.add(hash);
+        HotKey hotKey = heavyHitters.offer(hash, key, count, this.threshold);
+        if (hotKey != null) {
+            publishRedisHotKeyEvent(hotKey, redisMethodInvoker.getMethodInfo(), context.getSourceBeanName());
+        }
+    }
+
+    private void publishRedisHotKeyEvent(HotKey hotKey, MethodInfo methodInfo, @Nullable String sourceBeanName) {
+        ApplicationEventPublisher applicationEventPublisher = this.applicationEventPublisher;
+        if (applicationEventPublisher == null) {
+            logger.warn("The hot key[{}] is detected, but no ApplicationEventPublisher is present", hotKey);
+            return;
+        }
+        String command = resolveCommand(methodInfo.getMethodMetadata());
+        applicationEventPublisher.publishEvent(new RedisHotKeyEvent(this, hotKey, command, sourceBeanName));
+    }
+
+    private Window getCurrentWindow(long nowNanos) {
+        Window window = this.currentWindow;
+        if (nowNanos - window.startTimeNanos >= this.windowNanos) {
+            synchronized (this.lock) {
+                window = this.currentWindow;
+                if (nowNanos - window.startTimeNanos >= this.windowNanos) {
+                    this.previousWindow = window;
+                    window = newWindow(nowNanos);
+                    this.currentWindow = window;
+                }
+            }
+        }
+        return window;
+    }
+
+    private Window newWindow(long startTimeNanos) {
+        return new Window(startTimeNanos, currentTimeMillis(), this.capacity);
+    }
+
+    /**
+     * The 64-bit FNV-1a hash of the key with the finalizer of MurmurHash3, no allocation
+     *
+     * @param key the key
+     * @return the hash
+     */
+    static long hash(byte[] key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * The tumbling window of the heavy-hitters of the read and the write commands
+     */
+    static final class Window {
+
+        final long startTimeNanos;
+
+        final HeavyHitters reads;
+
+        final HeavyHitters writes;
+
+        Window(long startTimeNanos, long startTimeMillis, int capacity) {
+            this.startTimeNanos = startTimeNanos;
+            this.reads = new HeavyHitters(startTimeMillis, capacity, false);
+            this.writes = new HeavyHitters(startTimeMillis, capacity, true);
+        }
+    }
+
+    /**
+     * The Count-Min sketch with the top-K table
+     */
+    static final class HeavyHitters {
+
+        private final long startTimeMillis;
+
+        private final boolean write;
+
+        private final AtomicLongArray counters = new AtomicLongArray(SKETCH_WIDTH * SKETCH_DEPTH);
+
+        private final int capacity;
+
+        private final long[] hashes;
+
+        private final byte[][] keys;
+
+        private final long[] counts;
+
+        private final boolean[] published;
+
+        private int size;
+
+        /**
+         * The smallest count in the full top-K table, the counts not greater than it are rejected without lock
+         */
+        private volatile long admissionCount = -1;
+
+        HeavyHitters(long startTimeMillis, int capacity, boolean write) {
+            this.startTimeMillis = startTimeMillis;
+            this.write = write;
+            this.capacity = capacity;
+            this.hashes = new long[capacity];
+            this.keys = new byte[capacity][];
+            this.counts = new long[capacity];
+            this.published = new boolean[capacity];
+        }
+
+        /**
+         * Adds the key into the sketch
+         *
+         * @param hash the hash of key
+         * @return the estimated count of the key
+         */
+        long add(long hash) {
+            int hash1 = (int) hash;
+            int hash2 = (int) (hash >>> 32) | 1;
+            long count = Long.MAX_VALUE;
+            for (int row = 0; row < SKETCH_DEPTH; row++) {
+                long value = this.counters.incrementAndGet(index(row, hash1, hash2));
+                if (value < count) {
+                    count = value;
+                }
+            }
+            return count;
+        }
+
+        long estimate(long hash) {
+            int hash1 = (int) hash;
+            int hash2 = (int) (hash >>> 32) | 1;
+            long count = Long.MAX_VALUE;
+            for (int row = 0; row < SKETCH_DEPTH; row++) {
+                long value = this.counters.get(index(row, hash1, hash2));
+                if (value < count) {
+                    count = value;
+                }
+            }
+            return count;
+        }
+
+        private static int index(int row, int hash1, int hash2) {
+            return row * SKETCH_WIDTH + ((hash1 + row * hash2) & (SKETCH_WIDTH - 1));
+        }
+
+        /**
+         * Offers the key with its estimated count to the top-K table
+         *
+         * @param hash      the hash of key
+         * @param key       the key
+         * @param count     the estimated count of the key
+         * @param threshold the threshold of {@link RedisHotKeyEvent}
+         * @return the {@link HotKey} if the count of key reaches the threshold at first in the window, or
+         * <code>null</code>
+         */
+        @Nullable
+        HotKey offer(long hash, byte[] key, long count, long threshold) {
+            if (count <= this.admissionCount) {
+                return null;
+            }
+            synchronized (this) {
+                int index = indexOf(hash, key);
+                if (index < 0) {
+                    if (this.size < this.capacity) {
+                        index = this.size++;
+                    } else {
+                        index = minIndex();
+                        if (count <= this.counts[index]) {
+                            return null;
+                        }
+                    }
+                    this.hashes[index] = hash;
+                    this.keys[index] = key.clone();
+                    this.counts[index] = count;
+                    this.published[index] = false;
+                } else if (count > this.counts[index]) {
+                    this.counts[index] = count;
+                }
+                if (this.size == this.capacity) {
+                    this.admissionCount = this.counts[minIndex()];
+                }
+                if (threshold > 0 && !this.published[index] && this.counts[index] >= threshold) {
+                    this.published[index] = true;
+                    return newHotKey(index);
+                }
+            }
+            return null;
+        }
+
+        synchronized List<HotKey> getHotKeys() {
+            int size = this.size;
+            if (size == 0) {
+                return emptyList();
+            }
+            List<HotKey> hotKeys = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                hotKeys.add(newHotKey(i));
+            }
+            hotKeys.sort((a, b) -> Long.compare(b.count, a.count));
+            return unmodifiableList(hotKeys);
+        }
+
+        private HotKey newHotKey(int index) {
+            // The key in the table is never modified, it's replaced if evicted
+            return new HotKey(this.keys[index], this.counts[index], this.write, this.startTimeMillis);
+        }
+
+        private int indexOf(long hash, byte[] key) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.hashes[i] == hash && Arrays.equals(this.keys[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private int minIndex() {
+            int index = 0;
+            for (int i = 1; i < this.size; i++) {
+                if (this.counts[i] < this.counts[index]) {
+                    index = i;
+                }
+            }
+            return index;
+        }
+    }
+
+    /**
+     * The snapshot of a hot key
+     */
+    public static final class HotKey {
+
+        private final byte[] key;
+
+        private final long count;
+
+        private final boolean write;
+
+        private final long windowStartTimeMillis;
+
+        /**
+         * @param key                   the key, which must not be modified later
+         * @param count                 the estimated count in the window
+         * @param write                 <code>true</code> if the key is written, or <code>false</code> if read
+         * @param windowStartTimeMillis the start time of the window in milliseconds
+         */
+        public HotKey(byte[] key, long count, boolean write, long windowStartTimeMillis) {
+            this.key = key;
+            this.count = count;
+            this.write = write;
+            this.windowStartTimeMillis = windowStartTimeMillis;
+        }
+
+        /**
+         * @return the copy of the key
+         */
+        public byte[] getKey() {
+            return this.key.clone();
+        }
+
+        /**
+         * @return the key decoded by UTF-8
+         */
+        public String getKeyAsString() {
+            return new String(this.key, UTF_8);
+        }
+
+        /**
+         * @return the estimated count in the window, it may be over-estimated but never under-estimated
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * @return <code>true</code> if the key is written, or <code>false</code> if read
+         */
+        public boolean isWrite() {
+            return this.write;
+        }
+
+        /**
+         * @return the start time of the window in milliseconds
+         */
+        public long getWindowStartTimeMillis() {
+            return this.windowStartTimeMillis;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", HotKey.class.getSimpleName() + "[", "]")
+                    .add("key='" + getKeyAsString() + "'")
+                    .add("count=" + this.count)
+                    .add("write=" + this.write)
+                    .add("windowStartTimeMillis=" + this.windowStartTimeMillis)
+                    .toString();
+        }
+    }
+}
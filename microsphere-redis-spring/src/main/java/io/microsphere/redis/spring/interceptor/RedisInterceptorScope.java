@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.metadata.MethodInfo;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * The annotation declares the Redis commands that a {@link RedisMethodInterceptor} targets, which is evaluated by
+ * the default implementation of {@link RedisMethodInterceptor#supports(MethodInfo)} once at the startup.
+ * All specified attributes must match, and any element of an attribute matches that attribute. The Redis methods that
+ * no interceptor supports skip the interceptor chain completely.
+ * <p>
+ * The non-command methods of {@link org.springframework.data.redis.connection.RedisConnection}, e.g.
+ * {@link org.springframework.data.redis.connection.RedisConnection#close()}, are out of any scope.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Audits DEL and FLUSHDB only
+ *   @RedisInterceptorScope(commands = {"DEL", "FLUSHDB"})
+ *   public class AuditRedisCommandInterceptor implements RedisCommandInterceptor {
+ *       ...
+ *   }
+ *
+ *   // All write commands of RedisHashCommands
+ *   @RedisInterceptorScope(interfaces = RedisHashCommands.class, type = RedisInterceptorScope.CommandType.WRITE)
+ *   public class HashWriteRedisCommandInterceptor implements RedisCommandInterceptor {
+ *       ...
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodInterceptor#supports(MethodInfo)
+ * @see RedisMethodInterceptorChains
+ * @since 1.0.0
+ */
+@Target(TYPE)
+@Retention(RUNTIME)
+@Documented
+@Inherited
+public @interface RedisInterceptorScope {
+
+    /**
+     * The Redis commands (case-insensitive), e.g. "SET", "DEL"
+     *
+     * @return If empty, all commands are matched
+     */
+    String[] commands() default {};
+
+    /**
+     * The Redis command interfaces, e.g. {@link org.springframework.data.redis.connection.RedisKeyCommands}
+     *
+     * @return If empty, all command interfaces are matched
+     */
+    Class<?>[] interfaces() default {};
+
+    /**
+     * The type of Redis commands
+     *
+     * @return {@link CommandType#ALL} as default
+     */
+    CommandType type() default CommandType.ALL;
+
+    /**
+     * The type of Redis commands
+     */
+    enum CommandType {
+
+        /**
+         * Both read and write commands
+         */
+        ALL,
+
+        /**
+         * Read commands only
+         */
+        READ,
+
+        /**
+         * Write commands only
+         */
+        WRITE
+    }
+}
@@ -22,9 +22,14 @@ import io.microsphere.redis.metadata.Parameter;
 import io.microsphere.redis.metadata.ParameterMetadata;
 import io.microsphere.redis.spring.config.RedisConfiguration;
 import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository;
+import io.microsphere.redis.util.ContextHolder;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
 
 import java.lang.reflect.Method;
 import java.util.HashMap;
@@ -32,26 +37,48 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.isWriteCommandMethod;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.NO_PARAMETER_INDEX;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.NO_SLOT;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.calculateSlot;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.initializeParameters;
+import static io.microsphere.redis.util.ContextHolder.isVirtualThread;
+import static io.microsphere.redis.util.ContextHolder.newContextHolder;
 import static io.microsphere.util.ArrayUtils.arrayToString;
 import static io.microsphere.util.ArrayUtils.length;
 import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Math.max;
 import static java.lang.System.nanoTime;
+import static java.lang.ThreadLocal.withInitial;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
 
 /**
  * Execution context for a single intercepted Redis method call.  Encapsulates the target
  * Redis object, the reflected method, its arguments, timing data, the source bean info, and
- * a key-value attribute bag for sharing data between interceptor phases.
+ * a key-value attribute bag for sharing data between interceptor phases. The attributes keyed by
+ * {@link AttributeKey} are stored in a small array indexed by {@link AttributeKey#getIndex()}, which is
+ * preferred on the hot path over the {@link String}-keyed attributes backed by a {@link Map}.
  *
  * <p>Instances are created by {@link InterceptingRedisConnectionInvocationHandler} and stored
- * in a thread-local for cross-interceptor access via {@link #get()} / {@link #set(RedisMethodContext)}.
+ * in a {@link ContextHolder} for cross-interceptor access via {@link #get()} / {@link #set(RedisMethodContext)}, or
+ * bound to a task via {@link #call(RedisMethodContext, Callable)} / {@link #run(RedisMethodContext, Runnable)}, which
+ * is backed by the {@code ScopedValue} on JDK 21+.
+ *
+ * <p>If {@link RedisContext#isContextRecycled() the context recycling} is enabled, the instance is reused by the
+ * subsequent executions on the same thread and is reset after {@link RedisMethodInterceptor#afterExecute}, thus it
+ * must not be used after the execution, otherwise an {@link IllegalStateException} will be thrown. The interceptors
+ * keeping the context beyond the execution (e.g. asynchronous processing) must hold {@link #retain()} instead. As the
+ * {@link #isActive() active} check can't tell a stale reference from the reused instance serving a later execution on
+ * the same thread, the interceptors referring to the context across the executions should hold a {@link #handle()},
+ * which checks the {@link #getGeneration() generation} of the execution.
  *
  * <h3>Example Usage</h3>
  * <pre>{@code
@@ -68,6 +95,8 @@ import static java.util.Collections.unmodifiableMap;
  *       context.stop();
  *       long ms = context.getDuration(TimeUnit.MILLISECONDS);
  *       System.out.println("Duration: " + ms + " ms, result=" + result);
+ *       // keep the context beyond the execution
+ *       executor.execute(() -> process(context.retain()));
  *   }
  * }</pre>
  *
@@ -82,34 +111,64 @@ public class RedisMethodContext<T> {
 
     private static final Parameter[] EMPTY_PARAMETERS = new Parameter[0];
 
-    private static final ThreadLocal<RedisMethodContext<?>> redisMethodContextThreadLocal = new ThreadLocal<>();
+    /**
+     * The slot that has not been resolved yet
+     */
+    private static final int UNRESOLVED_SLOT = Integer.MIN_VALUE;
+
+    private static final ContextHolder<RedisMethodContext<?>> redisMethodContextHolder = newContextHolder();
+
+    private static final ThreadLocal<RedisMethodContext<?>> recycledRedisMethodContextThreadLocal = withInitial(RedisMethodContext::new);
+
+    private final boolean recyclable;
 
-    private final T target;
+    private boolean active;
 
-    private final Method method;
+    private int generation;
 
-    private final Object[] args;
+    private T target;
+
+    private Method method;
+
+    private Object[] args;
 
     private Parameter[] parameters = null;
 
+    /**
+     * The parameters array kept by the {@link #isRecyclable() recyclable} instance for the reuse
+     */
+    private Parameter[] recycledParameters = null;
+
     private Boolean write = null;
 
-    private final RedisContext redisContext;
+    private RedisContext redisContext;
 
-    private final Object sourceBean;
+    private Object sourceBean;
 
-    private final String sourceBeanName;
+    private String sourceBeanName;
 
     private Boolean sourceFromRedisTemplate = null;
 
     private Boolean sourceFromRedisConnectionFactory = null;
 
+    private RedisMethodInvoker redisMethodInvoker = null;
+
+    private Boolean sampled = null;
+
+    private int slot = UNRESOLVED_SLOT;
+
+    private RedisClusterNode node = null;
+
+    private boolean nodeResolved = false;
+
     private long startTimeNanos = -1;
 
     private long durationNanos = -1;
 
     private Map<String, Object> attributes;
 
+    private Object[] attributeValues;
+
     /**
      * Creates a {@link RedisMethodContext} without a source bean reference.
      *
@@ -133,6 +192,20 @@ public class RedisMethodContext<T> {
      * @param sourceBeanName the Spring bean name of the originating bean
      */
     public RedisMethodContext(T target, Method method, Object[] args, RedisContext redisContext, Object sourceBean, String sourceBeanName) {
+        this.recyclable = false;
+        this.active = true;
+        init(target, method, args, redisContext, sourceBean, sourceBeanName);
+    }
+
+    /**
+     * Creates a recyclable {@link RedisMethodContext} bound to the current thread
+     */
+    private RedisMethodContext() {
+        this.recyclable = true;
+        this.active = false;
+    }
+
+    private void init(T target, Method method, Object[] args, RedisContext redisContext, Object sourceBean, String sourceBeanName) {
         this.target = target;
         this.method = method;
         this.args = args;
@@ -147,6 +220,7 @@ public class RedisMethodContext<T> {
      * @return the target; never {@code null}
      */
     public T getTarget() {
+        assertActive();
         return this.target;
     }
 
@@ -156,6 +230,7 @@ public class RedisMethodContext<T> {
      * @return the method; never {@code null}
      */
     public Method getMethod() {
+        assertActive();
         return this.method;
     }
 
@@ -165,6 +240,7 @@ public class RedisMethodContext<T> {
      * @return the argument array; may be {@code null} for no-argument methods
      */
     public Object[] getArgs() {
+        assertActive();
         return this.args;
     }
 
@@ -175,6 +251,7 @@ public class RedisMethodContext<T> {
      * @return the source bean, or {@code null} if not available
      */
     public Object getSourceBean() {
+        assertActive();
         return this.sourceBean;
     }
 
@@ -184,6 +261,7 @@ public class RedisMethodContext<T> {
      * @return the source bean name, or {@code null} if not set
      */
     public String getSourceBeanName() {
+        assertActive();
         return this.sourceBeanName;
     }
 
@@ -193,6 +271,7 @@ public class RedisMethodContext<T> {
      * @return the {@link RedisContext}; never {@code null}
      */
     public RedisContext getRedisContext() {
+        assertActive();
         return this.redisContext;
     }
 
@@ -202,7 +281,9 @@ public class RedisMethodContext<T> {
         final boolean write;
 
         if (size > 1) {
-            parameters = new Parameter[size];
+            // The array of the recycled instance is reused if the arity matches
+            Parameter[] recycledParameters = this.recycledParameters;
+            parameters = recycledParameters != null && recycledParameters.length == size ? recycledParameters : new Parameter[size];
             write = initializeParameters(method, args, (parameter, index) -> {
                 parameters[index] = parameter;
             });
@@ -215,10 +296,129 @@ public class RedisMethodContext<T> {
         this.write = write;
     }
 
+    /**
+     * Returns the {@link RedisMethodInvoker} of the executing {@link Method}, whose
+     * {@link RedisMethodInvoker#getOrdinal() ordinal} is able to index the per-method states without the lookup.
+     *
+     * @return <code>null</code> if the method is neither present in the metadata nor resolved by the caller
+     */
+    @Nullable
+    public RedisMethodInvoker getRedisMethodInvoker() {
+        assertActive();
+        RedisMethodInvoker redisMethodInvoker = this.redisMethodInvoker;
+        if (redisMethodInvoker == null) {
+            redisMethodInvoker = SpringRedisMetadataRepository.getRedisMethodInvoker(this.method);
+            this.redisMethodInvoker = redisMethodInvoker;
+        }
+        return redisMethodInvoker;
+    }
+
+    /**
+     * Sets the {@link RedisMethodInvoker} resolved by the caller, avoiding the lookup in
+     * {@link #getRedisMethodInvoker()}
+     *
+     * @param redisMethodInvoker the {@link RedisMethodInvoker} of the executing {@link Method}
+     * @return the current instance
+     */
+    RedisMethodContext<T> redisMethodInvoker(@Nullable RedisMethodInvoker redisMethodInvoker) {
+        this.redisMethodInvoker = redisMethodInvoker;
+        return this;
+    }
+
+    /**
+     * Whether the current call is sampled by the {@link RedisMethodSampler} of the {@link RedisContext}. The decision
+     * is made once per call, by {@link InterceptingRedisConnectionInvocationHandler} if any
+     * {@link RedisMethodInterceptor#isSampleable() sampleable} interceptor supports the method, or on the first
+     * invocation otherwise, so that all interceptors of the call share the same one.
+     *
+     * @return <code>true</code> if sampled
+     */
+    public boolean isSampled() {
+        assertActive();
+        Boolean sampled = this.sampled;
+        if (sampled == null) {
+            sampled = this.redisContext.getRedisMethodSampler().sample(getRedisMethodInvoker());
+            this.sampled = sampled;
+        }
+        return sampled;
+    }
+
+    /**
+     * Sets the sampling decision made by the caller
+     *
+     * @param sampled the sampling decision, <code>null</code> if not decided
+     * @return the current instance
+     * @see #isSampled()
+     */
+    RedisMethodContext<T> sampled(@Nullable Boolean sampled) {
+        this.sampled = sampled;
+        return this;
+    }
+
+    /**
+     * Returns the Redis Cluster hash slot of the key argument identified by the metadata, which is calculated once
+     * for the current execution.
+     *
+     * @return {@link io.microsphere.redis.spring.util.SpringRedisCommandUtils#NO_SLOT} if the method has no key
+     * argument
+     * @see RedisMethodInvoker#getKeyParameterIndex()
+     */
+    public int getSlot() {
+        assertActive();
+        int slot = this.slot;
+        if (slot == UNRESOLVED_SLOT) {
+            RedisMethodInvoker redisMethodInvoker = getRedisMethodInvoker();
+            int keyParameterIndex = redisMethodInvoker == null ? NO_PARAMETER_INDEX : redisMethodInvoker.getKeyParameterIndex();
+            slot = keyParameterIndex == NO_PARAMETER_INDEX ? NO_SLOT : calculateSlot(this.args[keyParameterIndex]);
+            this.slot = slot;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the target {@link RedisClusterNode} of the current execution, which is either the node argument of the
+     * node-specific Redis command, e.g. {@link org.springframework.data.redis.connection.RedisClusterServerCommands#flushDb(RedisClusterNode)},
+     * or the node serving the {@link #getSlot() slot} in the cluster topology known by the target
+     * {@link RedisClusterConnection}. The node is resolved once for the current execution.
+     *
+     * @return <code>null</code> if the target is not a {@link RedisClusterConnection} or the node can't be resolved
+     */
+    @Nullable
+    public RedisClusterNode getNode() {
+        assertActive();
+        if (!this.nodeResolved) {
+            this.node = resolveNode();
+            this.nodeResolved = true;
+        }
+        return this.node;
+    }
+
+    @Nullable
+    private RedisClusterNode resolveNode() {
+        RedisMethodInvoker redisMethodInvoker = getRedisMethodInvoker();
+        int nodeParameterIndex = redisMethodInvoker == null ? NO_PARAMETER_INDEX : redisMethodInvoker.getNodeParameterIndex();
+        if (nodeParameterIndex != NO_PARAMETER_INDEX) {
+            return (RedisClusterNode) this.args[nodeParameterIndex];
+        }
+        Object target = this.target;
+        if (target instanceof RedisClusterConnection) {
+            int slot = getSlot();
+            if (slot != NO_SLOT) {
+                try {
+                    return ((RedisClusterConnection) target).clusterGetNodeForSlot(slot);
+                } catch (RuntimeException e) {
+                    logger.warn("The RedisClusterNode serving the slot[{}] can't be resolved", slot, e);
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Start and record the time in nano seconds, the initialized value is negative
      */
     public void start() {
+        assertActive();
         this.startTimeNanos = nanoTime();
     }
 
@@ -228,10 +428,75 @@ public class RedisMethodContext<T> {
      * @throws IllegalArgumentException if {@link #start()} is not execute before
      */
     public void stop() throws IllegalArgumentException {
+        assertActive();
         assertTrue(startTimeNanos > 0, () -> "'stop()' method must not be invoked before the execution of 'start()' method");
         this.durationNanos = nanoTime() - startTimeNanos;
     }
 
+    /**
+     * Set the attribute into the current {@link RedisMethodContext context}
+     *
+     * @param key   the {@link AttributeKey}
+     * @param value the attribute value, <code>null</code> removes the attribute
+     * @param <T>   the type of attribute value
+     */
+    public <T> void setAttribute(AttributeKey<T> key, @Nullable T value) {
+        assertActive();
+        int index = key.getIndex();
+        Object[] attributeValues = this.attributeValues;
+        if (attributeValues == null || index >= attributeValues.length) {
+            if (value == null) {
+                return;
+            }
+            // The AttributeKey may be registered after the array was allocated
+            int size = max(AttributeKey.size(), index + 1);
+            attributeValues = attributeValues == null ? new Object[size] : copyOf(attributeValues, size);
+            this.attributeValues = attributeValues;
+        }
+        attributeValues[index] = value;
+    }
+
+    /**
+     * Get the attribute from the current {@link RedisMethodContext context}
+     *
+     * @param key the {@link AttributeKey}
+     * @param <T> the type of attribute value
+     * @return the attribute value if present, or <code>null</code>
+     */
+    @Nullable
+    public <T> T getAttribute(AttributeKey<T> key) {
+        assertActive();
+        int index = key.getIndex();
+        Object[] attributeValues = this.attributeValues;
+        return attributeValues == null || index >= attributeValues.length ? null : (T) attributeValues[index];
+    }
+
+    /**
+     * Has the attribute or not
+     *
+     * @param key the {@link AttributeKey}
+     * @return If the attribute is present, return <code>true</code>, or <code>false</code>
+     */
+    public boolean hasAttribute(AttributeKey<?> key) {
+        return getAttribute(key) != null;
+    }
+
+    /**
+     * Remove the attribute from the current {@link RedisMethodContext context}
+     *
+     * @param key the {@link AttributeKey}
+     * @param <T> the type of attribute value
+     * @return the removed attribute value if present, or <code>null</code>
+     */
+    @Nullable
+    public <T> T removeAttribute(AttributeKey<T> key) {
+        T value = getAttribute(key);
+        if (value != null) {
+            this.attributeValues[key.getIndex()] = null;
+        }
+        return value;
+    }
+
     /**
      * Set the attribute into the current {@link RedisMethodContext context}
      *
@@ -277,7 +542,8 @@ public class RedisMethodContext<T> {
     }
 
     /**
-     * Get the attributes from the current {@link RedisMethodContext context}
+     * Get the {@link String}-keyed attributes from the current {@link RedisMethodContext context}, the attributes
+     * keyed by {@link AttributeKey} are excluded.
      *
      * @return non-null and read-only {@link Map}
      */
@@ -299,6 +565,7 @@ public class RedisMethodContext<T> {
     }
 
     private Map<String, Object> getAttributes(boolean created) {
+        assertActive();
         Map<String, Object> attributes = this.attributes;
         if (attributes == null && created) {
             attributes = new HashMap<>();
@@ -360,6 +627,7 @@ public class RedisMethodContext<T> {
      * @return {@code true} for write commands
      */
     public boolean isWriteMethod(boolean initializedParameters) {
+        assertActive();
         if (initializedParameters) {
             initParameters();
         } else {
@@ -370,11 +638,13 @@ public class RedisMethodContext<T> {
 
     /**
      * Returns the {@link Parameter} array for the intercepted method, lazily initialising it
-     * on the first call.
+     * on the first call. The array of the {@link #isRecyclable() recyclable} instance is reused by the subsequent
+     * executions, thus it must not be kept after the execution.
      *
      * @return array of {@link Parameter}; empty array for no-parameter methods
      */
     public Parameter[] getParameters() {
+        assertActive();
         if (parameters == null) {
             initParameters();
         }
@@ -422,43 +692,43 @@ public class RedisMethodContext<T> {
 
     @Nullable
     public RedisConfiguration getRedisConfiguration() {
-        return redisContext.getRedisConfiguration();
+        return getRedisContext().getRedisConfiguration();
     }
 
     public ConfigurableListableBeanFactory getBeanFactory() {
-        return redisContext.getBeanFactory();
+        return getRedisContext().getBeanFactory();
     }
 
     public ConfigurableApplicationContext getApplicationContext() {
-        return redisContext.getApplicationContext();
+        return getRedisContext().getApplicationContext();
     }
 
     public ClassLoader getClassLoader() {
-        return redisContext.getClassLoader();
+        return getRedisContext().getClassLoader();
     }
 
     public Set<String> getRedisTemplateBeanNames() {
-        return redisContext.getRedisTemplateBeanNames();
+        return getRedisContext().getRedisTemplateBeanNames();
     }
 
     public Set<String> getRedisConnectionFactoryBeanNames() {
-        return redisContext.getRedisConnectionFactoryBeanNames();
+        return getRedisContext().getRedisConnectionFactoryBeanNames();
     }
 
     public boolean isEnabled() {
-        return redisContext.isEnabled();
+        return getRedisContext().isEnabled();
     }
 
     public ConfigurableEnvironment getEnvironment() {
-        return redisContext.getEnvironment();
+        return getRedisContext().getEnvironment();
     }
 
     public boolean isCommandEventExposed() {
-        return redisContext.isCommandEventExposed();
+        return getRedisContext().isCommandEventExposed();
     }
 
     public String getApplicationName() {
-        return redisContext.getApplicationName();
+        return getRedisContext().getApplicationName();
     }
 
     /**
@@ -470,7 +740,7 @@ public class RedisMethodContext<T> {
     public boolean isSourceFromRedisTemplate() {
         Boolean sourceFromRedisTemplate = this.sourceFromRedisTemplate;
         if (sourceFromRedisTemplate == null) {
-            sourceFromRedisTemplate = redisContext.getRedisTemplateBeanNames().contains(sourceBeanName);
+            sourceFromRedisTemplate = getRedisContext().getRedisTemplateBeanNames().contains(sourceBeanName);
             this.sourceFromRedisTemplate = sourceFromRedisTemplate;
         }
         return sourceFromRedisTemplate;
@@ -485,14 +755,179 @@ public class RedisMethodContext<T> {
     public boolean isSourceFromRedisConnectionFactory() {
         Boolean sourceFromRedisConnectionFactory = this.sourceFromRedisConnectionFactory;
         if (sourceFromRedisConnectionFactory == null) {
-            sourceFromRedisConnectionFactory = redisContext.getRedisConnectionFactoryBeanNames().contains(sourceBeanName);
+            sourceFromRedisConnectionFactory = getRedisContext().getRedisConnectionFactoryBeanNames().contains(sourceBeanName);
             this.sourceFromRedisConnectionFactory = sourceFromRedisConnectionFactory;
         }
         return sourceFromRedisConnectionFactory;
     }
 
+    /**
+     * Returns the {@link RedisMethodContext} that remains valid after the execution, which is required by the
+     * interceptors keeping the context beyond {@link RedisMethodInterceptor#afterExecute}, e.g. the asynchronous
+     * processing.
+     *
+     * @return the current instance if it is not recyclable, or a copy of the current state
+     * @throws IllegalStateException if the recyclable instance has been released
+     */
+    public RedisMethodContext<T> retain() throws IllegalStateException {
+        assertActive();
+        if (!this.recyclable) {
+            return this;
+        }
+        RedisMethodContext<T> context = new RedisMethodContext<>(this.target, this.method, this.args, this.redisContext,
+                this.sourceBean, this.sourceBeanName);
+        Parameter[] parameters = this.parameters;
+        // The array of the recyclable instance will be reused by the subsequent executions
+        context.parameters = parameters == null || parameters.length == 0 ? parameters : parameters.clone();
+        context.write = this.write;
+        context.sourceFromRedisTemplate = this.sourceFromRedisTemplate;
+        context.sourceFromRedisConnectionFactory = this.sourceFromRedisConnectionFactory;
+        context.redisMethodInvoker = this.redisMethodInvoker;
+        context.sampled = this.sampled;
+        context.slot = this.slot;
+        context.node = this.node;
+        context.nodeResolved = this.nodeResolved;
+        context.startTimeNanos = this.startTimeNanos;
+        context.durationNanos = this.durationNanos;
+        Map<String, Object> attributes = this.attributes;
+        if (attributes != null && !attributes.isEmpty()) {
+            context.attributes = new HashMap<>(attributes);
+        }
+        Object[] attributeValues = this.attributeValues;
+        if (attributeValues != null) {
+            context.attributeValues = attributeValues.clone();
+        }
+        return context;
+    }
+
+    /**
+     * Is the current instance recycled by the subsequent executions on the same thread or not
+     *
+     * @return <code>true</code> if recyclable
+     */
+    public boolean isRecyclable() {
+        return this.recyclable;
+    }
+
+    /**
+     * Whether the current instance is active, the {@link #isRecyclable() recyclable} instance is inactive after the
+     * execution.
+     *
+     * @return {@code true} if the state is accessible
+     */
+    public boolean isActive() {
+        return this.active;
+    }
+
+    /**
+     * Returns the generation of the execution served by the current instance, which is advanced when the
+     * {@link #isRecyclable() recyclable} instance is released, and never changes for the non-recyclable one.
+     *
+     * @return the generation of the execution
+     * @see #handle()
+     */
+    public int getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Returns the {@link Handle} referring to the current execution, which rejects the access after the execution even
+     * if the {@link #isRecyclable() recyclable} instance has been reused by a later execution on the same thread.
+     *
+     * @return non-null
+     * @throws IllegalStateException if the recyclable instance has been released
+     */
+    public Handle<T> handle() throws IllegalStateException {
+        assertActive();
+        return new Handle<>(this, this.generation);
+    }
+
+    private void assertActive() throws IllegalStateException {
+        if (!this.active) {
+            throw new IllegalStateException("The recycled RedisMethodContext must not be used after the execution, " +
+                    "the interceptor keeping it should hold RedisMethodContext#retain() instead");
+        }
+    }
+
+    /**
+     * Acquires the {@link RedisMethodContext} recycled by the current thread, or creates a new one if the recycled
+     * instance is in use, e.g. the Redis command executed by an interceptor, or if the current thread is virtual, whose
+     * recycled instance would never be reused.
+     *
+     * @param target         the target Redis interface instance being invoked
+     * @param method         the {@link Method} being invoked on the target
+     * @param args           the arguments passed to the method
+     * @param redisContext   the {@link RedisContext} providing shared infrastructure
+     * @param sourceBean     the originating Spring bean
+     * @param sourceBeanName the Spring bean name of the originating bean
+     * @param <T>            the type of the target Redis interface
+     * @return non-null
+     * @see #release()
+     */
+    static <T> RedisMethodContext<T> acquire(T target, Method method, Object[] args, RedisContext redisContext,
+                                             Object sourceBean, String sourceBeanName) {
+        if (isVirtualThread()) {
+            return new RedisMethodContext<>(target, method, args, redisContext, sourceBean, sourceBeanName);
+        }
+        RedisMethodContext<T> context = (RedisMethodContext<T>) recycledRedisMethodContextThreadLocal.get();
+        if (context.active) {
+            // Reentrant execution
+            return new RedisMethodContext<>(target, method, args, redisContext, sourceBean, sourceBeanName);
+        }
+        context.init(target, method, args, redisContext, sourceBean, sourceBeanName);
+        context.active = true;
+        return context;
+    }
+
+    /**
+     * Releases the current instance if it's {@link #isRecyclable() recyclable}, all states will be reset for the
+     * subsequent execution on the same thread.
+     *
+     * @see #acquire(Object, Method, Object[], RedisContext, Object, String)
+     */
+    void release() {
+        if (!this.recyclable || !this.active) {
+            return;
+        }
+        if (redisMethodContextHolder.get() == this) {
+            logger.warn("{} was retained by the ContextHolder after the execution, it will be cleared", this);
+            clear();
+        }
+        init(null, null, null, null, null, null);
+        Parameter[] parameters = this.parameters;
+        if (parameters != null && parameters.length > 0) {
+            // The parameters array is kept for the reuse, the elements are released
+            fill(parameters, null);
+            this.recycledParameters = parameters;
+        }
+        this.parameters = null;
+        this.write = null;
+        this.sourceFromRedisTemplate = null;
+        this.sourceFromRedisConnectionFactory = null;
+        this.redisMethodInvoker = null;
+        this.sampled = null;
+        this.slot = UNRESOLVED_SLOT;
+        this.node = null;
+        this.nodeResolved = false;
+        this.startTimeNanos = -1;
+        this.durationNanos = -1;
+        Map<String, Object> attributes = this.attributes;
+        if (attributes != null) {
+            attributes.clear();
+        }
+        Object[] attributeValues = this.attributeValues;
+        if (attributeValues != null) {
+            fill(attributeValues, null);
+        }
+        this.generation++;
+        this.active = false;
+    }
+
     @Override
     public String toString() {
+        if (!this.active) {
+            return RedisMethodContext.class.getSimpleName() + "[released]";
+        }
         return new StringJoiner(", ", RedisMethodContext.class.getSimpleName() + "[", "]")
                 .add("target=" + this.target)
                 .add("method=" + this.method)
@@ -508,32 +943,119 @@ public class RedisMethodContext<T> {
     }
 
     /**
-     * Stores the given {@link RedisMethodContext} in the current thread's thread-local variable,
-     * making it accessible to other components via {@link #get()}.
+     * Stores the given {@link RedisMethodContext} in the current execution, making it accessible to other components
+     * via {@link #get()}.
      *
      * @param redisMethodContext the context to store; should not be {@code null}
      */
     public static void set(RedisMethodContext redisMethodContext) {
-        redisMethodContextThreadLocal.set(redisMethodContext);
-        logger.trace("{} stores into ThreadLocal", redisMethodContext);
+        redisMethodContextHolder.set(redisMethodContext);
+        logger.trace("{} stores into ContextHolder", redisMethodContext);
     }
 
     /**
-     * Returns the {@link RedisMethodContext} bound to the current thread, or {@code null} if
+     * Returns the {@link RedisMethodContext} bound to the current execution, or {@code null} if
      * none has been set.
      *
      * @param <T> the target type
-     * @return the current thread's context, or {@code null}
+     * @return the current context, or {@code null}
      */
     public static <T> RedisMethodContext<T> get() {
-        return (RedisMethodContext<T>) redisMethodContextThreadLocal.get();
+        return (RedisMethodContext<T>) redisMethodContextHolder.get();
     }
 
     /**
-     * Removes the {@link RedisMethodContext} from the current thread, preventing memory leaks
+     * Removes the {@link RedisMethodContext} from the current execution, preventing memory leaks
      * in thread-pool environments.
      */
     public static void clear() {
-        redisMethodContextThreadLocal.remove();
+        redisMethodContextHolder.remove();
+    }
+
+    /**
+     * Executes the given {@link Callable} with the {@link RedisMethodContext} bound, the previous one is restored
+     * after it completes.
+     *
+     * @param redisMethodContext the context to bind, {@code null} is allowed
+     * @param callable           the task to execute
+     * @param <V>                the type of result
+     * @return the result of {@link Callable#call()}
+     * @throws Exception the exception thrown by {@link Callable#call()}
+     */
+    public static <V> V call(@Nullable RedisMethodContext<?> redisMethodContext, Callable<V> callable) throws Exception {
+        return redisMethodContextHolder.call(redisMethodContext, callable);
+    }
+
+    /**
+     * Executes the given {@link Runnable} with the {@link RedisMethodContext} bound, the previous one is restored
+     * after it completes.
+     *
+     * @param redisMethodContext the context to bind, {@code null} is allowed
+     * @param runnable           the task to execute
+     */
+    public static void run(@Nullable RedisMethodContext<?> redisMethodContext, Runnable runnable) {
+        redisMethodContextHolder.run(redisMethodContext, runnable);
+    }
+
+    /**
+     * The reference to the {@link RedisMethodContext} of one execution, which is valid until the execution is finished.
+     *
+     * @param <T> the type of the target Redis interface
+     * @see RedisMethodContext#handle()
+     */
+    public static final class Handle<T> {
+
+        private final RedisMethodContext<T> context;
+
+        private final int generation;
+
+        private Handle(RedisMethodContext<T> context, int generation) {
+            this.context = context;
+            this.generation = generation;
+        }
+
+        /**
+         * Whether the referred execution is not finished yet
+         *
+         * @return {@code true} if the {@link RedisMethodContext} is accessible
+         */
+        public boolean isValid() {
+            RedisMethodContext<T> context = this.context;
+            return context.active && context.generation == this.generation;
+        }
+
+        /**
+         * Returns the {@link RedisMethodContext} of the referred execution.
+         *
+         * @return non-null
+         * @throws IllegalStateException if the referred execution has been finished
+         */
+        public RedisMethodContext<T> get() throws IllegalStateException {
+            assertValid();
+            return this.context;
+        }
+
+        /**
+         * Returns the {@link RedisMethodContext#retain() retained} {@link RedisMethodContext} of the referred execution.
+         *
+         * @return non-null
+         * @throws IllegalStateException if the referred execution has been finished
+         */
+        public RedisMethodContext<T> retain() throws IllegalStateException {
+            assertValid();
+            return this.context.retain();
+        }
+
+        private void assertValid() throws IllegalStateException {
+            if (!isValid()) {
+                throw new IllegalStateException("The execution referred by the handle of RedisMethodContext[generation : "
+                        + this.generation + "] has been finished");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "RedisMethodContext.Handle[generation : " + this.generation + " , valid : " + isValid() + "]";
+        }
     }
 }
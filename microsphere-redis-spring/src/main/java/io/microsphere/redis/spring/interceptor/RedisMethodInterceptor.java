@@ -1,17 +1,22 @@
 package io.microsphere.redis.spring.interceptor;
 
 import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.metadata.MethodInfo;
 import org.springframework.core.Ordered;
 
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Optional;
 
+import static io.microsphere.redis.spring.interceptor.RedisMethodInterceptorChains.matches;
+import static org.springframework.core.annotation.AnnotationUtils.findAnnotation;
+
 /**
  * SPI interface for intercepting Redis method invocations at a given target type (e.g.
  * {@link org.springframework.data.redis.connection.RedisConnection} or
  * {@link org.springframework.data.redis.connection.RedisCommands}).
  * Implementations are collected by {@link InterceptingRedisConnectionInvocationHandler} and
- * invoked before and after each Redis method call.
+ * invoked before and after each Redis method call they {@link #supports(MethodInfo) support}.
  *
  * <p>All methods have default no-op implementations so that implementors only need to override
  * the phases they care about.
@@ -46,6 +51,37 @@ import java.util.Optional;
  */
 public interface RedisMethodInterceptor<T> extends Ordered {
 
+    /**
+     * Does the interceptor support the specified Redis method or not. The result is evaluated once per method at the
+     * startup, and the methods that no interceptor supports skip the interceptor chain completely.
+     * <p>
+     * The default implementation matches the {@link RedisInterceptorScope} annotated on the interceptor class, or
+     * supports all methods if absent.
+     *
+     * @param methodInfo the {@link MethodInfo} of Redis command method, <code>null</code> if the method is not a Redis
+     *                   command, e.g. {@link org.springframework.data.redis.connection.RedisConnection#close()}
+     * @return <code>true</code> if supports
+     * @see RedisInterceptorScope
+     */
+    default boolean supports(@Nullable MethodInfo methodInfo) {
+        RedisInterceptorScope scope = findAnnotation(getClass(), RedisInterceptorScope.class);
+        return scope == null || matches(scope, methodInfo);
+    }
+
+    /**
+     * Is the interceptor subject to the sampling or not. The observational interceptors, e.g. logging and tracing,
+     * may return <code>true</code> to be skipped for the calls that the {@link RedisMethodSampler} does not sample.
+     * <p>
+     * The default implementation returns <code>false</code>, so the interceptor runs for every call it
+     * {@link #supports(MethodInfo) supports}.
+     *
+     * @return <code>true</code> if the interceptor may be skipped by the sampling
+     * @see RedisMethodSampler
+     */
+    default boolean isSampleable() {
+        return false;
+    }
+
     /**
      * Intercept {@link T The target Redis instance} method before execution
      *
@@ -95,6 +131,33 @@ public interface RedisMethodInterceptor<T> extends Ordered {
                               @Nullable Object result, @Nullable Throwable failure) throws Throwable {
     }
 
+    /**
+     * Intercept the calls queued by the pipeline or the transaction once it's flushed, e.g.
+     * {@link org.springframework.data.redis.connection.RedisConnection#closePipeline()},
+     * {@link org.springframework.data.redis.connection.RedisTxCommands#exec()}, whose
+     * {@link #afterExecute(RedisMethodContext, Object, Throwable)} is not invoked when the placeholder result is
+     * returned.
+     * <p>
+     * The default implementation invokes {@link #afterExecute(RedisMethodContext, Object, Throwable)} for each
+     * context with its result, and the result that is a {@link Throwable} is regarded as the failure.
+     *
+     * @param contexts the {@link RedisMethodContext contexts} of the queued calls in order, which remain valid after
+     *                 the execution
+     * @param results  the results of the queued calls aligned with the contexts, whose elements are
+     *                 <code>null</code> if the results are not available
+     * @throws Throwable When method implementations execute exceptions
+     */
+    default void onBatch(List<RedisMethodContext<T>> contexts, List<Object> results) throws Throwable {
+        for (int i = 0; i < contexts.size(); i++) {
+            Object result = results.get(i);
+            if (result instanceof Throwable) {
+                afterExecute(contexts.get(i), null, (Throwable) result);
+            } else {
+                afterExecute(contexts.get(i), result, null);
+            }
+        }
+    }
+
     /**
      * Handle interception error
      *
@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.metadata.MethodInfo;
+import io.microsphere.redis.metadata.MethodMetadata;
+import io.microsphere.redis.spring.interceptor.RedisInterceptorScope.CommandType;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.collection.ListUtils.newArrayList;
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.interceptor.RedisInterceptorScope.CommandType.ALL;
+import static io.microsphere.redis.spring.interceptor.RedisInterceptorScope.CommandType.WRITE;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokers;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isRedisCommandsExecuteMethod;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.isEmpty;
+
+/**
+ * The precomputed interceptor chains of {@link RedisConnectionInterceptor RedisConnectionInterceptors} and
+ * {@link RedisCommandInterceptor RedisCommandInterceptors}, one array per Redis command method indexed by
+ * {@link RedisMethodInvoker#getOrdinal()}, containing the interceptors that
+ * {@link RedisMethodInterceptor#supports(MethodInfo) support} the method in the execution order. The methods absent in
+ * the metadata (e.g. {@link org.springframework.data.redis.connection.RedisConnection#close()}) share one chain.
+ * The identical chains share the same array.
+ * <p>
+ * The {@link #getMandatoryInterceptors(RedisMethodInvoker) mandatory chains} exclude the
+ * {@link RedisMethodInterceptor#isSampleable() sampleable} interceptors, and are used for the calls that the
+ * {@link RedisMethodSampler} does not sample. The mandatory chain is the same array as the full chain if no
+ * interceptor of it is sampleable.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisMethodInterceptorChains chains = redisContext.getRedisMethodInterceptorChains();
+ *   RedisMethodInterceptor[] interceptors = chains.getInterceptors(method);
+ *   if (interceptors.length == 0) {
+ *       // no interceptor cares about the method
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodInterceptor#supports(MethodInfo)
+ * @see RedisInterceptorScope
+ * @see InterceptingRedisConnectionInvocationHandler
+ * @since 1.0.0
+ */
+public class RedisMethodInterceptorChains {
+
+    private static final Logger logger = getLogger(RedisMethodInterceptorChains.class);
+
+    static final RedisMethodInterceptor[] EMPTY_INTERCEPTORS = new RedisMethodInterceptor[0];
+
+    private final RedisMethodInterceptor[][] interceptorsTable;
+
+    private final RedisMethodInterceptor[] defaultInterceptors;
+
+    private final RedisMethodInterceptor[][] mandatoryInterceptorsTable;
+
+    private final RedisMethodInterceptor[] defaultMandatoryInterceptors;
+
+    private final boolean empty;
+
+    /**
+     * Precomputes the interceptor chains
+     *
+     * @param redisConnectionInterceptors the sorted {@link RedisConnectionInterceptor RedisConnectionInterceptors}, executed first
+     * @param redisCommandInterceptors    the sorted {@link RedisCommandInterceptor RedisCommandInterceptors}
+     */
+    public RedisMethodInterceptorChains(@Nullable List<? extends RedisMethodInterceptor> redisConnectionInterceptors,
+                                        @Nullable List<? extends RedisMethodInterceptor> redisCommandInterceptors) {
+        List<RedisMethodInterceptor> interceptors = newArrayList(size(redisConnectionInterceptors) + size(redisCommandInterceptors));
+        if (redisConnectionInterceptors != null) {
+            interceptors.addAll(redisConnectionInterceptors);
+        }
+        if (redisCommandInterceptors != null) {
+            interceptors.addAll(redisCommandInterceptors);
+        }
+
+        Map<List<RedisMethodInterceptor>, RedisMethodInterceptor[]> chainsCache = newHashMap();
+        List<RedisMethodInvoker> redisMethodInvokers = getRedisMethodInvokers();
+        int size = redisMethodInvokers.size();
+        RedisMethodInterceptor[][] interceptorsTable = new RedisMethodInterceptor[size][];
+        RedisMethodInterceptor[][] mandatoryInterceptorsTable = new RedisMethodInterceptor[size][];
+        boolean empty = true;
+        for (int i = 0; i < size; i++) {
+            RedisMethodInvoker redisMethodInvoker = redisMethodInvokers.get(i);
+            int ordinal = redisMethodInvoker.getOrdinal();
+            RedisMethodInterceptor[] chain = buildChain(interceptors, redisMethodInvoker.getMethodInfo(), chainsCache);
+            interceptorsTable[ordinal] = chain;
+            mandatoryInterceptorsTable[ordinal] = buildMandatoryChain(chain, chainsCache);
+            empty &= chain.length == 0;
+        }
+        RedisMethodInterceptor[] defaultInterceptors = buildChain(interceptors, null, chainsCache);
+
+        this.interceptorsTable = interceptorsTable;
+        this.defaultInterceptors = defaultInterceptors;
+        this.mandatoryInterceptorsTable = mandatoryInterceptorsTable;
+        this.defaultMandatoryInterceptors = buildMandatoryChain(defaultInterceptors, chainsCache);
+        this.empty = empty && defaultInterceptors.length == 0;
+        logger.trace("The RedisMethodInterceptorChains[methods : {} , distinct chains : {}] were built from the interceptors : {}",
+                size, chainsCache.size(), interceptors);
+    }
+
+    /**
+     * Get the interceptors for the specified {@link RedisMethodInvoker}
+     *
+     * @param redisMethodInvoker the {@link RedisMethodInvoker}, <code>null</code> if the method is absent in the metadata
+     * @return non-null array, empty if no interceptor supports the method
+     */
+    public RedisMethodInterceptor[] getInterceptors(@Nullable RedisMethodInvoker redisMethodInvoker) {
+        if (redisMethodInvoker == null) {
+            return this.defaultInterceptors;
+        }
+        int ordinal = redisMethodInvoker.getOrdinal();
+        RedisMethodInterceptor[][] interceptorsTable = this.interceptorsTable;
+        // The RedisMethodInvoker may be absent in the metadata or be added after the chains were built
+        return ordinal >= 0 && ordinal < interceptorsTable.length ? interceptorsTable[ordinal] : this.defaultInterceptors;
+    }
+
+    /**
+     * Get the interceptors that are not {@link RedisMethodInterceptor#isSampleable() sampleable} for the specified
+     * {@link RedisMethodInvoker}, which run for the unsampled calls
+     *
+     * @param redisMethodInvoker the {@link RedisMethodInvoker}, <code>null</code> if the method is absent in the metadata
+     * @return non-null array, the same one as {@link #getInterceptors(RedisMethodInvoker)} if no interceptor is
+     * sampleable
+     */
+    public RedisMethodInterceptor[] getMandatoryInterceptors(@Nullable RedisMethodInvoker redisMethodInvoker) {
+        if (redisMethodInvoker == null) {
+            return this.defaultMandatoryInterceptors;
+        }
+        int ordinal = redisMethodInvoker.getOrdinal();
+        RedisMethodInterceptor[][] mandatoryInterceptorsTable = this.mandatoryInterceptorsTable;
+        return ordinal >= 0 && ordinal < mandatoryInterceptorsTable.length ? mandatoryInterceptorsTable[ordinal] : this.defaultMandatoryInterceptors;
+    }
+
+    /**
+     * Get the interceptors for the specified {@link Method}
+     *
+     * @param method the method of {@link org.springframework.data.redis.connection.RedisConnection}
+     * @return non-null array, empty if no interceptor supports the method
+     */
+    public RedisMethodInterceptor[] getInterceptors(Method method) {
+        return getInterceptors(getRedisMethodInvoker(method));
+    }
+
+    /**
+     * Is the specified {@link Method} intercepted by any interceptor or not
+     *
+     * @param method the method of {@link org.springframework.data.redis.connection.RedisConnection}
+     * @return <code>true</code> if any interceptor supports the method
+     */
+    public boolean isIntercepted(Method method) {
+        return getInterceptors(method).length > 0;
+    }
+
+    /**
+     * Is there no interceptor for any method or not
+     *
+     * @return <code>true</code> if no interceptor supports any method
+     */
+    public boolean isEmpty() {
+        return this.empty;
+    }
+
+    static int size(@Nullable List<?> interceptors) {
+        return interceptors == null ? 0 : interceptors.size();
+    }
+
+    static RedisMethodInterceptor[] buildChain(List<RedisMethodInterceptor> interceptors, @Nullable MethodInfo methodInfo,
+                                               Map<List<RedisMethodInterceptor>, RedisMethodInterceptor[]> chainsCache) {
+        List<RedisMethodInterceptor> chain = newArrayList(interceptors.size());
+        for (RedisMethodInterceptor interceptor : interceptors) {
+            if (interceptor.supports(methodInfo)) {
+                chain.add(interceptor);
+            }
+        }
+        if (chain.isEmpty()) {
+            return EMPTY_INTERCEPTORS;
+        }
+        return chainsCache.computeIfAbsent(chain, c -> c.toArray(EMPTY_INTERCEPTORS));
+    }
+
+    static RedisMethodInterceptor[] buildMandatoryChain(RedisMethodInterceptor[] chain,
+                                                        Map<List<RedisMethodInterceptor>, RedisMethodInterceptor[]> chainsCache) {
+        List<RedisMethodInterceptor> mandatoryChain = newArrayList(chain.length);
+        for (RedisMethodInterceptor interceptor : chain) {
+            if (!interceptor.isSampleable()) {
+                mandatoryChain.add(interceptor);
+            }
+        }
+        if (mandatoryChain.size() == chain.length) {
+            return chain;
+        } else if (mandatoryChain.isEmpty()) {
+            return EMPTY_INTERCEPTORS;
+        }
+        return chainsCache.computeIfAbsent(mandatoryChain, c -> c.toArray(EMPTY_INTERCEPTORS));
+    }
+
+    /**
+     * Does the specified {@link RedisInterceptorScope} match the {@link MethodInfo} or not
+     *
+     * @param scope      {@link RedisInterceptorScope}
+     * @param methodInfo the {@link MethodInfo} of Redis command method, <code>null</code> if the method is absent in
+     *                   the metadata
+     * @return <code>true</code> if all attributes of {@link RedisInterceptorScope} match
+     */
+    public static boolean matches(RedisInterceptorScope scope, @Nullable MethodInfo methodInfo) {
+        if (methodInfo == null) {
+            return false;
+        }
+        MethodMetadata methodMetadata = methodInfo.getMethodMetadata();
+        Method method = methodInfo.getMethod();
+        // The write status of RedisCommands#execute(String, byte[]...) depends on the command argument
+        return (isRedisCommandsExecuteMethod(method) || matchesType(scope.type(), methodMetadata.isWrite()))
+                && matchesCommands(scope.commands(), methodMetadata.getCommands())
+                && matchesInterfaces(scope.interfaces(), method);
+    }
+
+    static boolean matchesType(CommandType type, boolean write) {
+        return ALL.equals(type) || (WRITE.equals(type) == write);
+    }
+
+    static boolean matchesCommands(String[] commands, @Nullable String[] methodCommands) {
+        if (isEmpty(commands)) {
+            return true;
+        }
+        if (isEmpty(methodCommands)) {
+            return false;
+        }
+        for (String command : commands) {
+            for (String methodCommand : methodCommands) {
+                if (command.equalsIgnoreCase(methodCommand)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean matchesInterfaces(Class<?>[] interfaces, Method method) {
+        if (isEmpty(interfaces)) {
+            return true;
+        }
+        String methodName = method.getName();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (Class<?> interfaceClass : interfaces) {
+            // The method may be declared by the overrider, e.g. DefaultedRedisConnection
+            if (findMethod(interfaceClass, methodName, parameterTypes) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
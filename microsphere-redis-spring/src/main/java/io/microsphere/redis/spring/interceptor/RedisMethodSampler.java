@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.metadata.MethodInfo;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static io.microsphere.collection.MapUtils.newHashMap;
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokers;
+import static io.microsphere.util.ArrayUtils.isEmpty;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.round;
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * The sampler of Redis method calls deciding whether the {@link RedisMethodInterceptor#isSampleable() sampleable}
+ * interceptors run for the current call or not. The decision is made once per call by
+ * {@link InterceptingRedisConnectionInvocationHandler} before the {@link RedisMethodContext} is built, and is exposed
+ * by {@link RedisMethodContext#isSampled()}, the interceptors that are not sampleable, e.g.
+ * {@link EventPublishingRedisCommandInterceptor}, always run.
+ * <p>
+ * The sampling rates are resolved per Redis command method at the construction, and indexed by the
+ * {@link RedisMethodInvoker#getOrdinal() ordinal}:
+ * <ul>
+ *     <li>{@link Strategy#FIXED_RATE} : samples one of every <code>round(1 / rate)</code> calls per method, the
+ *     unsampled call only costs a counter increment</li>
+ *     <li>{@link Strategy#PROBABILISTIC} : samples the call with the probability of the rate</li>
+ * </ul>
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // microsphere.redis.interceptor.sampling.rate = 0.1
+ *   // microsphere.redis.interceptor.sampling.command-rates = GET=0.01
+ *   RedisMethodSampler sampler = RedisMethodSampler.of(Strategy.FIXED_RATE, 0.1, singletonMap("GET", 0.01));
+ *   sampler.sample(getRedisMethodInvoker(setMethod)); // true once per 10 calls
+ *   sampler.sample(getRedisMethodInvoker(getMethod)); // true once per 100 calls
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodInterceptor#isSampleable()
+ * @see RedisMethodInterceptorChains#getMandatoryInterceptors(RedisMethodInvoker)
+ * @since 1.0.0
+ */
+public class RedisMethodSampler {
+
+    private static final Logger logger = getLogger(RedisMethodSampler.class);
+
+    /**
+     * The {@link RedisMethodSampler} samples all calls
+     */
+    public static final RedisMethodSampler ALWAYS = new RedisMethodSampler(Strategy.FIXED_RATE, new double[]{1.0});
+
+    private final Strategy strategy;
+
+    /**
+     * The sampling rates indexed by the ordinal, the last one is for the methods absent in the metadata
+     */
+    private final double[] rates;
+
+    /**
+     * The sampling intervals of {@link Strategy#FIXED_RATE} indexed by the ordinal, <code>0</code> means never sampled
+     */
+    private final long[] intervals;
+
+    private final AtomicLongArray counters;
+
+    private final boolean always;
+
+    RedisMethodSampler(Strategy strategy, double[] rates) {
+        int length = rates.length;
+        long[] intervals = new long[length];
+        boolean always = true;
+        for (int i = 0; i < length; i++) {
+            double rate = rates[i];
+            intervals[i] = rate > 0.0 ? max(1L, round(1.0 / rate)) : 0L;
+            always &= rate >= 1.0;
+        }
+        this.strategy = strategy;
+        this.rates = rates;
+        this.intervals = intervals;
+        this.counters = Strategy.FIXED_RATE.equals(strategy) ? new AtomicLongArray(length) : null;
+        this.always = always;
+    }
+
+    /**
+     * Decide whether the current call of the specified method is sampled or not
+     *
+     * @param redisMethodInvoker the {@link RedisMethodInvoker}, <code>null</code> if the method is absent in the metadata
+     * @return <code>true</code> if the sampleable interceptors should run
+     */
+    public boolean sample(@Nullable RedisMethodInvoker redisMethodInvoker) {
+        if (this.always) {
+            return true;
+        }
+        int slot = slot(redisMethodInvoker);
+        if (this.counters != null) {
+            long interval = this.intervals[slot];
+            return interval == 1L || (interval != 0L && this.counters.getAndIncrement(slot) % interval == 0L);
+        }
+        double rate = this.rates[slot];
+        return rate >= 1.0 || (rate > 0.0 && current().nextDouble() < rate);
+    }
+
+    /**
+     * Get the sampling rate of the specified method
+     *
+     * @param redisMethodInvoker the {@link RedisMethodInvoker}, <code>null</code> if the method is absent in the metadata
+     * @return the rate in the range of <code>[0.0, 1.0]</code>
+     */
+    public double getRate(@Nullable RedisMethodInvoker redisMethodInvoker) {
+        return this.rates[slot(redisMethodInvoker)];
+    }
+
+    /**
+     * Get the {@link Strategy}
+     *
+     * @return non-null
+     */
+    public Strategy getStrategy() {
+        return this.strategy;
+    }
+
+    /**
+     * Does the sampler sample all calls or not
+     *
+     * @return <code>true</code> if all rates are <code>1.0</code>
+     */
+    public boolean isAlways() {
+        return this.always;
+    }
+
+    private int slot(@Nullable RedisMethodInvoker redisMethodInvoker) {
+        int last = this.rates.length - 1;
+        if (redisMethodInvoker == null) {
+            return last;
+        }
+        int ordinal = redisMethodInvoker.getOrdinal();
+        // The RedisMethodInvoker may be absent in the metadata or be added after the sampler was built
+        return ordinal >= 0 && ordinal < last ? ordinal : last;
+    }
+
+    /**
+     * Create an instance of {@link RedisMethodSampler}
+     *
+     * @param strategy     the {@link Strategy}
+     * @param rate         the default sampling rate in the range of <code>[0.0, 1.0]</code>
+     * @param commandRates the sampling rates per Redis command name, e.g. "GET", which override the default one
+     * @return non-null
+     */
+    public static RedisMethodSampler of(Strategy strategy, double rate, @Nullable Map<String, Double> commandRates) {
+        Map<String, Double> normalizedCommandRates = newHashMap();
+        if (commandRates != null) {
+            commandRates.forEach((command, commandRate) -> normalizedCommandRates.put(command.toUpperCase(), normalize(commandRate)));
+        }
+        double defaultRate = normalize(rate);
+        List<RedisMethodInvoker> redisMethodInvokers = getRedisMethodInvokers();
+        int size = redisMethodInvokers.size();
+        double[] rates = new double[size + 1];
+        for (int i = 0; i < size; i++) {
+            RedisMethodInvoker redisMethodInvoker = redisMethodInvokers.get(i);
+            rates[redisMethodInvoker.getOrdinal()] = resolveRate(redisMethodInvoker.getMethodInfo(), defaultRate, normalizedCommandRates);
+        }
+        rates[size] = defaultRate;
+        RedisMethodSampler sampler = new RedisMethodSampler(strategy, rates);
+        logger.trace("The RedisMethodSampler[strategy : {} , rate : {} , command rates : {}] was created", strategy, defaultRate,
+                normalizedCommandRates);
+        return sampler;
+    }
+
+    static double resolveRate(@Nullable MethodInfo methodInfo, double defaultRate, Map<String, Double> commandRates) {
+        if (methodInfo == null || commandRates.isEmpty()) {
+            return defaultRate;
+        }
+        String[] commands = methodInfo.getMethodMetadata().getCommands();
+        if (isEmpty(commands)) {
+            return defaultRate;
+        }
+        for (String command : commands) {
+            Double commandRate = commandRates.get(command.toUpperCase());
+            if (commandRate != null) {
+                return commandRate;
+            }
+        }
+        return defaultRate;
+    }
+
+    static double normalize(double rate) {
+        // NaN is treated as never sampled
+        return rate > 0.0 ? min(rate, 1.0) : 0.0;
+    }
+
+    /**
+     * The sampling strategy
+     */
+    public enum Strategy {
+
+        /**
+         * Samples one of every <code>round(1 / rate)</code> calls per method
+         */
+        FIXED_RATE,
+
+        /**
+         * Samples the call with the probability of the rate
+         */
+        PROBABILISTIC;
+
+        /**
+         * Resolve the {@link Strategy} from the property value, e.g. "fixed-rate", "probabilistic"
+         *
+         * @param value the property value
+         * @return {@link #FIXED_RATE} if the value can't be resolved
+         */
+        public static Strategy resolve(@Nullable String value) {
+            if (value != null) {
+                String name = value.trim().replace('-', '_').toUpperCase();
+                for (Strategy strategy : values()) {
+                    if (strategy.name().equals(name)) {
+                        return strategy;
+                    }
+                }
+            }
+            return FIXED_RATE;
+        }
+    }
+}
@@ -0,0 +1,492 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.redis.metadata.MethodMetadata;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisCommands;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static io.microsphere.redis.spring.interceptor.RedisCommandNames.resolveCommand;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD_PROPERTY_NAME;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The client-side equivalent of Redis <code>SLOWLOG</code>, which keeps the latest commands whose durations exceed
+ * {@link #setThreshold(long) the threshold} in a fixed-capacity ring buffer. Unlike the server-side slow log, the
+ * duration is measured around the client call, so it includes the time of the connection pool and the network.
+ *
+ * <p>The duration is {@link RedisMethodContext#getDurationNanos()} if the context has been stopped, or the time
+ * elapsed from {@link #beforeExecute(RedisMethodContext)} otherwise. The fast commands return without allocation, and
+ * the slow ones are written into the ring buffer by a CAS on the sequence, thus no lock is held on the caller thread.
+ * Like Redis, at most {@link #MAX_ARGUMENTS} arguments are kept and each one is truncated to
+ * {@link #setMaxArgumentLength(int) the max argument length}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Registered by @EnableRedisInterceptor(slowCommandLog = true), configured by the properties :
+ *   // microsphere.redis.interceptor.slow-log.capacity = 128
+ *   // microsphere.redis.interceptor.slow-log.threshold = 10 (ms)
+ *   // microsphere.redis.interceptor.slow-log.max-argument-length = 128
+ *   @Autowired
+ *   private RedisSlowCommandLog redisSlowCommandLog;
+ *
+ *   for (RedisSlowCommandLog.Entry entry : redisSlowCommandLog.getEntries()) { // newest first
+ *       System.out.println(entry.getCommand() + " " + entry.getArguments() + " : " + entry.getDuration() + " ns");
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandInterceptor
+ * @see RedisMethodContext#getDurationNanos()
+ * @since 1.0.0
+ */
+@RedisInterceptorScope
+public class RedisSlowCommandLog implements RedisCommandInterceptor, EnvironmentAware {
+
+    public static final String BEAN_NAME = "microsphere:redisSlowCommandLog";
+
+    /**
+     * The max count of the arguments of an entry, the same as Redis <code>SLOWLOG</code>
+     */
+    public static final int MAX_ARGUMENTS = 32;
+
+    private volatile long thresholdNanos = MILLISECONDS.toNanos(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD);
+
+    private volatile int maxArgumentLength = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH;
+
+    private volatile Ring ring = new Ring(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY);
+
+    @Override
+    public void beforeExecute(RedisMethodContext<RedisCommands> context) {
+        if (context.getStartTimeNanos() < 0) {
+            context.start();
+        }
+    }
+
+    @Override
+    public void afterExecute(RedisMethodContext<RedisCommands> context, Object result, Throwable failure) {
+        long durationNanos = context.getDurationNanos();
+        if (durationNanos < 0) {
+            long startTimeNanos = context.getStartTimeNanos();
+            if (startTimeNanos < 0) {
+                return;
+            }
+            durationNanos = nanoTime() - startTimeNanos;
+        }
+        if (durationNanos < this.thresholdNanos) {
+            return;
+        }
+        Ring ring = this.ring;
+        ring.add(createEntry(ring.sequence.getAndIncrement(), context, durationNanos, failure));
+    }
+
+    /**
+     * Returns the entries in the ring buffer, the newest first
+     *
+     * @return non-null read-only {@link List}
+     */
+    public List<Entry> getEntries() {
+        return this.ring.getEntries();
+    }
+
+    /**
+     * Returns the total count of the slow commands since the last {@link #reset()}, including the ones overwritten in
+     * the ring buffer
+     *
+     * @return the total count of the slow commands
+     */
+    public long getTotalCount() {
+        return this.ring.sequence.get();
+    }
+
+    /**
+     * Clears the entries
+     */
+    public void reset() {
+        this.ring = new Ring(this.ring.capacity);
+    }
+
+    /**
+     * @return the max count of the entries
+     */
+    public int getCapacity() {
+        return this.ring.capacity;
+    }
+
+    /**
+     * Sets the max count of the entries, and clears the current ones
+     *
+     * @param capacity the max count of the entries, must be positive
+     * @throws IllegalArgumentException if <code>capacity</code> is not positive
+     */
+    public void setCapacity(int capacity) throws IllegalArgumentException {
+        assertTrue(capacity > 0, () -> "The 'capacity' must be positive : " + capacity);
+        this.ring = new Ring(capacity);
+    }
+
+    /**
+     * @return the threshold in milliseconds
+     */
+    public long getThreshold() {
+        return NANOSECONDS.toMillis(this.thresholdNanos);
+    }
+
+    /**
+     * Sets the threshold in milliseconds, the command whose duration is less than it is not logged
+     *
+     * @param threshold the threshold in milliseconds, <code>0</code> logs all commands
+     * @throws IllegalArgumentException if <code>threshold</code> is negative
+     */
+    public void setThreshold(long threshold) throws IllegalArgumentException {
+        assertTrue(threshold >= 0, () -> "The 'threshold' must not be negative : " + threshold);
+        this.thresholdNanos = MILLISECONDS.toNanos(threshold);
+    }
+
+    /**
+     * @return the max length of the argument preview
+     */
+    public int getMaxArgumentLength() {
+        return this.maxArgumentLength;
+    }
+
+    /**
+     * Sets the max length of the argument preview, the longer one is truncated with the suffix "..."
+     *
+     * @param maxArgumentLength the max length of the argument preview, must be positive
+     * @throws IllegalArgumentException if <code>maxArgumentLength</code> is not positive
+     */
+    public void setMaxArgumentLength(int maxArgumentLength) throws IllegalArgumentException {
+        assertTrue(maxArgumentLength > 0, () -> "The 'maxArgumentLength' must be positive : " + maxArgumentLength);
+        this.maxArgumentLength = maxArgumentLength;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        setCapacity(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY_PROPERTY_NAME, int.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY));
+        setThreshold(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD_PROPERTY_NAME, long.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD));
+        setMaxArgumentLength(environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH_PROPERTY_NAME,
+                int.class, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH));
+    }
+
+    @Override
+    public int getOrder() {
+        return HIGHEST_PRECEDENCE;
+    }
+
+    private Entry createEntry(long id, RedisMethodContext<RedisCommands> context, long durationNanos,
+                              @Nullable Throwable failure) {
+        Method method = context.getMethod();
+        RedisMethodInvoker redisMethodInvoker = context.getRedisMethodInvoker();
+        String command;
+        String interfaceName;
+        if (redisMethodInvoker == null) {
+            command = method.getName();
+            interfaceName = method.getDeclaringClass().getName();
+        } else {
+            MethodMetadata methodMetadata = redisMethodInvoker.getMethodInfo().getMethodMetadata();
+            command = resolveCommand(methodMetadata);
+            interfaceName = methodMetadata.getInterfaceName();
+        }
+        return new Entry(id, command, interfaceName, method.getName(), previewArguments(context.getArgs(), this.maxArgumentLength),
+                durationNanos, currentThread().getName(), context.getSourceBeanName(),
+                failure == null ? null : failure.getClass().getName(), currentTimeMillis());
+    }
+
+    static List<String> previewArguments(@Nullable Object[] args, int maxArgumentLength) {
+        if (args == null || args.length == 0) {
+            return emptyList();
+        }
+        int size = min(args.length, MAX_ARGUMENTS);
+        List<String> arguments = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            arguments.add(preview(args[i], maxArgumentLength));
+        }
+        return unmodifiableList(arguments);
+    }
+
+    /**
+     * Previews the argument, the binary value is decoded by UTF-8, and the containers are previewed by their elements,
+     * only the leading bytes or elements within <code>maxLength</code> are decoded for the big ones.
+     *
+     * @param value     the argument
+     * @param maxLength the max length of the preview
+     * @return the preview whose length is not greater than <code>maxLength</code> plus the suffix "..."
+     */
+    static String preview(@Nullable Object value, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        append(builder, value, maxLength);
+        if (builder.length() > maxLength) {
+            builder.setLength(maxLength);
+            builder.append("...");
+        }
+        return builder.toString();
+    }
+
+    private static void append(StringBuilder builder, @Nullable Object value, int maxLength) {
+        if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            // One more byte is decoded to mark the truncation
+            int length = min(bytes.length, max(maxLength - builder.length() + 1, 0));
+            builder.append(new String(bytes, 0, length, UTF_8));
+        } else if (value instanceof Object[]) {
+            appendElements(builder, '[', asList((Object[]) value), ']', maxLength);
+        } else if (value instanceof Collection) {
+            appendElements(builder, '[', (Collection<?>) value, ']', maxLength);
+        } else if (value instanceof Map) {
+            builder.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (builder.length() > maxLength) {
+                    return;
+                }
+                if (!first) {
+                    builder.append(", ");
+                }
+                append(builder, entry.getKey(), maxLength);
+                builder.append('=');
+                append(builder, entry.getValue(), maxLength);
+                first = false;
+            }
+            builder.append('}');
+        } else {
+            builder.append(value);
+        }
+    }
+
+    private static void appendElements(StringBuilder builder, char prefix, Iterable<?> elements, char suffix, int maxLength) {
+        builder.append(prefix);
+        boolean first = true;
+        for (Object element : elements) {
+            if (builder.length() > maxLength) {
+                return;
+            }
+            if (!first) {
+                builder.append(", ");
+            }
+            append(builder, element, maxLength);
+            first = false;
+        }
+        builder.append(suffix);
+    }
+
+    /**
+     * The fixed-capacity ring buffer, the slot of an entry is its id modulo the capacity
+     */
+    static final class Ring {
+
+        private final int capacity;
+
+        private final AtomicReferenceArray<Entry> entries;
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        Ring(int capacity) {
+            this.capacity = capacity;
+            this.entries = new AtomicReferenceArray<>(capacity);
+        }
+
+        void add(Entry entry) {
+            AtomicReferenceArray<Entry> entries = this.entries;
+            int index = (int) (entry.id % this.capacity);
+            Entry current;
+            do {
+                current = entries.get(index);
+                // The newer entry in the same slot must not be overwritten by the older one
+                if (current != null && current.id > entry.id) {
+                    return;
+                }
+            } while (!entries.compareAndSet(index, current, entry));
+        }
+
+        List<Entry> getEntries() {
+            AtomicReferenceArray<Entry> entries = this.entries;
+            List<Entry> values = new ArrayList<>(this.capacity);
+            for (int i = 0; i < this.capacity; i++) {
+                Entry entry = entries.get(i);
+                if (entry != null) {
+                    values.add(entry);
+                }
+            }
+            if (values.isEmpty()) {
+                return emptyList();
+            }
+            values.sort((a, b) -> Long.compare(b.id, a.id));
+            return unmodifiableList(values);
+        }
+    }
+
+    /**
+     * The entry of the slow command
+     */
+    public static final class Entry {
+
+        private final long id;
+
+        private final String command;
+
+        private final String interfaceName;
+
+        private final String methodName;
+
+        private final List<String> arguments;
+
+        private final long duration;
+
+        private final String threadName;
+
+        @Nullable
+        private final String sourceBeanName;
+
+        @Nullable
+        private final String failureType;
+
+        private final long timestamp;
+
+        Entry(long id, String command, String interfaceName, String methodName, List<String> arguments, long duration,
+              String threadName, @Nullable String sourceBeanName, @Nullable String failureType, long timestamp) {
+            this.id = id;
+            this.command = command;
+            this.interfaceName = interfaceName;
+            this.methodName = methodName;
+            this.arguments = arguments;
+            this.duration = duration;
+            this.threadName = threadName;
+            this.sourceBeanName = sourceBeanName;
+            this.failureType = failureType;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * @return the unique and increasing id since the last reset, like Redis <code>SLOWLOG</code>
+         */
+        public long getId() {
+            return this.id;
+        }
+
+        /**
+         * @return the name of Redis command, e.g. "HGETALL", or the method name if it's not a Redis command
+         */
+        public String getCommand() {
+            return this.command;
+        }
+
+        /**
+         * @return the name of the interface declaring the method, e.g.
+         * "org.springframework.data.redis.connection.RedisHashCommands"
+         */
+        public String getInterfaceName() {
+            return this.interfaceName;
+        }
+
+        /**
+         * @return the method name, e.g. "hGetAll"
+         */
+        public String getMethodName() {
+            return this.methodName;
+        }
+
+        /**
+         * @return the truncated previews of the arguments, at most {@link #MAX_ARGUMENTS}
+         */
+        public List<String> getArguments() {
+            return this.arguments;
+        }
+
+        /**
+         * @return the duration in nanoseconds
+         */
+        public long getDuration() {
+            return this.duration;
+        }
+
+        /**
+         * @return the name of the thread executing the command
+         */
+        public String getThreadName() {
+            return this.threadName;
+        }
+
+        /**
+         * @return the source bean name, <code>null</code> if absent
+         */
+        @Nullable
+        public String getSourceBeanName() {
+            return this.sourceBeanName;
+        }
+
+        /**
+         * @return the class name of the failure, <code>null</code> if the command succeeded
+         */
+        @Nullable
+        public String getFailureType() {
+            return this.failureType;
+        }
+
+        /**
+         * @return the time in milliseconds when the command completed
+         */
+        public long getTimestamp() {
+            return this.timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return new StringJoiner(", ", Entry.class.getSimpleName() + "[", "]")
+                    .add("id=" + this.id)
+                    .add("command='" + this.command + "'")
+                    .add("interfaceName='" + this.interfaceName + "'")
+                    .add("methodName='" + this.methodName + "'")
+                    .add("arguments=" + this.arguments)
+                    .add("duration=" + this.duration)
+                    .add("threadName='" + this.threadName + "'")
+                    .add("sourceBeanName='" + this.sourceBeanName + "'")
+                    .add("failureType='" + this.failureType + "'")
+                    .add("timestamp=" + this.timestamp)
+                    .toString();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.metadata;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.logging.Logger;
+import io.microsphere.redis.metadata.MethodInfo;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.Method;
+
+import static io.microsphere.logging.LoggerFactory.getLogger;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveKeyParameterIndex;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveNodeParameterIndex;
+import static io.microsphere.reflect.AccessibleObjectUtils.trySetAccessible;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.lang.invoke.MethodType.genericMethodType;
+
+/**
+ * The invoker of the Redis command {@link Method} backed by a {@link MethodHandle} whose type is adapted to
+ * {@code (Object, Object[])Object} once, so that the invocation neither goes through the Java Reflection nor wraps
+ * the exception thrown by the target into {@link java.lang.reflect.InvocationTargetException}.
+ *
+ * <p>The instances are built by {@link SpringRedisMetadataRepository} at the startup for all Redis command methods,
+ * and can be resolved by the {@link io.microsphere.redis.metadata.MethodMetadata#getIndex() method index} or the
+ * {@link Method}. Each of them is assigned a dense {@link #getOrdinal() ordinal}, which can be used as the index of
+ * the per-method arrays. The other methods absent in the metadata, e.g. {@code RedisConnection#close()}, can be
+ * invoked by the instances created via {@link #of(Method)}, whose ordinal is {@link #NON_COMMAND_ORDINAL}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   Method method = RedisStringCommands.class.getMethod("set", byte[].class, byte[].class);
+ *   RedisMethodInvoker invoker = SpringRedisMetadataRepository.getRedisMethodInvoker(method);
+ *   Object result = invoker.invoke(redisConnection, new Object[]{key, value}); // Boolean.TRUE
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see MethodHandle
+ * @see SpringRedisMetadataRepository
+ * @since 1.0.0
+ */
+public class RedisMethodInvoker {
+
+    private static final Logger logger = getLogger(RedisMethodInvoker.class);
+
+    private static final Lookup lookup = lookup();
+
+    /**
+     * The ordinal of the {@link RedisMethodInvoker} for the method absent in the metadata
+     */
+    public static final int NON_COMMAND_ORDINAL = -1;
+
+    private final int ordinal;
+
+    @Nullable
+    private final MethodInfo methodInfo;
+
+    private final Method method;
+
+    private final MethodHandle methodHandle;
+
+    private final int keyParameterIndex;
+
+    private final int nodeParameterIndex;
+
+    RedisMethodInvoker(int ordinal, @Nullable MethodInfo methodInfo, Method method, MethodHandle methodHandle) {
+        this.ordinal = ordinal;
+        this.methodInfo = methodInfo;
+        this.method = method;
+        this.methodHandle = methodHandle;
+        this.keyParameterIndex = resolveKeyParameterIndex(methodInfo);
+        this.nodeParameterIndex = resolveNodeParameterIndex(method);
+    }
+
+    /**
+     * Invokes the Redis command method on the specified target.
+     *
+     * @param target the target, e.g. {@link org.springframework.data.redis.connection.RedisConnection}
+     * @param args   the arguments, may be <code>null</code> if the method has no parameter
+     * @return the result of the invocation, <code>null</code> if the method returns <code>void</code>
+     * @throws Throwable the exception thrown by the target as it is
+     */
+    public Object invoke(Object target, Object[] args) throws Throwable {
+        return (Object) this.methodHandle.invokeExact(target, args);
+    }
+
+    /**
+     * Returns the dense ordinal in the range of <code>[0, {@link SpringRedisMetadataRepository#getRedisMethodInvokerCount()})</code>,
+     * or {@link #NON_COMMAND_ORDINAL} if the method is absent in the metadata
+     *
+     * @return the ordinal of this invoker
+     */
+    public int getOrdinal() {
+        return this.ordinal;
+    }
+
+    /**
+     * Returns the {@link MethodInfo} of the Redis command method
+     *
+     * @return <code>null</code> if the method is absent in the metadata
+     */
+    @Nullable
+    public MethodInfo getMethodInfo() {
+        return this.methodInfo;
+    }
+
+    /**
+     * Returns the invoked {@link Method}
+     *
+     * @return non-null
+     */
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * Returns the index of the key parameter identified by the metadata, whose argument determines the Redis Cluster
+     * hash slot of the command
+     *
+     * @return {@link io.microsphere.redis.spring.util.SpringRedisCommandUtils#NO_PARAMETER_INDEX} if the method has
+     * no key parameter
+     */
+    public int getKeyParameterIndex() {
+        return this.keyParameterIndex;
+    }
+
+    /**
+     * Returns the index of the {@link org.springframework.data.redis.connection.RedisClusterNode} parameter of the
+     * node-specific Redis command method
+     *
+     * @return {@link io.microsphere.redis.spring.util.SpringRedisCommandUtils#NO_PARAMETER_INDEX} if the method is
+     * not node-specific
+     */
+    public int getNodeParameterIndex() {
+        return this.nodeParameterIndex;
+    }
+
+    /**
+     * Whether the method is a Redis command method present in the metadata
+     *
+     * @return <code>true</code> if the {@link #getOrdinal() ordinal} is not {@link #NON_COMMAND_ORDINAL}
+     */
+    public boolean isCommandMethod() {
+        return this.ordinal != NON_COMMAND_ORDINAL;
+    }
+
+    /**
+     * Create an instance of {@link RedisMethodInvoker} for the specified {@link MethodInfo}
+     *
+     * @param ordinal    the dense ordinal
+     * @param methodInfo the {@link MethodInfo} of the Redis command method
+     * @return <code>null</code> if the {@link MethodHandle} can't be unreflected from the {@link Method}
+     */
+    @Nullable
+    public static RedisMethodInvoker of(int ordinal, MethodInfo methodInfo) {
+        return of(ordinal, methodInfo, methodInfo.getMethod());
+    }
+
+    /**
+     * Create an instance of {@link RedisMethodInvoker} for the specified {@link Method} absent in the metadata,
+     * e.g. {@code RedisConnection#close()}, the accessibility of the {@link Method} is resolved once here rather
+     * than on every invocation.
+     *
+     * @param method the {@link Method}
+     * @return <code>null</code> if the {@link MethodHandle} can't be unreflected from the {@link Method}
+     */
+    @Nullable
+    public static RedisMethodInvoker of(Method method) {
+        trySetAccessible(method);
+        return of(NON_COMMAND_ORDINAL, null, method);
+    }
+
+    @Nullable
+    static RedisMethodInvoker of(int ordinal, @Nullable MethodInfo methodInfo, Method method) {
+        int parameterCount = method.getParameterCount();
+        try {
+            // (T, P1, ..., Pn)R -> (Object, Object, ..., Object)Object -> (Object, Object[])Object
+            MethodHandle methodHandle = lookup.unreflect(method)
+                    .asFixedArity()
+                    .asType(genericMethodType(parameterCount + 1))
+                    .asSpreader(Object[].class, parameterCount);
+            return new RedisMethodInvoker(ordinal, methodInfo, method, methodHandle);
+        } catch (IllegalAccessException e) {
+            logger.warn("The MethodHandle of Method[{}] can't be unreflected", method, e);
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "RedisMethodInvoker{ordinal=" + this.ordinal + ", method=" + getMethod() + '}';
+    }
+}
@@ -9,10 +9,16 @@ import io.microsphere.redis.metadata.ParameterMetadata;
 import io.microsphere.redis.metadata.RedisMetadata;
 import io.microsphere.redis.spring.util.SpringRedisCommandUtils;
 import io.microsphere.redis.util.RedisCommandUtils;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.connection.RedisClusterCommands;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterServerCommands;
 import org.springframework.data.redis.connection.RedisCommands;
 import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -23,19 +29,26 @@ import static io.microsphere.collection.MapUtils.newHashMap;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.redis.metadata.RedisMetadataLoader.loadAll;
 import static io.microsphere.redis.spring.serializer.Serializers.getSerializer;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isBlockingParameterType;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isReactiveRedisCommandsInterface;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isRedisCommandsInterface;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.loadClass;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.loadClasses;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveBlockingInterfaceName;
 import static io.microsphere.redis.util.RedisCommandUtils.buildMethodId;
 import static io.microsphere.redis.util.RedisCommandUtils.buildMethodIndex;
 import static io.microsphere.redis.util.RedisCommandUtils.buildParameterMetadataList;
 import static io.microsphere.redis.util.RedisCommandUtils.getParameterClassNames;
+import static io.microsphere.redis.util.RedisUtils.CLASS_LOADER;
 import static io.microsphere.reflect.AccessibleObjectUtils.trySetAccessible;
 import static io.microsphere.reflect.MethodUtils.findMethod;
 import static io.microsphere.util.ClassUtils.getAllInterfaces;
 import static io.microsphere.util.ClassUtils.isAssignableFrom;
+import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 import static java.util.stream.Stream.of;
+import static org.springframework.util.ClassUtils.isPresent;
 import static org.springframework.util.ReflectionUtils.invokeMethod;
 
 /**
@@ -70,17 +83,43 @@ public abstract class SpringRedisMetadataRepository {
 
     private static final Logger logger = getLogger(SpringRedisMetadataRepository.class);
 
+    /**
+     * The class name of Reactor's {@code Mono}, which the reactive Redis command interfaces depend on
+     */
+    static final String MONO_CLASS_NAME = "reactor.core.publisher.Mono";
+
+    /**
+     * Whether the reactive Redis command interfaces, e.g. {@link ReactiveStringCommands}, can be loaded or not
+     */
+    static final boolean reactiveSupported = isPresent(MONO_CLASS_NAME, CLASS_LOADER);
+
     static Method[] redisConnectionMethods = RedisConnection.class.getMethods();
 
     static final Set<Method> redisCommandMethods = of(redisConnectionMethods)
             .filter(SpringRedisMetadataRepository::isRedisCommandMethod)
             .collect(toSet());
 
+    /**
+     * The methods of {@link RedisClusterConnection} absent in {@link RedisConnection} that may override the ones of
+     * the Redis command interfaces, e.g. the default methods of
+     * {@link org.springframework.data.redis.connection.DefaultedRedisClusterConnection}
+     */
+    static final Set<Method> redisClusterCommandMethods = of(RedisClusterConnection.class.getMethods())
+            .filter(SpringRedisMetadataRepository::isRedisCommandMethod)
+            .filter(method -> !redisCommandMethods.contains(method))
+            .collect(toSet());
+
+    /**
+     * The Redis command interfaces whose methods may be overridden by {@link #redisCommandMethods}
+     */
+    static final Class<?>[] overriddenRedisCommandInterfaces = {RedisCommands.class, RedisClusterServerCommands.class};
+
     /**
      * Interface Class name and {@link Class} object cache (reduces class loading performance cost) from
-     * {@link RedisConnection}.
+     * {@link RedisClusterConnection}, which covers the ones of {@link RedisConnection} and the cluster-specific ones,
+     * e.g. {@link RedisClusterCommands}.
      */
-    static final Map<String, Class<?>> redisCommandInterfacesCache = getAllInterfaces(RedisConnection.class)
+    static final Map<String, Class<?>> redisCommandInterfacesCache = getAllInterfaces(RedisClusterConnection.class)
             .stream()
             .filter(SpringRedisCommandUtils::isRedisCommandsInterface)
             .collect(toMap(Class::getName, t -> t));
@@ -101,6 +140,26 @@ public abstract class SpringRedisMetadataRepository {
      */
     static final Map<Object, MethodInfo> methodInfoCache = newHashMap(4 * 1024);
 
+    /**
+     * The dispatch table of {@link RedisMethodInvoker}
+     * <ul>
+     *     <li>If the {@link MethodMetadata#getIndex() Method Index} is a key, the value is {@link RedisMethodInvoker}.</li>
+     *     <li>If the {@link Method} is a key, the value is {@link RedisMethodInvoker}.</li>
+     * </ul>
+     */
+    static final Map<Object, RedisMethodInvoker> redisMethodInvokersCache = newHashMap(4 * 1024);
+
+    /**
+     * The distinct {@link RedisMethodInvoker RedisMethodInvokers} in the order of {@link RedisMethodInvoker#getOrdinal() ordinal}
+     */
+    static final List<RedisMethodInvoker> redisMethodInvokers = newArrayList(2 * 1024);
+
+    /**
+     * The reactive Redis command method and the blocking one it mirrors, e.g.
+     * {@link ReactiveStringCommands#set(ByteBuffer, ByteBuffer)} and {@link RedisStringCommands#set(byte[], byte[])}
+     */
+    static final Map<Method, Method> blockingRedisCommandMethods = newHashMap(512);
+
     static {
         initCache();
     }
@@ -152,6 +211,74 @@ public abstract class SpringRedisMetadataRepository {
         return methodInfo == null ? null : methodInfo.getMethod();
     }
 
+    /**
+     * Returns the {@link RedisMethodInvoker} associated with the given numeric method index, or {@code null} if not found.
+     *
+     * @param methodIndex the method index (absolute hash of the method id)
+     * @return the {@link RedisMethodInvoker}, or {@code null}
+     */
+    @Nullable
+    public static RedisMethodInvoker getRedisMethodInvoker(int methodIndex) {
+        return redisMethodInvokersCache.get(methodIndex);
+    }
+
+    /**
+     * Returns the {@link RedisMethodInvoker} for the given Redis command {@link Method}, or {@code null} if the
+     * method is not in the dispatch table, e.g. {@link RedisConnection#close()}.
+     *
+     * @param redisCommandMethod the Redis command method
+     * @return the {@link RedisMethodInvoker}, or {@code null}
+     */
+    @Nullable
+    public static RedisMethodInvoker getRedisMethodInvoker(Method redisCommandMethod) {
+        return redisMethodInvokersCache.get(redisCommandMethod);
+    }
+
+    /**
+     * Returns the count of {@link RedisMethodInvoker RedisMethodInvokers}, which is the length of the per-method
+     * arrays indexed by {@link RedisMethodInvoker#getOrdinal()}.
+     *
+     * @return the count of {@link RedisMethodInvoker RedisMethodInvokers}
+     */
+    public static int getRedisMethodInvokerCount() {
+        return redisMethodInvokers.size();
+    }
+
+    /**
+     * Returns the read-only {@link List} of {@link RedisMethodInvoker RedisMethodInvokers} whose element index is
+     * the {@link RedisMethodInvoker#getOrdinal() ordinal}.
+     *
+     * @return non-null
+     */
+    @Nonnull
+    public static List<RedisMethodInvoker> getRedisMethodInvokers() {
+        return unmodifiableList(redisMethodInvokers);
+    }
+
+    /**
+     * Returns the blocking Redis command method that the given reactive one mirrors, whose arguments are converted by
+     * {@link SpringRedisCommandUtils#toBlockingRedisCommandArgs(Method, Object[])}, e.g.
+     * {@link RedisStringCommands#set(byte[], byte[])} for {@link ReactiveStringCommands#set(ByteBuffer, ByteBuffer)}.
+     *
+     * @param reactiveRedisCommandMethod the reactive Redis command method
+     * @return <code>null</code> if the method is not a reactive one or no blocking one mirrors it, e.g.
+     * {@link ReactiveStringCommands#set(org.reactivestreams.Publisher)}
+     */
+    @Nullable
+    public static Method getBlockingRedisCommandMethod(Method reactiveRedisCommandMethod) {
+        return blockingRedisCommandMethods.get(reactiveRedisCommandMethod);
+    }
+
+    /**
+     * Whether the metadata of the reactive Redis command interfaces, e.g. {@link ReactiveStringCommands}, is loaded
+     * or not, which requires Project Reactor in the class path.
+     *
+     * @return <code>true</code> if the reactive Redis command methods are supported
+     */
+    public static boolean isReactiveSupported() {
+        return reactiveSupported;
+    }
+
     /**
      * Returns {@code true} if the given method is a known Redis <em>write</em> command.
      *
@@ -227,13 +354,87 @@ public abstract class SpringRedisMetadataRepository {
         List<MethodMetadata> methods = redisMetadata.getMethods();
         for (MethodMetadata method : methods) {
             String interfaceName = method.getInterfaceName();
-            Class<?> interfaceClass = getRedisCommandInterfaceClass(interfaceName);
+            Class<?> interfaceClass = resolveRedisCommandInterfaceClass(interfaceName);
             initMethodInfo(interfaceClass, method);
         }
 
         initRedisCommandBindings();
 
         initRedisConnectionInterfaces();
+
+        initBlockingRedisCommandMethods();
+    }
+
+    @Nullable
+    static Class<?> resolveRedisCommandInterfaceClass(String interfaceName) {
+        Class<?> interfaceClass = getRedisCommandInterfaceClass(interfaceName);
+        if (interfaceClass == null && reactiveSupported && isReactiveRedisCommandsInterface(interfaceName)) {
+            // The reactive Redis command interfaces are not the super interfaces of RedisConnection
+            interfaceClass = loadClass(interfaceName);
+            if (interfaceClass != null) {
+                cache(redisCommandInterfacesCache, interfaceName, interfaceClass);
+            }
+        }
+        return interfaceClass;
+    }
+
+    static void initBlockingRedisCommandMethods() {
+        for (RedisMethodInvoker redisMethodInvoker : redisMethodInvokers) {
+            Method method = redisMethodInvoker.getMethod();
+            Method blockingMethod = findBlockingRedisCommandMethod(method);
+            if (blockingMethod != null) {
+                cache(blockingRedisCommandMethods, method, blockingMethod);
+            }
+        }
+    }
+
+    @Nullable
+    static Method findBlockingRedisCommandMethod(Method reactiveRedisCommandMethod) {
+        String blockingInterfaceName = resolveBlockingInterfaceName(reactiveRedisCommandMethod.getDeclaringClass().getName());
+        Class<?> blockingInterfaceClass = blockingInterfaceName == null ? null : getRedisCommandInterfaceClass(blockingInterfaceName);
+        if (blockingInterfaceClass == null) {
+            return null;
+        }
+        String methodName = reactiveRedisCommandMethod.getName();
+        Class<?>[] parameterTypes = reactiveRedisCommandMethod.getParameterTypes();
+        Method candidate = null;
+        for (Method method : blockingInterfaceClass.getMethods()) {
+            if (methodName.equals(method.getName()) && getMethodInfo(method) != null) {
+                Class<?>[] blockingParameterTypes = method.getParameterTypes();
+                if (isBlockingParameterTypes(parameterTypes, blockingParameterTypes)) {
+                    if (isOneToOneParameterTypes(parameterTypes, blockingParameterTypes)) {
+                        return method;
+                    }
+                    // e.g. RedisKeyCommands#del(byte[]...) for ReactiveKeyCommands#del(ByteBuffer)
+                    candidate = method;
+                }
+            }
+        }
+        return candidate;
+    }
+
+    static boolean isBlockingParameterTypes(Class<?>[] parameterTypes, Class<?>[] blockingParameterTypes) {
+        int length = parameterTypes.length;
+        if (length != blockingParameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isBlockingParameterType(parameterTypes[i], blockingParameterTypes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isOneToOneParameterTypes(Class<?>[] parameterTypes, Class<?>[] blockingParameterTypes) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            Class<?> blockingParameterType = blockingParameterTypes[i];
+            if (!parameterType.equals(blockingParameterType) && !byte[].class.equals(blockingParameterType)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static void initRedisCommandBindings() {
@@ -265,6 +466,9 @@ public abstract class SpringRedisMetadataRepository {
         for (Method method : redisCommandMethods) {
             initRedisConnectionInterface(method);
         }
+        for (Method method : redisClusterCommandMethods) {
+            initRedisConnectionInterface(method);
+        }
     }
 
     static void initRedisConnectionInterface(Method method) {
@@ -272,21 +476,30 @@ public abstract class SpringRedisMetadataRepository {
         MethodInfo methodInfo = getMethodInfo(method);
         if (methodInfo == null) {
             Class<?> declaringClass = method.getDeclaringClass();
-            if (isAssignableFrom(RedisCommands.class, declaringClass)) {
-                String methodName = method.getName();
-                Class<?>[] parameterTypes = method.getParameterTypes();
-                Method overridenMethod = findMethod(RedisCommands.class, methodName, parameterTypes);
-                if (overridenMethod != null) {
-                    methodInfo = getMethodInfo(overridenMethod);
-                    if (methodInfo != null) {
-                        MethodMetadata methodMetadata = methodInfo.getMethodMetadata();
-                        createAndCacheMethodInfo(method, methodMetadata);
-                    }
+            for (Class<?> overriddenRedisCommandInterface : overriddenRedisCommandInterfaces) {
+                if (isAssignableFrom(overriddenRedisCommandInterface, declaringClass)
+                        && initRedisConnectionInterface(method, overriddenRedisCommandInterface)) {
+                    return;
                 }
             }
         }
     }
 
+    static boolean initRedisConnectionInterface(Method method, Class<?> overriddenRedisCommandInterface) {
+        String methodName = method.getName();
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Method overridenMethod = findMethod(overriddenRedisCommandInterface, methodName, parameterTypes);
+        if (overridenMethod != null) {
+            MethodInfo methodInfo = getMethodInfo(overridenMethod);
+            if (methodInfo != null) {
+                MethodMetadata methodMetadata = methodInfo.getMethodMetadata();
+                createAndCacheMethodInfo(method, methodMetadata);
+                return true;
+            }
+        }
+        return false;
+    }
+
     static void createAndCacheMethodInfo(Method overrider, MethodMetadata overriddenMethodMetadata) {
         int index = buildMethodIndex(overrider);
         String interfaceName = overrider.getDeclaringClass().getName();
@@ -345,6 +558,21 @@ public abstract class SpringRedisMetadataRepository {
         cache(methodInfoCache, index, methodInfo);
         cache(methodInfoCache, redisCommandMethod, methodInfo);
         cache(methodInfoCache, methodId, methodInfo);
+
+        cacheRedisMethodInvoker(methodInfo);
+    }
+
+    static void cacheRedisMethodInvoker(MethodInfo methodInfo) {
+        Method redisCommandMethod = methodInfo.getMethod();
+        if (redisMethodInvokersCache.containsKey(redisCommandMethod)) {
+            return;
+        }
+        RedisMethodInvoker redisMethodInvoker = RedisMethodInvoker.of(redisMethodInvokers.size(), methodInfo);
+        if (redisMethodInvoker != null) {
+            redisMethodInvokers.add(redisMethodInvoker);
+            cache(redisMethodInvokersCache, methodInfo.getIndex(), redisMethodInvoker);
+            cache(redisMethodInvokersCache, redisCommandMethod, redisMethodInvoker);
+        }
     }
 
     static List<ParameterMetadata> getParameterMetadataList(Method redisCommandMethod, MethodMetadata methodMetadata) {
@@ -389,6 +617,7 @@ public abstract class SpringRedisMetadataRepository {
     static boolean isRedisCommandMethod(Method method) {
         Class<?> declaringClass = method.getDeclaringClass();
         return !RedisConnection.class.equals(declaringClass)
+                && !RedisClusterConnection.class.equals(declaringClass)
                 && RedisCommands.class.isAssignableFrom(declaringClass);
     }
 
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.metrics;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms.LatencyHistogram;
+import io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms;
+
+import static io.micrometer.core.instrument.util.DoubleFormat.decimalOrNan;
+import static io.microsphere.util.Assert.assertTrue;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * The Micrometer {@link MeterBinder} exports the {@link LatencyHistogram LatencyHistograms} of
+ * {@link RedisCommandLatencyHistograms} as the meters tagged by {@link #COMMAND_TAG_NAME the command} and
+ * {@link #SOURCE_BEAN_NAME_TAG_NAME the source bean name}, e.g. the RedisTemplate bean name :
+ * <ul>
+ *     <li>"redis.command.latency" : the {@link FunctionTimer} of the count and the total time</li>
+ *     <li>"redis.command.latency.max" : the {@link TimeGauge} of the max latency</li>
+ *     <li>"redis.command.latency.percentile" : the {@link TimeGauge TimeGauges} of the percentiles tagged by "phi",
+ *     the same as the percentiles published by Micrometer</li>
+ * </ul>
+ * The values are read from the HdrHistograms when the meters are polled, so nothing is recorded into Micrometer
+ * twice on the Redis calls. The meters of the commands invoked later are registered once they are invoked at first.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // Registered with RedisCommandLatencyHistograms by @EnableRedisInterceptor(commandLatencyHistograms = true),
+ *   // bound by Spring Boot automatically, or manually :
+ *   RedisCommandLatencyMeterBinder meterBinder = new RedisCommandLatencyMeterBinder(redisCommandLatencyHistograms);
+ *   meterBinder.setPercentiles(0.5, 0.99);
+ *   meterBinder.bindTo(meterRegistry);
+ *
+ *   // redis.command.latency.percentile{command="SET", phi="0.99", source.bean="redisTemplate"}
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandLatencyHistograms
+ * @see MeterBinder
+ * @since 1.0.0
+ */
+public class RedisCommandLatencyMeterBinder implements MeterBinder {
+
+    public static final String BEAN_NAME = "microsphere:redisCommandLatencyMeterBinder";
+
+    public static final String METER_NAME = "redis.command.latency";
+
+    public static final String COMMAND_TAG_NAME = "command";
+
+    public static final String SOURCE_BEAN_NAME_TAG_NAME = "source.bean";
+
+    /**
+     * The tag value of the calls without source bean
+     */
+    public static final String NO_SOURCE_BEAN_NAME = "none";
+
+    /**
+     * The default percentiles : 50%, 90%, 99% and 99.9%
+     */
+    public static final double[] DEFAULT_PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final RedisCommandLatencyHistograms redisCommandLatencyHistograms;
+
+    private double[] percentiles = DEFAULT_PERCENTILES;
+
+    public RedisCommandLatencyMeterBinder(RedisCommandLatencyHistograms redisCommandLatencyHistograms) {
+        this.redisCommandLatencyHistograms = redisCommandLatencyHistograms;
+    }
+
+    /**
+     * Sets the percentiles to be exported, it must be invoked before {@link #bindTo(MeterRegistry)}.
+     *
+     * @param percentiles the percentiles, from 0.0 to 1.0, e.g. 0.99
+     * @throws IllegalArgumentException if any percentile is out of range
+     */
+    public void setPercentiles(double... percentiles) throws IllegalArgumentException {
+        for (double percentile : percentiles) {
+            assertTrue(percentile >= 0.0 && percentile <= 1.0, () -> "The percentile must be from 0.0 to 1.0 : " + percentile);
+        }
+        this.percentiles = percentiles.clone();
+    }
+
+    /**
+     * @return the percentiles to be exported
+     */
+    public double[] getPercentiles() {
+        return this.percentiles.clone();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.redisCommandLatencyHistograms.addListener(latencyHistogram -> bindTo(registry, latencyHistogram));
+    }
+
+    private void bindTo(MeterRegistry registry, LatencyHistogram latencyHistogram) {
+        String sourceBeanName = latencyHistogram.getSourceBeanName();
+        Tags tags = Tags.of(COMMAND_TAG_NAME, latencyHistogram.getCommand(),
+                SOURCE_BEAN_NAME_TAG_NAME, sourceBeanName == null ? NO_SOURCE_BEAN_NAME : sourceBeanName);
+
+        FunctionTimer.builder(METER_NAME, latencyHistogram, LatencyHistogram::getCount, LatencyHistogram::getTotalTime, NANOSECONDS)
+                .tags(tags)
+                .description("The latency of Redis command")
+                .register(registry);
+
+        TimeGauge.builder(METER_NAME + ".max", latencyHistogram, NANOSECONDS, LatencyHistogram::getMaxValue)
+                .tags(tags)
+                .description("The max latency of Redis command")
+                .register(registry);
+
+        for (double percentile : this.percentiles) {
+            double hdrPercentile = percentile * 100;
+            TimeGauge.builder(METER_NAME + ".percentile", latencyHistogram, NANOSECONDS, histogram -> histogram.getValueAtPercentile(hdrPercentile))
+                    .tags(tags)
+                    .tag("phi", decimalOrNan(percentile))
+                    .description("The latency percentile of Redis command")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.observation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.microsphere.annotation.Nullable;
+
+/**
+ * The default {@link RedisCommandObservationConvention}, the observation is named {@link #NAME "redis.command"} with
+ * the low-cardinality key values :
+ * <ul>
+ *     <li>{@link #COMMAND_KEY "command"} : the name of Redis command, e.g. "SET"</li>
+ *     <li>{@link #INTERFACE_KEY "interface"} : the name of the interface declaring the method</li>
+ *     <li>{@link #SOURCE_BEAN_NAME_KEY "source.bean"} : the source bean name, or {@link #NONE "none"}</li>
+ *     <li>{@link #OUTCOME_KEY "outcome"} : {@link #SUCCESS "SUCCESS"} or {@link #FAILURE "FAILURE"}</li>
+ * </ul>
+ * and the high-cardinality key value {@link #KEY_KEY "key"} only if the key is present in the context.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   // redis.command{command="SET", interface="...RedisStringCommands", source.bean="redisTemplate", outcome="SUCCESS"}
+ *   Observation.createNotStarted(null, DefaultRedisCommandObservationConvention.INSTANCE, () -> context, registry);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandObservationConvention
+ * @since 1.0.0
+ */
+public class DefaultRedisCommandObservationConvention implements RedisCommandObservationConvention {
+
+    /**
+     * The singleton of {@link DefaultRedisCommandObservationConvention}
+     */
+    public static final DefaultRedisCommandObservationConvention INSTANCE = new DefaultRedisCommandObservationConvention();
+
+    public static final String NAME = "redis.command";
+
+    public static final String COMMAND_KEY = "command";
+
+    public static final String INTERFACE_KEY = "interface";
+
+    public static final String SOURCE_BEAN_NAME_KEY = "source.bean";
+
+    public static final String OUTCOME_KEY = "outcome";
+
+    public static final String KEY_KEY = "key";
+
+    /**
+     * The value of the calls without source bean
+     */
+    public static final String NONE = "none";
+
+    public static final String SUCCESS = "SUCCESS";
+
+    public static final String FAILURE = "FAILURE";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getContextualName(RedisCommandObservationContext context) {
+        return context.getCommand();
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(RedisCommandObservationContext context) {
+        return KeyValues.of(
+                KeyValue.of(COMMAND_KEY, context.getCommand()),
+                KeyValue.of(INTERFACE_KEY, context.getInterfaceName()),
+                KeyValue.of(SOURCE_BEAN_NAME_KEY, valueOf(context.getSourceBeanName())),
+                KeyValue.of(OUTCOME_KEY, context.getError() == null ? SUCCESS : FAILURE)
+        );
+    }
+
+    @Override
+    public KeyValues getHighCardinalityKeyValues(RedisCommandObservationContext context) {
+        String key = context.getKey();
+        return key == null ? KeyValues.empty() : KeyValues.of(KEY_KEY, key);
+    }
+
+    private static String valueOf(@Nullable String value) {
+        return value == null ? NONE : value;
+    }
+}
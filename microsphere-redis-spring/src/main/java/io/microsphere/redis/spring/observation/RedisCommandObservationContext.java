@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.observation;
+
+import io.micrometer.observation.Observation;
+import io.microsphere.annotation.Nullable;
+
+/**
+ * The {@link Observation.Context} of the intercepted Redis command, whose key values are provided by
+ * {@link RedisCommandObservationConvention}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   RedisCommandObservationContext context = new RedisCommandObservationContext("SET",
+ *           "org.springframework.data.redis.connection.RedisStringCommands", "redisTemplate", null);
+ *   Observation observation = Observation.createNotStarted(null, DefaultRedisCommandObservationConvention.INSTANCE,
+ *           () -> context, observationRegistry);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandObservationConvention
+ * @see io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor
+ * @since 1.0.0
+ */
+public class RedisCommandObservationContext extends Observation.Context {
+
+    private final String command;
+
+    private final String interfaceName;
+
+    @Nullable
+    private final String sourceBeanName;
+
+    @Nullable
+    private final String key;
+
+    public RedisCommandObservationContext(String command, String interfaceName, @Nullable String sourceBeanName,
+                                          @Nullable String key) {
+        this.command = command;
+        this.interfaceName = interfaceName;
+        this.sourceBeanName = sourceBeanName;
+        this.key = key;
+    }
+
+    /**
+     * @return the name of Redis command, e.g. "SET"
+     */
+    public String getCommand() {
+        return this.command;
+    }
+
+    /**
+     * @return the name of the interface declaring the method, e.g.
+     * "org.springframework.data.redis.connection.RedisStringCommands"
+     */
+    public String getInterfaceName() {
+        return this.interfaceName;
+    }
+
+    /**
+     * @return the source bean name, <code>null</code> if absent
+     */
+    @Nullable
+    public String getSourceBeanName() {
+        return this.sourceBeanName;
+    }
+
+    /**
+     * @return the key decoded by UTF-8, <code>null</code> if the key tag is disabled or the command has no key
+     */
+    @Nullable
+    public String getKey() {
+        return this.key;
+    }
+}
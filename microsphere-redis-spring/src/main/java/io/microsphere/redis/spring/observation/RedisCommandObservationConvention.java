@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.observation;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationConvention;
+
+/**
+ * The {@link ObservationConvention} of {@link RedisCommandObservationContext}, the custom one overrides
+ * {@link DefaultRedisCommandObservationConvention}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   public class MyRedisCommandObservationConvention extends DefaultRedisCommandObservationConvention {
+ *
+ *       @Override
+ *       public String getName() {
+ *           return "my.redis.command";
+ *       }
+ *   }
+ *
+ *   observationRedisCommandInterceptor.setObservationConvention(new MyRedisCommandObservationConvention());
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DefaultRedisCommandObservationConvention
+ * @see RedisCommandObservationContext
+ * @since 1.0.0
+ */
+public interface RedisCommandObservationConvention extends ObservationConvention<RedisCommandObservationContext> {
+
+    @Override
+    default boolean supportsContext(Observation.Context context) {
+        return context instanceof RedisCommandObservationContext;
+    }
+}
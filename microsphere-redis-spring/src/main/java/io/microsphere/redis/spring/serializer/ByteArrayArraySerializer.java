@@ -0,0 +1,131 @@
+package io.microsphere.redis.spring.serializer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+
+import static io.microsphere.redis.spring.serializer.Serializers.defaultDeserialize;
+import static io.microsphere.redis.spring.serializer.Serializers.defaultSerialize;
+
+/**
+ * byte[][] {@link RedisSerializer} Class that understands both the
+ * {@link Serializers#DEFAULT_SERIALIZER JDK serialization} and the compact format :
+ * <pre>
+ * | count (4 bytes) | length#0 (4 bytes) | bytes#0 | ... | length#n (4 bytes) | bytes#n |
+ * </pre>
+ * The length of <code>null</code> element is <code>-1</code>.
+ * <p>
+ * Both instances deserialize either format. {@link #BYTE_ARRAY_ARRAY_SERIALIZER} still serializes with the JDK
+ * serialization, so that the nodes running the older versions can read the payloads, while
+ * {@link #COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER} serializes with the compact format, which is only written by
+ * {@link RedisCommandEventSerializer#VERSION_V2}.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   byte[][] keys = {"k1".getBytes(), "k2".getBytes()};
+ *   byte[] bytes = COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER.serialize(keys); // 4 + (4 + 2) * 2 = 16 bytes
+ *   byte[][] deserialized = BYTE_ARRAY_ARRAY_SERIALIZER.deserialize(bytes);
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy<a/>
+ * @see ByteArraySerializer
+ * @since 1.0.0
+ */
+public final class ByteArrayArraySerializer extends AbstractSerializer<byte[][]> {
+
+    /**
+     * The {@link ByteArrayArraySerializer} serializes with the JDK serialization
+     */
+    public static final ByteArrayArraySerializer BYTE_ARRAY_ARRAY_SERIALIZER = new ByteArrayArraySerializer(false);
+
+    /**
+     * The {@link ByteArrayArraySerializer} serializes with the compact format
+     */
+    public static final ByteArrayArraySerializer COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER = new ByteArrayArraySerializer(true);
+
+    /**
+     * The first byte of the stream magic number of the JDK serialization : 0xACED
+     */
+    private static final byte JDK_SERIALIZATION_MAGIC_0 = (byte) 0xAC;
+
+    /**
+     * The second byte of the stream magic number of the JDK serialization : 0xACED
+     */
+    private static final byte JDK_SERIALIZATION_MAGIC_1 = (byte) 0xED;
+
+    private static final int NULL_LENGTH = -1;
+
+    private final boolean compact;
+
+    private ByteArrayArraySerializer(boolean compact) {
+        this.compact = compact;
+    }
+
+    @Override
+    protected byte[] doSerialize(byte[][] values) throws SerializationException {
+        return compact ? compactSerialize(values) : defaultSerialize(values);
+    }
+
+    private byte[] compactSerialize(byte[][] values) {
+        int count = values.length;
+        int bytesLength = INTEGER_BYTES_LENGTH * (count + 1);
+        for (int i = 0; i < count; i++) {
+            byte[] value = values[i];
+            if (value != null) {
+                bytesLength += value.length;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(bytesLength);
+        buffer.putInt(count);
+        for (int i = 0; i < count; i++) {
+            byte[] value = values[i];
+            if (value == null) {
+                buffer.putInt(NULL_LENGTH);
+            } else {
+                buffer.putInt(value.length);
+                buffer.put(value);
+            }
+        }
+        return buffer.array();
+    }
+
+    @Override
+    protected byte[][] doDeserialize(byte[] bytes) throws SerializationException {
+        if (isJdkSerialized(bytes)) {
+            return defaultDeserialize(bytes);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining() / INTEGER_BYTES_LENGTH) {
+                throw new IllegalArgumentException("Illegal count of byte[][] : " + count);
+            }
+            byte[][] values = new byte[count][];
+            for (int i = 0; i < count; i++) {
+                int length = buffer.getInt();
+                if (length != NULL_LENGTH) {
+                    byte[] value = new byte[length];
+                    buffer.get(value);
+                    values[i] = value;
+                }
+            }
+            return values;
+        } catch (RuntimeException e) {
+            throw new SerializationException("The bytes can't be deserialized to byte[][]", e);
+        }
+    }
+
+    static boolean isJdkSerialized(byte[] bytes) {
+        return bytes.length > 1 && bytes[0] == JDK_SERIALIZATION_MAGIC_0 && bytes[1] == JDK_SERIALIZATION_MAGIC_1;
+    }
+
+    /**
+     * Whether the serialized bytes are written in the compact format
+     *
+     * @return <code>true</code> if compact, <code>false</code> if the JDK serialization
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+}
@@ -32,6 +32,7 @@ import static io.microsphere.lang.function.ThrowableAction.execute;
 import static io.microsphere.redis.spring.event.RedisCommandEvent.Builder.source;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getMethodIndex;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisCommandMethod;
+import static io.microsphere.redis.spring.serializer.ByteArrayArraySerializer.COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.IntegerSerializer.INTEGER_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.RedisCommandEventSerializer.VersionedRedisSerializer.valueOf;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveInterfaceName;
@@ -46,7 +47,12 @@ import static java.nio.charset.StandardCharsets.US_ASCII;
  *       parameter types as strings.</li>
  *   <li>{@link #VERSION_V1} ({@code 1}) – encodes the method as a compact 4-byte integer
  *       index looked up from {@link io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository}.</li>
+ *   <li>{@link #VERSION_V2} ({@code 2}) – encodes the method as {@link #VERSION_V1} does, and the {@code byte[][]}
+ *       arguments in the compact format of {@link ByteArrayArraySerializer} instead of the JDK serialization.
+ *       The nodes running the older versions can't read it, so the producers must opt into it by
+ *       {@link RedisCommandEvent#setSerializationVersion(byte)}.</li>
  * </ul>
+ * All versions read the {@code byte[][]} arguments in both formats.
  *
  * <p>The version byte is written as the first byte during serialization and read back during
  * deserialization to select the correct decoder.
@@ -83,6 +89,11 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
      */
     public static final byte VERSION_V1 = 1;
 
+    /**
+     * The serialization version V2, which is opted into by the producers explicitly
+     */
+    public static final byte VERSION_V2 = 2;
+
     /**
      * {@link RedisCommandEventSerializer} with {@link #VERSION_DEFAULT default version}
      */
@@ -178,20 +189,32 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
         V1(VERSION_V1) {
             @Override
             protected void writeMethodMetadata(RedisCommandEvent redisCommandEvent, OutputStream outputStream) throws IOException {
-                Method redisCommandMethod = redisCommandEvent.getMethod();
-                int methodIndex = getMethodIndex(redisCommandMethod);
-                byte[] bytes = INTEGER_SERIALIZER.serialize(methodIndex);
-                outputStream.write(bytes);
+                writeMethodIndex(redisCommandEvent, outputStream);
+            }
+
+            @Override
+            protected void readMethodMetadata(InputStream inputStream, RedisCommandEvent.Builder builder) throws IOException {
+                readMethodIndex(inputStream, builder);
+            }
+        },
+
+        V2(VERSION_V2) {
+            @Override
+            protected void writeMethodMetadata(RedisCommandEvent redisCommandEvent, OutputStream outputStream) throws IOException {
+                writeMethodIndex(redisCommandEvent, outputStream);
             }
 
             @Override
             protected void readMethodMetadata(InputStream inputStream, RedisCommandEvent.Builder builder) throws IOException {
-                int bytesLength = INTEGER_SERIALIZER.getBytesLength();
-                byte[] bytes = new byte[bytesLength];
-                inputStream.read(bytes);
-                int methodIndex = INTEGER_SERIALIZER.deserialize(bytes);
-                Method redisCommandMethod = getRedisCommandMethod(methodIndex);
-                builder.method(redisCommandMethod);
+                readMethodIndex(inputStream, builder);
+            }
+
+            @Override
+            protected byte[] serializeArgument(Object arg, Class<?> parameterType) {
+                if (byte[][].class.equals(parameterType)) {
+                    return COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER.serialize((byte[][]) arg);
+                }
+                return super.serializeArgument(arg, parameterType);
             }
         };
 
@@ -269,11 +292,22 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
             for (int i = 0; i < parameterCount; i++) {
                 Object arg = args[i];
                 Class parameterType = parameterTypes[i];
-                byte[] parameter = Serializers.serialize(arg, parameterType);
+                byte[] parameter = serializeArgument(arg, parameterType);
                 writeBytes(parameter, outputStream);
             }
         }
 
+        protected byte[] serializeArgument(Object arg, Class<?> parameterType) {
+            return Serializers.serialize(arg, parameterType);
+        }
+
+        protected void writeMethodIndex(RedisCommandEvent redisCommandEvent, OutputStream outputStream) throws IOException {
+            Method redisCommandMethod = redisCommandEvent.getMethod();
+            int methodIndex = getMethodIndex(redisCommandMethod);
+            byte[] bytes = INTEGER_SERIALIZER.serialize(methodIndex);
+            outputStream.write(bytes);
+        }
+
         protected void writeString(String value, OutputStream outputStream) throws IOException {
             byte[] bytes = getBytes(value);
             writeBytes(bytes, outputStream);
@@ -312,6 +346,15 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
 
         protected abstract void readMethodMetadata(InputStream inputStream, RedisCommandEvent.Builder builder) throws IOException;
 
+        protected void readMethodIndex(InputStream inputStream, RedisCommandEvent.Builder builder) throws IOException {
+            int bytesLength = INTEGER_SERIALIZER.getBytesLength();
+            byte[] bytes = new byte[bytesLength];
+            inputStream.read(bytes);
+            int methodIndex = INTEGER_SERIALIZER.deserialize(bytes);
+            Method redisCommandMethod = getRedisCommandMethod(methodIndex);
+            builder.method(redisCommandMethod);
+        }
+
         protected void readData(InputStream inputStream, RedisCommandEvent.Builder builder) throws IOException {
             // read arguments
             readArguments(inputStream, builder);
@@ -353,7 +396,14 @@ public class RedisCommandEventSerializer extends AbstractSerializer<RedisCommand
         }
 
         static RedisSerializer<RedisCommandEvent> valueOf(byte version) {
-            return VERSION_V1 == version ? V1 : DEFAULT;
+            switch (version) {
+                case VERSION_V1:
+                    return V1;
+                case VERSION_V2:
+                    return V2;
+                default:
+                    return DEFAULT;
+            }
         }
     }
 }
@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.redis.spring.serializer.BooleanSerializer.BOOLEAN_SERIALIZER;
+import static io.microsphere.redis.spring.serializer.ByteArrayArraySerializer.BYTE_ARRAY_ARRAY_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.ByteArraySerializer.BYTE_ARRAY_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.DoubleSerializer.DOUBLE_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.ExpirationSerializer.EXPIRATION_SERIALIZER;
@@ -163,16 +164,33 @@ public abstract class Serializers {
         }
         byte[] rawParameterValue = parameter.getRawValue();
         if (rawParameterValue == null) {
-            Object parameterValue = parameter.getValue();
-            RedisSerializer serializer = getSerializer(parameter.getParameterType());
-            if (serializer != null) {
-                rawParameterValue = serializer.serialize(parameterValue);
+            rawParameterValue = serializeParameterValue(parameter);
+            if (rawParameterValue != null) {
                 parameter.setRawValue(rawParameterValue);
             }
         }
         return rawParameterValue;
     }
 
+    /**
+     * Serializes the value of a {@link Parameter} by the {@link RedisSerializer} of its parameter type without
+     * caching, which is used to resolve {@link Parameter#getRawValue()} on demand.
+     *
+     * <h3>Example Usage</h3>
+     * <pre>{@code
+     *   Parameter parameter = new Parameter(value, metadata, Serializers::serializeParameterValue);
+     *   byte[] rawValue = parameter.getRawValue(); // serialized on the first invocation
+     * }</pre>
+     *
+     * @param parameter the parameter whose value should be serialized
+     * @return the serialized bytes, or {@code null} if no serializer is found or serialization produced no output
+     */
+    @Nullable
+    public static byte[] serializeParameterValue(Parameter parameter) {
+        RedisSerializer serializer = getSerializer(parameter.getParameterType());
+        return serializer == null ? null : serializer.serialize(parameter.getValue());
+    }
+
     /**
      * Serializes the given object using {@link #DEFAULT_SERIALIZER} (JDK serialization).
      *
@@ -357,7 +375,7 @@ public abstract class Serializers {
         register(int[].class, DEFAULT_SERIALIZER);
 
         // byte[][] type
-        register(byte[][].class, DEFAULT_SERIALIZER);
+        register(byte[][].class, BYTE_ARRAY_ARRAY_SERIALIZER);
     }
 
     /**
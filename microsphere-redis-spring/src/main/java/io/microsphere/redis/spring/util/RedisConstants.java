@@ -27,6 +27,9 @@ import static io.microsphere.annotation.ConfigurationProperty.APPLICATION_SOURCE
 import static io.microsphere.annotation.ConfigurationProperty.SYSTEM_PROPERTIES_SOURCE;
 import static io.microsphere.collection.Sets.ofSet;
 import static java.lang.Boolean.parseBoolean;
+import static java.lang.Double.parseDouble;
+import static java.lang.Integer.parseInt;
+import static java.lang.Long.parseLong;
 import static java.lang.System.getProperty;
 
 /**
@@ -121,6 +124,117 @@ public interface RedisConstants {
      */
     boolean DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED = parseBoolean(DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_VALUE);
 
+    /**
+     * The property name prefix of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus} in Spring
+     */
+    String MICROSPHERE_REDIS_COMMAND_EVENT_BUS_PROPERTY_NAME_PREFIX = MICROSPHERE_REDIS_COMMAND_EVENT_PROPERTY_NAME_PREFIX + "bus.";
+
+    /**
+     * The default property value of the ring buffer size of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_VALUE = "8192";
+
+    /**
+     * The property name of the ring buffer size of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     * in Spring : "microsphere.redis.command-event.bus.buffer-size", the value is rounded up to the power of two
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_NAME = MICROSPHERE_REDIS_COMMAND_EVENT_BUS_PROPERTY_NAME_PREFIX + "buffer-size";
+
+    /**
+     * The default ring buffer size of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE = parseInt(DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the maximum batch size of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_VALUE = "256";
+
+    /**
+     * The property name of the maximum batch size of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     * in Spring : "microsphere.redis.command-event.bus.batch-size"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_NAME = MICROSPHERE_REDIS_COMMAND_EVENT_BUS_PROPERTY_NAME_PREFIX + "batch-size";
+
+    /**
+     * The default maximum batch size of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE = parseInt(DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the overflow policy of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus},
+     * the events are used for the replication, so the publishing thread waits for the free slot by default
+     */
+    String DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_VALUE = "block";
+
+    /**
+     * The property name of the overflow policy of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     * in Spring : "microsphere.redis.command-event.bus.overflow-policy", the value is "drop" or "block"
+     */
+    @ConfigurationProperty(
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_NAME = MICROSPHERE_REDIS_COMMAND_EVENT_BUS_PROPERTY_NAME_PREFIX + "overflow-policy";
+
+    /**
+     * The default property value of the coalescing window in milliseconds of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}, the coalescing is disabled by default
+     */
+    String DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_VALUE = "0";
+
+    /**
+     * The property name of the coalescing window in milliseconds of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus} in Spring :
+     * "microsphere.redis.command-event.bus.coalescing-window", the superseded idempotent writes within the window are
+     * removed by {@link io.microsphere.redis.spring.interceptor.RedisCommandEventCoalescer} if positive
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_NAME = MICROSPHERE_REDIS_COMMAND_EVENT_BUS_PROPERTY_NAME_PREFIX + "coalescing-window";
+
+    /**
+     * The default coalescing window in milliseconds of {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     */
+    long DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW = parseLong(DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_VALUE);
+
+    /**
+     * The default property value of whether the {@link org.springframework.context.ApplicationListener ApplicationListeners}
+     * of {@link RedisCommandEvent} are bridged to {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED_PROPERTY_VALUE = "true";
+
+    /**
+     * The property name of whether the {@link org.springframework.context.ApplicationListener ApplicationListeners} of
+     * {@link RedisCommandEvent} are bridged to {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus} in
+     * Spring : "microsphere.redis.command-event.bus.application-event-bridged"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED_PROPERTY_NAME = MICROSPHERE_REDIS_COMMAND_EVENT_BUS_PROPERTY_NAME_PREFIX + "application-event-bridged";
+
+    /**
+     * The default value of whether the {@link org.springframework.context.ApplicationListener ApplicationListeners} of
+     * {@link RedisCommandEvent} are bridged to {@link io.microsphere.redis.spring.interceptor.RedisCommandEventBus}
+     */
+    boolean DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED = parseBoolean(DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED_PROPERTY_VALUE);
+
     /**
      * The default property value of Microsphere Redis fail-fast enabled.
      */
@@ -186,6 +300,523 @@ public interface RedisConstants {
      */
     boolean DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ENABLED = parseBoolean(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ENABLED_PROPERTY_VALUE);
 
+    /**
+     * The default property value of the recycled {@link io.microsphere.redis.spring.interceptor.RedisMethodContext}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_VALUE = "false";
+
+    /**
+     * The property name of the recycled {@link io.microsphere.redis.spring.interceptor.RedisMethodContext} in Spring :
+     * "microsphere.redis.interceptor.context-recycled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_PROPERTY_NAME_PREFIX + "context-recycled";
+
+    /**
+     * The default value of the recycled {@link io.microsphere.redis.spring.interceptor.RedisMethodContext}
+     */
+    boolean DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED = parseBoolean(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_VALUE);
+
+    /**
+     * The prefix of the sampling property names of Redis Interceptors
+     */
+    String MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_PROPERTY_NAME_PREFIX = MICROSPHERE_REDIS_INTERCEPTOR_PROPERTY_NAME_PREFIX + "sampling.";
+
+    /**
+     * The default property value of the sampling strategy of Redis Interceptors
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_VALUE = "fixed-rate";
+
+    /**
+     * The property name of the sampling strategy of Redis Interceptors in Spring :
+     * "microsphere.redis.interceptor.sampling.strategy", the value is "fixed-rate" or "probabilistic"
+     */
+    @ConfigurationProperty(
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_PROPERTY_NAME_PREFIX + "strategy";
+
+    /**
+     * The default property value of the sampling rate of Redis Interceptors, all calls are sampled
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_VALUE = "1.0";
+
+    /**
+     * The property name of the sampling rate of Redis Interceptors in Spring :
+     * "microsphere.redis.interceptor.sampling.rate", the value is in the range of <code>[0.0, 1.0]</code>
+     */
+    @ConfigurationProperty(
+            type = double.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_PROPERTY_NAME_PREFIX + "rate";
+
+    /**
+     * The default sampling rate of Redis Interceptors
+     */
+    double DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE = parseDouble(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_VALUE);
+
+    /**
+     * The property name of the per-command sampling rates of Redis Interceptors in Spring :
+     * "microsphere.redis.interceptor.sampling.command-rates", e.g. "GET=0.01,HGETALL=0.1"
+     */
+    @ConfigurationProperty(
+            type = String[].class,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_COMMAND_RATES_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_PROPERTY_NAME_PREFIX + "command-rates";
+
+    /**
+     * The prefix of the property names of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     */
+    String MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_PROPERTY_NAME_PREFIX = MICROSPHERE_REDIS_INTERCEPTOR_PROPERTY_NAME_PREFIX + "async.";
+
+    /**
+     * The default property value of the ring buffer size per consumer thread of
+     * {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_VALUE = "1024";
+
+    /**
+     * The property name of the ring buffer size per consumer thread of
+     * {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor} in Spring :
+     * "microsphere.redis.interceptor.async.buffer-size", which is rounded up to the power of two
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_PROPERTY_NAME_PREFIX + "buffer-size";
+
+    /**
+     * The default ring buffer size per consumer thread of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE = parseInt(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the consumer threads of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_VALUE = "1";
+
+    /**
+     * The property name of the consumer threads of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     * in Spring : "microsphere.redis.interceptor.async.consumers"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_PROPERTY_NAME_PREFIX + "consumers";
+
+    /**
+     * The default count of the consumer threads of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS = parseInt(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the batch size of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE_PROPERTY_VALUE = "64";
+
+    /**
+     * The property name of the maximum batch size of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     * in Spring : "microsphere.redis.interceptor.async.batch-size"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_PROPERTY_NAME_PREFIX + "batch-size";
+
+    /**
+     * The default maximum batch size of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE = parseInt(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the overflow policy of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_VALUE = "drop";
+
+    /**
+     * The property name of the overflow policy of {@link io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor}
+     * in Spring : "microsphere.redis.interceptor.async.overflow-policy", the value is "drop" or "block"
+     */
+    @ConfigurationProperty(
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_PROPERTY_NAME_PREFIX + "overflow-policy";
+
+    /**
+     * The prefix of the property names of {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector}
+     */
+    String MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_PROPERTY_NAME_PREFIX = MICROSPHERE_REDIS_INTERCEPTOR_PROPERTY_NAME_PREFIX + "hot-key.";
+
+    /**
+     * The default property value of the capacity of the top hot keys per window of
+     * {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY_PROPERTY_VALUE = "32";
+
+    /**
+     * The property name of the capacity of the top hot keys per window of
+     * {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector} in Spring :
+     * "microsphere.redis.interceptor.hot-key.capacity"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_PROPERTY_NAME_PREFIX + "capacity";
+
+    /**
+     * The default capacity of the top hot keys per window of {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY = parseInt(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the window in milliseconds of
+     * {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW_PROPERTY_VALUE = "10000";
+
+    /**
+     * The property name of the window in milliseconds of {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector}
+     * in Spring : "microsphere.redis.interceptor.hot-key.window"
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_PROPERTY_NAME_PREFIX + "window";
+
+    /**
+     * The default window in milliseconds of {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector}
+     */
+    long DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW = parseLong(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the threshold of the hot key event of
+     * {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD_PROPERTY_VALUE = "0";
+
+    /**
+     * The property name of the threshold of the hot key event of
+     * {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector} in Spring :
+     * "microsphere.redis.interceptor.hot-key.threshold", the event is published once per window when the estimated
+     * count of a top hot key reaches it, non-positive value disables the event
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_PROPERTY_NAME_PREFIX + "threshold";
+
+    /**
+     * The default threshold of the hot key event of {@link io.microsphere.redis.spring.interceptor.RedisHotKeyDetector}
+     */
+    long DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD = parseLong(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD_PROPERTY_VALUE);
+
+    /**
+     * The prefix of the property names of {@link io.microsphere.redis.spring.interceptor.RedisBigKeyDetector}
+     */
+    String MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_PROPERTY_NAME_PREFIX = MICROSPHERE_REDIS_INTERCEPTOR_PROPERTY_NAME_PREFIX + "big-key.";
+
+    /**
+     * The default property value of the capacity of the largest offenders of
+     * {@link io.microsphere.redis.spring.interceptor.RedisBigKeyDetector}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY_PROPERTY_VALUE = "16";
+
+    /**
+     * The property name of the capacity of the largest offenders of
+     * {@link io.microsphere.redis.spring.interceptor.RedisBigKeyDetector} in Spring :
+     * "microsphere.redis.interceptor.big-key.capacity"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_PROPERTY_NAME_PREFIX + "capacity";
+
+    /**
+     * The default capacity of the largest offenders of {@link io.microsphere.redis.spring.interceptor.RedisBigKeyDetector}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY = parseInt(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the threshold in bytes of the largest offenders of
+     * {@link io.microsphere.redis.spring.interceptor.RedisBigKeyDetector}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD_PROPERTY_VALUE = "10240";
+
+    /**
+     * The property name of the threshold in bytes of the largest offenders of
+     * {@link io.microsphere.redis.spring.interceptor.RedisBigKeyDetector} in Spring :
+     * "microsphere.redis.interceptor.big-key.threshold", the request or the response whose size is less than it is
+     * only recorded by the size histograms
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_PROPERTY_NAME_PREFIX + "threshold";
+
+    /**
+     * The default threshold in bytes of the largest offenders of {@link io.microsphere.redis.spring.interceptor.RedisBigKeyDetector}
+     */
+    long DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD = parseLong(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD_PROPERTY_VALUE);
+
+    /**
+     * The prefix of the property names of {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog}
+     */
+    String MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_PROPERTY_NAME_PREFIX = MICROSPHERE_REDIS_INTERCEPTOR_PROPERTY_NAME_PREFIX + "slow-log.";
+
+    /**
+     * The default property value of {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog} enabled
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED_PROPERTY_VALUE = "false";
+
+    /**
+     * The property name of {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog} enabled in Spring Boot :
+     * "microsphere.redis.interceptor.slow-log.enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_PROPERTY_NAME_PREFIX + "enabled";
+
+    /**
+     * The default {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog} enabled
+     */
+    boolean DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED = parseBoolean(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the capacity of the entries of
+     * {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY_PROPERTY_VALUE = "128";
+
+    /**
+     * The property name of the capacity of the entries of
+     * {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog} in Spring :
+     * "microsphere.redis.interceptor.slow-log.capacity"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_PROPERTY_NAME_PREFIX + "capacity";
+
+    /**
+     * The default capacity of the entries of {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY = parseInt(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the threshold in milliseconds of
+     * {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD_PROPERTY_VALUE = "10";
+
+    /**
+     * The property name of the threshold in milliseconds of
+     * {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog} in Spring :
+     * "microsphere.redis.interceptor.slow-log.threshold", the command whose duration is less than it is not logged
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_PROPERTY_NAME_PREFIX + "threshold";
+
+    /**
+     * The default threshold in milliseconds of {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog}
+     */
+    long DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD = parseLong(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the max length of the argument preview of
+     * {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH_PROPERTY_VALUE = "128";
+
+    /**
+     * The property name of the max length of the argument preview of
+     * {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog} in Spring :
+     * "microsphere.redis.interceptor.slow-log.max-argument-length"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_PROPERTY_NAME_PREFIX + "max-argument-length";
+
+    /**
+     * The default max length of the argument preview of {@link io.microsphere.redis.spring.interceptor.RedisSlowCommandLog}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH = parseInt(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH_PROPERTY_VALUE);
+
+    /**
+     * The prefix of the property names of {@link io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor}
+     */
+    String MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_PROPERTY_NAME_PREFIX = MICROSPHERE_REDIS_INTERCEPTOR_PROPERTY_NAME_PREFIX + "observation.";
+
+    /**
+     * The default property value of the high-cardinality key tag enabled of
+     * {@link io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED_PROPERTY_VALUE = "false";
+
+    /**
+     * The property name of the high-cardinality key tag enabled of
+     * {@link io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor} in Spring :
+     * "microsphere.redis.interceptor.observation.key-enabled"
+     */
+    @ConfigurationProperty(
+            type = boolean.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_PROPERTY_NAME_PREFIX + "key-enabled";
+
+    /**
+     * The default high-cardinality key tag enabled of
+     * {@link io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor}
+     */
+    boolean DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED = parseBoolean(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED_PROPERTY_VALUE);
+
+    /**
+     * The prefix of the property names of {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor}
+     */
+    String MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_PROPERTY_NAME_PREFIX = MICROSPHERE_REDIS_INTERCEPTOR_PROPERTY_NAME_PREFIX + "capture.";
+
+    /**
+     * The default property value of the directory of the capture files of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_VALUE = "${java.io.tmpdir}/microsphere-redis-capture";
+
+    /**
+     * The property name of the directory of the capture files of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor} in Spring :
+     * "microsphere.redis.interceptor.capture.directory"
+     */
+    @ConfigurationProperty(
+            type = String.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_PROPERTY_NAME_PREFIX + "directory";
+
+    /**
+     * The default property value of the prefix of the capture file names of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_VALUE = "redis-capture";
+
+    /**
+     * The property name of the prefix of the capture file names of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor} in Spring :
+     * "microsphere.redis.interceptor.capture.file-name-prefix"
+     */
+    @ConfigurationProperty(
+            type = String.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_PROPERTY_NAME_PREFIX + "file-name-prefix";
+
+    /**
+     * The default property value of the write buffer size in bytes of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE_PROPERTY_VALUE = "65536";
+
+    /**
+     * The property name of the write buffer size in bytes of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor} in Spring :
+     * "microsphere.redis.interceptor.capture.buffer-size"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_PROPERTY_NAME_PREFIX + "buffer-size";
+
+    /**
+     * The default write buffer size in bytes of {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE = parseInt(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the max size of a capture file in bytes of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE_PROPERTY_VALUE = "67108864";
+
+    /**
+     * The property name of the max size of a capture file in bytes of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor} in Spring :
+     * "microsphere.redis.interceptor.capture.max-file-size"
+     */
+    @ConfigurationProperty(
+            type = long.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_PROPERTY_NAME_PREFIX + "max-file-size";
+
+    /**
+     * The default max size of a capture file in bytes of {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor}
+     */
+    long DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE = parseLong(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE_PROPERTY_VALUE);
+
+    /**
+     * The default property value of the max count of the retained capture files of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor}
+     */
+    String DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES_PROPERTY_VALUE = "16";
+
+    /**
+     * The property name of the max count of the retained capture files of
+     * {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor} in Spring :
+     * "microsphere.redis.interceptor.capture.max-files"
+     */
+    @ConfigurationProperty(
+            type = int.class,
+            defaultValue = DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES_PROPERTY_VALUE,
+            source = APPLICATION_SOURCE
+    )
+    String MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES_PROPERTY_NAME = MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_PROPERTY_NAME_PREFIX + "max-files";
+
+    /**
+     * The default max count of the retained capture files of {@link io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor}
+     */
+    int DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES = parseInt(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES_PROPERTY_VALUE);
+
     /**
      * The default placeholder of Wrapped {@link RedisTemplate} list of Spring Bean names.
      */
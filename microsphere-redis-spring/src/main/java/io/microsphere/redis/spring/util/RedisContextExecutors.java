@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.util;
+
+import io.microsphere.annotation.Nullable;
+import io.microsphere.lang.DelegatingWrapper;
+import io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory;
+import io.microsphere.redis.spring.interceptor.RedisMethodContext;
+import io.microsphere.util.Utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.callWithTarget;
+import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.getTargetBeanName;
+import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.runWithTarget;
+
+/**
+ * The utilities to propagate the current Redis execution context, including the {@link RedisMethodContext} and the
+ * target of {@link DynamicRedisConnectionFactory}, from the submitting thread into the child tasks. The context is
+ * captured when the task is wrapped, and is bound during the task only, so the pooled or virtual threads never retain
+ * it.
+ *
+ * <h3>Example Usage</h3>
+ * <pre>{@code
+ *   ExecutorService executorService = RedisContextExecutors.wrap(Executors.newVirtualThreadPerTaskExecutor());
+ *
+ *   DynamicRedisConnectionFactory.switchTarget("anotherRedisConnectionFactory");
+ *   try {
+ *       // The task uses the "anotherRedisConnectionFactory" as well
+ *       executorService.submit(() -> redisTemplate.opsForValue().get("key"));
+ *   } finally {
+ *       DynamicRedisConnectionFactory.clearTarget();
+ *   }
+ * }</pre>
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodContext#call(RedisMethodContext, Callable)
+ * @see DynamicRedisConnectionFactory#callWithTarget(String, Callable)
+ * @since 1.0.0
+ */
+public abstract class RedisContextExecutors implements Utils {
+
+    /**
+     * Wraps the {@link Executor} to propagate the current context into the executed tasks.
+     *
+     * @param executor the {@link Executor} to wrap
+     * @return non-null
+     */
+    public static Executor wrap(Executor executor) {
+        if (executor instanceof ExecutorService) {
+            return wrap((ExecutorService) executor);
+        }
+        return command -> executor.execute(wrap(command));
+    }
+
+    /**
+     * Wraps the {@link ExecutorService} to propagate the current context into the submitted tasks.
+     *
+     * @param executorService the {@link ExecutorService} to wrap
+     * @return non-null
+     */
+    public static ExecutorService wrap(ExecutorService executorService) {
+        if (executorService instanceof ContextPropagatingExecutorService) {
+            return executorService;
+        }
+        return new ContextPropagatingExecutorService(executorService);
+    }
+
+    /**
+     * Wraps the {@link Runnable} with the context captured from the current thread.
+     *
+     * @param runnable the task to wrap
+     * @return the original task if there is no context to propagate
+     */
+    public static Runnable wrap(Runnable runnable) {
+        RedisMethodContext<?> redisMethodContext = captureRedisMethodContext();
+        String targetBeanName = getTargetBeanName();
+        if (redisMethodContext == null && targetBeanName == null) {
+            return runnable;
+        }
+        return () -> runWithTarget(targetBeanName, () -> RedisMethodContext.run(redisMethodContext, runnable));
+    }
+
+    /**
+     * Wraps the {@link Callable} with the context captured from the current thread.
+     *
+     * @param callable the task to wrap
+     * @param <V>      the type of result
+     * @return the original task if there is no context to propagate
+     */
+    public static <V> Callable<V> wrap(Callable<V> callable) {
+        RedisMethodContext<?> redisMethodContext = captureRedisMethodContext();
+        String targetBeanName = getTargetBeanName();
+        if (redisMethodContext == null && targetBeanName == null) {
+            return callable;
+        }
+        return () -> callWithTarget(targetBeanName, () -> RedisMethodContext.call(redisMethodContext, callable));
+    }
+
+    /**
+     * Captures the current {@link RedisMethodContext}, the recyclable one is {@link RedisMethodContext#retain() retained}
+     * because it will be reset after the execution.
+     *
+     * @return {@code null} if absent or released
+     */
+    @Nullable
+    static RedisMethodContext<?> captureRedisMethodContext() {
+        RedisMethodContext<?> redisMethodContext = RedisMethodContext.get();
+        if (redisMethodContext == null || !redisMethodContext.isActive()) {
+            return null;
+        }
+        return redisMethodContext.retain();
+    }
+
+    static <V> List<Callable<V>> wrap(Collection<? extends Callable<V>> tasks) {
+        List<Callable<V>> wrappedTasks = new ArrayList<>(tasks.size());
+        for (Callable<V> task : tasks) {
+            wrappedTasks.add(wrap(task));
+        }
+        return wrappedTasks;
+    }
+
+    static class ContextPropagatingExecutorService implements ExecutorService, DelegatingWrapper {
+
+        private final ExecutorService delegate;
+
+        ContextPropagatingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            this.delegate.execute(wrap(command));
+        }
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            return this.delegate.submit(wrap(task));
+        }
+
+        @Override
+        public <T> Future<T> submit(Runnable task, T result) {
+            return this.delegate.submit(wrap(task), result);
+        }
+
+        @Override
+        public Future<?> submit(Runnable task) {
+            return this.delegate.submit(wrap(task));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+            return this.delegate.invokeAll(wrap(tasks));
+        }
+
+        @Override
+        public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException {
+            return this.delegate.invokeAll(wrap(tasks), timeout, unit);
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+            return this.delegate.invokeAny(wrap(tasks));
+        }
+
+        @Override
+        public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return this.delegate.invokeAny(wrap(tasks), timeout, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            this.delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return this.delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return this.delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return this.delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return this.delegate.awaitTermination(timeout, unit);
+        }
+
+        @Override
+        public Object getDelegate() {
+            return this.delegate;
+        }
+    }
+
+    private RedisContextExecutors() {
+    }
+}
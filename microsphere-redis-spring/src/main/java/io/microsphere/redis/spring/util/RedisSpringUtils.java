@@ -23,8 +23,12 @@ import io.microsphere.annotation.Nullable;
 import io.microsphere.lang.DelegatingWrapper;
 import io.microsphere.logging.Logger;
 import io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor;
+import io.microsphere.redis.spring.event.RedisCommandEventListener;
+import io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.ReactiveRedisCommandInterceptor;
 import io.microsphere.redis.spring.interceptor.RedisCommandInterceptor;
 import io.microsphere.redis.spring.interceptor.RedisConnectionInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisMethodSampler.Strategy;
 import io.microsphere.util.Utils;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ListableBeanFactory;
@@ -38,25 +42,35 @@ import org.springframework.data.redis.core.RedisTemplate;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import static io.microsphere.collection.MapUtils.newLinkedHashMap;
 import static io.microsphere.collection.SetUtils.newLinkedHashSet;
 import static io.microsphere.collection.SetUtils.ofSet;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.redis.spring.util.RedisConstants.ALL_WRAPPED_REDIS_TEMPLATE_BEAN_NAMES;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_ENABLED;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ENABLED;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_VALUE;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_SPRING_APPLICATION_NAME_PROPERTY_VALUE;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_ENABLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ENABLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_COMMAND_RATES_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.SPRING_APPLICATION_NAME_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.WRAPPED_REDIS_TEMPLATE_BEAN_NAMES_PROPERTY_NAME;
 import static io.microsphere.spring.beans.BeanUtils.getBeanNames;
 import static io.microsphere.spring.beans.BeanUtils.getSortedBeans;
 import static io.microsphere.util.ArrayUtils.EMPTY_STRING_ARRAY;
 import static io.microsphere.util.ArrayUtils.isEmpty;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
 import static org.springframework.util.StringUtils.commaDelimitedListToSet;
@@ -69,7 +83,7 @@ import static org.springframework.util.StringUtils.trimAllWhitespace;
  *   <li>Reading Redis-related configuration properties from the Spring {@link Environment}</li>
  *   <li>Looking up {@link RedisTemplate} and {@link RedisConnectionFactory} beans in the
  *       application context</li>
- *   <li>Finding {@link RedisCommandInterceptor} and {@link RedisConnectionInterceptor} beans</li>
+ *   <li>Finding {@link RedisCommandInterceptor}, {@link ReactiveRedisCommandInterceptor} and {@link RedisConnectionInterceptor} beans</li>
  *   <li>Resolving the set of {@link RedisTemplate} bean names to wrap</li>
  * </ul>
  *
@@ -142,6 +156,72 @@ public abstract class RedisSpringUtils implements Utils {
                 DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ENABLED, "Interceptor", "enabled");
     }
 
+    /**
+     * Test the {@link io.microsphere.redis.spring.interceptor.RedisMethodContext} recycled by Microsphere Redis
+     * Interceptor or not.
+     *
+     * @param environment {@link Environment}
+     * @return <code>true</code> if recycled , or <code>false</code>
+     */
+    public static boolean isMicrosphereRedisInterceptorContextRecycled(Environment environment) {
+        return getBoolean(environment, MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED, "Interceptor Context", "recycled");
+    }
+
+    /**
+     * Get the sampling {@link Strategy} of Microsphere Redis Interceptors
+     *
+     * @param environment {@link Environment}
+     * @return {@link Strategy#FIXED_RATE} by default
+     */
+    public static Strategy getMicrosphereRedisInterceptorSamplingStrategy(Environment environment) {
+        String propertyValue = environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_NAME,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_VALUE);
+        return Strategy.resolve(propertyValue);
+    }
+
+    /**
+     * Get the sampling rate of Microsphere Redis Interceptors
+     *
+     * @param environment {@link Environment}
+     * @return <code>1.0</code> by default, all calls are sampled
+     */
+    public static double getMicrosphereRedisInterceptorSamplingRate(Environment environment) {
+        return environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME, Double.class,
+                DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE);
+    }
+
+    /**
+     * Get the sampling rates per Redis command of Microsphere Redis Interceptors, the property value is the
+     * comma-delimited "{command}={rate}" pairs, e.g. "GET=0.01,HGETALL=0.1"
+     *
+     * @param environment {@link Environment}
+     * @return non-null {@link Map} whose key is the upper-case Redis command name, the invalid pairs are ignored
+     */
+    @Nonnull
+    public static Map<String, Double> getMicrosphereRedisInterceptorSamplingCommandRates(Environment environment) {
+        String propertyValue = environment.getProperty(MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_COMMAND_RATES_PROPERTY_NAME);
+        if (!hasText(propertyValue)) {
+            return emptyMap();
+        }
+        Set<String> pairs = commaDelimitedListToSet(trimAllWhitespace(propertyValue));
+        Map<String, Double> commandRates = newLinkedHashMap(pairs.size());
+        for (String pair : pairs) {
+            int index = pair.indexOf('=');
+            if (index < 1) {
+                logger.warn("The sampling command rate '{}' is invalid, the pattern is '{command}={rate}'", pair);
+                continue;
+            }
+            String command = pair.substring(0, index).toUpperCase();
+            try {
+                commandRates.put(command, Double.valueOf(pair.substring(index + 1)));
+            } catch (NumberFormatException e) {
+                logger.warn("The sampling rate of command '{}' is invalid : '{}'", command, pair);
+            }
+        }
+        return commandRates;
+    }
+
     /**
      * Get the wrapped RedisTemplate bean names from the Spring container.
      *
@@ -216,6 +296,42 @@ public abstract class RedisSpringUtils implements Utils {
         return getSortedBeans(beanFactory, RedisCommandInterceptor.class);
     }
 
+    /**
+     * Find the {@link AsyncRedisCommandInterceptor} Beans from the {@link BeanFactory}
+     *
+     * @param beanFactory {@link ListableBeanFactory}
+     * @return non-null
+     */
+    @Nonnull
+    @Immutable
+    public static List<AsyncRedisCommandInterceptor> findAsyncRedisCommandInterceptors(ListableBeanFactory beanFactory) {
+        return getSortedBeans(beanFactory, AsyncRedisCommandInterceptor.class);
+    }
+
+    /**
+     * Find the {@link RedisCommandEventListener} Beans from the {@link BeanFactory}
+     *
+     * @param beanFactory {@link ListableBeanFactory}
+     * @return non-null
+     */
+    @Nonnull
+    @Immutable
+    public static List<RedisCommandEventListener> findRedisCommandEventListeners(ListableBeanFactory beanFactory) {
+        return getSortedBeans(beanFactory, RedisCommandEventListener.class);
+    }
+
+    /**
+     * Find the {@link ReactiveRedisCommandInterceptor} Beans from the {@link BeanFactory}
+     *
+     * @param beanFactory {@link ListableBeanFactory}
+     * @return non-null
+     */
+    @Nonnull
+    @Immutable
+    public static List<ReactiveRedisCommandInterceptor> findReactiveRedisCommandInterceptors(ListableBeanFactory beanFactory) {
+        return getSortedBeans(beanFactory, ReactiveRedisCommandInterceptor.class);
+    }
+
     /**
      * Find the {@link RedisConnectionInterceptor} Beans from the {@link BeanFactory}
      *
@@ -1,23 +1,31 @@
 package io.microsphere.redis.spring.util;
 
 import io.microsphere.annotation.Nonnull;
+import io.microsphere.annotation.Nullable;
 import io.microsphere.logging.Logger;
+import io.microsphere.redis.metadata.MethodInfo;
 import io.microsphere.redis.metadata.Parameter;
 import io.microsphere.redis.metadata.ParameterMetadata;
 import io.microsphere.redis.spring.event.RedisCommandEvent;
+import io.microsphere.redis.spring.serializer.Serializers;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterNode;
 import org.springframework.data.redis.connection.RedisCommands;
 import org.springframework.data.redis.connection.RedisConnection;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
 
+import static io.microsphere.collection.MapUtils.newLinkedHashMap;
 import static io.microsphere.constants.SymbolConstants.DOT_CHAR;
 import static io.microsphere.logging.LoggerFactory.getLogger;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getWriteParameterMetadataList;
-import static io.microsphere.redis.spring.serializer.Serializers.serializeRawParameter;
 import static io.microsphere.redis.util.RedisCommandUtils.buildMethodId;
 import static io.microsphere.redis.util.RedisCommandUtils.buildParameterMetadataList;
 import static io.microsphere.redis.util.RedisCommandUtils.isRedisWriteCommand;
@@ -25,6 +33,7 @@ import static io.microsphere.redis.util.RedisUtils.CLASS_LOADER;
 import static io.microsphere.reflect.MethodUtils.findMethod;
 import static io.microsphere.util.StringUtils.INDEX_NOT_FOUND;
 import static io.microsphere.util.StringUtils.isNotBlank;
+import static org.springframework.data.redis.util.ByteUtils.getBytes;
 import static org.springframework.util.ClassUtils.forName;
 
 /**
@@ -156,14 +165,36 @@ public abstract class SpringRedisCommandUtils {
      */
     public static final Method REDIS_COMMANDS_EXECUTE_METHOD = findMethod(RedisCommands.class, "execute", String.class, byte[][].class);
 
+    /**
+     * The slot of the Redis command without any key, e.g. {@code PING}
+     */
+    public static final int NO_SLOT = -1;
+
+    /**
+     * The index of the parameter that is absent in the Redis command method
+     */
+    public static final int NO_PARAMETER_INDEX = -1;
+
+    static final String BYTE_ARRAY_TYPE_NAME = byte[].class.getName();
+
     static final int REDIS_COMMANDS_PACKAGE_NAME_LENGTH = REDIS_COMMANDS_PACKAGE_NAME.length();
 
     static final String REDIS_COMMANDS_INTERFACE_NAME_PREFIX = REDIS_COMMANDS_PACKAGE_NAME + "Redis";
 
     static final String REACTIVE_COMMANDS_INTERFACE_NAME_PREFIX = REDIS_COMMANDS_PACKAGE_NAME + "Reactive";
 
+    static final int REACTIVE_COMMANDS_INTERFACE_NAME_PREFIX_LENGTH = REACTIVE_COMMANDS_INTERFACE_NAME_PREFIX.length();
+
     static final String REDIS_COMMANDS_INTERFACE_NAME_SUFFIX = "Commands";
 
+    static final String KEY_PARAMETER_NAME = "key";
+
+    static final String KEYS_PARAMETER_NAME = "keys";
+
+    static final String KEY_PARAMETER_NAME_SUFFIX = "Key";
+
+    static final String KEYS_PARAMETER_NAME_SUFFIX = "Keys";
+
     static final ConcurrentMap<String, Class<?>> classesCache = new ConcurrentHashMap<>(256);
 
     /**
@@ -232,6 +263,188 @@ public abstract class SpringRedisCommandUtils {
                         || interfaceClassName.startsWith(REACTIVE_COMMANDS_INTERFACE_NAME_PREFIX));
     }
 
+    /**
+     * Returns {@code true} if the given class name follows the Spring Data Redis reactive command interface naming
+     * convention ({@code Reactive*Commands} in the {@code org.springframework.data.redis.connection} package).
+     *
+     * @param interfaceClassName the fully-qualified class name to test
+     * @return {@code true} if the name matches the reactive Redis command interface convention
+     */
+    public static boolean isReactiveRedisCommandsInterface(String interfaceClassName) {
+        return interfaceClassName.endsWith(REDIS_COMMANDS_INTERFACE_NAME_SUFFIX) &&
+                interfaceClassName.startsWith(REACTIVE_COMMANDS_INTERFACE_NAME_PREFIX);
+    }
+
+    /**
+     * Returns the name of the blocking Redis command interface that the given reactive one mirrors, e.g.
+     * {@code RedisStringCommands} for {@code ReactiveStringCommands}.
+     *
+     * @param reactiveInterfaceName the fully-qualified reactive Redis command interface name
+     * @return <code>null</code> if the given interface is not a reactive one
+     */
+    @Nullable
+    public static String resolveBlockingInterfaceName(String reactiveInterfaceName) {
+        if (isReactiveRedisCommandsInterface(reactiveInterfaceName)) {
+            return REDIS_COMMANDS_INTERFACE_NAME_PREFIX + reactiveInterfaceName.substring(REACTIVE_COMMANDS_INTERFACE_NAME_PREFIX_LENGTH);
+        }
+        return null;
+    }
+
+    /**
+     * Is the parameter type of the blocking Redis command method able to carry the argument of the reactive one or
+     * not, e.g. <code>byte[]</code> for {@link ByteBuffer}, <code>byte[][]</code> for {@link ByteBuffer} or
+     * {@link Collection}.
+     *
+     * @param reactiveParameterType the parameter type of the reactive Redis command method
+     * @param blockingParameterType the parameter type of the blocking Redis command method
+     * @return <code>true</code> if the argument can be converted by {@link #toBlockingRedisCommandArgs(Method, Object[])}
+     */
+    public static boolean isBlockingParameterType(Class<?> reactiveParameterType, Class<?> blockingParameterType) {
+        if (reactiveParameterType.equals(blockingParameterType)) {
+            return true;
+        } else if (ByteBuffer.class.equals(reactiveParameterType)) {
+            return byte[].class.equals(blockingParameterType) || byte[][].class.equals(blockingParameterType);
+        } else if (Collection.class.isAssignableFrom(reactiveParameterType)) {
+            return byte[][].class.equals(blockingParameterType);
+        }
+        return false;
+    }
+
+    /**
+     * Converts the arguments of the reactive Redis command method to the ones of the blocking Redis command method,
+     * whose parameter types are {@link #isBlockingParameterType(Class, Class) compatible}, the {@link ByteBuffer}
+     * arguments are copied to <code>byte[]</code> without changing their positions.
+     *
+     * @param blockingMethod the blocking Redis command method
+     * @param args           the arguments of the reactive Redis command method
+     * @return non-null
+     */
+    @Nonnull
+    public static Object[] toBlockingRedisCommandArgs(Method blockingMethod, Object[] args) {
+        Class<?>[] parameterTypes = blockingMethod.getParameterTypes();
+        int length = parameterTypes.length;
+        Object[] blockingArgs = new Object[length];
+        for (int i = 0; i < length; i++) {
+            blockingArgs[i] = toBlockingRedisCommandArg(parameterTypes[i], args[i]);
+        }
+        return blockingArgs;
+    }
+
+    static Object toBlockingRedisCommandArg(Class<?> parameterType, Object arg) {
+        if (arg instanceof ByteBuffer) {
+            byte[] bytes = getBytes((ByteBuffer) arg);
+            return byte[][].class.equals(parameterType) ? new byte[][]{bytes} : bytes;
+        } else if (arg instanceof Collection && byte[][].class.equals(parameterType)) {
+            Collection<?> elements = (Collection<?>) arg;
+            byte[][] bytesArray = new byte[elements.size()][];
+            int i = 0;
+            for (Object element : elements) {
+                bytesArray[i++] = (byte[]) toBlockingRedisCommandArg(byte[].class, element);
+            }
+            return bytesArray;
+        } else if (arg instanceof Map) {
+            Map<?, ?> entries = (Map<?, ?>) arg;
+            Map<Object, Object> blockingEntries = newLinkedHashMap(entries.size());
+            entries.forEach((key, value) -> blockingEntries.put(toBlockingRedisCommandArg(byte[].class, key),
+                    toBlockingRedisCommandArg(byte[].class, value)));
+            return blockingEntries;
+        }
+        return arg;
+    }
+
+    /**
+     * Resolves the index of the key parameter of the Redis command method from the parameter names of its metadata,
+     * e.g. <code>key</code>, <code>keys</code>, <code>sourceKey</code> or <code>destinationKey</code>, the first one
+     * wins if the method has more than one key parameter.
+     *
+     * @param methodInfo the {@link MethodInfo} of the Redis command method
+     * @return {@link #NO_PARAMETER_INDEX} if the method has no key parameter
+     */
+    public static int resolveKeyParameterIndex(@Nullable MethodInfo methodInfo) {
+        if (methodInfo == null) {
+            return NO_PARAMETER_INDEX;
+        }
+        for (ParameterMetadata parameterMetadata : methodInfo.getParameterMetadataList()) {
+            if (isKeyParameterName(parameterMetadata.getParameterName())) {
+                return parameterMetadata.getParameterIndex();
+            }
+        }
+        return NO_PARAMETER_INDEX;
+    }
+
+    /**
+     * Resolves the index of the key parameter of the single-key Redis command method, whose only key parameter is
+     * <code>key</code>, e.g. INCR or LPUSH, while the methods with the multiple or variable keys, e.g. DEL or RENAME,
+     * are excluded.
+     *
+     * @param methodInfo the {@link MethodInfo} of the Redis command method
+     * @return {@link #NO_PARAMETER_INDEX} if the method is not a single-key command
+     */
+    public static int resolveSingleKeyParameterIndex(@Nullable MethodInfo methodInfo) {
+        if (methodInfo == null) {
+            return NO_PARAMETER_INDEX;
+        }
+        int keyParameterIndex = NO_PARAMETER_INDEX;
+        for (ParameterMetadata parameterMetadata : methodInfo.getParameterMetadataList()) {
+            String parameterName = parameterMetadata.getParameterName();
+            if (isKeyParameterName(parameterName)) {
+                if (keyParameterIndex != NO_PARAMETER_INDEX || !KEY_PARAMETER_NAME.equals(parameterName)) {
+                    return NO_PARAMETER_INDEX;
+                }
+                keyParameterIndex = parameterMetadata.getParameterIndex();
+            }
+        }
+        return keyParameterIndex;
+    }
+
+    static boolean isKeyParameterName(@Nullable String parameterName) {
+        return parameterName != null && (KEY_PARAMETER_NAME.equals(parameterName)
+                || KEYS_PARAMETER_NAME.equals(parameterName)
+                || parameterName.endsWith(KEY_PARAMETER_NAME_SUFFIX)
+                || parameterName.endsWith(KEYS_PARAMETER_NAME_SUFFIX));
+    }
+
+    /**
+     * Resolves the index of the {@link RedisClusterNode} parameter of the node-specific Redis command method, e.g.
+     * {@link org.springframework.data.redis.connection.RedisClusterServerCommands#flushDb(RedisClusterNode)}.
+     *
+     * @param method the Redis command method
+     * @return {@link #NO_PARAMETER_INDEX} if the method is not node-specific
+     */
+    public static int resolveNodeParameterIndex(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (RedisClusterNode.class.equals(parameterTypes[i])) {
+                return i;
+            }
+        }
+        return NO_PARAMETER_INDEX;
+    }
+
+    /**
+     * Calculates the Redis Cluster hash slot (CRC16 of the key or its hash tag modulo 16384) of the key argument,
+     * the first key is used if the argument carries multiple keys.
+     *
+     * @param key the key argument, e.g. <code>byte[]</code>, <code>byte[][]</code>, {@link ByteBuffer} or the
+     *            {@link Collection} of them
+     * @return {@link #NO_SLOT} if the argument is <code>null</code>, empty or not supported
+     * @see ClusterSlotHashUtil#calculateSlot(byte[])
+     */
+    public static int calculateSlot(@Nullable Object key) {
+        if (key instanceof byte[]) {
+            return ClusterSlotHashUtil.calculateSlot((byte[]) key);
+        } else if (key instanceof ByteBuffer) {
+            return ClusterSlotHashUtil.calculateSlot(getBytes((ByteBuffer) key));
+        } else if (key instanceof byte[][]) {
+            byte[][] keys = (byte[][]) key;
+            return keys.length == 0 ? NO_SLOT : calculateSlot(keys[0]);
+        } else if (key instanceof Collection) {
+            Collection<?> keys = (Collection<?>) key;
+            return keys.isEmpty() ? NO_SLOT : calculateSlot(keys.iterator().next());
+        }
+        return NO_SLOT;
+    }
+
     /**
      * Retrieves the Redis command sub-object (e.g. the result of
      * {@code redisConnection.stringCommands()}) for the given interface name.  Falls back to
@@ -277,6 +490,27 @@ public abstract class SpringRedisCommandUtils {
     }
 
     /**
+     * Creates a {@link Parameter} whose raw value is serialized on demand, the value of <code>byte[]</code> type is
+     * used as the raw value directly without copying.
+     *
+     * @param parameterValue    the parameter value
+     * @param parameterMetadata the {@link ParameterMetadata}
+     * @return non-null
+     */
+    @Nonnull
+    public static Parameter newParameter(Object parameterValue, ParameterMetadata parameterMetadata) {
+        if (parameterValue instanceof byte[] && BYTE_ARRAY_TYPE_NAME.equals(parameterMetadata.getParameterType())) {
+            Parameter parameter = new Parameter(parameterValue, parameterMetadata);
+            parameter.setRawValue((byte[]) parameterValue);
+            return parameter;
+        }
+        return new Parameter(parameterValue, parameterMetadata, Serializers::serializeParameterValue);
+    }
+
+    /**
+     * Initializes the {@link Parameter Parameters} of the Redis command method, whose raw values are serialized on
+     * demand by {@link Parameter#getRawValue()}.
+     *
      * @param method         the Redis command {@link Method}
      * @param args           the parameter values of the Redis command {@link Method}
      * @param consumer       The one {@link BiConsumer BiConsumer} of {@link Parameter} and its index
@@ -311,9 +545,7 @@ public abstract class SpringRedisCommandUtils {
                 for (int i = 0; i < size; i++) {
                     Object parameterValue = args[i];
                     ParameterMetadata parameterMetadata = parameterMetadataList.get(i);
-                    Parameter parameter = new Parameter(parameterValue, parameterMetadata);
-                    // serialize parameter
-                    serializeRawParameter(parameter);
+                    Parameter parameter = newParameter(parameterValue, parameterMetadata);
                     // consumer one
                     consumer.accept(parameter, i);
                     // consumer others
@@ -17,6 +17,7 @@
 package io.microsphere.redis.spring;
 
 import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.event.RedisCommandBatchEvent;
 import io.microsphere.redis.spring.event.RedisCommandEvent;
 import io.microsphere.redis.spring.test.AbstractRedisTest;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,9 +26,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static io.microsphere.redis.spring.serializer.Serializers.STRING_SERIALIZER;
@@ -40,6 +44,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Abstract {@link RedisCommandEvent} Test
@@ -52,6 +57,8 @@ public abstract class AbstractRedisCommandEventTest extends AbstractRedisTest {
 
     private Map<Object, Object> data = new HashMap<>();
 
+    private int batchEvents;
+
     @Autowired
     protected RedisContext redisContext;
 
@@ -110,6 +117,36 @@ public abstract class AbstractRedisCommandEventTest extends AbstractRedisTest {
         if (!data.isEmpty()) {
             assertEquals(value3, data.get(key3));
         }
+
+        context.addApplicationListener((ApplicationListener<RedisCommandBatchEvent>) this::onRedisCommandBatchEvent);
+
+        String key4 = "Key-4" + suffix;
+        String value4 = "Value-4";
+        String key5 = "Key-5" + suffix;
+        String value5 = "Value-5";
+        List<Object> results = this.stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) {
+                operations.opsForValue().set(key4, value4);
+                operations.opsForValue().set(key5, value5);
+                return null;
+            }
+        });
+        assertEquals(2, results.size());
+
+        if (!data.isEmpty()) {
+            // The queued commands are published in the batched event once the pipeline is closed
+            assertTrue(this.batchEvents > 0);
+            assertEquals(value4, data.get(key4));
+            assertEquals(value5, data.get(key5));
+        }
+    }
+
+    void onRedisCommandBatchEvent(RedisCommandBatchEvent event) {
+        this.batchEvents++;
+        for (RedisCommandEvent redisCommandEvent : event) {
+            onRedisCommandEvent(redisCommandEvent);
+        }
     }
 
     void onRedisCommandEvent(RedisCommandEvent event) {
@@ -42,7 +42,8 @@ import static io.microsphere.spring.beans.BeanSource.SPRING_FACTORIES;
 @EnableRedisInterceptor(wrapRedisTemplates = {
         "${microsphere.redis.wrapped-rest-templates}",
         " redisTemplate , stringRedisTemplate"
-}, sources = {
+}, commandLatencyHistograms = true, hotKeyDetection = true, bigKeyDetection = true,
+        slowCommandLog = true, commandObservation = true, sources = {
         BEAN_FACTORY,
         SPRING_FACTORIES,
         JAVA_SERVICE_PROVIDER
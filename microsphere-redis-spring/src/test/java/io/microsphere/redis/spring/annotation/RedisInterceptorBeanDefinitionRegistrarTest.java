@@ -19,7 +19,17 @@ package io.microsphere.redis.spring.annotation;
 
 import io.microsphere.redis.spring.beans.RedisTemplateWrapperBeanPostProcessor;
 import io.microsphere.redis.spring.beans.WrapperProcessors;
+import io.microsphere.redis.spring.interceptor.EventPublishingReactiveRedisCommandInterceptor;
 import io.microsphere.redis.spring.interceptor.EventPublishingRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.FlightRecorderRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisBigKeyDetector;
+import io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor;
+import io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms;
+import io.microsphere.redis.spring.interceptor.RedisCommandStatistics;
+import io.microsphere.redis.spring.interceptor.RedisHotKeyDetector;
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog;
+import io.microsphere.redis.spring.metrics.RedisCommandLatencyMeterBinder;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -53,5 +63,15 @@ class RedisInterceptorBeanDefinitionRegistrarTest {
         assertFalse(isBeanPresent(this.beanFactory, RedisTemplateWrapperBeanPostProcessor.BEAN_NAME, RedisTemplateWrapperBeanPostProcessor.class));
         assertTrue(isBeanPresent(this.beanFactory, WrapperProcessors.BEAN_NAME, WrapperProcessors.class));
         assertFalse(isBeanPresent(this.beanFactory, EventPublishingRedisCommandInterceptor.BEAN_NAME, EventPublishingRedisCommandInterceptor.class));
+        assertFalse(isBeanPresent(this.beanFactory, EventPublishingReactiveRedisCommandInterceptor.BEAN_NAME, EventPublishingReactiveRedisCommandInterceptor.class));
+        assertTrue(isBeanPresent(this.beanFactory, RedisCommandStatistics.BEAN_NAME, RedisCommandStatistics.class));
+        assertFalse(isBeanPresent(this.beanFactory, RedisCommandLatencyHistograms.BEAN_NAME, RedisCommandLatencyHistograms.class));
+        assertFalse(isBeanPresent(this.beanFactory, RedisCommandLatencyMeterBinder.BEAN_NAME, RedisCommandLatencyMeterBinder.class));
+        assertFalse(isBeanPresent(this.beanFactory, RedisHotKeyDetector.BEAN_NAME, RedisHotKeyDetector.class));
+        assertFalse(isBeanPresent(this.beanFactory, RedisBigKeyDetector.BEAN_NAME, RedisBigKeyDetector.class));
+        assertFalse(isBeanPresent(this.beanFactory, RedisSlowCommandLog.BEAN_NAME, RedisSlowCommandLog.class));
+        assertTrue(isBeanPresent(this.beanFactory, FlightRecorderRedisCommandInterceptor.BEAN_NAME, FlightRecorderRedisCommandInterceptor.class));
+        assertFalse(isBeanPresent(this.beanFactory, ObservationRedisCommandInterceptor.BEAN_NAME, ObservationRedisCommandInterceptor.class));
+        assertFalse(isBeanPresent(this.beanFactory, RedisCommandCaptureInterceptor.BEAN_NAME, RedisCommandCaptureInterceptor.class));
     }
 }
@@ -17,13 +17,17 @@
 
 package io.microsphere.redis.spring.beans;
 
+import io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor.RedisConnectionFactoryCallbackFilter;
 import io.microsphere.redis.spring.config.RedisContextConfig;
 import io.microsphere.redis.spring.test.AbstractRedisTest;
 import org.junit.jupiter.api.Test;
+import org.springframework.aop.SpringProxy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisClusterConnection;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.test.context.ContextConfiguration;
@@ -32,11 +36,23 @@ import org.springframework.test.context.TestPropertySource;
 import java.lang.reflect.Proxy;
 import java.util.Map;
 
+import static io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor.DISPATCHER_CALLBACK_INDEX;
+import static io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor.GET_CLUSTER_CONNECTION_CALLBACK_INDEX;
+import static io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor.GET_CONNECTION_CALLBACK_INDEX;
+import static io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor.GET_REACTIVE_CONNECTION_CALLBACK_INDEX;
+import static io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor.NO_OVERRIDE_CALLBACK_INDEX;
 import static io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor.getRawRedisConnectionFactory;
+import static io.microsphere.redis.spring.beans.RedisConnectionFactoryProxyBeanPostProcessor.newProxyRedisConnectionFactory;
+import static io.microsphere.reflect.MethodUtils.findMethod;
 import static io.microsphere.spring.beans.factory.support.BeanRegistrar.registerBean;
+import static java.lang.System.identityHashCode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * {@link RedisConnectionFactoryProxyBeanPostProcessor} Test
@@ -70,6 +86,10 @@ class RedisConnectionFactoryProxyBeanPostProcessorTest extends AbstractRedisTest
     void test() {
         RedisConnection redisConnection = redisConnectionFactory.getConnection();
         assertFalse(redisConnection instanceof Proxy);
+        assertFalse(this.redisConnectionFactory instanceof SpringProxy);
+        assertEquals(this.redisConnectionFactory, this.redisConnectionFactory);
+        assertEquals(identityHashCode(this.redisConnectionFactory), this.redisConnectionFactory.hashCode());
+        redisConnection.close();
 
         String beanName = "redisConnectionFactory";
         RedisConnectionFactory rawRedisConnectionFactory = getRawRedisConnectionFactory(this.beanFactory, beanName);
@@ -81,4 +101,27 @@ class RedisConnectionFactoryProxyBeanPostProcessorTest extends AbstractRedisTest
         rawRedisConnectionFactory = getRawRedisConnectionFactory(beanFactory, beanName);
         assertSame(this.redisConnectionFactory, rawRedisConnectionFactory);
     }
+
+    @Test
+    void testGetClusterConnection() {
+        RedisConnectionFactory rawRedisConnectionFactory = mock(RedisConnectionFactory.class);
+        RedisClusterConnection rawClusterConnection = mock(RedisClusterConnection.class);
+        when(rawRedisConnectionFactory.getClusterConnection()).thenReturn(rawClusterConnection);
+        RedisConnectionFactory redisConnectionFactory = newProxyRedisConnectionFactory(rawRedisConnectionFactory, "redisConnectionFactory", this.beanFactory);
+        // The raw RedisClusterConnection is returned if the RedisContext is disabled
+        assertSame(rawClusterConnection, redisConnectionFactory.getClusterConnection());
+        verify(rawRedisConnectionFactory).getClusterConnection();
+    }
+
+    @Test
+    void testRedisConnectionFactoryCallbackFilter() {
+        RedisConnectionFactoryCallbackFilter filter = new RedisConnectionFactoryCallbackFilter();
+        assertEquals(GET_CONNECTION_CALLBACK_INDEX, filter.accept(findMethod(RedisConnectionFactory.class, "getConnection")));
+        assertEquals(GET_CLUSTER_CONNECTION_CALLBACK_INDEX, filter.accept(findMethod(RedisConnectionFactory.class, "getClusterConnection")));
+        assertEquals(GET_REACTIVE_CONNECTION_CALLBACK_INDEX, filter.accept(findMethod(ReactiveRedisConnectionFactory.class, "getReactiveConnection")));
+        assertEquals(GET_REACTIVE_CONNECTION_CALLBACK_INDEX, filter.accept(findMethod(ReactiveRedisConnectionFactory.class, "getReactiveClusterConnection")));
+        assertEquals(DISPATCHER_CALLBACK_INDEX, filter.accept(findMethod(Object.class, "toString")));
+        assertEquals(NO_OVERRIDE_CALLBACK_INDEX, filter.accept(findMethod(Object.class, "equals", Object.class)));
+        assertEquals(NO_OVERRIDE_CALLBACK_INDEX, filter.accept(findMethod(Object.class, "hashCode")));
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.capture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.FILE_NAME_SUFFIX;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.HEADER_LENGTH;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.MAGIC;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.MAX_ARGUMENTS;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.RECORD_FIXED_LENGTH;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.VERSION;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.fileName;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.recordLength;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureReader.listFiles;
+import static java.lang.System.nanoTime;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.size;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandCaptureLog} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandCaptureLog
+ * @since 1.0.0
+ */
+class RedisCommandCaptureLogTest {
+
+    private static final String PREFIX = "test-capture";
+
+    private static final byte[][] ARGUMENTS = {"key".getBytes(UTF_8), null};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testAppend() throws IOException {
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 64, 1024, 4);
+        long startTimeNanos = nanoTime();
+        assertTrue(captureLog.append(startTimeNanos, 7L, 100, ARGUMENTS));
+        assertEquals(1, captureLog.getRecordCount());
+        captureLog.close();
+
+        List<Path> files = listFiles(this.directory, PREFIX);
+        assertEquals(1, files.size());
+        ByteBuffer buffer = wrap(readAllBytes(files.get(0)));
+        assertEquals(MAGIC, buffer.getInt());
+        assertEquals(VERSION, buffer.get());
+        assertEquals(captureLog.getEpochMillis(), buffer.getLong());
+        assertEquals(recordLength(ARGUMENTS), buffer.getInt());
+        assertTrue(buffer.getLong() >= 0);
+        assertEquals(7L, buffer.getLong());
+        assertEquals(100, buffer.getInt());
+        assertEquals(2, buffer.get());
+        assertEquals(3, buffer.getInt());
+        byte[] key = new byte[3];
+        buffer.get(key);
+        assertArrayEquals(ARGUMENTS[0], key);
+        assertEquals(-1, buffer.getInt());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testFlush() throws IOException {
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 1024, 4096, 4);
+        captureLog.append(nanoTime(), 1L, 1, ARGUMENTS);
+        Path file = listFiles(this.directory, PREFIX).get(0);
+        assertEquals(0, size(file));
+        captureLog.flush();
+        assertEquals(HEADER_LENGTH + 4 + recordLength(ARGUMENTS), size(file));
+        captureLog.close();
+    }
+
+    @Test
+    void testOversizeRecord() throws IOException {
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 16, 4096, 4);
+        byte[][] arguments = {new byte[100]};
+        captureLog.append(nanoTime(), 1L, 1, arguments);
+        captureLog.append(nanoTime(), 1L, 1, ARGUMENTS);
+        captureLog.close();
+        Path file = listFiles(this.directory, PREFIX).get(0);
+        assertEquals(HEADER_LENGTH + 4 + recordLength(arguments) + 4 + recordLength(ARGUMENTS), size(file));
+    }
+
+    @Test
+    void testRoll() throws IOException {
+        int recordSize = 4 + recordLength(ARGUMENTS);
+        // Two records per file
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 64,
+                HEADER_LENGTH + recordSize * 2, 2);
+        for (int i = 0; i < 5; i++) {
+            captureLog.append(nanoTime(), 1L, i, ARGUMENTS);
+        }
+        captureLog.close();
+
+        List<Path> files = listFiles(this.directory, PREFIX);
+        // The oldest file is deleted
+        assertEquals(2, files.size());
+        assertEquals(fileName(PREFIX, captureLog.getEpochMillis(), 2), files.get(0).getFileName().toString());
+        assertEquals(fileName(PREFIX, captureLog.getEpochMillis(), 3), files.get(1).getFileName().toString());
+        assertEquals(HEADER_LENGTH + recordSize * 2, size(files.get(0)));
+        assertEquals(HEADER_LENGTH + recordSize, size(files.get(1)));
+    }
+
+    @Test
+    void testClose() throws IOException {
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory.resolve("absent"), PREFIX, 64, 1024, 4);
+        assertFalse(captureLog.isClosed());
+        captureLog.close();
+        assertTrue(captureLog.isClosed());
+        assertFalse(captureLog.append(nanoTime(), 1L, 1, ARGUMENTS));
+        captureLog.flush();
+        captureLog.close();
+        // No file is created without any record
+        assertTrue(listFiles(this.directory.resolve("absent"), PREFIX).isEmpty());
+    }
+
+    @Test
+    void testGetters() throws IOException {
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 64, 1024, 4);
+        assertEquals(this.directory, captureLog.getDirectory());
+        assertEquals(PREFIX, captureLog.getFileNamePrefix());
+        assertTrue(captureLog.getEpochMillis() > 0);
+        assertEquals(0, captureLog.getRecordCount());
+        captureLog.close();
+    }
+
+    @Test
+    void testRecordLength() {
+        assertEquals(RECORD_FIXED_LENGTH, recordLength(new byte[0][]));
+        assertEquals(RECORD_FIXED_LENGTH + 4 + 3 + 4, recordLength(ARGUMENTS));
+    }
+
+    @Test
+    void testFileName() {
+        assertEquals("redis-capture-1760000000000-000001" + FILE_NAME_SUFFIX, fileName("redis-capture", 1760000000000L, 1));
+    }
+
+    @Test
+    void testOnIllegalArguments() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandCaptureLog(this.directory, PREFIX, HEADER_LENGTH - 1, 1024, 4));
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandCaptureLog(this.directory, PREFIX, 64, HEADER_LENGTH, 4));
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandCaptureLog(this.directory, PREFIX, 64, 1024, 0));
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 64, 1024, 4);
+        assertThrows(IllegalArgumentException.class, () -> captureLog.append(nanoTime(), 1L, 1, new byte[MAX_ARGUMENTS + 1][]));
+        captureLog.close();
+    }
+}
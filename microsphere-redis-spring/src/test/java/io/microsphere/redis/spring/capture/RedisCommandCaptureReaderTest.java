@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.capture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.HEADER_LENGTH;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureLog.recordLength;
+import static io.microsphere.redis.spring.capture.RedisCommandCaptureReader.listFiles;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.System.nanoTime;
+import static java.nio.ByteBuffer.allocate;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.write;
+import static java.util.Arrays.copyOf;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandCaptureReader} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandCaptureReader
+ * @since 1.0.0
+ */
+class RedisCommandCaptureReaderTest {
+
+    private static final String PREFIX = "test-capture";
+
+    private static final byte[][] ARGUMENTS = {"key".getBytes(UTF_8), null};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRead() throws IOException {
+        int recordSize = 4 + recordLength(ARGUMENTS);
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 64,
+                HEADER_LENGTH + recordSize * 2, 4);
+        long startTimeNanos = nanoTime();
+        for (int i = 0; i < 5; i++) {
+            captureLog.append(startTimeNanos + i, i, i, ARGUMENTS);
+        }
+        captureLog.close();
+        assertEquals(3, listFiles(this.directory, PREFIX).size());
+
+        try (RedisCommandCaptureReader reader = new RedisCommandCaptureReader(this.directory, PREFIX)) {
+            assertEquals(-1L, reader.getEpochMillis());
+            long timestampNanos = Long.MIN_VALUE;
+            for (int i = 0; i < 5; i++) {
+                RedisCommandCaptureRecord record = reader.read();
+                assertEquals(i, record.getThreadId());
+                assertEquals(i, record.getMethodIndex());
+                assertTrue(record.getTimestampNanos() > timestampNanos);
+                timestampNanos = record.getTimestampNanos();
+                assertArrayEquals(ARGUMENTS[0], record.getRawArguments()[0]);
+                assertNull(record.getRawArguments()[1]);
+            }
+            assertEquals(captureLog.getEpochMillis(), reader.getEpochMillis());
+            assertNull(reader.read());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testReadTruncatedRecord() throws IOException {
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 64, 1024, 4);
+        captureLog.append(nanoTime(), 1L, 1, ARGUMENTS);
+        captureLog.append(nanoTime(), 2L, 2, ARGUMENTS);
+        captureLog.close();
+        Path file = listFiles(this.directory, PREFIX).get(0);
+        byte[] bytes = readAllBytes(file);
+        write(file, copyOf(bytes, bytes.length - 2));
+
+        try (RedisCommandCaptureReader reader = new RedisCommandCaptureReader(this.directory, PREFIX)) {
+            assertEquals(1L, reader.read().getThreadId());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testReadInvalidFile() throws IOException {
+        Path file = this.directory.resolve("invalid.rcap");
+        write(file, new byte[HEADER_LENGTH]);
+        try (RedisCommandCaptureReader reader = new RedisCommandCaptureReader(ofList(file))) {
+            assertThrows(IOException.class, reader::read);
+        }
+    }
+
+    @Test
+    void testReadInvalidRecordLength() throws IOException {
+        RedisCommandCaptureLog captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 64, 1024, 4);
+        captureLog.append(nanoTime(), 1L, 1, ARGUMENTS);
+        captureLog.close();
+        Path file = listFiles(this.directory, PREFIX).get(0);
+        byte[] bytes = readAllBytes(file);
+        // The length of the first record
+        bytes[HEADER_LENGTH + 3] = 1;
+        write(file, bytes);
+
+        try (RedisCommandCaptureReader reader = new RedisCommandCaptureReader(this.directory, PREFIX)) {
+            assertThrows(IOException.class, reader::read);
+        }
+    }
+
+    @Test
+    void testDecodeInvalidArgumentLength() {
+        byte[][] arguments = ofArray("key".getBytes(UTF_8));
+        ByteBuffer buffer = allocate(recordLength(arguments));
+        buffer.putLong(0L).putLong(1L).putInt(1).put((byte) 1).putInt(100);
+        assertThrows(IOException.class, () -> RedisCommandCaptureReader.decode(buffer.array()));
+    }
+
+    @Test
+    void testListFiles() throws IOException {
+        assertTrue(listFiles(this.directory.resolve("absent"), PREFIX).isEmpty());
+        write(this.directory.resolve("other-capture-1-000001.rcap"), new byte[0]);
+        write(this.directory.resolve(PREFIX + "-1-000002.rcap"), new byte[0]);
+        write(this.directory.resolve(PREFIX + "-1-000001.rcap"), new byte[0]);
+        write(this.directory.resolve(PREFIX + "-1-000003.log"), new byte[0]);
+        List<Path> files = listFiles(this.directory, PREFIX);
+        assertEquals(2, files.size());
+        assertEquals(PREFIX + "-1-000001.rcap", files.get(0).getFileName().toString());
+        assertEquals(PREFIX + "-1-000002.rcap", files.get(1).getFileName().toString());
+    }
+}
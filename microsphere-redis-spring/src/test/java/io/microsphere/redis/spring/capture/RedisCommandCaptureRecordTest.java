@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.capture;
+
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.lang.reflect.Method;
+
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getMethodIndex;
+import static io.microsphere.redis.spring.serializer.Serializers.serialize;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandCaptureRecord} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandCaptureRecord
+ * @since 1.0.0
+ */
+class RedisCommandCaptureRecordTest {
+
+    private static final Method SET_METHOD = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
+    private static final Method GET_RANGE_METHOD = findMethod(RedisStringCommands.class, "getRange", byte[].class, long.class, long.class);
+
+    @Test
+    void testGetters() {
+        byte[][] rawArguments = {"key".getBytes(UTF_8), "value".getBytes(UTF_8)};
+        int methodIndex = getMethodIndex(SET_METHOD);
+        RedisCommandCaptureRecord record = new RedisCommandCaptureRecord(100L, 7L, methodIndex, rawArguments);
+        assertEquals(100L, record.getTimestampNanos());
+        assertEquals(7L, record.getThreadId());
+        assertEquals(methodIndex, record.getMethodIndex());
+        assertSame(rawArguments, record.getRawArguments());
+        assertTrue(record.toString().contains("threadId=7"));
+    }
+
+    @Test
+    void testGetRedisMethodInvoker() {
+        RedisCommandCaptureRecord record = new RedisCommandCaptureRecord(0L, 1L, getMethodIndex(SET_METHOD), new byte[2][]);
+        RedisMethodInvoker redisMethodInvoker = record.getRedisMethodInvoker();
+        assertSame(SET_METHOD, redisMethodInvoker.getMethod());
+
+        record = new RedisCommandCaptureRecord(0L, 1L, -1, new byte[0][]);
+        assertNull(record.getRedisMethodInvoker());
+    }
+
+    @Test
+    void testGetArgs() {
+        byte[][] rawArguments = {"key".getBytes(UTF_8), null};
+        RedisCommandCaptureRecord record = new RedisCommandCaptureRecord(0L, 1L, getMethodIndex(SET_METHOD), rawArguments);
+        Object[] args = record.getArgs(SET_METHOD);
+        assertArrayEquals("key".getBytes(UTF_8), (byte[]) args[0]);
+        assertNull(args[1]);
+    }
+
+    @Test
+    void testGetArgsWithPrimitiveTypes() {
+        byte[][] rawArguments = {
+                "key".getBytes(UTF_8),
+                serialize(1L, long.class),
+                serialize(3L, long.class)
+        };
+        RedisCommandCaptureRecord record = new RedisCommandCaptureRecord(0L, 1L, getMethodIndex(GET_RANGE_METHOD), rawArguments);
+        Object[] args = record.getArgs(GET_RANGE_METHOD);
+        assertEquals(1L, args[1]);
+        assertEquals(3L, args[2]);
+    }
+
+    @Test
+    void testGetArgsOnMismatchedMethod() {
+        RedisCommandCaptureRecord record = new RedisCommandCaptureRecord(0L, 1L, getMethodIndex(SET_METHOD), new byte[1][]);
+        assertThrows(IllegalArgumentException.class, () -> record.getArgs(SET_METHOD));
+        assertThrows(IllegalArgumentException.class, () -> record.getArgs(null));
+    }
+}
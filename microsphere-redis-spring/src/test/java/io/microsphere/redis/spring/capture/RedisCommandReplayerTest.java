@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.capture;
+
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+
+import static io.microsphere.redis.spring.capture.RedisCommandReplayer.MAX_SPEED;
+import static io.microsphere.redis.spring.capture.RedisCommandReplayer.ORIGINAL_SPEED;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getMethodIndex;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static java.lang.System.nanoTime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandReplayer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandReplayer
+ * @since 1.0.0
+ */
+class RedisCommandReplayerTest extends AbstractRedisTest {
+
+    private static final String PREFIX = "test-capture";
+
+    private static final Method SET_METHOD = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
+    private static final int SET_METHOD_INDEX = getMethodIndex(SET_METHOD);
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @TempDir
+    Path directory;
+
+    private RedisCommandCaptureLog captureLog;
+
+    @BeforeEach
+    void setUp() {
+        this.captureLog = new RedisCommandCaptureLog(this.directory, PREFIX, 1024, 1024 * 1024, 4);
+    }
+
+    @Test
+    void testReplayAtMaxSpeed() throws Exception {
+        long startTimeNanos = nanoTime();
+        for (int i = 0; i < 10; i++) {
+            appendSet(startTimeNanos + i, i, "replay-" + i, "value-" + i);
+        }
+        // Overwrite the value by the same thread in order
+        appendSet(startTimeNanos + 10, 3, "replay-3", "value-last");
+        this.captureLog.close();
+
+        RedisCommandReplayer replayer = new RedisCommandReplayer(this.redisConnectionFactory, MAX_SPEED, 2);
+        assertEquals(11, replay(replayer));
+        assertEquals(11, replayer.getReplayedCount());
+        assertEquals(0, replayer.getFailedCount());
+        for (int i = 0; i < 10; i++) {
+            if (i != 3) {
+                assertEquals("value-" + i, this.stringRedisTemplate.opsForValue().get("replay-" + i));
+            }
+        }
+        assertEquals("value-last", this.stringRedisTemplate.opsForValue().get("replay-3"));
+    }
+
+    @Test
+    void testReplayAtOriginalSpeed() throws Exception {
+        long startTimeNanos = nanoTime();
+        appendSet(startTimeNanos, 1, "replay-original", "v1");
+        appendSet(startTimeNanos + MILLISECONDS.toNanos(100), 2, "replay-original", "v2");
+        this.captureLog.close();
+
+        RedisCommandReplayer replayer = new RedisCommandReplayer(this.redisConnectionFactory, ORIGINAL_SPEED, 1);
+        long elapsedNanos = nanoTime();
+        assertEquals(2, replay(replayer));
+        elapsedNanos = nanoTime() - elapsedNanos;
+        assertTrue(elapsedNanos >= MILLISECONDS.toNanos(100));
+        assertEquals("v2", this.stringRedisTemplate.opsForValue().get("replay-original"));
+    }
+
+    @Test
+    void testReplayAtScaledSpeed() throws Exception {
+        long startTimeNanos = nanoTime();
+        appendSet(startTimeNanos, 1, "replay-scaled", "v1");
+        appendSet(startTimeNanos + MILLISECONDS.toNanos(200), 1, "replay-scaled", "v2");
+        this.captureLog.close();
+
+        RedisCommandReplayer replayer = new RedisCommandReplayer(this.redisConnectionFactory, 4.0, 1);
+        long elapsedNanos = nanoTime();
+        assertEquals(2, replay(replayer));
+        elapsedNanos = nanoTime() - elapsedNanos;
+        assertTrue(elapsedNanos >= MILLISECONDS.toNanos(50));
+        assertEquals(4.0, replayer.getSpeed());
+        assertEquals(1, replayer.getConcurrency());
+    }
+
+    @Test
+    void testReplayOnFailedAndSkippedRecords() throws Exception {
+        long startTimeNanos = nanoTime();
+        // The null key fails
+        this.captureLog.append(startTimeNanos, 1, SET_METHOD_INDEX, new byte[][]{null, "value".getBytes(UTF_8)});
+        // The method is absent
+        this.captureLog.append(startTimeNanos, 1, -1, new byte[0][]);
+        this.captureLog.close();
+
+        RedisCommandReplayer replayer = new RedisCommandReplayer(this.redisConnectionFactory, MAX_SPEED, 1);
+        assertEquals(2, replay(replayer));
+        assertEquals(0, replayer.getReplayedCount());
+        assertEquals(1, replayer.getFailedCount());
+        assertEquals(1, replayer.getSkippedCount());
+    }
+
+    @Test
+    void testReplayWithoutRecords() throws Exception {
+        RedisCommandReplayer replayer = new RedisCommandReplayer(this.redisConnectionFactory, MAX_SPEED, 1);
+        assertEquals(0, replay(replayer));
+    }
+
+    @Test
+    void testOnIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandReplayer(null, MAX_SPEED, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandReplayer(this.redisConnectionFactory, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandReplayer(this.redisConnectionFactory, MAX_SPEED, 0));
+    }
+
+    private void appendSet(long startTimeNanos, long threadId, String key, String value) throws IOException {
+        this.captureLog.append(startTimeNanos, threadId, SET_METHOD_INDEX, new byte[][]{key.getBytes(UTF_8), value.getBytes(UTF_8)});
+    }
+
+    private long replay(RedisCommandReplayer replayer) throws Exception {
+        try (RedisCommandCaptureReader reader = new RedisCommandCaptureReader(this.directory, PREFIX)) {
+            return replayer.replay(reader);
+        }
+    }
+}
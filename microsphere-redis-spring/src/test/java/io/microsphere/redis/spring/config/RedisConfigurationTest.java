@@ -18,6 +18,7 @@
 package io.microsphere.redis.spring.config;
 
 import io.microsphere.redis.spring.event.RedisConfigurationPropertyChangedEvent;
+import io.microsphere.redis.spring.interceptor.RedisMethodSampler;
 import io.microsphere.redis.spring.test.AbstractRedisTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +33,8 @@ import static io.microsphere.collection.Sets.ofSet;
 import static io.microsphere.redis.spring.config.RedisConfiguration.BEAN_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_ENABLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -73,6 +76,8 @@ class RedisConfigurationTest extends AbstractRedisTest {
         assertEquals("test-service", this.redisConfiguration.getApplicationName());
         assertFalse(this.redisConfiguration.isEnabled());
         assertTrue(this.redisConfiguration.isCommandEventExposed());
+        assertFalse(this.redisConfiguration.isContextRecycled());
+        assertTrue(this.redisConfiguration.getRedisMethodSampler().isAlways());
 
         RedisConfigurationPropertyChangedEvent event = new RedisConfigurationPropertyChangedEvent(this.context, ofSet("test"));
         this.context.publishEvent(event);
@@ -89,5 +94,28 @@ class RedisConfigurationTest extends AbstractRedisTest {
         event = new RedisConfigurationPropertyChangedEvent(this.context, ofSet(MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME));
         this.context.publishEvent(event);
         assertTrue(this.redisConfiguration.isCommandEventExposed());
+
+        propertySource.setProperty(MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME, "true");
+        event = new RedisConfigurationPropertyChangedEvent(this.context, ofSet(MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME));
+        this.context.publishEvent(event);
+        assertTrue(this.redisConfiguration.isContextRecycled());
+
+        propertySource.setProperty(MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME, "0.1");
+        event = new RedisConfigurationPropertyChangedEvent(this.context, ofSet(MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME));
+        this.context.publishEvent(event);
+        RedisMethodSampler redisMethodSampler = this.redisConfiguration.getRedisMethodSampler();
+        assertFalse(redisMethodSampler.isAlways());
+        assertEquals(0.1, redisMethodSampler.getRate(null));
+
+        // All properties changed together are applied
+        propertySource.setProperty(MICROSPHERE_REDIS_ENABLED_PROPERTY_NAME, "false");
+        propertySource.setProperty(MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME, "false");
+        propertySource.setProperty(MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME, "0.5");
+        event = new RedisConfigurationPropertyChangedEvent(this.context, ofSet(MICROSPHERE_REDIS_ENABLED_PROPERTY_NAME,
+                MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME, MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME));
+        this.context.publishEvent(event);
+        assertFalse(this.redisConfiguration.isEnabled());
+        assertFalse(this.redisConfiguration.isContextRecycled());
+        assertEquals(0.5, this.redisConfiguration.getRedisMethodSampler().getRate(null));
     }
 }
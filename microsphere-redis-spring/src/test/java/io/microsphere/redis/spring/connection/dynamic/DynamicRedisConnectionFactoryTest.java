@@ -30,7 +30,10 @@ import org.springframework.test.context.ContextConfiguration;
 
 import static io.microsphere.collection.Maps.ofMap;
 import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.DEFAULT_REDIS_CONNECTION_FACTORY_BEAN_NAME;
+import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.callWithTarget;
 import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.clearTarget;
+import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.getTargetBeanName;
+import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.runWithTarget;
 import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.switchTarget;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -104,6 +107,21 @@ class DynamicRedisConnectionFactoryTest extends AbstractRedisTest {
         assertNull(this.dynamicRedisConnectionFactory.getClusterConnection());
     }
 
+    @Test
+    void testCallWithTargetAndRunWithTarget() throws Exception {
+        switchTarget(REDIS_CONNECTION_FACTORY_BEAN_NAME);
+        assertSame(this.mockRedisConnectionFactory, callWithTarget(MOCK_REDIS_CONNECTION_FACTORY_BEAN_NAME,
+                this.dynamicRedisConnectionFactory::determineTargetRedisConnectionFactory));
+        // the previous target was restored
+        assertEquals(REDIS_CONNECTION_FACTORY_BEAN_NAME, getTargetBeanName());
+
+        runWithTarget(null, () -> {
+            assertNull(getTargetBeanName());
+            assertSame(this.redisConnectionFactory, this.dynamicRedisConnectionFactory.determineTargetRedisConnectionFactory());
+        });
+        assertEquals(REDIS_CONNECTION_FACTORY_BEAN_NAME, getTargetBeanName());
+    }
+
     void assertRedisConnectionFactory() {
         assertEquals(REDIS_CONNECTION_FACTORY_BEAN_NAME, DEFAULT_REDIS_CONNECTION_FACTORY_BEAN_NAME);
         assertSame(this.redisConnectionFactory, this.dynamicRedisConnectionFactory.determineTargetRedisConnectionFactory());
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.event.RedisCommandEvent.Builder.source;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.core.Ordered.LOWEST_PRECEDENCE;
+
+/**
+ * {@link ApplicationEventPublishingRedisCommandEventListener} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ApplicationEventPublishingRedisCommandEventListener
+ * @since 1.0.0
+ */
+class ApplicationEventPublishingRedisCommandEventListenerTest {
+
+    @Test
+    void testOnEvents() throws Throwable {
+        List<Object> publishedEvents = new ArrayList<>();
+        ApplicationEventPublishingRedisCommandEventListener listener = new ApplicationEventPublishingRedisCommandEventListener(publishedEvents::add);
+
+        List<RedisCommandEvent> events = ofList(newRedisCommandEvent("v1"), newRedisCommandEvent("v2"));
+        listener.onEvents(events);
+        assertEquals(events, publishedEvents);
+    }
+
+    @Test
+    void testOnEventsOnFailed() {
+        RedisCommandEvent failedEvent = newRedisCommandEvent("v1");
+        List<Object> publishedEvents = new ArrayList<>();
+        ApplicationEventPublishingRedisCommandEventListener listener = new ApplicationEventPublishingRedisCommandEventListener(event -> {
+            if (event == failedEvent) {
+                throw new IllegalStateException("For testing");
+            }
+            publishedEvents.add(event);
+        });
+
+        // The failure of the first event does not drop the rest of the batch
+        RedisCommandEvent event = newRedisCommandEvent("v2");
+        listener.onEvents(ofList(failedEvent, event));
+        assertEquals(ofList(event), publishedEvents);
+    }
+
+    @Test
+    void testGetOrder() {
+        assertEquals(LOWEST_PRECEDENCE, new ApplicationEventPublishingRedisCommandEventListener(event -> {
+        }).getOrder());
+    }
+
+    private RedisCommandEvent newRedisCommandEvent(String value) {
+        return source(this)
+                .applicationName("default")
+                .sourceBeanName("redisTemplate")
+                .method(findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class))
+                .args("key".getBytes(), value.getBytes())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.util.List;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.event.RedisCommandEvent.Builder.source;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandBatchEvent} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandBatchEvent
+ * @since 1.0.0
+ */
+class RedisCommandBatchEventTest {
+
+    @Test
+    void test() {
+        RedisCommandEvent setEvent = source(this)
+                .applicationName("default")
+                .sourceBeanName("redisTemplate")
+                .method(findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class))
+                .args("key".getBytes(), "value".getBytes())
+                .build();
+        RedisCommandEvent getEvent = source(this)
+                .applicationName("default")
+                .sourceBeanName("redisTemplate")
+                .method(findMethod(RedisStringCommands.class, "get", byte[].class))
+                .args("key".getBytes())
+                .build();
+
+        RedisCommandBatchEvent event = new RedisCommandBatchEvent(this, ofList(setEvent, getEvent));
+        assertSame(this, event.getSource());
+        assertEquals(2, event.size());
+
+        List<RedisCommandEvent> redisCommandEvents = event.getRedisCommandEvents();
+        assertSame(setEvent, redisCommandEvents.get(0));
+        assertSame(getEvent, redisCommandEvents.get(1));
+        assertThrows(UnsupportedOperationException.class, () -> redisCommandEvents.add(setEvent));
+
+        int i = 0;
+        for (RedisCommandEvent redisCommandEvent : event) {
+            assertSame(redisCommandEvents.get(i++), redisCommandEvent);
+        }
+        assertTrue(event.toString().startsWith("RedisCommandBatchEvent["));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.event;
+
+import io.microsphere.redis.spring.interceptor.RedisHotKeyDetector.HotKey;
+import io.microsphere.redis.spring.interceptor.RedisHotKeyDetector;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEvent;
+
+import static java.lang.System.currentTimeMillis;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisHotKeyEvent} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisHotKeyEvent
+ * @since 1.0.0
+ */
+class RedisHotKeyEventTest {
+
+    @Test
+    void test() {
+        RedisHotKeyDetector detector = new RedisHotKeyDetector();
+        HotKey hotKey = new HotKey("key".getBytes(), 100, false, currentTimeMillis());
+        RedisHotKeyEvent event = new RedisHotKeyEvent(detector, hotKey, "GET", "redisTemplate");
+        assertTrue(event instanceof ApplicationEvent);
+        assertSame(detector, event.getSource());
+        assertSame(hotKey, event.getHotKey());
+        assertEquals("GET", event.getCommand());
+        assertEquals("redisTemplate", event.getSourceBeanName());
+
+        event = new RedisHotKeyEvent(detector, hotKey, "GET", null);
+        assertNull(event.getSourceBeanName());
+    }
+}
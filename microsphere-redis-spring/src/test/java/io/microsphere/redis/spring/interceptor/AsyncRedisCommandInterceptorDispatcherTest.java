@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.OverflowPolicy;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.MAX_IDLE_PARK_NANOS;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.MIN_IDLE_PARK_NANOS;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.OverflowPolicy.BLOCK;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.OverflowPolicy.DROP;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.START_TIME_NANOS_KEY;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.nextIdleParkNanos;
+import static io.microsphere.redis.spring.metadata.RedisMethodInvoker.NON_COMMAND_ORDINAL;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.core.Ordered.LOWEST_PRECEDENCE;
+
+/**
+ * {@link AsyncRedisCommandInterceptorDispatcher} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see AsyncRedisCommandInterceptorDispatcher
+ * @since 1.0.0
+ */
+@ContextConfiguration(classes = {
+        RedisContextConfig.class,
+        AsyncRedisCommandInterceptorDispatcherTest.class
+})
+class AsyncRedisCommandInterceptorDispatcherTest extends AbstractRedisTest {
+
+    private static final Method SET_COMMAND_METHOD = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    private RedisConnection redisConnection;
+
+    private RecordingAsyncRedisCommandInterceptor interceptor;
+
+    private AsyncRedisCommandInterceptorDispatcher dispatcher;
+
+    @Bean
+    public static RecordingAsyncRedisCommandInterceptor recordingAsyncRedisCommandInterceptor() {
+        return new RecordingAsyncRedisCommandInterceptor(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+        this.interceptor = new RecordingAsyncRedisCommandInterceptor(1);
+        this.dispatcher = new AsyncRedisCommandInterceptorDispatcher(singletonList(this.interceptor), 16, 1, 8, DROP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.dispatcher.destroy();
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testRedisContext() {
+        AsyncRedisCommandInterceptorDispatcher dispatcher = this.redisContext.getAsyncRedisCommandInterceptorDispatcher();
+        assertNotNull(dispatcher);
+        assertTrue(dispatcher.isRunning());
+        List<RedisCommandInterceptor> redisCommandInterceptors = this.redisContext.getRedisCommandInterceptors();
+        assertSame(dispatcher, redisCommandInterceptors.get(redisCommandInterceptors.size() - 1));
+    }
+
+    @Test
+    void testAfterExecute() throws Throwable {
+        this.dispatcher.start();
+        RedisMethodContext context = newRedisMethodContext();
+        long beforeNanos = nanoTime();
+        this.dispatcher.beforeExecute(context);
+        this.dispatcher.afterExecute(context, true, null);
+
+        assertTrue(this.interceptor.latch.await(5, SECONDS));
+        RedisCommandSnapshot snapshot = this.interceptor.snapshots.get(0);
+        assertSame(SET_COMMAND_METHOD, snapshot.getMethod());
+        assertNotNull(snapshot.getMethodInfo());
+        assertSame(SET_METHOD_ARGS, snapshot.getArgs());
+        assertEquals(true, snapshot.getResult());
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, snapshot.getSourceBeanName());
+        assertTrue(snapshot.getDurationNanos() >= 0);
+        // The shared context is not started by the dispatcher
+        assertEquals(-1, context.getStartTimeNanos());
+        assertFalse(context.hasAttribute(START_TIME_NANOS_KEY));
+        assertTrue(snapshot.getStartTimeNanos() - beforeNanos >= 0);
+        assertEquals(currentThread().getId(), snapshot.getThreadId());
+        assertEquals(1, this.dispatcher.getQueuedCount());
+        assertEquals(0, this.dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void testUnsupportedMethod() throws Throwable {
+        this.dispatcher.start();
+        RedisMethodContext context = new RedisMethodContext(this.redisConnection, findMethod(RedisConnection.class, "close"),
+                EMPTY_OBJECT_ARRAY, this.redisContext);
+        this.dispatcher.beforeExecute(context);
+        this.dispatcher.afterExecute(context, null, null);
+        this.dispatcher.destroy();
+
+        // The snapshot is consumed, but not passed to the interceptor that supports SET only
+        assertEquals(1, this.dispatcher.getQueuedCount());
+        assertEquals(0, this.dispatcher.getPendingCount());
+        assertTrue(this.interceptor.snapshots.isEmpty());
+    }
+
+    @Test
+    void testDropOnOverflow() {
+        // Not started
+        RedisCommandSnapshot snapshot = new RedisCommandSnapshot(SET_COMMAND_METHOD, null, NON_COMMAND_ORDINAL, SET_METHOD_ARGS,
+                null, null, 0L, null);
+        assertFalse(this.dispatcher.dispatch(snapshot));
+        assertEquals(1, this.dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void testFailedInterceptor() throws Throwable {
+        this.interceptor.failure = new IllegalStateException("For testing");
+        this.dispatcher.start();
+        RedisMethodContext context = newRedisMethodContext();
+        this.dispatcher.beforeExecute(context);
+        this.dispatcher.afterExecute(context, true, null);
+        this.dispatcher.destroy();
+        assertEquals(1, this.dispatcher.getFailedCount());
+    }
+
+    @Test
+    void testSupports() {
+        assertTrue(this.dispatcher.supports(getRedisMethodInvoker(SET_COMMAND_METHOD).getMethodInfo()));
+        assertFalse(this.dispatcher.supports(null));
+        assertEquals(LOWEST_PRECEDENCE, this.dispatcher.getOrder());
+        assertSame(DROP, this.dispatcher.getOverflowPolicy());
+    }
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncRedisCommandInterceptorDispatcher(singletonList(this.interceptor), 0, 1, 8, DROP));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncRedisCommandInterceptorDispatcher(singletonList(this.interceptor), 16, 0, 8, DROP));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncRedisCommandInterceptorDispatcher(singletonList(this.interceptor), 16, 1, 0, DROP));
+    }
+
+    @Test
+    void testOf() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty(MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_NAME, "32");
+        environment.setProperty(MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_NAME, "2");
+        environment.setProperty(MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME, "block");
+        AsyncRedisCommandInterceptorDispatcher dispatcher = AsyncRedisCommandInterceptorDispatcher.of(singletonList(this.interceptor), environment);
+        assertSame(BLOCK, dispatcher.getOverflowPolicy());
+        assertFalse(dispatcher.isRunning());
+        dispatcher.start();
+        assertTrue(dispatcher.isRunning());
+        dispatcher.destroy();
+        assertFalse(dispatcher.isRunning());
+    }
+
+    @Test
+    void testOverflowPolicyResolve() {
+        assertSame(DROP, OverflowPolicy.resolve("drop", BLOCK));
+        assertSame(BLOCK, OverflowPolicy.resolve(" Block ", DROP));
+        // The unknown value falls back to the default policy of the caller
+        assertSame(DROP, OverflowPolicy.resolve("unknown", DROP));
+        assertSame(BLOCK, OverflowPolicy.resolve("unknown", BLOCK));
+        assertSame(BLOCK, OverflowPolicy.resolve(null, BLOCK));
+    }
+
+    @Test
+    void testNextIdleParkNanos() {
+        long idleParkNanos = MIN_IDLE_PARK_NANOS;
+        assertEquals(MIN_IDLE_PARK_NANOS * 2, nextIdleParkNanos(idleParkNanos));
+        for (int i = 0; i < 64; i++) {
+            idleParkNanos = nextIdleParkNanos(idleParkNanos);
+        }
+        assertEquals(MAX_IDLE_PARK_NANOS, idleParkNanos);
+    }
+
+    private RedisMethodContext newRedisMethodContext() {
+        return new RedisMethodContext(this.redisConnection, SET_COMMAND_METHOD, SET_METHOD_ARGS, this.redisContext,
+                this.redisConnectionFactory, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+    }
+
+    @RedisInterceptorScope(commands = "SET")
+    static class RecordingAsyncRedisCommandInterceptor implements AsyncRedisCommandInterceptor {
+
+        private final int order;
+
+        private final List<RedisCommandSnapshot> snapshots = new CopyOnWriteArrayList<>();
+
+        private volatile CountDownLatch latch = new CountDownLatch(1);
+
+        private volatile Throwable failure;
+
+        RecordingAsyncRedisCommandInterceptor(int order) {
+            this.order = order;
+        }
+
+        @Override
+        public void onExecuted(RedisCommandSnapshot snapshot) throws Throwable {
+            Throwable failure = this.failure;
+            if (failure != null) {
+                throw failure;
+            }
+            this.snapshots.add(snapshot);
+            this.latch.countDown();
+        }
+
+        @Override
+        public int getOrder() {
+            return this.order;
+        }
+    }
+}
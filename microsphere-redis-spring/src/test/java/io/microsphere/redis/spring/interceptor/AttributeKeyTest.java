@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.redis.spring.interceptor.AttributeKey.size;
+import static io.microsphere.redis.spring.interceptor.AttributeKey.valueOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link AttributeKey} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see AttributeKey
+ * @since 1.0.0
+ */
+class AttributeKeyTest {
+
+    @Test
+    void testValueOf() {
+        AttributeKey<String> key = valueOf("attribute-key-test");
+        assertEquals("attribute-key-test", key.getName());
+        assertSame(key, valueOf("attribute-key-test"));
+        assertTrue(key.getIndex() < size());
+
+        AttributeKey<Long> anotherKey = valueOf("attribute-key-test-another");
+        assertNotEquals(key.getIndex(), anotherKey.getIndex());
+        assertTrue(anotherKey.getIndex() < size());
+        assertEquals("AttributeKey{name='attribute-key-test', index=" + key.getIndex() + "}", key.toString());
+    }
+
+    @Test
+    void testValueOfOnBlankName() {
+        assertThrows(IllegalArgumentException.class, () -> valueOf(null));
+        assertThrows(IllegalArgumentException.class, () -> valueOf(" "));
+    }
+}
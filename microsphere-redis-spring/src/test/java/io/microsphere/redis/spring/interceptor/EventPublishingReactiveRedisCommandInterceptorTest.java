@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.event.RedisCommandEvent;
+import io.microsphere.redis.spring.event.RedisConfigurationPropertyChangedEvent;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.ReactiveKeyCommands;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.mock.env.MockPropertySource;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.serializer.RedisCommandEventSerializer.VERSION_V1;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Boolean.TRUE;
+import static java.nio.ByteBuffer.wrap;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link EventPublishingReactiveRedisCommandInterceptor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see EventPublishingReactiveRedisCommandInterceptor
+ * @since 1.0.0
+ */
+@ContextConfiguration(
+        classes = {
+                RedisContextConfig.class,
+                EventPublishingReactiveRedisCommandInterceptor.class,
+                EventPublishingReactiveRedisCommandInterceptorTest.class
+        }
+)
+class EventPublishingReactiveRedisCommandInterceptorTest extends AbstractRedisTest {
+
+    private static final Method REACTIVE_SET_METHOD = findMethod(ReactiveStringCommands.class, "set", ByteBuffer.class, ByteBuffer.class);
+
+    private static final Method REACTIVE_GET_METHOD = findMethod(ReactiveStringCommands.class, "get", ByteBuffer.class);
+
+    private static final Method REACTIVE_DEL_METHOD = findMethod(ReactiveKeyCommands.class, "del", ByteBuffer.class);
+
+    private static final Method BLOCKING_SET_METHOD = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private EventPublishingReactiveRedisCommandInterceptor interceptor;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    private MockPropertySource mockPropertySource;
+
+    private List<RedisCommandEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        this.mockPropertySource = new MockPropertySource();
+        this.context.getEnvironment().getPropertySources().addFirst(this.mockPropertySource);
+        publishRedisConfigurationPropertyChangedEvent();
+        this.events = new ArrayList<>();
+        this.context.addApplicationListener((ApplicationListener<RedisCommandEvent>) this.events::add);
+    }
+
+    @Test
+    void testAfterExecute() {
+        assertTrue(this.interceptor.isEnabled());
+        assertEquals(0, this.interceptor.getOrder());
+
+        RedisMethodContext<Object> context = newSetContext();
+        assertNull(this.interceptor.afterExecute(context, TRUE, null).block());
+        assertEquals(1, this.events.size());
+
+        // The event is published with the blocking Redis command method and its arguments
+        RedisCommandEvent event = this.events.get(0);
+        assertSame(BLOCKING_SET_METHOD, event.getMethod());
+        assertEquals("set", event.getMethodName());
+        assertArrayEquals((byte[]) SET_METHOD_ARGS[0], (byte[]) event.getArg(0));
+        assertArrayEquals((byte[]) SET_METHOD_ARGS[1], (byte[]) event.getArg(1));
+        assertArrayEquals(ofArray(byte[].class, byte[].class), event.getParameterTypes());
+        assertEquals(VERSION_V1, event.getSerializationVersion());
+        assertEquals(this.redisContext.getApplicationName(), event.getApplicationName());
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, event.getSourceBeanName());
+
+        // The single key is converted to the array of keys
+        context = new RedisMethodContext<>(mock(ReactiveKeyCommands.class), REACTIVE_DEL_METHOD, ofArray(wrap((byte[]) SET_METHOD_ARGS[0])), this.redisContext);
+        this.interceptor.afterExecute(context, 1L, null).block();
+        assertEquals(2, this.events.size());
+        byte[][] keys = (byte[][]) this.events.get(1).getArg(0);
+        assertArrayEquals((byte[]) SET_METHOD_ARGS[0], keys[0]);
+    }
+
+    @Test
+    void testAfterExecuteOnReadMethod() {
+        RedisMethodContext<Object> context = new RedisMethodContext<>(mock(ReactiveStringCommands.class), REACTIVE_GET_METHOD, ofArray(wrap((byte[]) SET_METHOD_ARGS[0])), this.redisContext);
+        this.interceptor.afterExecute(context, null, null).block();
+        assertTrue(this.events.isEmpty());
+    }
+
+    @Test
+    void testAfterExecuteOnDisabled() {
+        disable();
+        this.interceptor.afterExecute(newSetContext(), TRUE, null).block();
+        assertTrue(this.events.isEmpty());
+    }
+
+    @Test
+    void testAfterExecuteOnFailed() {
+        this.interceptor.afterExecute(newSetContext(), null, new RuntimeException("For testing...")).block();
+        assertTrue(this.events.isEmpty());
+    }
+
+    private RedisMethodContext<Object> newSetContext() {
+        Object[] args = ofArray(wrap((byte[]) SET_METHOD_ARGS[0]), wrap((byte[]) SET_METHOD_ARGS[1]));
+        return new RedisMethodContext<>(mock(ReactiveStringCommands.class), REACTIVE_SET_METHOD, args, this.redisContext,
+                this.redisContext, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+    }
+
+    private void disable() {
+        this.mockPropertySource.setProperty(MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME, "false");
+        publishRedisConfigurationPropertyChangedEvent();
+    }
+
+    private void publishRedisConfigurationPropertyChangedEvent() {
+        this.context.publishEvent(new RedisConfigurationPropertyChangedEvent(this.context, ofSet(MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME)));
+    }
+}
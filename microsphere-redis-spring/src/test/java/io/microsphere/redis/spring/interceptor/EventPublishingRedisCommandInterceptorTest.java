@@ -19,6 +19,7 @@ package io.microsphere.redis.spring.interceptor;
 
 import io.microsphere.redis.spring.config.RedisContextConfig;
 import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.event.RedisCommandBatchEvent;
 import io.microsphere.redis.spring.event.RedisCommandEvent;
 import io.microsphere.redis.spring.event.RedisConfigurationPropertyChangedEvent;
 import io.microsphere.redis.spring.test.AbstractRedisTest;
@@ -28,19 +29,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.RedisCommands;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.mock.env.MockPropertySource;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
+import static io.microsphere.collection.Lists.ofList;
 import static io.microsphere.collection.Sets.ofSet;
 import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
 import static io.microsphere.reflect.MethodUtils.findMethod;
 import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
 import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Boolean.TRUE;
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -129,6 +136,35 @@ class EventPublishingRedisCommandInterceptorTest extends AbstractRedisTest {
         assertInterceptor();
     }
 
+    @Test
+    void testOnBatch() {
+        List<RedisCommandBatchEvent> events = new ArrayList<>();
+        this.context.addApplicationListener((ApplicationListener<RedisCommandBatchEvent>) events::add);
+
+        Method method = findMethod(RedisConnection.class, "randomKey");
+        RedisMethodContext readContext = new RedisMethodContext(this.redisConnection, method, EMPTY_OBJECT_ARRAY, this.redisContext);
+        RedisMethodContext failedContext = new RedisMethodContext(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext);
+        List<RedisMethodContext<RedisCommands>> contexts = ofList(this.redisMethodContext, readContext, failedContext);
+        List<Object> results = asList(TRUE, "key", new RuntimeException("For testing"));
+
+        this.interceptor.onBatch(contexts, results);
+        // One batched event for the successful write command only
+        assertEquals(1, events.size());
+        RedisCommandBatchEvent event = events.get(0);
+        assertSame(contexts, event.getSource());
+        assertEquals(1, event.size());
+        assertSame(SET_METHOD, event.getRedisCommandEvents().get(0).getMethod());
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, event.getRedisCommandEvents().get(0).getSourceBeanName());
+
+        // No write command
+        this.interceptor.onBatch(ofList(readContext), asList("key"));
+        assertEquals(1, events.size());
+
+        disable();
+        this.interceptor.onBatch(contexts, results);
+        assertEquals(1, events.size());
+    }
+
     private void disable() {
         this.mockPropertySource.setProperty(MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME, "false");
         publishRedisConfigurationPropertyChangedEvent();
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.interceptor.FlightRecorderRedisCommandInterceptor.EVENT_KEY;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link FlightRecorderRedisCommandInterceptor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see FlightRecorderRedisCommandInterceptor
+ * @see RedisCommandJfrEvent
+ * @since 1.0.0
+ */
+@ContextConfiguration(
+        classes = {
+                RedisContextConfig.class,
+                FlightRecorderRedisCommandInterceptor.class,
+                FlightRecorderRedisCommandInterceptorTest.class
+        }
+)
+class FlightRecorderRedisCommandInterceptorTest extends AbstractRedisTest {
+
+    private static final Method GET_METHOD = findMethod(RedisStringCommands.class, "get", byte[].class);
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private RedisConnection redisConnection;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private FlightRecorderRedisCommandInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testDisabled() {
+        RedisMethodContext<RedisCommands> context = createContext(SET_METHOD, SET_METHOD_ARGS);
+        this.interceptor.beforeExecute(context);
+        assertFalse(context.hasAttribute(EVENT_KEY));
+        this.interceptor.afterExecute(context, null, null);
+    }
+
+    @Test
+    void testEnabled() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(RedisCommandJfrEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            execute(SET_METHOD, SET_METHOD_ARGS, Boolean.TRUE, null);
+            execute(GET_METHOD, ofArray((Object) "key".getBytes()), null, new RuntimeException());
+            execute(findMethod(RedisConnection.class, "close"), EMPTY_OBJECT_ARRAY, null, null);
+
+            recording.stop();
+            Path path = Files.createTempFile("redis-command", ".jfr");
+            try {
+                recording.dump(path);
+                events = RecordingFile.readAllEvents(path).stream()
+                        .filter(event -> RedisCommandJfrEvent.NAME.equals(event.getEventType().getName()))
+                        .collect(toList());
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+
+        assertEquals(3, events.size());
+
+        RecordedEvent event = events.get(0);
+        assertEquals("SET", event.getString("command"));
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, event.getString("sourceBeanName"));
+        assertEquals(3, event.getInt("keyLength"));
+        assertEquals(8, event.getLong("payloadBytes"));
+        assertEquals(0, event.getLong("resultBytes"));
+        assertNull(event.getString("errorClass"));
+        assertFalse(event.getDuration().isNegative());
+
+        event = events.get(1);
+        assertEquals("GET", event.getString("command"));
+        assertEquals(RedisStringCommands.class.getName(), event.getString("interfaceName"));
+        assertEquals(RuntimeException.class.getName(), event.getString("errorClass"));
+
+        event = events.get(2);
+        assertEquals("close", event.getString("command"));
+        assertEquals(0, event.getInt("keyLength"));
+    }
+
+    @Test
+    void testThreshold() {
+        try (Recording recording = new Recording()) {
+            recording.enable(RedisCommandJfrEvent.class).withThreshold(Duration.ofMinutes(1));
+            recording.start();
+            RedisMethodContext<RedisCommands> context = createContext(SET_METHOD, SET_METHOD_ARGS);
+            this.interceptor.beforeExecute(context);
+            assertTrue(context.hasAttribute(EVENT_KEY));
+            this.interceptor.afterExecute(context, null, null);
+            assertFalse(context.hasAttribute(EVENT_KEY));
+        }
+    }
+
+    private void execute(Method method, Object[] args, Object result, Throwable failure) {
+        RedisMethodContext<RedisCommands> context = createContext(method, args);
+        this.interceptor.beforeExecute(context);
+        this.interceptor.afterExecute(context, result, failure);
+    }
+
+    private RedisMethodContext<RedisCommands> createContext(Method method, Object[] args) {
+        return new RedisMethodContext<>((RedisCommands) this.redisConnection, method, args, this.redisContext, null,
+                SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.lang.DelegatingWrapper;
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.ReactiveRedisConnection;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.test.context.ContextConfiguration;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.microsphere.redis.spring.interceptor.InterceptingReactiveRedisInvocationHandler.isRedisCommandsAccessor;
+import static io.microsphere.redis.spring.interceptor.InterceptingReactiveRedisInvocationHandler.newProxy;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static java.lang.Boolean.TRUE;
+import static java.nio.ByteBuffer.wrap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InterceptingReactiveRedisInvocationHandler} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InterceptingReactiveRedisInvocationHandler
+ * @since 1.0.0
+ */
+@ContextConfiguration(classes = {
+        RedisContextConfig.class,
+        InterceptingReactiveRedisInvocationHandlerTest.RecordingReactiveRedisCommandInterceptor.class,
+        InterceptingReactiveRedisInvocationHandlerTest.class
+})
+class InterceptingReactiveRedisInvocationHandlerTest extends AbstractRedisTest {
+
+    private static final ByteBuffer KEY = wrap((byte[]) SET_METHOD_ARGS[0]);
+
+    private static final ByteBuffer VALUE = wrap((byte[]) SET_METHOD_ARGS[1]);
+
+    @Autowired
+    private RedisContext redisContext;
+
+    @Autowired
+    private RecordingReactiveRedisCommandInterceptor interceptor;
+
+    private ReactiveRedisConnection rawReactiveRedisConnection;
+
+    private ReactiveStringCommands rawReactiveStringCommands;
+
+    private ReactiveRedisConnection reactiveRedisConnection;
+
+    @BeforeEach
+    void setUp() {
+        this.rawReactiveRedisConnection = mock(ReactiveRedisConnection.class);
+        this.rawReactiveStringCommands = mock(ReactiveStringCommands.class);
+        when(this.rawReactiveRedisConnection.stringCommands()).thenReturn(this.rawReactiveStringCommands);
+        this.reactiveRedisConnection = newProxy(this.rawReactiveRedisConnection, this.redisContext, this.redisContext,
+                SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        this.interceptor.reset();
+    }
+
+    @Test
+    void testIsRedisCommandsAccessor() {
+        assertTrue(isRedisCommandsAccessor(findMethod(ReactiveRedisConnection.class, "stringCommands")));
+        assertFalse(isRedisCommandsAccessor(findMethod(ReactiveRedisConnection.class, "closeLater")));
+        assertFalse(isRedisCommandsAccessor(findMethod(ReactiveStringCommands.class, "get", ByteBuffer.class)));
+    }
+
+    @Test
+    void testProxy() {
+        assertInstanceOf(DelegatingWrapper.class, this.reactiveRedisConnection);
+        assertSame(this.rawReactiveRedisConnection, ((DelegatingWrapper) this.reactiveRedisConnection).getDelegate());
+        assertTrue(this.reactiveRedisConnection.equals(this.reactiveRedisConnection));
+        assertEquals(System.identityHashCode(this.reactiveRedisConnection), this.reactiveRedisConnection.hashCode());
+
+        ReactiveStringCommands reactiveStringCommands = this.reactiveRedisConnection.stringCommands();
+        assertNotSame(this.rawReactiveStringCommands, reactiveStringCommands);
+        assertSame(this.rawReactiveStringCommands, ((DelegatingWrapper) reactiveStringCommands).getDelegate());
+        // The proxy of the reactive Redis commands is created once
+        assertSame(reactiveStringCommands, this.reactiveRedisConnection.stringCommands());
+    }
+
+    @Test
+    void testMono() {
+        when(this.rawReactiveStringCommands.set(KEY, VALUE)).thenReturn(Mono.just(TRUE));
+
+        Mono<Boolean> result = this.reactiveRedisConnection.stringCommands().set(KEY, VALUE);
+        // Nothing is intercepted until the subscription
+        assertEquals(0, this.interceptor.before);
+        assertTrue(this.interceptor.contexts.isEmpty());
+
+        assertEquals(TRUE, result.block());
+        assertEquals(1, this.interceptor.before);
+        assertEquals(1, this.interceptor.contexts.size());
+        RedisMethodContext<Object> context = this.interceptor.contexts.get(0);
+        assertSame(this.rawReactiveStringCommands, context.getTarget());
+        assertEquals("set", context.getMethod().getName());
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, context.getSourceBeanName());
+        assertTrue(context.isWriteMethod());
+        assertEquals(TRUE, this.interceptor.results.get(0));
+        assertNull(this.interceptor.failures.get(0));
+
+        // Every subscription is intercepted
+        assertEquals(TRUE, result.block());
+        assertEquals(2, this.interceptor.before);
+        assertEquals(2, this.interceptor.contexts.size());
+        assertNotSame(context, this.interceptor.contexts.get(1));
+    }
+
+    @Test
+    void testMonoOnFailed() {
+        RuntimeException failure = new RuntimeException("For testing");
+        when(this.rawReactiveStringCommands.set(KEY, VALUE)).thenReturn(Mono.error(failure));
+
+        Mono<Boolean> result = this.reactiveRedisConnection.stringCommands().set(KEY, VALUE);
+        assertSame(failure, assertThrows(RuntimeException.class, result::block));
+        assertEquals(1, this.interceptor.contexts.size());
+        assertNull(this.interceptor.results.get(0));
+        assertSame(failure, this.interceptor.failures.get(0));
+    }
+
+    @Test
+    void testMonoOnInterceptorFailed() {
+        when(this.rawReactiveStringCommands.set(KEY, VALUE)).thenReturn(Mono.just(TRUE));
+        this.interceptor.failed = true;
+
+        // The errors of the interceptors are ignored
+        assertEquals(TRUE, this.reactiveRedisConnection.stringCommands().set(KEY, VALUE).block());
+        assertEquals(1, this.interceptor.before);
+    }
+
+    @Test
+    void testFlux() {
+        when(this.rawReactiveStringCommands.set(any(Publisher.class))).thenReturn(Flux.empty());
+
+        Flux<?> result = this.reactiveRedisConnection.stringCommands().set(Mono.empty());
+        assertTrue(this.interceptor.contexts.isEmpty());
+
+        assertTrue(result.collectList().block().isEmpty());
+        assertEquals(1, this.interceptor.before);
+        assertEquals(1, this.interceptor.contexts.size());
+        assertNull(this.interceptor.results.get(0));
+        assertNull(this.interceptor.failures.get(0));
+    }
+
+    @Test
+    void testNotIntercepted() {
+        Mono<ByteBuffer> mono = Mono.just(VALUE);
+        when(this.rawReactiveStringCommands.get(KEY)).thenReturn(mono);
+        // GET is out of the scope of the interceptor
+        assertSame(mono, this.reactiveRedisConnection.stringCommands().get(KEY));
+        assertEquals(VALUE, this.reactiveRedisConnection.stringCommands().get(KEY).block());
+        assertEquals(0, this.interceptor.before);
+    }
+
+    @RedisInterceptorScope(commands = "SET")
+    static class RecordingReactiveRedisCommandInterceptor implements ReactiveRedisCommandInterceptor {
+
+        private final List<RedisMethodContext<Object>> contexts = new ArrayList<>();
+
+        private final List<Object> results = new ArrayList<>();
+
+        private final List<Throwable> failures = new ArrayList<>();
+
+        private int before;
+
+        private boolean failed;
+
+        @Override
+        public Mono<Void> beforeExecute(RedisMethodContext<Object> context) {
+            before++;
+            if (failed) {
+                throw new IllegalStateException("For testing");
+            }
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> afterExecute(RedisMethodContext<Object> context, Object result, Throwable failure) {
+            return Mono.fromRunnable(() -> {
+                contexts.add(context);
+                results.add(result);
+                failures.add(failure);
+            }).then(failed ? Mono.error(new IllegalStateException("For testing")) : Mono.empty());
+        }
+
+        void reset() {
+            contexts.clear();
+            results.clear();
+            failures.clear();
+            before = 0;
+            failed = false;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.lang.DelegatingWrapper;
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionGenerator.InterceptingCallbackFilter;
+import io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionGenerator.InterceptingMethodInterceptor;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.NoOp;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisClusterServerCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.reflect.Proxy;
+
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionGenerator.FIRST_INTERCEPTING_CALLBACK_INDEX;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionGenerator.GET_DELEGATE_CALLBACK_INDEX;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionGenerator.NO_OVERRIDE_CALLBACK_INDEX;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionGenerator.PASS_THROUGH_CALLBACK_INDEX;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionGenerator.PASS_THROUGH_COMMAND_CALLBACK_INDEX;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static java.lang.Boolean.TRUE;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InterceptingRedisConnectionGenerator} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InterceptingRedisConnectionGenerator
+ * @since 1.0.0
+ */
+@ContextConfiguration(classes = {
+        RedisContextConfig.class,
+        LoggingRedisCommandInterceptor.class,
+        InterceptingRedisConnectionGeneratorTest.class
+})
+class InterceptingRedisConnectionGeneratorTest extends AbstractRedisTest {
+
+    @Autowired
+    private RedisContext redisContext;
+
+    private RedisConnection rawRedisConnection;
+
+    private InterceptingRedisConnectionGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        this.rawRedisConnection = mock(RedisConnection.class);
+        this.generator = this.redisContext.getInterceptingRedisConnectionGenerator();
+    }
+
+    @Test
+    void testNewRedisConnection() {
+        RedisConnection redisConnection = this.generator.newRedisConnection(this.rawRedisConnection, this.redisContext, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        assertFalse(redisConnection instanceof Proxy);
+        assertTrue(redisConnection instanceof DelegatingWrapper);
+        assertSame(this.rawRedisConnection, ((DelegatingWrapper) redisConnection).getDelegate());
+
+        byte[] key = (byte[]) SET_METHOD_ARGS[0];
+        byte[] value = (byte[]) SET_METHOD_ARGS[1];
+        when(this.rawRedisConnection.set(key, value)).thenReturn(TRUE);
+        assertEquals(TRUE, redisConnection.set(key, value));
+        verify(this.rawRedisConnection).set(key, value);
+
+        // The instance is created per call
+        assertNotSame(redisConnection, this.generator.newRedisConnection(this.rawRedisConnection, this.redisContext, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE));
+
+        RedisConnection anotherRedisConnection = this.generator.newRedisConnection(mock(RedisConnection.class), this.redisContext, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        assertSame(redisConnection.getClass(), anotherRedisConnection.getClass());
+        assertNotSame(redisConnection, anotherRedisConnection);
+        assertEquals(redisConnection, redisConnection);
+        assertNotEquals(redisConnection, anotherRedisConnection);
+        assertEquals(System.identityHashCode(redisConnection), redisConnection.hashCode());
+
+        // The intercepted methods are bound to their own callbacks, which are shared by the instances
+        Callback[] callbacks = ((Factory) redisConnection).getCallbacks();
+        Callback[] anotherCallbacks = ((Factory) anotherRedisConnection).getCallbacks();
+        assertTrue(callbacks.length > FIRST_INTERCEPTING_CALLBACK_INDEX);
+        assertEquals(callbacks.length, anotherCallbacks.length);
+        for (int i = FIRST_INTERCEPTING_CALLBACK_INDEX; i < callbacks.length; i++) {
+            assertTrue(callbacks[i] instanceof InterceptingMethodInterceptor);
+            assertSame(callbacks[i], anotherCallbacks[i]);
+        }
+        assertNotSame(callbacks[PASS_THROUGH_CALLBACK_INDEX], anotherCallbacks[PASS_THROUGH_CALLBACK_INDEX]);
+
+        // The failure is propagated by the per-method callback
+        when(this.rawRedisConnection.set(key, value)).thenThrow(new IllegalStateException("For testing"));
+        assertThrows(IllegalStateException.class, () -> redisConnection.set(key, value));
+    }
+
+    @Test
+    void testNewRedisClusterConnection() {
+        RedisClusterConnection rawClusterConnection = mock(RedisClusterConnection.class);
+        RedisClusterConnection clusterConnection = this.generator.newRedisClusterConnection(rawClusterConnection, this.redisContext, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        assertFalse(clusterConnection instanceof Proxy);
+        assertSame(rawClusterConnection, ((DelegatingWrapper) clusterConnection).getDelegate());
+        // The raw RedisClusterConnection is wrapped by the RedisClusterConnection class even if it's wrapped as RedisConnection
+        assertSame(clusterConnection.getClass(), this.generator.newRedisConnection(rawClusterConnection, this.redisContext, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE).getClass());
+        assertNotSame(this.generator.newRedisConnection(this.rawRedisConnection, this.redisContext, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE).getClass(),
+                clusterConnection.getClass());
+
+        byte[] key = (byte[]) SET_METHOD_ARGS[0];
+        byte[] value = (byte[]) SET_METHOD_ARGS[1];
+        when(rawClusterConnection.set(key, value)).thenReturn(TRUE);
+        assertEquals(TRUE, clusterConnection.set(key, value));
+        verify(rawClusterConnection).set(key, value);
+
+        // The node-specific Redis command
+        RedisClusterNode node = new RedisClusterNode("127.0.0.1", 7000);
+        when(rawClusterConnection.dbSize(node)).thenReturn(1L);
+        assertEquals(1L, clusterConnection.dbSize(node));
+        verify(rawClusterConnection).dbSize(node);
+    }
+
+    @Test
+    void testInterceptingCallbackFilterForRedisClusterConnection() {
+        InterceptingCallbackFilter filter = new InterceptingCallbackFilter(new RedisMethodInterceptorChains(null,
+                singletonList(new EventPublishingRedisCommandInterceptor(null))), RedisClusterConnection.class);
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX, filter.accept(SET_METHOD));
+        assertEquals(PASS_THROUGH_COMMAND_CALLBACK_INDEX, filter.accept(findMethod(RedisClusterServerCommands.class, "dbSize", RedisClusterNode.class)));
+        assertEquals(PASS_THROUGH_CALLBACK_INDEX, filter.accept(findMethod(RedisClusterConnection.class, "ping", RedisClusterNode.class)));
+        assertEquals(NO_OVERRIDE_CALLBACK_INDEX, filter.accept(findMethod(Object.class, "finalize")));
+    }
+
+    @Test
+    void testInterceptingCallbackFilter() {
+        InterceptingCallbackFilter filter = new InterceptingCallbackFilter(this.redisContext.getRedisMethodInterceptorChains());
+        InterceptingCallbackFilter passThroughFilter = new InterceptingCallbackFilter(new RedisMethodInterceptorChains(null, null));
+
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX, filter.accept(SET_METHOD));
+        // The index is assigned once per method
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX, filter.accept(SET_METHOD));
+        assertEquals(PASS_THROUGH_CALLBACK_INDEX, passThroughFilter.accept(SET_METHOD));
+
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX, passThroughFilter.accept(findMethod(Object.class, "equals", Object.class)));
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX + 1, passThroughFilter.accept(findMethod(Object.class, "hashCode")));
+        assertEquals(PASS_THROUGH_CALLBACK_INDEX, passThroughFilter.accept(findMethod(Object.class, "toString")));
+        assertEquals(NO_OVERRIDE_CALLBACK_INDEX, filter.accept(findMethod(Object.class, "finalize")));
+        assertEquals(GET_DELEGATE_CALLBACK_INDEX, filter.accept(findMethod(DelegatingWrapper.class, "getDelegate")));
+
+        // Only the write commands are intercepted
+        InterceptingCallbackFilter scopedFilter = new InterceptingCallbackFilter(new RedisMethodInterceptorChains(null,
+                singletonList(new EventPublishingRedisCommandInterceptor(null))));
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX, scopedFilter.accept(SET_METHOD));
+        assertEquals(PASS_THROUGH_COMMAND_CALLBACK_INDEX, scopedFilter.accept(findMethod(RedisConnection.class, "get", byte[].class)));
+        assertEquals(PASS_THROUGH_CALLBACK_INDEX, scopedFilter.accept(findMethod(RedisConnection.class, "isPipelined")));
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX + 1, scopedFilter.accept(findMethod(RedisConnection.class, "openPipeline")));
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX + 2, scopedFilter.accept(findMethod(RedisConnection.class, "closePipeline")));
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX + 3, scopedFilter.accept(findMethod(RedisConnection.class, "exec")));
+        assertEquals(PASS_THROUGH_CALLBACK_INDEX, passThroughFilter.accept(findMethod(RedisConnection.class, "openPipeline")));
+
+        Callback[] callbacks = scopedFilter.getCallbacks();
+        assertEquals(FIRST_INTERCEPTING_CALLBACK_INDEX + 4, callbacks.length);
+        assertSame(NoOp.INSTANCE, callbacks[NO_OVERRIDE_CALLBACK_INDEX]);
+        assertTrue(callbacks[FIRST_INTERCEPTING_CALLBACK_INDEX] instanceof InterceptingMethodInterceptor);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisPipelineException;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.CLOSE_METHOD;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.CLOSE_PIPELINE_METHOD;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.OPEN_PIPELINE_METHOD;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.currentBatch;
+import static io.microsphere.redis.spring.interceptor.InterceptingRedisConnectionInvocationHandler.isBatchMethod;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static java.lang.Boolean.TRUE;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link InterceptingRedisConnectionInvocationHandler} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see InterceptingRedisConnectionInvocationHandler
+ * @since 1.0.0
+ */
+@ContextConfiguration(classes = {
+        RedisContextConfig.class,
+        InterceptingRedisConnectionInvocationHandlerTest.RecordingRedisCommandInterceptor.class,
+        InterceptingRedisConnectionInvocationHandlerTest.class
+})
+class InterceptingRedisConnectionInvocationHandlerTest extends AbstractRedisTest {
+
+    private static final byte[] KEY = (byte[]) SET_METHOD_ARGS[0];
+
+    private static final byte[] VALUE = (byte[]) SET_METHOD_ARGS[1];
+
+    @Autowired
+    private RedisContext redisContext;
+
+    @Autowired
+    private RecordingRedisCommandInterceptor interceptor;
+
+    private RedisConnection rawRedisConnection;
+
+    private RedisConnection redisConnection;
+
+    @BeforeEach
+    void setUp() {
+        this.rawRedisConnection = mock(RedisConnection.class);
+        this.redisConnection = newRedisConnection(this.rawRedisConnection);
+        this.interceptor.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        currentBatch.remove();
+    }
+
+    @Test
+    void testIsBatchMethod() {
+        assertTrue(isBatchMethod(OPEN_PIPELINE_METHOD));
+        assertTrue(isBatchMethod(CLOSE_PIPELINE_METHOD));
+        assertTrue(isBatchMethod(CLOSE_METHOD));
+        assertTrue(isBatchMethod(findMethod(RedisConnection.class, "multi")));
+        assertTrue(isBatchMethod(findMethod(RedisConnection.class, "exec")));
+        assertTrue(isBatchMethod(findMethod(RedisConnection.class, "discard")));
+        assertFalse(isBatchMethod(SET_METHOD));
+        assertFalse(isBatchMethod(findMethod(RedisConnection.class, "isPipelined")));
+    }
+
+    @Test
+    void testExecute() {
+        when(this.rawRedisConnection.set(KEY, VALUE)).thenReturn(TRUE);
+        assertEquals(TRUE, this.redisConnection.set(KEY, VALUE));
+        assertEquals(1, this.interceptor.results.size());
+        assertEquals(TRUE, this.interceptor.results.get(0));
+    }
+
+    @Test
+    void testPipeline() {
+        when(this.rawRedisConnection.closePipeline()).thenReturn(asList(VALUE, TRUE));
+
+        this.redisConnection.openPipeline();
+        // Not intercepted, but queued
+        assertNull(this.redisConnection.get(KEY));
+        assertNull(this.redisConnection.set(KEY, VALUE));
+        // The placeholder result is not passed to the interceptor
+        assertTrue(this.interceptor.contexts.isEmpty());
+
+        assertEquals(asList(VALUE, TRUE), this.redisConnection.closePipeline());
+        assertEquals(1, this.interceptor.contexts.size());
+        assertEquals("set", this.interceptor.contexts.get(0).getMethod().getName());
+        assertEquals(TRUE, this.interceptor.results.get(0));
+        assertNull(this.interceptor.failures.get(0));
+        assertEquals(1, this.interceptor.batches);
+        assertNull(currentBatch.get());
+    }
+
+    @Test
+    void testPipelineOnWrappedAgain() {
+        when(this.rawRedisConnection.closePipeline()).thenReturn(asList(VALUE, TRUE));
+
+        this.redisConnection.openPipeline();
+        // e.g. The connection bound by SessionCallback is wrapped for every execution
+        RedisConnection redisConnection = newRedisConnection(this.rawRedisConnection);
+        assertNull(redisConnection.get(KEY));
+        assertNull(redisConnection.set(KEY, VALUE));
+        assertTrue(this.interceptor.contexts.isEmpty());
+        // Another raw RedisConnection does not join the batch
+        RedisConnection anotherRawRedisConnection = mock(RedisConnection.class);
+        when(anotherRawRedisConnection.set(KEY, VALUE)).thenReturn(TRUE);
+        assertEquals(TRUE, newRedisConnection(anotherRawRedisConnection).set(KEY, VALUE));
+        assertEquals(1, this.interceptor.contexts.size());
+
+        assertEquals(asList(VALUE, TRUE), this.redisConnection.closePipeline());
+        assertEquals(2, this.interceptor.contexts.size());
+        assertEquals(TRUE, this.interceptor.results.get(1));
+        assertEquals(1, this.interceptor.batches);
+        assertNull(currentBatch.get());
+
+        // The batch flushed by another instance is not used anymore
+        when(this.rawRedisConnection.set(KEY, VALUE)).thenReturn(TRUE);
+        assertEquals(TRUE, redisConnection.set(KEY, VALUE));
+        assertEquals(3, this.interceptor.contexts.size());
+        assertEquals(1, this.interceptor.batches);
+    }
+
+    @Test
+    void testPipelineOnFailed() {
+        RuntimeException failure = new RuntimeException("For testing");
+        when(this.rawRedisConnection.closePipeline()).thenThrow(new RedisPipelineException(failure, asList(failure)));
+
+        this.redisConnection.openPipeline();
+        this.redisConnection.set(KEY, VALUE);
+        assertThrows(RedisPipelineException.class, this.redisConnection::closePipeline);
+        assertNull(this.interceptor.results.get(0));
+        assertSame(failure, this.interceptor.failures.get(0));
+    }
+
+    @Test
+    void testTransaction() {
+        when(this.rawRedisConnection.exec()).thenReturn(asList(TRUE));
+
+        this.redisConnection.multi();
+        this.redisConnection.set(KEY, VALUE);
+        assertTrue(this.interceptor.contexts.isEmpty());
+
+        this.redisConnection.exec();
+        assertEquals(TRUE, this.interceptor.results.get(0));
+        assertEquals(1, this.interceptor.batches);
+    }
+
+    @Test
+    void testDiscardedTransaction() {
+        this.redisConnection.multi();
+        this.redisConnection.set(KEY, VALUE);
+        this.redisConnection.discard();
+        assertInstanceOf(CancellationException.class, this.interceptor.failures.get(0));
+        assertEquals(0, this.interceptor.batches);
+        assertNull(currentBatch.get());
+    }
+
+    @Test
+    void testAbortedTransaction() {
+        this.redisConnection.multi();
+        this.redisConnection.set(KEY, VALUE);
+        // exec() returns null if aborted by WATCH
+        assertNull(this.redisConnection.exec());
+        assertInstanceOf(CancellationException.class, this.interceptor.failures.get(0));
+    }
+
+    @Test
+    void testCloseInPipeline() {
+        this.redisConnection.openPipeline();
+        this.redisConnection.set(KEY, VALUE);
+        this.redisConnection.close();
+        assertInstanceOf(CancellationException.class, this.interceptor.failures.get(0));
+        assertNull(currentBatch.get());
+    }
+
+    private RedisConnection newRedisConnection(RedisConnection rawRedisConnection) {
+        return this.redisContext.getInterceptingRedisConnectionGenerator()
+                .newRedisConnection(rawRedisConnection, this.redisContext, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+    }
+
+    @RedisInterceptorScope(commands = "SET")
+    static class RecordingRedisCommandInterceptor implements RedisCommandInterceptor {
+
+        private final List<RedisMethodContext> contexts = new ArrayList<>();
+
+        private final List<Object> results = new ArrayList<>();
+
+        private final List<Throwable> failures = new ArrayList<>();
+
+        private int batches;
+
+        @Override
+        public void afterExecute(RedisMethodContext context, Object result, Throwable failure) {
+            this.contexts.add(context);
+            this.results.add(result);
+            this.failures.add(failure);
+        }
+
+        @Override
+        public void onBatch(List contexts, List results) throws Throwable {
+            this.batches++;
+            RedisCommandInterceptor.super.onBatch(contexts, results);
+        }
+
+        void reset() {
+            this.contexts.clear();
+            this.results.clear();
+            this.failures.clear();
+            this.batches = 0;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
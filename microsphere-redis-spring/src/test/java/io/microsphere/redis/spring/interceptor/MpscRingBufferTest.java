@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static io.microsphere.redis.spring.interceptor.MpscRingBuffer.MAX_CAPACITY;
+import static io.microsphere.redis.spring.interceptor.MpscRingBuffer.roundToPowerOfTwo;
+import static java.util.Arrays.fill;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link MpscRingBuffer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see MpscRingBuffer
+ * @since 1.0.0
+ */
+class MpscRingBufferTest {
+
+    @Test
+    void testConstructor() {
+        assertEquals(1, new MpscRingBuffer<>(1).capacity());
+        assertEquals(4, new MpscRingBuffer<>(3).capacity());
+        assertEquals(1024, new MpscRingBuffer<>(1024).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(MAX_CAPACITY + 1));
+    }
+
+    @Test
+    void testRoundToPowerOfTwo() {
+        assertEquals(1, roundToPowerOfTwo(1));
+        assertEquals(2, roundToPowerOfTwo(2));
+        assertEquals(8, roundToPowerOfTwo(5));
+        assertEquals(MAX_CAPACITY, roundToPowerOfTwo(MAX_CAPACITY));
+    }
+
+    @Test
+    void testOfferAndPoll() {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(4);
+        assertTrue(ringBuffer.isEmpty());
+        assertNull(ringBuffer.poll());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.offer(i));
+        }
+        assertFalse(ringBuffer.offer(4));
+        assertEquals(4, ringBuffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, ringBuffer.poll());
+        }
+        assertNull(ringBuffer.poll());
+        assertTrue(ringBuffer.isEmpty());
+
+        // wrap around
+        for (int i = 0; i < 10; i++) {
+            assertTrue(ringBuffer.offer(i));
+            assertEquals(i, ringBuffer.poll());
+        }
+    }
+
+    @Test
+    void testDrain() {
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            ringBuffer.offer(i);
+        }
+        List<Integer> elements = new ArrayList<>();
+        assertEquals(3, ringBuffer.drain(elements::add, 3));
+        assertEquals(2, ringBuffer.drain(elements::add, 3));
+        assertEquals(0, ringBuffer.drain(elements::add, 3));
+        assertEquals(List.of(0, 1, 2, 3, 4), elements);
+    }
+
+    @Test
+    void testConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int count = 10_000;
+        MpscRingBuffer<Integer> ringBuffer = new MpscRingBuffer<>(64);
+        CountDownLatch latch = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    Integer element = producer * count + i;
+                    while (!ringBuffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        int[] lastValues = new int[producers];
+        fill(lastValues, -1);
+        int total = producers * count;
+        int consumed = 0;
+        while (consumed < total) {
+            Integer element = ringBuffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            int producer = element / count;
+            int value = element % count;
+            // The elements of one producer are kept in order
+            assertEquals(lastValues[producer] + 1, value);
+            lastValues[producer] = value;
+            consumed++;
+        }
+        latch.await();
+        assertTrue(ringBuffer.isEmpty());
+    }
+}
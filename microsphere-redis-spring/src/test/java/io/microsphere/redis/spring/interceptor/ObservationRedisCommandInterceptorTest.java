@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention;
+import io.microsphere.redis.spring.observation.RedisCommandObservationContext;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.interceptor.ObservationRedisCommandInterceptor.OBSERVATION_KEY;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.FAILURE;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.KEY_KEY;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.OUTCOME_KEY;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.SUCCESS;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ObservationRedisCommandInterceptor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ObservationRedisCommandInterceptor
+ * @since 1.0.0
+ */
+@ContextConfiguration(
+        classes = {
+                RedisContextConfig.class,
+                ObservationRedisCommandInterceptor.class,
+                ObservationRedisCommandInterceptorTest.class
+        }
+)
+@TestPropertySource(properties = {
+        "microsphere.redis.interceptor.observation.key-enabled=true",
+        // Only SET is sampled
+        "microsphere.redis.interceptor.sampling.rate=0",
+        "microsphere.redis.interceptor.sampling.command-rates=SET=1"
+})
+class ObservationRedisCommandInterceptorTest extends AbstractRedisTest {
+
+    private static final Method GET_METHOD = findMethod(RedisStringCommands.class, "get", byte[].class);
+
+    private static final List<RedisCommandObservationContext> observationContexts = new ArrayList<>();
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private RedisConnection redisConnection;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private ObservationRedisCommandInterceptor interceptor;
+
+    @Autowired
+    private ObjectProvider<ObservationRegistry> observationRegistryProvider;
+
+    @Bean
+    public static ObservationRegistry observationRegistry() {
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<RedisCommandObservationContext>() {
+
+            @Override
+            public void onStop(RedisCommandObservationContext context) {
+                observationContexts.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return context instanceof RedisCommandObservationContext;
+            }
+        });
+        return observationRegistry;
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() {
+        observationContexts.clear();
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testSetEnvironment() {
+        assertTrue(this.interceptor.isKeyEnabled());
+        assertNull(this.interceptor.getObservationConvention());
+    }
+
+    @Test
+    void testObserve() {
+        execute(this.interceptor, SET_METHOD, SET_METHOD_ARGS, null);
+
+        assertEquals(1, observationContexts.size());
+        RedisCommandObservationContext context = observationContexts.get(0);
+        assertEquals("SET", context.getCommand());
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, context.getSourceBeanName());
+        assertEquals("key", context.getKey());
+        assertEquals(DefaultRedisCommandObservationConvention.NAME, context.getName());
+        assertEquals("SET", context.getContextualName());
+        assertEquals(SUCCESS, context.getLowCardinalityKeyValue(OUTCOME_KEY).getValue());
+        assertEquals("key", context.getHighCardinalityKeyValue(KEY_KEY).getValue());
+        assertNull(context.getParentObservation());
+    }
+
+    @Test
+    void testObserveOnFailure() {
+        RuntimeException failure = new RuntimeException();
+        execute(this.interceptor, SET_METHOD, SET_METHOD_ARGS, failure);
+
+        RedisCommandObservationContext context = observationContexts.get(0);
+        assertSame(failure, context.getError());
+        assertEquals(FAILURE, context.getLowCardinalityKeyValue(OUTCOME_KEY).getValue());
+    }
+
+    @Test
+    void testSkipOnUnsampledCall() {
+        RedisMethodContext<RedisCommands> context = createContext(GET_METHOD, ofArray((Object) "key".getBytes()));
+        this.interceptor.beforeExecute(context);
+        assertFalse(context.hasAttribute(OBSERVATION_KEY));
+        this.interceptor.afterExecute(context, null, null);
+        assertTrue(observationContexts.isEmpty());
+    }
+
+    @Test
+    void testObserveOnSamplingDecision() {
+        // The sampling decision made for the call is used rather than sampling again
+        RedisMethodContext<RedisCommands> context = createContext(GET_METHOD, ofArray((Object) "key".getBytes())).sampled(TRUE);
+        this.interceptor.beforeExecute(context);
+        assertTrue(context.hasAttribute(OBSERVATION_KEY));
+        this.interceptor.afterExecute(context, null, null);
+        assertEquals(1, observationContexts.size());
+
+        context = createContext(SET_METHOD, SET_METHOD_ARGS).sampled(FALSE);
+        this.interceptor.beforeExecute(context);
+        assertFalse(context.hasAttribute(OBSERVATION_KEY));
+        this.interceptor.afterExecute(context, null, null);
+        assertEquals(1, observationContexts.size());
+    }
+
+    @Test
+    void testObserveWithParentObservation() {
+        Observation parentObservation = Observation.start("parent", this.observationRegistry);
+        try (Observation.Scope scope = parentObservation.openScope()) {
+            // The unsampled call is observed within the parent
+            execute(this.interceptor, GET_METHOD, ofArray((Object) "key".getBytes()), null);
+        } finally {
+            parentObservation.stop();
+        }
+
+        assertEquals(1, observationContexts.size());
+        RedisCommandObservationContext context = observationContexts.get(0);
+        assertEquals("GET", context.getCommand());
+        assertSame(parentObservation, context.getParentObservation());
+    }
+
+    @Test
+    void testObserveOnNonCommandMethod() {
+        Observation parentObservation = Observation.start("parent", this.observationRegistry);
+        try (Observation.Scope scope = parentObservation.openScope()) {
+            execute(this.interceptor, findMethod(RedisConnection.class, "close"), EMPTY_OBJECT_ARRAY, null);
+        } finally {
+            parentObservation.stop();
+        }
+        RedisCommandObservationContext context = observationContexts.get(0);
+        assertEquals("close", context.getCommand());
+        assertNull(context.getKey());
+        assertNull(context.getHighCardinalityKeyValue(KEY_KEY));
+    }
+
+    @Test
+    void testKeyDisabled() {
+        ObservationRedisCommandInterceptor interceptor = new ObservationRedisCommandInterceptor(this.observationRegistryProvider);
+        assertFalse(interceptor.isKeyEnabled());
+        execute(interceptor, SET_METHOD, SET_METHOD_ARGS, null);
+        assertNull(observationContexts.get(0).getKey());
+    }
+
+    @Test
+    void testObservationConvention() {
+        ObservationRedisCommandInterceptor interceptor = new ObservationRedisCommandInterceptor(this.observationRegistryProvider);
+        interceptor.setObservationConvention(new DefaultRedisCommandObservationConvention() {
+            @Override
+            public String getName() {
+                return "test.redis.command";
+            }
+        });
+        execute(interceptor, SET_METHOD, SET_METHOD_ARGS, null);
+        assertEquals("test.redis.command", observationContexts.get(0).getName());
+    }
+
+    @Test
+    void testSkipOnNoopObservationRegistry() {
+        ObjectProvider<ObservationRegistry> provider = new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class);
+        ObservationRedisCommandInterceptor interceptor = new ObservationRedisCommandInterceptor(provider);
+        execute(interceptor, SET_METHOD, SET_METHOD_ARGS, null);
+        assertTrue(observationContexts.isEmpty());
+    }
+
+    private void execute(ObservationRedisCommandInterceptor interceptor, Method method, Object[] args, Throwable failure) {
+        RedisMethodContext<RedisCommands> context = createContext(method, args);
+        interceptor.beforeExecute(context);
+        interceptor.afterExecute(context, null, failure);
+        assertFalse(context.hasAttribute(OBSERVATION_KEY));
+    }
+
+    private RedisMethodContext<RedisCommands> createContext(Method method, Object[] args) {
+        return new RedisMethodContext<>((RedisCommands) this.redisConnection, method, args, this.redisContext, null,
+                SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+    }
+}
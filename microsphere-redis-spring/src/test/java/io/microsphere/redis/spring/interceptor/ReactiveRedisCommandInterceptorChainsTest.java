@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveKeyCommands;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.interceptor.ReactiveRedisCommandInterceptorChains.EMPTY_INTERCEPTORS;
+import static io.microsphere.redis.spring.interceptor.RedisInterceptorScope.CommandType.WRITE;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ReactiveRedisCommandInterceptorChains} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReactiveRedisCommandInterceptorChains
+ * @since 1.0.0
+ */
+class ReactiveRedisCommandInterceptorChainsTest {
+
+    private static final Method GET_METHOD = findMethod(ReactiveStringCommands.class, "get", ByteBuffer.class);
+
+    private static final Method SET_METHOD = findMethod(ReactiveStringCommands.class, "set", ByteBuffer.class, ByteBuffer.class);
+
+    private static final Method DEL_METHOD = findMethod(ReactiveKeyCommands.class, "del", ByteBuffer.class);
+
+    private static final Method BLOCKING_SET_METHOD = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
+    private final AllReactiveRedisCommandInterceptor allInterceptor = new AllReactiveRedisCommandInterceptor();
+
+    private final WriteReactiveRedisCommandInterceptor writeInterceptor = new WriteReactiveRedisCommandInterceptor();
+
+    @Test
+    void testGetInterceptors() {
+        ReactiveRedisCommandInterceptorChains chains = new ReactiveRedisCommandInterceptorChains(ofList(allInterceptor, writeInterceptor));
+
+        assertFalse(chains.isEmpty());
+        assertArrayEquals(ofArray(allInterceptor), chains.getInterceptors(getRedisMethodInvoker(GET_METHOD)));
+        assertArrayEquals(ofArray(allInterceptor, writeInterceptor), chains.getInterceptors(getRedisMethodInvoker(SET_METHOD)));
+        // The identical chains share the same array
+        assertSame(chains.getInterceptors(getRedisMethodInvoker(SET_METHOD)), chains.getInterceptors(getRedisMethodInvoker(DEL_METHOD)));
+        // The blocking Redis command methods are never intercepted
+        assertSame(EMPTY_INTERCEPTORS, chains.getInterceptors(getRedisMethodInvoker(BLOCKING_SET_METHOD)));
+        assertSame(EMPTY_INTERCEPTORS, chains.getInterceptors(null));
+    }
+
+    @Test
+    void testIsEmpty() {
+        assertTrue(new ReactiveRedisCommandInterceptorChains(null).isEmpty());
+        assertTrue(new ReactiveRedisCommandInterceptorChains(emptyList()).isEmpty());
+        assertSame(EMPTY_INTERCEPTORS, new ReactiveRedisCommandInterceptorChains(null).getInterceptors(getRedisMethodInvoker(SET_METHOD)));
+    }
+
+    static class AllReactiveRedisCommandInterceptor implements ReactiveRedisCommandInterceptor {
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+
+    @RedisInterceptorScope(type = WRITE)
+    static class WriteReactiveRedisCommandInterceptor implements ReactiveRedisCommandInterceptor {
+
+        @Override
+        public int getOrder() {
+            return 1;
+        }
+    }
+}
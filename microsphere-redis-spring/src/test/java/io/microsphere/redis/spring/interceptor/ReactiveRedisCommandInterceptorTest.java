@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Boolean.TRUE;
+import static java.nio.ByteBuffer.wrap;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link ReactiveRedisCommandInterceptor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ReactiveRedisCommandInterceptor
+ * @since 1.0.0
+ */
+@ContextConfiguration(classes = {
+        RedisContextConfig.class,
+        ReactiveRedisCommandInterceptorTest.class
+})
+class ReactiveRedisCommandInterceptorTest extends AbstractRedisTest {
+
+    private static final Method SET_METHOD = findMethod(ReactiveStringCommands.class, "set", ByteBuffer.class, ByteBuffer.class);
+
+    private static final Method GET_METHOD = findMethod(ReactiveStringCommands.class, "get", ByteBuffer.class);
+
+    @Autowired
+    private RedisContext redisContext;
+
+    @Test
+    void testSupports() {
+        ReactiveRedisCommandInterceptor interceptor = () -> 0;
+        assertTrue(interceptor.supports(getRedisMethodInvoker(SET_METHOD).getMethodInfo()));
+        assertTrue(interceptor.supports(null));
+
+        ReactiveRedisCommandInterceptor writeInterceptor = new WriteReactiveRedisCommandInterceptor();
+        assertTrue(writeInterceptor.supports(getRedisMethodInvoker(SET_METHOD).getMethodInfo()));
+        assertFalse(writeInterceptor.supports(getRedisMethodInvoker(GET_METHOD).getMethodInfo()));
+        assertFalse(writeInterceptor.supports(null));
+    }
+
+    @Test
+    void testBeforeExecuteAndAfterExecute() {
+        ReactiveRedisCommandInterceptor interceptor = () -> 0;
+        Object[] args = ofArray(wrap((byte[]) SET_METHOD_ARGS[0]), wrap((byte[]) SET_METHOD_ARGS[1]));
+        RedisMethodContext<Object> context = new RedisMethodContext<>(mock(ReactiveStringCommands.class), SET_METHOD, args, this.redisContext);
+        assertNull(interceptor.beforeExecute(context).block());
+        assertNull(interceptor.afterExecute(context, TRUE, null).block());
+    }
+
+    @RedisInterceptorScope(type = RedisInterceptorScope.CommandType.WRITE)
+    static class WriteReactiveRedisCommandInterceptor implements ReactiveRedisCommandInterceptor {
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+    }
+}
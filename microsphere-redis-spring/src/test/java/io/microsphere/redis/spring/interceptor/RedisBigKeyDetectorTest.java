@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.RedisBigKeyDetector.BigKey;
+import io.microsphere.redis.spring.interceptor.RedisBigKeyDetector.SizeDistribution;
+import io.microsphere.redis.spring.interceptor.RedisBigKeyDetector.Snapshot;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.interceptor.RedisBigKeyDetector.bucketIndex;
+import static io.microsphere.redis.spring.interceptor.RedisBigKeyDetector.bucketUpperBound;
+import static io.microsphere.redis.spring.interceptor.RedisBigKeyDetector.resolveKey;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisBigKeyDetector} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisBigKeyDetector
+ * @since 1.0.0
+ */
+@ContextConfiguration(
+        classes = {
+                RedisContextConfig.class,
+                RedisBigKeyDetector.class,
+                RedisBigKeyDetectorTest.class
+        }
+)
+@TestPropertySource(properties = {
+        "microsphere.redis.interceptor.big-key.capacity=2",
+        "microsphere.redis.interceptor.big-key.threshold=8"
+})
+class RedisBigKeyDetectorTest extends AbstractRedisTest {
+
+    private static final Method HGETALL_METHOD = findMethod(RedisHashCommands.class, "hGetAll", byte[].class);
+
+    private static final Method DEL_METHOD = findMethod(RedisKeyCommands.class, "del", byte[][].class);
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private RedisConnection redisConnection;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private RedisBigKeyDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.detector.reset();
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testSetEnvironment() {
+        assertEquals(2, this.detector.getCapacity());
+        assertEquals(8, this.detector.getThreshold());
+    }
+
+    @Test
+    void testAfterExecute() {
+        // "key" + "value" : 8 bytes
+        execute(this.detector, SET_METHOD, SET_METHOD_ARGS, null);
+        // The response of "hash" : 4 + 12 + 4 + 12 = 32 bytes
+        execute(this.detector, HGETALL_METHOD, ofArray((Object) "hash".getBytes()), hash());
+
+        List<BigKey> bigKeys = this.detector.getBigKeys();
+        assertEquals(2, bigKeys.size());
+        BigKey bigKey = bigKeys.get(0);
+        assertEquals("hash", bigKey.getKeyAsString());
+        assertArrayEquals("hash".getBytes(), bigKey.getKey());
+        assertEquals("HGETALL", bigKey.getCommand());
+        assertEquals(32, bigKey.getSize());
+        assertTrue(bigKey.isResponse());
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, bigKey.getSourceBeanName());
+        assertTrue(bigKey.getTimestamp() > 0);
+        assertNotNull(bigKey.toString());
+
+        bigKey = bigKeys.get(1);
+        assertEquals("key", bigKey.getKeyAsString());
+        assertEquals("SET", bigKey.getCommand());
+        assertEquals(8, bigKey.getSize());
+        assertFalse(bigKey.isResponse());
+
+        Map<String, Snapshot> snapshots = this.detector.getSnapshotsByCommand();
+        assertEquals(2, snapshots.size());
+        Snapshot snapshot = snapshots.get("HGETALL");
+        assertEquals("HGETALL", snapshot.getCommand());
+        assertNotNull(snapshot.toString());
+
+        SizeDistribution request = snapshot.getRequest();
+        assertEquals(1, request.getCount());
+        assertEquals(4, request.getTotalSize());
+        assertEquals(4, request.getMaxSize());
+        assertEquals(4, request.getMeanSize());
+
+        SizeDistribution response = snapshot.getResponse();
+        assertEquals(1, response.getCount());
+        assertEquals(32, response.getTotalSize());
+        assertEquals(32, response.getValueAtPercentile(99.0));
+        assertEquals(1, response.getBuckets()[bucketIndex(32)]);
+        assertNotNull(response.toString());
+
+        snapshot = snapshots.get("SET");
+        assertEquals(8, snapshot.getRequest().getMaxSize());
+        assertEquals(0, snapshot.getResponse().getMaxSize());
+    }
+
+    @Test
+    void testAfterExecuteOnFailure() {
+        execute(this.detector, HGETALL_METHOD, ofArray((Object) "hash".getBytes()), new RuntimeException());
+        assertTrue(this.detector.getBigKeys().isEmpty());
+        assertEquals(0, this.detector.getSnapshotsByCommand().get("HGETALL").getResponse().getTotalSize());
+    }
+
+    @Test
+    void testAfterExecuteOnMultipleKeys() {
+        execute(this.detector, DEL_METHOD, ofArray((Object) new byte[][]{"k1".getBytes(), "k2-k2-k2".getBytes()}), null);
+        List<BigKey> bigKeys = this.detector.getBigKeys();
+        assertEquals(1, bigKeys.size());
+        // The first key is used
+        assertEquals("k1", bigKeys.get(0).getKeyAsString());
+        assertEquals(10, bigKeys.get(0).getSize());
+    }
+
+    @Test
+    void testAfterExecuteOnNonKeyMethod() {
+        execute(this.detector, findMethod(RedisConnection.class, "close"), EMPTY_OBJECT_ARRAY, null);
+        assertTrue(this.detector.getBigKeys().isEmpty());
+        assertTrue(this.detector.getSnapshotsByCommand().isEmpty());
+    }
+
+    @Test
+    void testEviction() {
+        get(this.detector, "a", 10);
+        get(this.detector, "b", 20);
+        // The same key is updated to the larger size
+        get(this.detector, "a", 15);
+        assertEquals(ofList("b", "a"), keys(this.detector.getBigKeys()));
+        assertEquals(15, this.detector.getBigKeys().get(1).getSize());
+        // The size is not greater than the smallest one in the full table
+        get(this.detector, "c", 15);
+        assertEquals(ofList("b", "a"), keys(this.detector.getBigKeys()));
+        // "a" is evicted by "c"
+        get(this.detector, "c", 30);
+        assertEquals(ofList("c", "b"), keys(this.detector.getBigKeys()));
+    }
+
+    @Test
+    void testSetters() {
+        RedisBigKeyDetector detector = new RedisBigKeyDetector();
+        assertEquals(16, detector.getCapacity());
+        assertEquals(10240, detector.getThreshold());
+        assertThrows(IllegalArgumentException.class, () -> detector.setCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> detector.setThreshold(0));
+    }
+
+    @Test
+    void testResolveKey() {
+        RedisMethodInvoker invoker = getRedisMethodInvoker(SET_METHOD);
+        assertArrayEquals("key".getBytes(), resolveKey(invoker, SET_METHOD_ARGS));
+        assertNull(resolveKey(invoker, null));
+        assertNull(resolveKey(invoker, ofArray("key")));
+        assertArrayEquals("k1".getBytes(), resolveKey(invoker, ofArray(ofList("k1".getBytes()))));
+        assertNull(resolveKey(invoker, ofArray(ofList())));
+        assertNull(resolveKey(invoker, ofArray((Object) new byte[0][])));
+    }
+
+    @Test
+    void testBuckets() {
+        assertEquals(0, bucketIndex(-1));
+        assertEquals(0, bucketIndex(0));
+        assertEquals(1, bucketIndex(1));
+        assertEquals(2, bucketIndex(2));
+        assertEquals(2, bucketIndex(3));
+        assertEquals(11, bucketIndex(1024));
+        assertEquals(63, bucketIndex(Long.MAX_VALUE));
+        assertEquals(0, bucketUpperBound(0));
+        assertEquals(3, bucketUpperBound(2));
+        assertEquals(Long.MAX_VALUE, bucketUpperBound(63));
+    }
+
+    @Test
+    void testValueAtPercentile() {
+        RedisBigKeyDetector detector = new RedisBigKeyDetector();
+        for (int i = 1; i <= 100; i++) {
+            get(detector, "key", i * 100);
+        }
+        SizeDistribution response = detector.getSnapshotsByCommand().get("GET").getResponse();
+        assertEquals(100, response.getCount());
+        assertEquals(10000, response.getMaxSize());
+        // The upper bounds of the power-of-two buckets
+        assertEquals(8191, response.getValueAtPercentile(50.0));
+        assertEquals(10000, response.getValueAtPercentile(99.0));
+        assertEquals(0, new RedisBigKeyDetector().getSnapshotsByCommand().size());
+        assertTrue(detector.getBigKeys().isEmpty());
+    }
+
+    private List<String> keys(List<BigKey> bigKeys) {
+        return ofList(bigKeys.stream().map(BigKey::getKeyAsString).toArray(String[]::new));
+    }
+
+    private Map<byte[], byte[]> hash() {
+        Map<byte[], byte[]> hash = new LinkedHashMap<>();
+        hash.put("fld1".getBytes(), "value-value1".getBytes());
+        hash.put("fld2".getBytes(), "value-value2".getBytes());
+        return hash;
+    }
+
+    private void get(RedisBigKeyDetector detector, String key, int valueSize) {
+        execute(detector, findMethod(RedisConnection.class, "get", byte[].class), ofArray((Object) key.getBytes()),
+                new byte[valueSize]);
+    }
+
+    private void execute(RedisBigKeyDetector detector, Method method, Object[] args, Object result) {
+        RedisMethodContext<RedisCommands> context = new RedisMethodContext<>((RedisCommands) this.redisConnection,
+                method, args, this.redisContext, null, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        if (result instanceof Throwable) {
+            detector.afterExecute(context, null, (Throwable) result);
+        } else {
+            detector.afterExecute(context, result, null);
+        }
+    }
+}
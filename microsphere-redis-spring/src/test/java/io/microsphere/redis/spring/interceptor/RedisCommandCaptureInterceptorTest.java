@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.capture.RedisCommandCaptureLog;
+import io.microsphere.redis.spring.capture.RedisCommandCaptureReader;
+import io.microsphere.redis.spring.capture.RedisCommandCaptureRecord;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.interceptor.RedisCommandCaptureInterceptor.serializeArguments;
+import static io.microsphere.redis.spring.metadata.RedisMethodInvoker.NON_COMMAND_ORDINAL;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.System.nanoTime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.core.Ordered.LOWEST_PRECEDENCE;
+
+/**
+ * {@link RedisCommandCaptureInterceptor} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandCaptureInterceptor
+ * @since 1.0.0
+ */
+class RedisCommandCaptureInterceptorTest {
+
+    private static final String PREFIX = "test-capture";
+
+    private static final Method SET_METHOD = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
+    private static final Method CLOSE_METHOD = findMethod(RedisConnection.class, "close");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOnExecuted() throws IOException {
+        RedisCommandCaptureInterceptor interceptor = newInterceptor();
+        RedisCommandCaptureLog captureLog = interceptor.getCaptureLog();
+        long startTimeNanos = nanoTime();
+        interceptor.onExecuted(newSnapshot("k1", startTimeNanos, 1L));
+        interceptor.onExecuted(ofList(newSnapshot("k2", startTimeNanos + 1, 2L), newSnapshot("k3", startTimeNanos + 2, 3L)));
+        assertEquals(3, interceptor.getCapturedCount());
+        assertEquals(0, interceptor.getSkippedCount());
+        interceptor.destroy();
+        assertTrue(captureLog.isClosed());
+
+        try (RedisCommandCaptureReader reader = new RedisCommandCaptureReader(this.directory, PREFIX)) {
+            for (int i = 1; i <= 3; i++) {
+                RedisCommandCaptureRecord record = reader.read();
+                assertEquals(i, record.getThreadId());
+                RedisMethodInvoker redisMethodInvoker = record.getRedisMethodInvoker();
+                assertSame(SET_METHOD, redisMethodInvoker.getMethod());
+                Object[] args = record.getArgs(SET_METHOD);
+                assertArrayEquals(("k" + i).getBytes(UTF_8), (byte[]) args[0]);
+                assertArrayEquals("value".getBytes(UTF_8), (byte[]) args[1]);
+            }
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testOnExecutedAfterDestroy() throws IOException {
+        RedisCommandCaptureInterceptor interceptor = newInterceptor();
+        interceptor.destroy();
+        interceptor.onExecuted(newSnapshot("k1", nanoTime(), 1L));
+        assertEquals(0, interceptor.getCapturedCount());
+        assertEquals(1, interceptor.getSkippedCount());
+    }
+
+    @Test
+    void testOnExecutedWithNonCommandMethod() throws IOException {
+        RedisCommandCaptureInterceptor interceptor = newInterceptor();
+        interceptor.onExecuted(new RedisCommandSnapshot(CLOSE_METHOD, null, NON_COMMAND_ORDINAL, EMPTY_OBJECT_ARRAY,
+                null, null, 0L, null));
+        assertEquals(0, interceptor.getCapturedCount());
+        assertEquals(1, interceptor.getSkippedCount());
+        interceptor.destroy();
+    }
+
+    @Test
+    void testSupports() {
+        RedisCommandCaptureInterceptor interceptor = new RedisCommandCaptureInterceptor();
+        assertTrue(interceptor.supports(getRedisMethodInvoker(SET_METHOD).getMethodInfo()));
+        assertFalse(interceptor.supports(null));
+    }
+
+    @Test
+    void testSerializeArguments() {
+        byte[][] arguments = serializeArguments(SET_METHOD, ofArray("key".getBytes(UTF_8), null));
+        assertArrayEquals("key".getBytes(UTF_8), arguments[0]);
+        assertNull(arguments[1]);
+        assertEquals(0, serializeArguments(CLOSE_METHOD, null).length);
+        // The argument that can't be serialized
+        Method method = findMethod(Comparable.class, "compareTo", Object.class);
+        assertNull(serializeArguments(method, ofArray(new Object())));
+    }
+
+    @Test
+    void testSetEnvironment() throws IOException {
+        RedisCommandCaptureInterceptor interceptor = new RedisCommandCaptureInterceptor();
+        assertNull(interceptor.getCaptureLog());
+        interceptor.setEnvironment(new MockEnvironment().withProperty("java.io.tmpdir", this.directory.toString()));
+        RedisCommandCaptureLog captureLog = interceptor.getCaptureLog();
+        assertEquals(this.directory.resolve("microsphere-redis-capture"), captureLog.getDirectory());
+        assertEquals("redis-capture", captureLog.getFileNamePrefix());
+        // The specified log is kept
+        interceptor.setEnvironment(new MockEnvironment());
+        assertSame(captureLog, interceptor.getCaptureLog());
+        interceptor.destroy();
+        assertEquals(LOWEST_PRECEDENCE, interceptor.getOrder());
+        new RedisCommandCaptureInterceptor().destroy();
+    }
+
+    private RedisCommandCaptureInterceptor newInterceptor() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("microsphere.redis.interceptor.capture.directory", this.directory.toString())
+                .withProperty("microsphere.redis.interceptor.capture.file-name-prefix", PREFIX)
+                .withProperty("microsphere.redis.interceptor.capture.buffer-size", "64")
+                .withProperty("microsphere.redis.interceptor.capture.max-file-size", "1024")
+                .withProperty("microsphere.redis.interceptor.capture.max-files", "2");
+        RedisCommandCaptureInterceptor interceptor = new RedisCommandCaptureInterceptor();
+        interceptor.setEnvironment(environment);
+        return interceptor;
+    }
+
+    private RedisCommandSnapshot newSnapshot(String key, long startTimeNanos, long threadId) {
+        RedisMethodInvoker redisMethodInvoker = getRedisMethodInvoker(SET_METHOD);
+        return new RedisCommandSnapshot(SET_METHOD, redisMethodInvoker.getMethodInfo(), redisMethodInvoker.getOrdinal(),
+                ofArray(key.getBytes(UTF_8), "value".getBytes(UTF_8)), true, null, 1_000L, "redisTemplate",
+                startTimeNanos, threadId);
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.event.ApplicationEventPublishingRedisCommandEventListener;
+import io.microsphere.redis.spring.event.RedisCommandEvent;
+import io.microsphere.redis.spring.event.RedisCommandEventListener;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.OverflowPolicy.BLOCK;
+import static io.microsphere.redis.spring.interceptor.AsyncRedisCommandInterceptorDispatcher.OverflowPolicy.DROP;
+import static io.microsphere.redis.spring.interceptor.RedisCommandEventBus.CONSUMER_THREAD_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_NAME;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Boolean.TRUE;
+import static java.lang.Thread.currentThread;
+import static java.nio.ByteBuffer.wrap;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link RedisCommandEventBus} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventBus
+ * @since 1.0.0
+ */
+@ContextConfiguration(classes = {
+        RedisContextConfig.class,
+        EventPublishingRedisCommandInterceptor.class,
+        EventPublishingReactiveRedisCommandInterceptor.class,
+        RedisCommandEventBusTest.class
+})
+class RedisCommandEventBusTest extends AbstractRedisTest {
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private EventPublishingRedisCommandInterceptor interceptor;
+
+    @Autowired
+    private EventPublishingReactiveRedisCommandInterceptor reactiveInterceptor;
+
+    @Autowired
+    private RecordingRedisCommandEventListener contextListener;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    private RedisConnection redisConnection;
+
+    private RecordingRedisCommandEventListener listener;
+
+    private RedisCommandEventBus bus;
+
+    @Bean
+    public static RecordingRedisCommandEventListener recordingRedisCommandEventListener() {
+        return new RecordingRedisCommandEventListener(1);
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+        this.contextListener.reset();
+        this.listener = new RecordingRedisCommandEventListener(1);
+        this.bus = new RedisCommandEventBus(singletonList(this.listener), 16, 8, DROP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.bus.destroy();
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testRedisContext() {
+        RedisCommandEventBus bus = this.redisContext.getRedisCommandEventBus();
+        assertNotNull(bus);
+        assertTrue(bus.isRunning());
+        assertSame(BLOCK, bus.getOverflowPolicy());
+        List<RedisCommandEventListener> listeners = bus.getListeners();
+        assertEquals(2, listeners.size());
+        assertSame(this.contextListener, listeners.get(0));
+        assertTrue(listeners.get(1) instanceof ApplicationEventPublishingRedisCommandEventListener);
+    }
+
+    @Test
+    void testPublishByInterceptor() throws Throwable {
+        RedisMethodContext<RedisCommands> context = newRedisMethodContext();
+        this.interceptor.afterExecute(context, TRUE, null);
+
+        assertTrue(this.contextListener.latch.await(5, SECONDS));
+        RedisCommandEvent event = this.contextListener.events.get(0);
+        assertSame(SET_METHOD, event.getMethod());
+        assertSame(SET_METHOD_ARGS, event.getArgs());
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, event.getSourceBeanName());
+    }
+
+    @Test
+    void testPublishByReactiveInterceptor() throws Throwable {
+        Method reactiveSetMethod = findMethod(ReactiveStringCommands.class, "set", ByteBuffer.class, ByteBuffer.class);
+        Object[] args = ofArray(wrap((byte[]) SET_METHOD_ARGS[0]), wrap((byte[]) SET_METHOD_ARGS[1]));
+        RedisMethodContext<Object> context = new RedisMethodContext<>(mock(ReactiveStringCommands.class), reactiveSetMethod, args,
+                this.redisContext, this.redisContext, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        assertNull(this.reactiveInterceptor.afterExecute(context, TRUE, null).block());
+
+        // The event of the reactive write command is delivered to the listeners of the bus
+        assertTrue(this.contextListener.latch.await(5, SECONDS));
+        RedisCommandEvent event = this.contextListener.events.get(0);
+        assertSame(SET_METHOD, event.getMethod());
+        assertArrayEquals((byte[]) SET_METHOD_ARGS[0], (byte[]) event.getArg(0));
+        assertArrayEquals((byte[]) SET_METHOD_ARGS[1], (byte[]) event.getArg(1));
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, event.getSourceBeanName());
+    }
+
+    @Test
+    void testBridgeApplicationListener() throws Throwable {
+        List<String> threadNames = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        this.context.addApplicationListener((ApplicationListener<RedisCommandEvent>) event -> {
+            threadNames.add(currentThread().getName());
+            latch.countDown();
+        });
+
+        RedisMethodContext<RedisCommands> context = newRedisMethodContext();
+        this.interceptor.afterExecute(context, TRUE, null);
+
+        // The ApplicationListener is executed by the consumer thread of the bus rather than the current thread
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(singletonList(CONSUMER_THREAD_NAME), threadNames);
+    }
+
+    @Test
+    void testPublishInBatches() {
+        this.bus.start();
+        List<RedisCommandEvent> events = ofList(newRedisCommandEvent(), newRedisCommandEvent(), newRedisCommandEvent());
+        assertEquals(3, this.bus.publish(events));
+        this.bus.destroy();
+
+        // The events are delivered in order
+        assertEquals(events, this.listener.events);
+        assertEquals(3, this.bus.getPublishedCount());
+        assertEquals(0, this.bus.getDroppedCount());
+        assertEquals(0, this.bus.getPendingCount());
+        assertFalse(this.bus.isRunning());
+    }
+
+    @Test
+    void testDropOnStopped() {
+        // Not started
+        assertFalse(this.bus.publish(newRedisCommandEvent()));
+        assertEquals(0, this.bus.publish(asList(newRedisCommandEvent(), newRedisCommandEvent())));
+        assertEquals(3, this.bus.getDroppedCount());
+        assertEquals(0, this.bus.getPublishedCount());
+    }
+
+    @Test
+    void testPublishOnConsumerThread() throws Throwable {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<RedisCommandEventBus> holder = new ArrayList<>(1);
+        RecordingRedisCommandEventListener listener = new RecordingRedisCommandEventListener(1) {
+            @Override
+            public void onEvents(List<RedisCommandEvent> events) {
+                if (latch.getCount() > 0) {
+                    RedisCommandEventBus bus = holder.get(0);
+                    // The third event overflows the ring buffer of 2 slots
+                    bus.publish(asList(newRedisCommandEvent(), newRedisCommandEvent(), newRedisCommandEvent()));
+                    latch.countDown();
+                }
+            }
+        };
+        RedisCommandEventBus bus = new RedisCommandEventBus(singletonList(listener), 2, 8, BLOCK);
+        holder.add(bus);
+        bus.start();
+        bus.publish(newRedisCommandEvent());
+
+        // The consumer thread drops the event rather than waiting for itself
+        assertTrue(latch.await(5, SECONDS));
+        bus.destroy();
+        assertEquals(3, bus.getPublishedCount());
+        assertEquals(1, bus.getDroppedCount());
+    }
+
+    @Test
+    void testFailedListener() {
+        this.listener.failure = new IllegalStateException("For testing");
+        this.bus.start();
+        this.bus.publish(asList(newRedisCommandEvent(), newRedisCommandEvent()));
+        this.bus.destroy();
+        assertEquals(2, this.bus.getFailedCount());
+    }
+
+    @Test
+    void testCoalescing() {
+        RedisCommandEventBus bus = new RedisCommandEventBus(singletonList(this.listener), 16, 8, DROP, 50L);
+        assertTrue(bus.isCoalescingEnabled());
+        bus.start();
+        RedisCommandEvent set1 = newRedisCommandEvent("1");
+        RedisCommandEvent set2 = newRedisCommandEvent("2");
+        assertEquals(2, bus.publish(asList(set1, set2)));
+        bus.destroy();
+
+        // The first SET is superseded by the second one
+        assertEquals(singletonList(set2), this.listener.events);
+        assertEquals(2, bus.getPublishedCount());
+        assertEquals(1, bus.getCoalescedCount());
+        assertFalse(this.bus.isCoalescingEnabled());
+    }
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandEventBus(singletonList(this.listener), 0, 8, DROP));
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandEventBus(singletonList(this.listener), 16, 0, DROP));
+    }
+
+    @Test
+    void testOf() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_NAME, "32");
+        environment.setProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_NAME, "4");
+        environment.setProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_NAME, "drop");
+        environment.setProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_NAME, "10");
+        RedisCommandEventBus bus = RedisCommandEventBus.of(singletonList(this.listener), environment);
+        assertSame(DROP, bus.getOverflowPolicy());
+        assertTrue(bus.isCoalescingEnabled());
+        assertFalse(bus.isRunning());
+        bus.start();
+        assertTrue(bus.isRunning());
+        bus.destroy();
+        assertFalse(bus.isRunning());
+
+        bus = RedisCommandEventBus.of(singletonList(this.listener), new MockEnvironment());
+        assertSame(BLOCK, bus.getOverflowPolicy());
+        assertFalse(bus.isCoalescingEnabled());
+
+        // The unknown overflow policy falls back to the default one
+        environment = new MockEnvironment();
+        environment.setProperty(MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_NAME, "unknown");
+        bus = RedisCommandEventBus.of(singletonList(this.listener), environment);
+        assertSame(BLOCK, bus.getOverflowPolicy());
+    }
+
+    private RedisMethodContext<RedisCommands> newRedisMethodContext() {
+        return new RedisMethodContext(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext,
+                this.redisConnectionFactory, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+    }
+
+    private RedisCommandEvent newRedisCommandEvent() {
+        return new RedisCommandEvent(newRedisMethodContext());
+    }
+
+    private RedisCommandEvent newRedisCommandEvent(String value) {
+        return RedisCommandEvent.Builder.source(this).sourceBeanName(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE).method(SET_METHOD)
+                .args(SET_METHOD_ARGS[0], value.getBytes()).build();
+    }
+
+    static class RecordingRedisCommandEventListener implements RedisCommandEventListener {
+
+        private final int order;
+
+        private final List<RedisCommandEvent> events = new CopyOnWriteArrayList<>();
+
+        private volatile CountDownLatch latch = new CountDownLatch(1);
+
+        private volatile Throwable failure;
+
+        RecordingRedisCommandEventListener(int order) {
+            this.order = order;
+        }
+
+        @Override
+        public void onEvents(List<RedisCommandEvent> events) throws Throwable {
+            Throwable failure = this.failure;
+            if (failure != null) {
+                throw failure;
+            }
+            this.events.addAll(events);
+            this.latch.countDown();
+        }
+
+        void reset() {
+            this.events.clear();
+            this.latch = new CountDownLatch(1);
+        }
+
+        @Override
+        public int getOrder() {
+            return this.order;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.event.RedisCommandEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.interceptor.RedisCommandEventCoalescer.FIELD_OVERWRITE;
+import static io.microsphere.redis.spring.interceptor.RedisCommandEventCoalescer.KEY_OVERWRITE;
+import static io.microsphere.redis.spring.interceptor.RedisCommandEventCoalescer.NON_COALESCIBLE;
+import static io.microsphere.redis.spring.interceptor.RedisCommandEventCoalescer.SET_WITH_OPTIONS;
+import static io.microsphere.redis.spring.interceptor.RedisCommandEventCoalescer.resolveKind;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * {@link RedisCommandEventCoalescer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandEventCoalescer
+ * @since 1.0.0
+ */
+class RedisCommandEventCoalescerTest {
+
+    private static final Method SET = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
+    private static final Method SET_WITH_OPTION = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class,
+            Expiration.class, SetOption.class);
+
+    private static final Method SET_EX = findMethod(RedisStringCommands.class, "setEx", byte[].class, long.class, byte[].class);
+
+    private static final Method INCR = findMethod(RedisStringCommands.class, "incr", byte[].class);
+
+    private static final Method HSET = findMethod(RedisHashCommands.class, "hSet", byte[].class, byte[].class, byte[].class);
+
+    private static final Method DEL = findMethod(RedisKeyCommands.class, "del", byte[][].class);
+
+    private static final Method RENAME = findMethod(RedisKeyCommands.class, "rename", byte[].class, byte[].class);
+
+    private static final Method EXECUTE = findMethod(RedisCommands.class, "execute", String.class, byte[][].class);
+
+    private static final String SOURCE_BEAN_NAME = "redisTemplate";
+
+    private RedisCommandEventCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        this.coalescer = new RedisCommandEventCoalescer();
+    }
+
+    @Test
+    void testCoalesceSet() {
+        RedisCommandEvent set1 = event(SET, bytes("k"), bytes("1"));
+        RedisCommandEvent set2 = event(SET, bytes("k"), bytes("2"));
+        RedisCommandEvent setEx = event(SET_EX, bytes("k"), 10L, bytes("3"));
+        assertEquals(ofList(setEx), this.coalescer.coalesce(ofList(set1, set2, setEx)));
+    }
+
+    @Test
+    void testCoalesceWithNonIdempotentCommand() {
+        RedisCommandEvent set1 = event(SET, bytes("k"), bytes("1"));
+        RedisCommandEvent incrK = event(INCR, bytes("k"));
+        RedisCommandEvent incrN = event(INCR, bytes("n"));
+        RedisCommandEvent set2 = event(SET, bytes("k"), bytes("2"));
+
+        // INCR of the same key
+        List<RedisCommandEvent> events = ofList(set1, incrK, set2);
+        assertSame(events, this.coalescer.coalesce(events));
+
+        // INCR of another key
+        assertEquals(ofList(incrN, set2), this.coalescer.coalesce(ofList(set1, incrN, set2)));
+    }
+
+    @Test
+    void testCoalesceHSet() {
+        RedisCommandEvent hSetF1 = event(HSET, bytes("h"), bytes("f"), bytes("1"));
+        RedisCommandEvent hSetG1 = event(HSET, bytes("h"), bytes("g"), bytes("1"));
+        RedisCommandEvent hSetF2 = event(HSET, bytes("h"), bytes("f"), bytes("2"));
+        RedisCommandEvent del = event(DEL, (Object) new byte[][]{bytes("h")});
+
+        assertEquals(ofList(hSetG1, hSetF2), this.coalescer.coalesce(ofList(hSetF1, hSetG1, hSetF2)));
+        assertEquals(ofList(del), this.coalescer.coalesce(ofList(hSetF1, hSetG1, hSetF2, del)));
+        // HSET after the overwrite of the key
+        assertEquals(ofList(del, hSetF2), this.coalescer.coalesce(ofList(hSetF1, del, hSetF2)));
+    }
+
+    @Test
+    void testCoalesceDel() {
+        RedisCommandEvent setK = event(SET, bytes("k"), bytes("1"));
+        RedisCommandEvent setJ = event(SET, bytes("j"), bytes("1"));
+        RedisCommandEvent delK = event(DEL, (Object) new byte[][]{bytes("k")});
+        RedisCommandEvent delKJ = event(DEL, (Object) new byte[][]{bytes("k"), bytes("j")});
+
+        assertEquals(ofList(delKJ), this.coalescer.coalesce(ofList(setK, setJ, delKJ)));
+        assertEquals(ofList(delKJ), this.coalescer.coalesce(ofList(delK, delKJ)));
+        // DEL of the multiple keys is kept unless all keys are overwritten
+        assertEquals(ofList(delKJ, setK), this.coalescer.coalesce(ofList(delKJ, setK)));
+    }
+
+    @Test
+    void testCoalesceSetWithOption() {
+        RedisCommandEvent set = event(SET, bytes("k"), bytes("1"));
+        RedisCommandEvent setEx = event(SET_WITH_OPTION, bytes("k"), bytes("2"), Expiration.seconds(10), SetOption.UPSERT);
+        RedisCommandEvent setNx = event(SET_WITH_OPTION, bytes("k"), bytes("3"), Expiration.persistent(), SetOption.SET_IF_ABSENT);
+        RedisCommandEvent setKeepTtl = event(SET_WITH_OPTION, bytes("k"), bytes("4"), Expiration.keepTtl(), SetOption.UPSERT);
+
+        assertEquals(ofList(setEx), this.coalescer.coalesce(ofList(set, setEx)));
+        // The conditional SET depends on the former value
+        List<RedisCommandEvent> events = ofList(set, setNx);
+        assertSame(events, this.coalescer.coalesce(events));
+        events = ofList(set, setKeepTtl);
+        assertSame(events, this.coalescer.coalesce(events));
+        // The conditional SET is kept even if overwritten
+        assertEquals(ofList(setNx, set), this.coalescer.coalesce(ofList(setNx, set)));
+    }
+
+    @Test
+    void testCoalesceWithUnresolvedKeys() {
+        RedisCommandEvent set1 = event(SET, bytes("k"), bytes("1"));
+        RedisCommandEvent set2 = event(SET, bytes("k"), bytes("2"));
+
+        List<RedisCommandEvent> events = ofList(set1, event(RENAME, bytes("k"), bytes("j")), set2);
+        assertSame(events, this.coalescer.coalesce(events));
+
+        events = ofList(set1, event(EXECUTE, "SET", new byte[][]{bytes("k"), bytes("0")}), set2);
+        assertSame(events, this.coalescer.coalesce(events));
+    }
+
+    @Test
+    void testCoalesceFromDifferentSources() {
+        RedisCommandEvent set1 = event(SET, bytes("k"), bytes("1"));
+        RedisCommandEvent set2 = RedisCommandEvent.Builder.source(this).sourceBeanName("stringRedisTemplate")
+                .method(SET).args(bytes("k"), bytes("2")).build();
+        List<RedisCommandEvent> events = ofList(set1, set2);
+        assertSame(events, this.coalescer.coalesce(events));
+    }
+
+    @Test
+    void testCoalesceWithoutEnoughEvents() {
+        List<RedisCommandEvent> events = singletonList(event(SET, bytes("k"), bytes("1")));
+        assertSame(events, this.coalescer.coalesce(events));
+    }
+
+    @Test
+    void testResolveKind() {
+        assertEquals(KEY_OVERWRITE, resolveKind(getRedisMethodInvoker(SET).getMethodInfo()));
+        assertEquals(SET_WITH_OPTIONS, resolveKind(getRedisMethodInvoker(SET_WITH_OPTION).getMethodInfo()));
+        assertEquals(KEY_OVERWRITE, resolveKind(getRedisMethodInvoker(SET_EX).getMethodInfo()));
+        assertEquals(KEY_OVERWRITE, resolveKind(getRedisMethodInvoker(DEL).getMethodInfo()));
+        assertEquals(FIELD_OVERWRITE, resolveKind(getRedisMethodInvoker(HSET).getMethodInfo()));
+        assertEquals(NON_COALESCIBLE, resolveKind(getRedisMethodInvoker(INCR).getMethodInfo()));
+        assertEquals(NON_COALESCIBLE, resolveKind(getRedisMethodInvoker(RENAME).getMethodInfo()));
+    }
+
+    private RedisCommandEvent event(Method method, Object... args) {
+        return RedisCommandEvent.Builder.source(this).sourceBeanName(SOURCE_BEAN_NAME).method(method).args(args).build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(UTF_8);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import jdk.jfr.EventType;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.collection.Lists.ofList;
+import static jdk.jfr.EventType.getEventType;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * {@link RedisCommandJfrEvent} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandJfrEvent
+ * @since 1.0.0
+ */
+class RedisCommandJfrEventTest {
+
+    @Test
+    void testEventType() {
+        EventType eventType = getEventType(RedisCommandJfrEvent.class);
+        assertEquals(RedisCommandJfrEvent.NAME, eventType.getName());
+        assertEquals("Redis Command", eventType.getLabel());
+        assertEquals(ofList("Microsphere", "Redis"), eventType.getCategoryNames());
+        assertFalse(eventType.isEnabled());
+        for (String field : ofList("command", "interfaceName", "sourceBeanName", "keyLength", "payloadBytes",
+                "resultBytes", "errorClass")) {
+            assertNotNull(eventType.getField(field), field);
+        }
+    }
+
+    @Test
+    void testDisabled() {
+        assertFalse(new RedisCommandJfrEvent().isEnabled());
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms.LatencyHistogram;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms.DEFAULT_HIGHEST_TRACKABLE_VALUE_NANOS;
+import static io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms.DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Boolean.TRUE;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.core.Ordered.HIGHEST_PRECEDENCE;
+
+/**
+ * {@link RedisCommandLatencyHistograms} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandLatencyHistograms
+ * @since 1.0.0
+ */
+@ContextConfiguration(
+        classes = {
+                RedisContextConfig.class,
+                RedisCommandLatencyHistograms.class,
+                RedisCommandLatencyHistogramsTest.class
+        }
+)
+class RedisCommandLatencyHistogramsTest extends AbstractRedisTest {
+
+    private static final String OTHER_SOURCE_BEAN_NAME = "stringRedisTemplate";
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private RedisConnection redisConnection;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private RedisCommandLatencyHistograms histograms;
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.histograms.reset();
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testAfterExecute() {
+        execute(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, true);
+        execute(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, false);
+        execute(SET_METHOD, SET_METHOD_ARGS, OTHER_SOURCE_BEAN_NAME, true);
+
+        Method getMethod = findMethod(RedisStringCommands.class, "get", byte[].class);
+        execute(getMethod, ofArray((Object) "key".getBytes()), null, false);
+
+        List<LatencyHistogram> latencyHistograms = this.histograms.getLatencyHistograms();
+        assertEquals(3, latencyHistograms.size());
+
+        LatencyHistogram latencyHistogram = this.histograms.getLatencyHistogram(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, "SET");
+        assertNotNull(latencyHistogram);
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, latencyHistogram.getSourceBeanName());
+        assertEquals("SET", latencyHistogram.getCommand());
+        assertEquals(2, latencyHistogram.getCount());
+        assertNotNull(latencyHistogram.toString());
+
+        assertEquals(1, this.histograms.getLatencyHistogram(OTHER_SOURCE_BEAN_NAME, "SET").getCount());
+        assertEquals(1, this.histograms.getLatencyHistogram(null, "GET").getCount());
+
+        assertNull(this.histograms.getLatencyHistogram(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, "GET"));
+        assertNull(this.histograms.getLatencyHistogram("notFound", "SET"));
+        assertNull(this.histograms.getLatencyHistogram(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, "notFound"));
+
+        this.histograms.reset();
+        assertEquals(0, latencyHistogram.getCount());
+        assertSame(latencyHistogram, this.histograms.getLatencyHistogram(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, "SET"));
+    }
+
+    @Test
+    void testLatencyHistogram() {
+        LatencyHistogram latencyHistogram = new LatencyHistogram(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, "SET",
+                DEFAULT_HIGHEST_TRACKABLE_VALUE_NANOS, DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+        assertEquals(0, latencyHistogram.getCount());
+        assertEquals(0, latencyHistogram.getMaxValue());
+        assertEquals(0, latencyHistogram.getMean());
+        assertEquals(0, latencyHistogram.getTotalTime());
+        assertEquals(0, latencyHistogram.getValueAtPercentile(99.0));
+
+        for (int i = 0; i < 99; i++) {
+            latencyHistogram.record(MILLISECONDS.toNanos(1));
+        }
+        latencyHistogram.record(MILLISECONDS.toNanos(100));
+
+        // The relative error is 1% at most, 2% is tolerated
+        assertEquals(100, latencyHistogram.getCount());
+        assertEquals(MILLISECONDS.toNanos(1), latencyHistogram.getValueAtPercentile(50.0), MILLISECONDS.toNanos(1) / 50.0);
+        assertEquals(MILLISECONDS.toNanos(1), latencyHistogram.getValueAtPercentile(99.0), MILLISECONDS.toNanos(1) / 50.0);
+        assertEquals(MILLISECONDS.toNanos(100), latencyHistogram.getValueAtPercentile(99.9), MILLISECONDS.toNanos(100) / 50.0);
+        assertEquals(MILLISECONDS.toNanos(100), latencyHistogram.getMaxValue(), MILLISECONDS.toNanos(100) / 50.0);
+        assertEquals(latencyHistogram.getMean() * 100, latencyHistogram.getTotalTime());
+
+        // The values recorded after the flip are accumulated
+        latencyHistogram.record(MILLISECONDS.toNanos(1));
+        assertEquals(101, latencyHistogram.getCount());
+
+        Histogram histogram = latencyHistogram.getHistogram();
+        assertEquals(101, histogram.getTotalCount());
+        latencyHistogram.record(MILLISECONDS.toNanos(1));
+        // The copy is detached
+        assertEquals(101, histogram.getTotalCount());
+
+        // The value beyond the highest trackable value is truncated
+        latencyHistogram.record(DEFAULT_HIGHEST_TRACKABLE_VALUE_NANOS * 2);
+        assertEquals(103, latencyHistogram.getCount());
+        assertTrue(latencyHistogram.getMaxValue() <= histogram.highestEquivalentValue(DEFAULT_HIGHEST_TRACKABLE_VALUE_NANOS));
+
+        latencyHistogram.reset();
+        assertEquals(0, latencyHistogram.getCount());
+    }
+
+    @Test
+    void testAfterExecuteOnNonCommandMethod() {
+        Method closeMethod = findMethod(RedisConnection.class, "close");
+        execute(closeMethod, EMPTY_OBJECT_ARRAY, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, false);
+        assertTrue(this.histograms.getLatencyHistograms().isEmpty());
+        assertFalse(this.histograms.supports(null));
+        assertTrue(this.histograms.supports(getRedisMethodInvoker(SET_METHOD).getMethodInfo()));
+    }
+
+    @Test
+    void testAddListener() {
+        execute(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, true);
+
+        List<LatencyHistogram> latencyHistograms = new ArrayList<>();
+        this.histograms.addListener(latencyHistograms::add);
+        // The existing one
+        assertEquals(1, latencyHistograms.size());
+
+        execute(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, true);
+        assertEquals(1, latencyHistograms.size());
+
+        execute(SET_METHOD, SET_METHOD_ARGS, OTHER_SOURCE_BEAN_NAME, true);
+        assertEquals(2, latencyHistograms.size());
+        assertEquals(OTHER_SOURCE_BEAN_NAME, latencyHistograms.get(1).getSourceBeanName());
+    }
+
+    @Test
+    void testOnBatch() {
+        RedisMethodContext<RedisCommands> context = newContext(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        RedisMethodContext<RedisCommands> failedContext = newContext(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        this.histograms.beforeExecute(context);
+        this.histograms.beforeExecute(failedContext);
+        this.histograms.onBatch(ofList(context, failedContext), asList(TRUE, new RuntimeException("For testing")));
+
+        assertEquals(2, this.histograms.getLatencyHistogram(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, "SET").getCount());
+    }
+
+    @Test
+    void testConstructor() {
+        RedisCommandLatencyHistograms histograms = new RedisCommandLatencyHistograms();
+        assertEquals(DEFAULT_HIGHEST_TRACKABLE_VALUE_NANOS, histograms.getHighestTrackableValueNanos());
+        assertEquals(DEFAULT_NUMBER_OF_SIGNIFICANT_VALUE_DIGITS, histograms.getNumberOfSignificantValueDigits());
+
+        histograms = new RedisCommandLatencyHistograms(1000, 3);
+        assertEquals(1000, histograms.getHighestTrackableValueNanos());
+        assertEquals(3, histograms.getNumberOfSignificantValueDigits());
+
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandLatencyHistograms(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandLatencyHistograms(1000, -1));
+        assertThrows(IllegalArgumentException.class, () -> new RedisCommandLatencyHistograms(1000, 6));
+    }
+
+    @Test
+    void testIsSampleableAndGetOrder() {
+        assertFalse(this.histograms.isSampleable());
+        assertEquals(HIGHEST_PRECEDENCE, this.histograms.getOrder());
+    }
+
+    private void execute(Method method, Object[] args, String sourceBeanName, boolean stopped) {
+        RedisMethodContext<RedisCommands> context = newContext(method, args, sourceBeanName);
+        this.histograms.beforeExecute(context);
+        if (stopped) {
+            context.stop();
+        }
+        this.histograms.afterExecute(context, null, null);
+    }
+
+    private RedisMethodContext<RedisCommands> newContext(Method method, Object[] args, String sourceBeanName) {
+        return new RedisMethodContext<>((RedisCommands) this.redisConnection, method, args, this.redisContext, null, sourceBeanName);
+    }
+}
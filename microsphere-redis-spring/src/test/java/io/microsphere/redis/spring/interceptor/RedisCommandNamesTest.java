@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.redis.spring.interceptor.RedisCommandNames.INDEXES;
+import static io.microsphere.redis.spring.interceptor.RedisCommandNames.NAMES;
+import static io.microsphere.redis.spring.interceptor.RedisCommandNames.NAME_TO_INDEX;
+import static io.microsphere.redis.spring.interceptor.RedisCommandNames.resolveCommand;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokerCount;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokers;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandNames} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandNames
+ * @since 1.0.0
+ */
+class RedisCommandNamesTest {
+
+    @Test
+    void testIndexes() {
+        assertEquals(getRedisMethodInvokerCount(), INDEXES.length);
+        assertEquals(NAMES.length, NAME_TO_INDEX.size());
+        assertTrue(NAMES.length <= INDEXES.length);
+        for (RedisMethodInvoker redisMethodInvoker : getRedisMethodInvokers()) {
+            int index = INDEXES[redisMethodInvoker.getOrdinal()];
+            String command = NAMES[index];
+            assertEquals(resolveCommand(redisMethodInvoker.getMethodInfo().getMethodMetadata()), command);
+            assertEquals(index, NAME_TO_INDEX.get(command));
+        }
+    }
+
+    @Test
+    void testSharedIndex() {
+        assertTrue(NAME_TO_INDEX.containsKey("SET"));
+        assertTrue(NAME_TO_INDEX.containsKey("GET"));
+    }
+}
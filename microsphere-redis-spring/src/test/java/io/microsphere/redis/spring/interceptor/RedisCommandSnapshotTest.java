@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.lang.reflect.Method;
+
+import static io.microsphere.redis.spring.metadata.RedisMethodInvoker.NON_COMMAND_ORDINAL;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandSnapshot} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandSnapshot
+ * @since 1.0.0
+ */
+class RedisCommandSnapshotTest {
+
+    private static final Method SET_METHOD = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
+    private static final Method CLOSE_METHOD = findMethod(RedisConnection.class, "close");
+
+    @Test
+    void testCommandMethod() {
+        RedisMethodInvoker redisMethodInvoker = getRedisMethodInvoker(SET_METHOD);
+        Object[] args = ofArray("key".getBytes(UTF_8), "value".getBytes(UTF_8));
+        RedisCommandSnapshot snapshot = new RedisCommandSnapshot(SET_METHOD, redisMethodInvoker.getMethodInfo(),
+                redisMethodInvoker.getOrdinal(), args, true, null, 2_000L, "redisTemplate");
+        assertSame(SET_METHOD, snapshot.getMethod());
+        assertSame(redisMethodInvoker.getMethodInfo(), snapshot.getMethodInfo());
+        assertEquals(redisMethodInvoker.getMethodInfo().getIndex(), snapshot.getMethodIndex());
+        assertEquals(redisMethodInvoker.getOrdinal(), snapshot.getOrdinal());
+        assertSame(args, snapshot.getArgs());
+        assertEquals(true, snapshot.getResult());
+        assertNull(snapshot.getFailure());
+        assertEquals(2_000L, snapshot.getDurationNanos());
+        assertEquals(2L, snapshot.getDuration(MICROSECONDS));
+        assertEquals("redisTemplate", snapshot.getSourceBeanName());
+        assertTrue(snapshot.getStartTimeNanos() <= nanoTime() - 2_000L);
+        assertEquals(currentThread().getId(), snapshot.getThreadId());
+        assertTrue(snapshot.toString().contains("sourceBeanName='redisTemplate'"));
+    }
+
+    @Test
+    void testStartTimeAndThreadId() {
+        RedisMethodInvoker redisMethodInvoker = getRedisMethodInvoker(SET_METHOD);
+        RedisCommandSnapshot snapshot = new RedisCommandSnapshot(SET_METHOD, redisMethodInvoker.getMethodInfo(),
+                redisMethodInvoker.getOrdinal(), EMPTY_OBJECT_ARRAY, null, null, 2_000L, null, 1_000L, 9L);
+        assertEquals(1_000L, snapshot.getStartTimeNanos());
+        assertEquals(9L, snapshot.getThreadId());
+        assertTrue(snapshot.toString().contains("threadId=9"));
+    }
+
+    @Test
+    void testNonCommandMethod() {
+        Throwable failure = new IllegalStateException();
+        RedisCommandSnapshot snapshot = new RedisCommandSnapshot(CLOSE_METHOD, null, NON_COMMAND_ORDINAL,
+                EMPTY_OBJECT_ARRAY, null, failure, 0L, null);
+        assertNull(snapshot.getMethodInfo());
+        assertEquals(-1, snapshot.getMethodIndex());
+        assertEquals(NON_COMMAND_ORDINAL, snapshot.getOrdinal());
+        assertNull(snapshot.getResult());
+        assertSame(failure, snapshot.getFailure());
+        assertNull(snapshot.getSourceBeanName());
+    }
+}
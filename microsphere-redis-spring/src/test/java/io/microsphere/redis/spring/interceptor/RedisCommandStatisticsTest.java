@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.RedisCommandStatistics.Snapshot;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.interceptor.RedisCommandStatistics.sizeOf;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Boolean.TRUE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.core.Ordered.HIGHEST_PRECEDENCE;
+
+/**
+ * {@link RedisCommandStatistics} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandStatistics
+ * @since 1.0.0
+ */
+@ContextConfiguration(
+        classes = {
+                RedisContextConfig.class,
+                RedisCommandStatistics.class,
+                RedisCommandStatisticsTest.class
+        }
+)
+class RedisCommandStatisticsTest extends AbstractRedisTest {
+
+    private static final String OTHER_SOURCE_BEAN_NAME = "stringRedisTemplate";
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private RedisConnection redisConnection;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private RedisCommandStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.statistics.reset();
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testAfterExecute() {
+        execute(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, TRUE, null);
+        execute(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, null, new RuntimeException("For testing"));
+        execute(SET_METHOD, SET_METHOD_ARGS, OTHER_SOURCE_BEAN_NAME, TRUE, null);
+
+        Method getMethod = findMethod(RedisStringCommands.class, "get", byte[].class);
+        execute(getMethod, ofArray((Object) "key".getBytes()), SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, "value".getBytes(), null);
+        execute(getMethod, ofArray((Object) "key".getBytes()), null, null, null);
+
+        List<Snapshot> snapshots = this.statistics.getSnapshots();
+        assertEquals(4, snapshots.size());
+
+        Snapshot snapshot = findSnapshot(snapshots, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, "set");
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, snapshot.getSourceBeanName());
+        assertEquals(getInterfaceName(SET_METHOD), snapshot.getInterfaceName());
+        assertEquals("set", snapshot.getMethodName());
+        assertEquals("SET", snapshot.getCommand());
+        assertEquals(2, snapshot.getInvocations());
+        assertEquals(1, snapshot.getErrors());
+        assertTrue(snapshot.getTotalLatencyNanos() >= snapshot.getMaxLatencyNanos());
+        assertTrue(snapshot.getMaxLatencyNanos() >= 0);
+        assertEquals(snapshot.getTotalLatencyNanos() / 2, snapshot.getAverageLatencyNanos());
+        // "key" and "value" * 2
+        assertEquals(16, snapshot.getBytesIn());
+        // The result is not binary
+        assertEquals(0, snapshot.getBytesOut());
+        assertNotNull(snapshot.toString());
+
+        Map<String, Snapshot> snapshotsByCommand = this.statistics.getSnapshotsByCommand();
+        assertEquals(2, snapshotsByCommand.size());
+        Snapshot setSnapshot = snapshotsByCommand.get("SET");
+        assertEquals(3, setSnapshot.getInvocations());
+        assertEquals(1, setSnapshot.getErrors());
+        assertNull(setSnapshot.getSourceBeanName());
+        assertNull(setSnapshot.getInterfaceName());
+        assertNull(setSnapshot.getMethodName());
+        Snapshot getSnapshot = snapshotsByCommand.get("GET");
+        assertEquals(2, getSnapshot.getInvocations());
+        assertEquals(6, getSnapshot.getBytesIn());
+        assertEquals(5, getSnapshot.getBytesOut());
+
+        Map<String, Snapshot> snapshotsByInterface = this.statistics.getSnapshotsByInterface();
+        assertEquals(5, snapshotsByInterface.values().stream().mapToLong(Snapshot::getInvocations).sum());
+        assertTrue(snapshotsByInterface.get(getInterfaceName(getMethod)).getInvocations() >= 2);
+
+        Map<String, Snapshot> snapshotsBySourceBeanName = this.statistics.getSnapshotsBySourceBeanName();
+        assertEquals(3, snapshotsBySourceBeanName.size());
+        assertEquals(3, snapshotsBySourceBeanName.get(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE).getInvocations());
+        assertEquals(1, snapshotsBySourceBeanName.get(OTHER_SOURCE_BEAN_NAME).getInvocations());
+        assertEquals(1, snapshotsBySourceBeanName.get(null).getInvocations());
+
+        this.statistics.reset();
+        assertTrue(this.statistics.getSnapshots().isEmpty());
+    }
+
+    @Test
+    void testAfterExecuteOnNonCommandMethod() throws Throwable {
+        Method closeMethod = findMethod(RedisConnection.class, "close");
+        execute(closeMethod, EMPTY_OBJECT_ARRAY, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, null, null);
+        assertTrue(this.statistics.getSnapshots().isEmpty());
+        assertFalse(this.statistics.supports(null));
+        assertTrue(this.statistics.supports(getRedisMethodInvoker(SET_METHOD).getMethodInfo()));
+    }
+
+    @Test
+    void testOnBatch() throws Throwable {
+        RedisMethodContext<RedisCommands> context = newContext(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        RedisMethodContext<RedisCommands> failedContext = newContext(SET_METHOD, SET_METHOD_ARGS, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        this.statistics.beforeExecute(context);
+        this.statistics.beforeExecute(failedContext);
+        this.statistics.onBatch(ofList(context, failedContext), asList(TRUE, new RuntimeException("For testing")));
+
+        Snapshot snapshot = this.statistics.getSnapshots().get(0);
+        assertEquals(2, snapshot.getInvocations());
+        assertEquals(1, snapshot.getErrors());
+    }
+
+    @Test
+    void testSizeOf() {
+        assertEquals(0, sizeOf(null));
+        assertEquals(0, sizeOf("value"));
+        assertEquals(0, sizeOf(EMPTY_OBJECT_ARRAY));
+        assertEquals(3, sizeOf("key".getBytes()));
+        assertEquals(8, sizeOf(SET_METHOD_ARGS));
+        assertEquals(6, sizeOf(new byte[][]{"a".getBytes(), "bc".getBytes(), "def".getBytes()}));
+        assertEquals(6, sizeOf(ofArray((Object) new byte[][]{"a".getBytes(), "bc".getBytes(), "def".getBytes()})));
+        assertEquals(3, sizeOf(asList("a".getBytes(), "bc".getBytes(), "d")));
+        assertEquals(8, sizeOf(ofArray((Object) singletonMap("key".getBytes(), "value".getBytes()))));
+    }
+
+    @Test
+    void testIsSampleableAndGetOrder() {
+        assertFalse(this.statistics.isSampleable());
+        assertEquals(HIGHEST_PRECEDENCE, this.statistics.getOrder());
+    }
+
+    private Snapshot findSnapshot(List<Snapshot> snapshots, String sourceBeanName, String methodName) {
+        return snapshots.stream()
+                .filter(snapshot -> Objects.equals(sourceBeanName, snapshot.getSourceBeanName()) && methodName.equals(snapshot.getMethodName()))
+                .findFirst()
+                .get();
+    }
+
+    private String getInterfaceName(Method method) {
+        return getRedisMethodInvoker(method).getMethodInfo().getMethodMetadata().getInterfaceName();
+    }
+
+    private void execute(Method method, Object[] args, String sourceBeanName, Object result, Throwable failure) {
+        RedisMethodContext<RedisCommands> context = newContext(method, args, sourceBeanName);
+        this.statistics.beforeExecute(context);
+        this.statistics.afterExecute(context, result, failure);
+    }
+
+    private RedisMethodContext<RedisCommands> newContext(Method method, Object[] args, String sourceBeanName) {
+        return new RedisMethodContext<>((RedisCommands) this.redisConnection, method, args, this.redisContext, null, sourceBeanName);
+    }
+}
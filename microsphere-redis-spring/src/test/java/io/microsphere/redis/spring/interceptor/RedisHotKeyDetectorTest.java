@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.event.RedisHotKeyEvent;
+import io.microsphere.redis.spring.interceptor.RedisHotKeyDetector.HotKey;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.interceptor.RedisHotKeyDetector.hash;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Thread.sleep;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisHotKeyDetector} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisHotKeyDetector
+ * @since 1.0.0
+ */
+@ContextConfiguration(
+        classes = {
+                RedisContextConfig.class,
+                RedisHotKeyDetector.class,
+                RedisHotKeyDetectorTest.class
+        }
+)
+@TestPropertySource(properties = {
+        "microsphere.redis.interceptor.hot-key.capacity=2",
+        "microsphere.redis.interceptor.hot-key.window=60000",
+        "microsphere.redis.interceptor.hot-key.threshold=3"
+})
+class RedisHotKeyDetectorTest extends AbstractRedisTest {
+
+    private static final Method GET_METHOD = findMethod(RedisStringCommands.class, "get", byte[].class);
+
+    private static final Method DEL_METHOD = findMethod(RedisKeyCommands.class, "del", byte[][].class);
+
+    private static final List<RedisHotKeyEvent> events = new ArrayList<>();
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private RedisConnection redisConnection;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private RedisHotKeyDetector detector;
+
+    @EventListener(RedisHotKeyEvent.class)
+    public void onRedisHotKeyEvent(RedisHotKeyEvent event) {
+        events.add(event);
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.detector.reset();
+        events.clear();
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testSetEnvironment() {
+        assertEquals(2, this.detector.getCapacity());
+        assertEquals(60000, this.detector.getWindow());
+        assertEquals(3, this.detector.getThreshold());
+    }
+
+    @Test
+    void testAfterExecute() {
+        get(this.detector, "hot");
+        get(this.detector, "hot");
+        get(this.detector, "cold");
+        execute(this.detector, SET_METHOD, SET_METHOD_ARGS);
+        execute(this.detector, SET_METHOD, SET_METHOD_ARGS);
+
+        List<HotKey> readHotKeys = this.detector.getReadHotKeys();
+        assertEquals(2, readHotKeys.size());
+        HotKey hotKey = readHotKeys.get(0);
+        assertEquals("hot", hotKey.getKeyAsString());
+        assertArrayEquals("hot".getBytes(), hotKey.getKey());
+        assertEquals(2, hotKey.getCount());
+        assertFalse(hotKey.isWrite());
+        assertTrue(hotKey.getWindowStartTimeMillis() > 0);
+        assertNotNull(hotKey.toString());
+        assertEquals("cold", readHotKeys.get(1).getKeyAsString());
+
+        List<HotKey> writeHotKeys = this.detector.getWriteHotKeys();
+        assertEquals(1, writeHotKeys.size());
+        assertEquals("key", writeHotKeys.get(0).getKeyAsString());
+        assertEquals(2, writeHotKeys.get(0).getCount());
+        assertTrue(writeHotKeys.get(0).isWrite());
+
+        assertEquals(2, this.detector.estimateReadCount("hot".getBytes()));
+        assertEquals(0, this.detector.estimateReadCount("key".getBytes()));
+        assertEquals(2, this.detector.estimateWriteCount("key".getBytes()));
+
+        // The first window is not complete
+        assertTrue(this.detector.getPreviousReadHotKeys().isEmpty());
+        assertTrue(this.detector.getPreviousWriteHotKeys().isEmpty());
+    }
+
+    @Test
+    void testAfterExecuteOnMultipleKeys() {
+        execute(this.detector, DEL_METHOD, ofArray((Object) new byte[][]{"k1".getBytes(), "k2".getBytes()}));
+        List<HotKey> writeHotKeys = this.detector.getWriteHotKeys();
+        assertEquals(2, writeHotKeys.size());
+        assertTrue(this.detector.getReadHotKeys().isEmpty());
+    }
+
+    @Test
+    void testAfterExecuteOnNonKeyMethod() {
+        execute(this.detector, findMethod(RedisConnection.class, "close"), EMPTY_OBJECT_ARRAY);
+        execute(this.detector, findMethod(RedisConnection.class, "ping"), EMPTY_OBJECT_ARRAY);
+        assertTrue(this.detector.getReadHotKeys().isEmpty());
+        assertTrue(this.detector.getWriteHotKeys().isEmpty());
+    }
+
+    @Test
+    void testEviction() {
+        get(this.detector, "a");
+        get(this.detector, "a");
+        get(this.detector, "b");
+        // The count of "c" is not greater than the smallest one in the full table
+        get(this.detector, "c");
+        assertEquals(ofList("a", "b"), keys(this.detector.getReadHotKeys()));
+        // "b" is evicted by "c"
+        get(this.detector, "c");
+        assertEquals(ofList("a", "c"), keys(this.detector.getReadHotKeys()));
+    }
+
+    @Test
+    void testRedisHotKeyEvent() {
+        get(this.detector, "hot");
+        get(this.detector, "hot");
+        assertTrue(events.isEmpty());
+        get(this.detector, "hot");
+        assertEquals(1, events.size());
+        RedisHotKeyEvent event = events.get(0);
+        assertEquals("hot", event.getHotKey().getKeyAsString());
+        assertEquals(3, event.getHotKey().getCount());
+        assertEquals("GET", event.getCommand());
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, event.getSourceBeanName());
+
+        // Once per window
+        get(this.detector, "hot");
+        assertEquals(1, events.size());
+        this.detector.reset();
+        get(this.detector, "hot");
+        get(this.detector, "hot");
+        get(this.detector, "hot");
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    void testWindow() throws InterruptedException {
+        RedisHotKeyDetector detector = new RedisHotKeyDetector();
+        detector.setWindow(1);
+        get(detector, "hot");
+        sleep(5);
+        // The new window
+        get(detector, "cold");
+        assertEquals("cold", detector.getReadHotKeys().get(0).getKeyAsString());
+        assertEquals(1, detector.getReadHotKeys().size());
+        assertEquals("hot", detector.getPreviousReadHotKeys().get(0).getKeyAsString());
+        assertTrue(detector.getPreviousWriteHotKeys().isEmpty());
+
+        detector.reset();
+        assertTrue(detector.getPreviousReadHotKeys().isEmpty());
+    }
+
+    @Test
+    void testWithoutApplicationEventPublisher() {
+        RedisHotKeyDetector detector = new RedisHotKeyDetector();
+        detector.setThreshold(1);
+        get(detector, "hot");
+        assertEquals(1, detector.getReadHotKeys().size());
+    }
+
+    @Test
+    void testSetters() {
+        RedisHotKeyDetector detector = new RedisHotKeyDetector();
+        assertEquals(32, detector.getCapacity());
+        assertEquals(10000, detector.getWindow());
+        assertEquals(0, detector.getThreshold());
+        assertThrows(IllegalArgumentException.class, () -> detector.setCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> detector.setWindow(0));
+    }
+
+    @Test
+    void testHash() {
+        assertEquals(hash("key".getBytes()), hash("key".getBytes()));
+        assertNotEquals(hash("key".getBytes()), hash("kez".getBytes()));
+    }
+
+    private List<String> keys(List<HotKey> hotKeys) {
+        List<String> keys = new ArrayList<>();
+        for (HotKey hotKey : hotKeys) {
+            keys.add(hotKey.getKeyAsString());
+        }
+        return keys;
+    }
+
+    private void get(RedisHotKeyDetector detector, String key) {
+        execute(detector, GET_METHOD, ofArray((Object) key.getBytes()));
+    }
+
+    private void execute(RedisHotKeyDetector detector, Method method, Object[] args) {
+        RedisMethodContext<RedisCommands> context = new RedisMethodContext<>((RedisCommands) this.redisConnection,
+                method, args, this.redisContext, null, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        detector.afterExecute(context, null, null);
+    }
+}
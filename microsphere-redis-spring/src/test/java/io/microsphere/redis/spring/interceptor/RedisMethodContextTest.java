@@ -19,12 +19,17 @@ package io.microsphere.redis.spring.interceptor;
 import io.microsphere.redis.metadata.Parameter;
 import io.microsphere.redis.spring.config.RedisContextConfig;
 import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
 import io.microsphere.redis.spring.test.AbstractRedisTest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisClusterServerCommands;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisKeyCommands;
@@ -36,18 +41,27 @@ import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
 import static io.microsphere.redis.spring.interceptor.RedisMethodContext.clear;
 import static io.microsphere.redis.spring.interceptor.RedisMethodContext.get;
 import static io.microsphere.redis.spring.interceptor.RedisMethodContext.set;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.isWriteCommandMethod;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.NO_SLOT;
 import static io.microsphere.reflect.MethodUtils.findMethod;
 import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Boolean.FALSE;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * {@link RedisMethodContext} Test
@@ -62,6 +76,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 })
 class RedisMethodContextTest extends AbstractRedisTest {
 
+    private static final AttributeKey<String> NAME_KEY = AttributeKey.valueOf("redis-method-context-test.name");
+
     @Autowired
     private RedisConnectionFactory redisConnectionFactory;
 
@@ -110,6 +126,206 @@ class RedisMethodContextTest extends AbstractRedisTest {
         assertNull(context);
     }
 
+    @Test
+    void testGetRedisMethodInvoker() {
+        assertSame(getRedisMethodInvoker(SET_METHOD), this.context.getRedisMethodInvoker());
+
+        Method closeMethod = findMethod(RedisConnection.class, "close");
+        RedisMethodContext context = new RedisMethodContext(this.redisConnection, closeMethod, EMPTY_OBJECT_ARRAY, this.redisContext);
+        assertNull(context.getRedisMethodInvoker());
+        RedisMethodInvoker redisMethodInvoker = RedisMethodInvoker.of(closeMethod);
+        assertSame(context, context.redisMethodInvoker(redisMethodInvoker));
+        assertSame(redisMethodInvoker, context.getRedisMethodInvoker());
+        assertSame(redisMethodInvoker, context.retain().getRedisMethodInvoker());
+    }
+
+    @Test
+    void testIsSampled() {
+        // Decided by RedisMethodSampler.ALWAYS on the first invocation
+        assertTrue(this.context.isSampled());
+
+        RedisMethodContext context = new RedisMethodContext(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext);
+        assertSame(context, context.sampled(FALSE));
+        assertFalse(context.isSampled());
+        assertFalse(context.retain().isSampled());
+
+        context = RedisMethodContext.acquire(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext, null, null).sampled(FALSE);
+        assertFalse(context.retain().isSampled());
+        context.release();
+        assertThrows(IllegalStateException.class, context::isSampled);
+        // The decision is reset for the subsequent execution
+        context = RedisMethodContext.acquire(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext, null, null);
+        assertTrue(context.isSampled());
+        context.release();
+    }
+
+    @Test
+    void testCallAndRun() throws Exception {
+        set(this.context);
+        RedisMethodContext nestedContext = new RedisMethodContext(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext);
+        assertSame(nestedContext, RedisMethodContext.call(nestedContext, RedisMethodContext::get));
+        // the previous one was restored
+        assertSame(this.context, get());
+
+        RedisMethodContext.run(null, () -> assertNull(get()));
+        assertSame(this.context, get());
+
+        assertThrows(Exception.class, () -> RedisMethodContext.call(nestedContext, () -> {
+            throw new Exception("For testing");
+        }));
+        assertSame(this.context, get());
+        clear();
+    }
+
+    @Test
+    void testAcquireAndRelease() {
+        RedisMethodContext context = RedisMethodContext.acquire(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext, this.redisConnectionFactory, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        assertTrue(context.isRecyclable());
+        assertTrue(context.isActive());
+        assertRedisMethodContextCommons(context, this.redisConnectionFactory, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, SET_METHOD, SET_METHOD_ARGS);
+
+        // Reentrant execution
+        RedisMethodContext nestedContext = RedisMethodContext.acquire(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext, this.redisConnectionFactory, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        assertNotSame(context, nestedContext);
+        assertFalse(nestedContext.isRecyclable());
+        nestedContext.release();
+        assertSame(SET_METHOD, nestedContext.getMethod());
+
+        context.setAttribute("name", "value");
+        context.setAttribute(NAME_KEY, "value");
+        RedisMethodContext retainedContext = context.retain();
+        assertNotSame(context, retainedContext);
+        assertFalse(retainedContext.isRecyclable());
+        assertSame(retainedContext, retainedContext.retain());
+
+        set(context);
+        context.release();
+        // the retention in ContextHolder was cleared
+        assertNull(get());
+        assertFalse(context.isActive());
+        assertThrows(IllegalStateException.class, context::getMethod);
+        assertThrows(IllegalStateException.class, context::getParameters);
+        assertThrows(IllegalStateException.class, context::retain);
+        assertThrows(IllegalStateException.class, () -> context.getAttribute("name"));
+        assertNotNull(context.toString());
+
+        assertSame(SET_METHOD, retainedContext.getMethod());
+        assertEquals("value", retainedContext.getAttribute("name"));
+        assertEquals("value", retainedContext.getAttribute(NAME_KEY));
+
+        Method randomKeyMethod = findMethod(RedisKeyCommands.class, "randomKey");
+        RedisMethodContext recycledContext = RedisMethodContext.acquire(this.redisConnection, randomKeyMethod, EMPTY_OBJECT_ARRAY, this.redisContext, null, null);
+        assertSame(context, recycledContext);
+        assertRedisMethodContextCommons(recycledContext, null, null, randomKeyMethod, EMPTY_OBJECT_ARRAY);
+        recycledContext.release();
+    }
+
+    @Test
+    void testHandle() {
+        RedisMethodContext.Handle handle = this.context.handle();
+        assertTrue(handle.isValid());
+        assertSame(this.context, handle.get());
+        assertSame(this.context, handle.retain());
+        assertEquals(0, this.context.getGeneration());
+        assertNotNull(handle.toString());
+
+        RedisMethodContext context = RedisMethodContext.acquire(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext, null, null);
+        int generation = context.getGeneration();
+        RedisMethodContext.Handle recycledHandle = context.handle();
+        assertSame(context, recycledHandle.get());
+        assertNotSame(context, recycledHandle.retain());
+        context.release();
+        assertEquals(generation + 1, context.getGeneration());
+        assertFalse(recycledHandle.isValid());
+        assertThrows(IllegalStateException.class, recycledHandle::get);
+
+        // The stale handle is rejected even if the instance is reused by a later execution on the same thread
+        RedisMethodContext recycledContext = RedisMethodContext.acquire(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext, null, null);
+        assertSame(context, recycledContext);
+        assertTrue(recycledContext.isActive());
+        assertFalse(recycledHandle.isValid());
+        assertThrows(IllegalStateException.class, recycledHandle::get);
+        assertThrows(IllegalStateException.class, recycledHandle::retain);
+        assertNotNull(recycledHandle.toString());
+        recycledContext.release();
+        assertThrows(IllegalStateException.class, context::handle);
+    }
+
+    @Test
+    void testReuseParameters() {
+        RedisMethodContext context = RedisMethodContext.acquire(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext, null, null);
+        Parameter[] parameters = context.getParameters();
+        RedisMethodContext retainedContext = context.retain();
+        assertNotSame(parameters, retainedContext.getParameters());
+        assertArrayEquals(parameters, retainedContext.getParameters());
+        context.release();
+        // The parameters of the retained context are not affected by the release
+        assertNotNull(retainedContext.getParameter(0));
+
+        // The array is reused if the arity matches
+        Object[] args = ofArray("key-2".getBytes(), "value-2".getBytes());
+        context = RedisMethodContext.acquire(this.redisConnection, SET_METHOD, args, this.redisContext, null, null);
+        assertSame(parameters, context.getParameters());
+        assertSame(args[0], context.getParameter(0).getValue());
+        context.release();
+
+        // The array is not reused if the arity doesn't match
+        Method randomKeyMethod = findMethod(RedisKeyCommands.class, "randomKey");
+        context = RedisMethodContext.acquire(this.redisConnection, randomKeyMethod, EMPTY_OBJECT_ARRAY, this.redisContext, null, null);
+        assertEquals(0, context.getParameterCount());
+        context.release();
+
+        context = RedisMethodContext.acquire(this.redisConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext, null, null);
+        assertSame(parameters, context.getParameters());
+        context.release();
+    }
+
+    @Test
+    void testGetSlotAndNode() {
+        int slot = ClusterSlotHashUtil.calculateSlot((byte[]) SET_METHOD_ARGS[0]);
+        assertEquals(slot, this.context.getSlot());
+        // The target is not a RedisClusterConnection
+        assertNull(this.context.getNode());
+
+        Method randomKeyMethod = findMethod(RedisKeyCommands.class, "randomKey");
+        RedisMethodContext context = new RedisMethodContext(this.redisConnection, randomKeyMethod, EMPTY_OBJECT_ARRAY, this.redisContext);
+        assertEquals(NO_SLOT, context.getSlot());
+        assertNull(context.getNode());
+
+        RedisClusterNode node = new RedisClusterNode("127.0.0.1", 7000);
+        RedisClusterConnection clusterConnection = mock(RedisClusterConnection.class);
+        when(clusterConnection.clusterGetNodeForSlot(slot)).thenReturn(node);
+        context = new RedisMethodContext(clusterConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext);
+        assertSame(node, context.getNode());
+        // The node is resolved once
+        assertSame(node, context.getNode());
+        verify(clusterConnection, times(1)).clusterGetNodeForSlot(slot);
+
+        // The node-specific Redis command
+        Method flushDbMethod = findMethod(RedisClusterServerCommands.class, "flushDb", RedisClusterNode.class);
+        context = new RedisMethodContext(clusterConnection, flushDbMethod, ofArray(node), this.redisContext);
+        assertEquals(NO_SLOT, context.getSlot());
+        assertSame(node, context.getNode());
+
+        // The node can't be resolved from the cluster topology
+        RedisClusterConnection failedClusterConnection = mock(RedisClusterConnection.class);
+        when(failedClusterConnection.clusterGetNodeForSlot(slot)).thenThrow(new IllegalStateException("For testing"));
+        context = new RedisMethodContext(failedClusterConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext);
+        assertNull(context.getNode());
+
+        // The states are copied by retain() and reset by release()
+        RedisMethodContext recycledContext = RedisMethodContext.acquire(clusterConnection, SET_METHOD, SET_METHOD_ARGS, this.redisContext, null, null);
+        assertSame(node, recycledContext.getNode());
+        RedisMethodContext retainedContext = recycledContext.retain();
+        recycledContext.release();
+        assertEquals(slot, retainedContext.getSlot());
+        assertSame(node, retainedContext.getNode());
+        recycledContext = RedisMethodContext.acquire(this.redisConnection, randomKeyMethod, EMPTY_OBJECT_ARRAY, this.redisContext, null, null);
+        assertEquals(NO_SLOT, recycledContext.getSlot());
+        assertNull(recycledContext.getNode());
+        recycledContext.release();
+    }
+
     void assertRedisMethodContextCommons(RedisMethodContext context, Object sourceBean, String sourceBeanName, Method method, Object... args) {
         assertSame(this.redisConnection, context.getTarget());
         assertSame(method, context.getMethod());
@@ -139,6 +355,28 @@ class RedisMethodContextTest extends AbstractRedisTest {
         assertFalse(context.hasAttribute("name"));
         assertTrue(context.getAttributes().isEmpty());
 
+        assertNull(context.getAttribute(NAME_KEY));
+        assertFalse(context.hasAttribute(NAME_KEY));
+        assertNull(context.removeAttribute(NAME_KEY));
+        context.setAttribute(NAME_KEY, null);
+        assertNull(context.getAttribute(NAME_KEY));
+
+        context.setAttribute(NAME_KEY, "value");
+        assertEquals("value", context.getAttribute(NAME_KEY));
+        assertTrue(context.hasAttribute(NAME_KEY));
+        assertTrue(context.getAttributes().isEmpty());
+
+        // The AttributeKey registered after the allocation
+        AttributeKey<Integer> lateKey = AttributeKey.valueOf("redis-method-context-test.late-" + AttributeKey.size());
+        assertNull(context.getAttribute(lateKey));
+        context.setAttribute(lateKey, 1);
+        assertEquals(1, context.getAttribute(lateKey));
+        assertEquals("value", context.getAttribute(NAME_KEY));
+        assertEquals(1, context.removeAttribute(lateKey));
+
+        assertEquals("value", context.removeAttribute(NAME_KEY));
+        assertFalse(context.hasAttribute(NAME_KEY));
+
         assertEquals(isWriteCommandMethod(method), context.isWriteMethod());
         assertEquals(isWriteCommandMethod(method), context.isWriteMethod());
 
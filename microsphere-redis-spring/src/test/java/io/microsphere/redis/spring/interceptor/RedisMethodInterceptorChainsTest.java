@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.lang.reflect.Method;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.interceptor.RedisInterceptorScope.CommandType.ALL;
+import static io.microsphere.redis.spring.interceptor.RedisInterceptorScope.CommandType.READ;
+import static io.microsphere.redis.spring.interceptor.RedisInterceptorScope.CommandType.WRITE;
+import static io.microsphere.redis.spring.interceptor.RedisMethodInterceptorChains.EMPTY_INTERCEPTORS;
+import static io.microsphere.redis.spring.interceptor.RedisMethodInterceptorChains.matchesCommands;
+import static io.microsphere.redis.spring.interceptor.RedisMethodInterceptorChains.matchesInterfaces;
+import static io.microsphere.redis.spring.interceptor.RedisMethodInterceptorChains.matchesType;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_STRING_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisMethodInterceptorChains} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodInterceptorChains
+ * @since 1.0.0
+ */
+class RedisMethodInterceptorChainsTest {
+
+    private static final Method GET_METHOD = findMethod(RedisStringCommands.class, "get", byte[].class);
+
+    private static final Method SET_METHOD = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+
+    private static final Method DEL_METHOD = findMethod(RedisKeyCommands.class, "del", byte[][].class);
+
+    private static final Method FLUSH_DB_METHOD = findMethod(RedisServerCommands.class, "flushDb");
+
+    private static final Method EXECUTE_METHOD = findMethod(RedisCommands.class, "execute", String.class, byte[][].class);
+
+    private static final Method CLOSE_METHOD = findMethod(RedisConnection.class, "close");
+
+    private final LoggingRedisConnectionInterceptor loggingRedisConnectionInterceptor = new LoggingRedisConnectionInterceptor();
+
+    private final AuditRedisCommandInterceptor auditRedisCommandInterceptor = new AuditRedisCommandInterceptor();
+
+    private final WriteRedisCommandInterceptor writeRedisCommandInterceptor = new WriteRedisCommandInterceptor();
+
+    @Test
+    void testGetInterceptors() {
+        RedisMethodInterceptorChains chains = new RedisMethodInterceptorChains(ofList(loggingRedisConnectionInterceptor),
+                ofList(auditRedisCommandInterceptor, writeRedisCommandInterceptor));
+
+        assertFalse(chains.isEmpty());
+        assertArrayEquals(ofArray(loggingRedisConnectionInterceptor), chains.getInterceptors(GET_METHOD));
+        assertArrayEquals(ofArray(loggingRedisConnectionInterceptor, writeRedisCommandInterceptor), chains.getInterceptors(SET_METHOD));
+        assertArrayEquals(ofArray(loggingRedisConnectionInterceptor, auditRedisCommandInterceptor, writeRedisCommandInterceptor), chains.getInterceptors(DEL_METHOD));
+        assertSame(chains.getInterceptors(DEL_METHOD), chains.getInterceptors(FLUSH_DB_METHOD));
+        assertArrayEquals(ofArray(loggingRedisConnectionInterceptor), chains.getInterceptors(CLOSE_METHOD));
+        assertArrayEquals(ofArray(loggingRedisConnectionInterceptor), chains.getInterceptors(RedisMethodInvoker.of(CLOSE_METHOD)));
+    }
+
+    @Test
+    void testGetInterceptorsOnExecuteMethod() {
+        RedisMethodInterceptorChains chains = new RedisMethodInterceptorChains(null, ofList(new ReadRedisCommandInterceptor(),
+                new AnyWriteRedisCommandInterceptor()));
+        // The write status of execute method depends on the command argument
+        assertEquals(2, chains.getInterceptors(EXECUTE_METHOD).length);
+    }
+
+    @Test
+    void testIsIntercepted() {
+        RedisMethodInterceptorChains chains = new RedisMethodInterceptorChains(null, ofList(auditRedisCommandInterceptor));
+
+        assertFalse(chains.isEmpty());
+        assertFalse(chains.isIntercepted(GET_METHOD));
+        assertFalse(chains.isIntercepted(SET_METHOD));
+        assertFalse(chains.isIntercepted(CLOSE_METHOD));
+        assertTrue(chains.isIntercepted(DEL_METHOD));
+        assertTrue(chains.isIntercepted(FLUSH_DB_METHOD));
+        assertSame(EMPTY_INTERCEPTORS, chains.getInterceptors(GET_METHOD));
+    }
+
+    @Test
+    void testGetMandatoryInterceptors() {
+        SampledRedisCommandInterceptor sampledRedisCommandInterceptor = new SampledRedisCommandInterceptor();
+        RedisMethodInterceptorChains chains = new RedisMethodInterceptorChains(ofList(loggingRedisConnectionInterceptor),
+                ofList(auditRedisCommandInterceptor, sampledRedisCommandInterceptor));
+
+        assertArrayEquals(ofArray(loggingRedisConnectionInterceptor, sampledRedisCommandInterceptor), chains.getInterceptors(GET_METHOD));
+        assertArrayEquals(ofArray(loggingRedisConnectionInterceptor), chains.getMandatoryInterceptors(getRedisMethodInvoker(GET_METHOD)));
+        assertArrayEquals(ofArray(loggingRedisConnectionInterceptor, auditRedisCommandInterceptor), chains.getMandatoryInterceptors(getRedisMethodInvoker(DEL_METHOD)));
+        // The mandatory chain is the full chain if no interceptor is sampleable
+        assertSame(chains.getInterceptors(CLOSE_METHOD), chains.getMandatoryInterceptors(null));
+        assertSame(chains.getInterceptors(CLOSE_METHOD), chains.getMandatoryInterceptors(RedisMethodInvoker.of(CLOSE_METHOD)));
+
+        chains = new RedisMethodInterceptorChains(null, ofList(sampledRedisCommandInterceptor));
+        assertSame(EMPTY_INTERCEPTORS, chains.getMandatoryInterceptors(getRedisMethodInvoker(SET_METHOD)));
+    }
+
+    @Test
+    void testIsEmpty() {
+        RedisMethodInterceptorChains chains = new RedisMethodInterceptorChains(null, null);
+        assertTrue(chains.isEmpty());
+        assertFalse(chains.isIntercepted(SET_METHOD));
+        assertFalse(chains.isIntercepted(CLOSE_METHOD));
+    }
+
+    @Test
+    void testMatchesType() {
+        assertTrue(matchesType(ALL, true));
+        assertTrue(matchesType(ALL, false));
+        assertTrue(matchesType(WRITE, true));
+        assertFalse(matchesType(WRITE, false));
+        assertTrue(matchesType(READ, false));
+        assertFalse(matchesType(READ, true));
+    }
+
+    @Test
+    void testMatchesCommands() {
+        assertTrue(matchesCommands(EMPTY_STRING_ARRAY, null));
+        assertFalse(matchesCommands(ofArray("DEL"), null));
+        assertTrue(matchesCommands(ofArray("del"), ofArray("DEL")));
+        assertFalse(matchesCommands(ofArray("SET"), ofArray("DEL")));
+    }
+
+    @Test
+    void testMatchesInterfaces() {
+        assertTrue(matchesInterfaces(new Class[0], SET_METHOD));
+        assertTrue(matchesInterfaces(ofArray(RedisStringCommands.class), SET_METHOD));
+        assertFalse(matchesInterfaces(ofArray(RedisHashCommands.class), SET_METHOD));
+    }
+
+    @RedisInterceptorScope(type = READ)
+    static class ReadRedisCommandInterceptor implements RedisCommandInterceptor {
+
+        @Override
+        public int getOrder() {
+            return 3;
+        }
+    }
+
+    @RedisInterceptorScope(commands = {"GET", "SET"})
+    static class SampledRedisCommandInterceptor implements RedisCommandInterceptor {
+
+        @Override
+        public boolean isSampleable() {
+            return true;
+        }
+
+        @Override
+        public int getOrder() {
+            return 3;
+        }
+    }
+
+    @RedisInterceptorScope(type = WRITE)
+    static class AnyWriteRedisCommandInterceptor implements RedisCommandInterceptor {
+
+        @Override
+        public int getOrder() {
+            return 4;
+        }
+    }
+
+    @RedisInterceptorScope(commands = {"DEL", "FLUSHDB"})
+    static class AuditRedisCommandInterceptor implements RedisCommandInterceptor {
+
+        @Override
+        public int getOrder() {
+            return 1;
+        }
+    }
+
+    @RedisInterceptorScope(interfaces = {RedisKeyCommands.class, RedisStringCommands.class, RedisServerCommands.class}, type = WRITE)
+    static class WriteRedisCommandInterceptor implements RedisCommandInterceptor {
+
+        @Override
+        public int getOrder() {
+            return 2;
+        }
+    }
+}
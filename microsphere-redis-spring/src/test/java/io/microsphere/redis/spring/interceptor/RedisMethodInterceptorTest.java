@@ -32,6 +32,8 @@ import org.springframework.test.context.ContextConfiguration;
 import java.lang.reflect.Method;
 
 import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static java.lang.Boolean.TRUE;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 /**
@@ -82,6 +84,12 @@ class RedisMethodInterceptorTest extends AbstractRedisTest {
         assertDoesNotThrow(() -> this.interceptor.afterExecute(this.context, null, null));
     }
 
+    @Test
+    void testOnBatch() {
+        assertDoesNotThrow(() -> this.interceptor.onBatch(singletonList(this.context), singletonList(TRUE)));
+        assertDoesNotThrow(() -> this.interceptor.onBatch(singletonList(this.context), singletonList(new RuntimeException("For testing"))));
+    }
+
     @Test
     void testHandleError() {
         assertDoesNotThrow(() -> this.interceptor.handleError(this.context, true, null, null, null));
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.interceptor.RedisMethodSampler.Strategy;
+import io.microsphere.redis.spring.metadata.RedisMethodInvoker;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import static io.microsphere.collection.MapUtils.ofMap;
+import static io.microsphere.redis.spring.interceptor.RedisMethodSampler.ALWAYS;
+import static io.microsphere.redis.spring.interceptor.RedisMethodSampler.Strategy.FIXED_RATE;
+import static io.microsphere.redis.spring.interceptor.RedisMethodSampler.Strategy.PROBABILISTIC;
+import static io.microsphere.redis.spring.interceptor.RedisMethodSampler.normalize;
+import static io.microsphere.redis.spring.interceptor.RedisMethodSampler.of;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static java.lang.Double.NaN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisMethodSampler} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodSampler
+ * @since 1.0.0
+ */
+class RedisMethodSamplerTest {
+
+    private static final RedisMethodInvoker GET_METHOD_INVOKER = getRedisMethodInvoker(findMethod(RedisStringCommands.class, "get", byte[].class));
+
+    private static final RedisMethodInvoker SET_METHOD_INVOKER = getRedisMethodInvoker(findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class));
+
+    private static final RedisMethodInvoker CLOSE_METHOD_INVOKER = RedisMethodInvoker.of(findMethod(RedisConnection.class, "close"));
+
+    @Test
+    void testAlways() {
+        assertTrue(ALWAYS.isAlways());
+        assertSame(FIXED_RATE, ALWAYS.getStrategy());
+        assertTrue(ALWAYS.sample(GET_METHOD_INVOKER));
+        assertTrue(ALWAYS.sample(null));
+        assertEquals(1.0, ALWAYS.getRate(SET_METHOD_INVOKER));
+        assertTrue(of(PROBABILISTIC, 1.0, null).isAlways());
+    }
+
+    @Test
+    void testFixedRate() {
+        RedisMethodSampler sampler = of(FIXED_RATE, 0.25, ofMap("get", 0.5));
+        assertFalse(sampler.isAlways());
+        assertEquals(0.5, sampler.getRate(GET_METHOD_INVOKER));
+        assertEquals(0.25, sampler.getRate(SET_METHOD_INVOKER));
+        assertEquals(0.25, sampler.getRate(CLOSE_METHOD_INVOKER));
+        assertEquals(0.25, sampler.getRate(null));
+
+        assertEquals(50, countSampled(sampler, GET_METHOD_INVOKER, 100));
+        assertEquals(25, countSampled(sampler, SET_METHOD_INVOKER, 100));
+        // The methods absent in the metadata share one counter
+        assertEquals(25, countSampled(sampler, CLOSE_METHOD_INVOKER, 50) + countSampled(sampler, null, 50));
+    }
+
+    @Test
+    void testProbabilistic() {
+        RedisMethodSampler sampler = of(PROBABILISTIC, 0.0, ofMap("SET", 1.0));
+        assertSame(PROBABILISTIC, sampler.getStrategy());
+        assertEquals(0, countSampled(sampler, GET_METHOD_INVOKER, 100));
+        assertEquals(100, countSampled(sampler, SET_METHOD_INVOKER, 100));
+
+        sampler = of(PROBABILISTIC, 0.5, null);
+        int sampled = countSampled(sampler, GET_METHOD_INVOKER, 10000);
+        assertTrue(sampled > 0 && sampled < 10000);
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals(0.0, normalize(-1.0));
+        assertEquals(0.0, normalize(NaN));
+        assertEquals(0.5, normalize(0.5));
+        assertEquals(1.0, normalize(2.0));
+    }
+
+    @Test
+    void testStrategyResolve() {
+        assertSame(FIXED_RATE, Strategy.resolve("fixed-rate"));
+        assertSame(PROBABILISTIC, Strategy.resolve(" probabilistic "));
+        assertSame(PROBABILISTIC, Strategy.resolve("PROBABILISTIC"));
+        assertSame(FIXED_RATE, Strategy.resolve("unknown"));
+        assertSame(FIXED_RATE, Strategy.resolve(null));
+    }
+
+    private int countSampled(RedisMethodSampler sampler, RedisMethodInvoker redisMethodInvoker, int calls) {
+        int sampled = 0;
+        for (int i = 0; i < calls; i++) {
+            if (sampler.sample(redisMethodInvoker)) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+}
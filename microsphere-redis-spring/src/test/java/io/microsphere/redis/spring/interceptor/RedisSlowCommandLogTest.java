@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.interceptor;
+
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.RedisSlowCommandLog.Entry;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.microsphere.collection.Lists.ofList;
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.interceptor.RedisSlowCommandLog.MAX_ARGUMENTS;
+import static io.microsphere.redis.spring.interceptor.RedisSlowCommandLog.preview;
+import static io.microsphere.redis.spring.interceptor.RedisSlowCommandLog.previewArguments;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.lang.Thread.currentThread;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisSlowCommandLog} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisSlowCommandLog
+ * @since 1.0.0
+ */
+@ContextConfiguration(
+        classes = {
+                RedisContextConfig.class,
+                RedisSlowCommandLog.class,
+                RedisSlowCommandLogTest.class
+        }
+)
+@TestPropertySource(properties = {
+        "microsphere.redis.interceptor.slow-log.capacity=2",
+        "microsphere.redis.interceptor.slow-log.threshold=0",
+        "microsphere.redis.interceptor.slow-log.max-argument-length=8"
+})
+class RedisSlowCommandLogTest extends AbstractRedisTest {
+
+    private static final Method GET_METHOD = findMethod(RedisStringCommands.class, "get", byte[].class);
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private RedisConnection redisConnection;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private RedisSlowCommandLog slowCommandLog;
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.slowCommandLog.reset();
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testSetEnvironment() {
+        assertEquals(2, this.slowCommandLog.getCapacity());
+        assertEquals(0, this.slowCommandLog.getThreshold());
+        assertEquals(8, this.slowCommandLog.getMaxArgumentLength());
+    }
+
+    @Test
+    void testAfterExecute() {
+        execute(this.slowCommandLog, SET_METHOD, SET_METHOD_ARGS, null);
+        execute(this.slowCommandLog, GET_METHOD, ofArray((Object) "key".getBytes()), new RuntimeException());
+
+        List<Entry> entries = this.slowCommandLog.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals(2, this.slowCommandLog.getTotalCount());
+
+        // The newest first
+        Entry entry = entries.get(0);
+        assertEquals(1, entry.getId());
+        assertEquals("GET", entry.getCommand());
+        assertEquals(RedisStringCommands.class.getName(), entry.getInterfaceName());
+        assertEquals("get", entry.getMethodName());
+        assertEquals(ofList("key"), entry.getArguments());
+        assertTrue(entry.getDuration() >= 0);
+        assertEquals(currentThread().getName(), entry.getThreadName());
+        assertEquals(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE, entry.getSourceBeanName());
+        assertEquals(RuntimeException.class.getName(), entry.getFailureType());
+        assertTrue(entry.getTimestamp() > 0);
+        assertNotNull(entry.toString());
+
+        entry = entries.get(1);
+        assertEquals(0, entry.getId());
+        assertEquals("SET", entry.getCommand());
+        assertEquals(ofList("key", "value"), entry.getArguments());
+        assertNull(entry.getFailureType());
+    }
+
+    @Test
+    void testAfterExecuteOnNonCommandMethod() {
+        execute(this.slowCommandLog, findMethod(RedisConnection.class, "close"), EMPTY_OBJECT_ARRAY, null);
+        Entry entry = this.slowCommandLog.getEntries().get(0);
+        assertEquals("close", entry.getCommand());
+        assertTrue(entry.getArguments().isEmpty());
+    }
+
+    @Test
+    void testAfterExecuteWithoutStart() {
+        RedisMethodContext<RedisCommands> context = createContext(GET_METHOD, ofArray((Object) "key".getBytes()));
+        this.slowCommandLog.afterExecute(context, null, null);
+        assertTrue(this.slowCommandLog.getEntries().isEmpty());
+
+        // Not stopped
+        this.slowCommandLog.beforeExecute(context);
+        this.slowCommandLog.afterExecute(context, null, null);
+        assertEquals(1, this.slowCommandLog.getEntries().size());
+    }
+
+    @Test
+    void testRing() {
+        execute(this.slowCommandLog, GET_METHOD, ofArray((Object) "k1".getBytes()), null);
+        execute(this.slowCommandLog, GET_METHOD, ofArray((Object) "k2".getBytes()), null);
+        execute(this.slowCommandLog, GET_METHOD, ofArray((Object) "k3".getBytes()), null);
+        List<Entry> entries = this.slowCommandLog.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals(ofList("k3"), entries.get(0).getArguments());
+        assertEquals(ofList("k2"), entries.get(1).getArguments());
+        assertEquals(3, this.slowCommandLog.getTotalCount());
+
+        this.slowCommandLog.reset();
+        assertTrue(this.slowCommandLog.getEntries().isEmpty());
+        assertEquals(0, this.slowCommandLog.getTotalCount());
+    }
+
+    @Test
+    void testThreshold() {
+        RedisSlowCommandLog slowCommandLog = new RedisSlowCommandLog();
+        slowCommandLog.setThreshold(60000);
+        execute(slowCommandLog, GET_METHOD, ofArray((Object) "key".getBytes()), null);
+        assertTrue(slowCommandLog.getEntries().isEmpty());
+        assertEquals(0, slowCommandLog.getTotalCount());
+    }
+
+    @Test
+    void testSetters() {
+        RedisSlowCommandLog slowCommandLog = new RedisSlowCommandLog();
+        assertEquals(128, slowCommandLog.getCapacity());
+        assertEquals(10, slowCommandLog.getThreshold());
+        assertEquals(128, slowCommandLog.getMaxArgumentLength());
+        assertThrows(IllegalArgumentException.class, () -> slowCommandLog.setCapacity(0));
+        assertThrows(IllegalArgumentException.class, () -> slowCommandLog.setThreshold(-1));
+        assertThrows(IllegalArgumentException.class, () -> slowCommandLog.setMaxArgumentLength(0));
+    }
+
+    @Test
+    void testPreview() {
+        assertEquals("null", preview(null, 8));
+        assertEquals("value", preview("value".getBytes(), 8));
+        assertEquals("12345678...", preview("1234567890".getBytes(), 8));
+        assertEquals("[k1, k2]", preview(new byte[][]{"k1".getBytes(), "k2".getBytes()}, 8));
+        assertEquals("[k1, k2,...", preview(ofList("k1".getBytes(), "k2".getBytes(), "k3".getBytes()), 8));
+        Map<byte[], byte[]> map = new LinkedHashMap<>();
+        map.put("f".getBytes(), "v".getBytes());
+        assertEquals("{f=v}", preview(map, 8));
+        assertEquals("10", preview(10L, 8));
+    }
+
+    @Test
+    void testPreviewArguments() {
+        assertTrue(previewArguments(null, 8).isEmpty());
+        assertTrue(previewArguments(EMPTY_OBJECT_ARRAY, 8).isEmpty());
+        assertEquals(MAX_ARGUMENTS, previewArguments(new Object[MAX_ARGUMENTS + 1], 8).size());
+    }
+
+    private void execute(RedisSlowCommandLog slowCommandLog, Method method, Object[] args, Throwable failure) {
+        RedisMethodContext<RedisCommands> context = createContext(method, args);
+        slowCommandLog.beforeExecute(context);
+        context.stop();
+        slowCommandLog.afterExecute(context, null, failure);
+    }
+
+    private RedisMethodContext<RedisCommands> createContext(Method method, Object[] args) {
+        return new RedisMethodContext<>((RedisCommands) this.redisConnection, method, args, this.redisContext, null,
+                SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.metadata;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisClusterServerCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisServerCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+
+import java.lang.reflect.Method;
+
+import static io.microsphere.redis.spring.metadata.RedisMethodInvoker.NON_COMMAND_ORDINAL;
+import static io.microsphere.redis.spring.metadata.RedisMethodInvoker.of;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getMethodInfo;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.NO_PARAMETER_INDEX;
+import static io.microsphere.reflect.MethodUtils.findMethod;
+import static java.lang.Boolean.TRUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link RedisMethodInvoker} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisMethodInvoker
+ * @since 1.0.0
+ */
+class RedisMethodInvokerTest {
+
+    private static final byte[] KEY = "key".getBytes(UTF_8);
+
+    private static final byte[] VALUE = "value".getBytes(UTF_8);
+
+    @Test
+    void testInvoke() throws Throwable {
+        Method method = findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class);
+        RedisMethodInvoker invoker = getRedisMethodInvoker(method);
+        assertNotNull(invoker);
+        assertSame(method, invoker.getMethod());
+        assertSame(getMethodInfo(method), invoker.getMethodInfo());
+
+        RedisConnection redisConnection = mock(RedisConnection.class);
+        when(redisConnection.set(KEY, VALUE)).thenReturn(TRUE);
+        assertEquals(TRUE, invoker.invoke(redisConnection, new Object[]{KEY, VALUE}));
+        verify(redisConnection).set(KEY, VALUE);
+    }
+
+    @Test
+    void testInvokeWithoutArguments() throws Throwable {
+        Method method = findMethod(RedisServerCommands.class, "dbSize");
+        RedisMethodInvoker invoker = getRedisMethodInvoker(method);
+
+        RedisConnection redisConnection = mock(RedisConnection.class);
+        when(redisConnection.dbSize()).thenReturn(1L);
+        assertEquals(1L, invoker.invoke(redisConnection, null));
+    }
+
+    @Test
+    void testInvokeOnVoidMethod() throws Throwable {
+        Method method = findMethod(RedisServerCommands.class, "flushDb");
+        RedisMethodInvoker invoker = getRedisMethodInvoker(method);
+
+        RedisConnection redisConnection = mock(RedisConnection.class);
+        assertNull(invoker.invoke(redisConnection, null));
+        verify(redisConnection).flushDb();
+    }
+
+    @Test
+    void testInvokeOnFailure() {
+        Method method = findMethod(RedisStringCommands.class, "get", byte[].class);
+        RedisMethodInvoker invoker = getRedisMethodInvoker(method);
+
+        RedisConnection redisConnection = mock(RedisConnection.class);
+        when(redisConnection.get(KEY)).thenThrow(new IllegalStateException("For testing"));
+        // The exception is not wrapped by InvocationTargetException
+        assertThrows(IllegalStateException.class, () -> invoker.invoke(redisConnection, new Object[]{KEY}));
+    }
+
+    @Test
+    void testGetKeyParameterIndexAndNodeParameterIndex() {
+        RedisMethodInvoker invoker = getRedisMethodInvoker(findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class));
+        assertEquals(0, invoker.getKeyParameterIndex());
+        assertEquals(NO_PARAMETER_INDEX, invoker.getNodeParameterIndex());
+
+        invoker = getRedisMethodInvoker(findMethod(RedisServerCommands.class, "dbSize"));
+        assertEquals(NO_PARAMETER_INDEX, invoker.getKeyParameterIndex());
+        assertEquals(NO_PARAMETER_INDEX, invoker.getNodeParameterIndex());
+
+        invoker = getRedisMethodInvoker(findMethod(RedisClusterServerCommands.class, "dbSize", RedisClusterNode.class));
+        assertEquals(NO_PARAMETER_INDEX, invoker.getKeyParameterIndex());
+        assertEquals(0, invoker.getNodeParameterIndex());
+
+        invoker = of(findMethod(RedisConnection.class, "isClosed"));
+        assertEquals(NO_PARAMETER_INDEX, invoker.getKeyParameterIndex());
+        assertEquals(NO_PARAMETER_INDEX, invoker.getNodeParameterIndex());
+    }
+
+    @Test
+    void testOf() {
+        Method method = findMethod(RedisStringCommands.class, "get", byte[].class);
+        RedisMethodInvoker invoker = of(0, getMethodInfo(method));
+        assertEquals(0, invoker.getOrdinal());
+        assertSame(method, invoker.getMethod());
+        assertEquals("RedisMethodInvoker{ordinal=0, method=" + method + "}", invoker.toString());
+    }
+
+    @Test
+    void testOfNonCommandMethod() throws Throwable {
+        Method method = findMethod(RedisConnection.class, "isClosed");
+        assertNull(getRedisMethodInvoker(method));
+
+        RedisMethodInvoker invoker = of(method);
+        assertNotNull(invoker);
+        assertEquals(NON_COMMAND_ORDINAL, invoker.getOrdinal());
+        assertFalse(invoker.isCommandMethod());
+        assertNull(invoker.getMethodInfo());
+        assertSame(method, invoker.getMethod());
+
+        RedisConnection redisConnection = mock(RedisConnection.class);
+        when(redisConnection.isClosed()).thenReturn(TRUE);
+        assertEquals(TRUE, invoker.invoke(redisConnection, null));
+        verify(redisConnection).isClosed();
+    }
+}
@@ -22,10 +22,20 @@ import io.microsphere.redis.metadata.MethodMetadata;
 import io.microsphere.redis.util.RedisCommandUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ReactiveKeyCommands;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
+import org.springframework.data.redis.connection.RedisClusterCommands;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisClusterServerCommands;
 import org.springframework.data.redis.connection.RedisCommands;
 import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
@@ -33,18 +43,24 @@ import java.util.function.Function;
 import static io.microsphere.collection.MapUtils.newHashMap;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.cache;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.cacheMethodInfo;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getBlockingRedisCommandMethod;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getMethodIndex;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getMethodInfo;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getParameterMetadataList;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisCommandBindingFunction;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisCommandInterfaceClass;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisCommandMethod;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokerCount;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvokers;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getWriteCommandMethod;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getWriteParameterMetadataList;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.init;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.initRedisConnectionInterface;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.isReactiveSupported;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.isWrite;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.isWriteCommandMethod;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.redisClusterCommandMethods;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.redisCommandInterfacesCache;
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.redisCommandMethods;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.REDIS_COMMANDS_INTERFACE_NAME;
@@ -75,6 +91,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * {@link SpringRedisMetadataRepository} Test
@@ -116,6 +134,29 @@ class SpringRedisMetadataRepositoryTest {
         assertNull(getRedisCommandMethod(EMPTY_STRING, EMPTY_STRING, EMPTY_STRING_ARRAY));
     }
 
+    @Test
+    void testGetRedisMethodInvoker() {
+        forEach(redisCommandMethods, method -> {
+            RedisMethodInvoker redisMethodInvoker = getRedisMethodInvoker(method);
+            assertNotNull(redisMethodInvoker);
+            assertSame(redisMethodInvoker, getRedisMethodInvoker(getMethodIndex(method)));
+        });
+
+        assertNull(getRedisMethodInvoker(-1));
+        assertNull(getRedisMethodInvoker(findMethod(RedisConnection.class, "close")));
+    }
+
+    @Test
+    void testGetRedisMethodInvokers() {
+        List<RedisMethodInvoker> redisMethodInvokers = getRedisMethodInvokers();
+        assertEquals(getRedisMethodInvokerCount(), redisMethodInvokers.size());
+        for (int i = 0; i < redisMethodInvokers.size(); i++) {
+            RedisMethodInvoker redisMethodInvoker = redisMethodInvokers.get(i);
+            assertEquals(i, redisMethodInvoker.getOrdinal());
+            assertSame(redisMethodInvoker, getRedisMethodInvoker(redisMethodInvoker.getMethod()));
+        }
+    }
+
     @Test
     void testIsWriteCommandMethod() {
         forEach(redisCommandMethods, method -> {
@@ -168,6 +209,39 @@ class SpringRedisMetadataRepositoryTest {
         });
     }
 
+    @Test
+    void testGetRedisMethodInvokerForRedisClusterConnection() {
+        assertNotNull(getRedisMethodInvoker(findMethod(RedisClusterServerCommands.class, "flushDb", RedisClusterNode.class)));
+        assertNotNull(getRedisMethodInvoker(findMethod(RedisClusterCommands.class, "clusterGetNodes")));
+        assertNotNull(getRedisMethodInvoker(findMethod(RedisClusterConnection.class, "flushDb", RedisClusterNode.class)));
+        assertEquals(RedisClusterCommands.class, getRedisCommandInterfaceClass(RedisClusterCommands.class.getName()));
+        forEach(redisClusterCommandMethods, method -> {
+            // The overriders of the node-specific Redis commands, e.g. DefaultedRedisClusterConnection#flushDb(RedisClusterNode)
+            if (getMethodInfo(method) != null) {
+                assertNotNull(getRedisMethodInvoker(method));
+            }
+        });
+    }
+
+    @Test
+    void testGetBlockingRedisCommandMethod() {
+        assertEquals(findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class),
+                getBlockingRedisCommandMethod(findMethod(ReactiveStringCommands.class, "set", ByteBuffer.class, ByteBuffer.class)));
+        assertEquals(findMethod(RedisStringCommands.class, "get", byte[].class),
+                getBlockingRedisCommandMethod(findMethod(ReactiveStringCommands.class, "get", ByteBuffer.class)));
+        // The single key is mirrored by the variable keys
+        assertEquals(findMethod(RedisKeyCommands.class, "del", byte[][].class),
+                getBlockingRedisCommandMethod(findMethod(ReactiveKeyCommands.class, "del", ByteBuffer.class)));
+        assertNull(getBlockingRedisCommandMethod(findMethod(RedisStringCommands.class, "set", byte[].class, byte[].class)));
+        assertNull(getBlockingRedisCommandMethod(findMethod(String.class, "toUpperCase")));
+    }
+
+    @Test
+    void testIsReactiveSupported() {
+        assertTrue(isReactiveSupported());
+        assertNotNull(getRedisMethodInvoker(findMethod(ReactiveStringCommands.class, "set", ByteBuffer.class, ByteBuffer.class)));
+    }
+
     @Test
     void testGetRedisCommandBindingFunction() {
         forEach(RedisCommandUtils.class.getInterfaces(), type -> {
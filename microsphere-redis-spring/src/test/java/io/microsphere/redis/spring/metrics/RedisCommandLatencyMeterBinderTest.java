@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.metrics;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.microsphere.redis.spring.config.RedisContextConfig;
+import io.microsphere.redis.spring.context.RedisContext;
+import io.microsphere.redis.spring.interceptor.RedisCommandLatencyHistograms;
+import io.microsphere.redis.spring.interceptor.RedisMethodContext;
+import io.microsphere.redis.spring.test.AbstractRedisTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.RedisCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.context.ContextConfiguration;
+
+import static io.microsphere.redis.spring.context.RedisContext.BEAN_NAME;
+import static io.microsphere.redis.spring.metrics.RedisCommandLatencyMeterBinder.COMMAND_TAG_NAME;
+import static io.microsphere.redis.spring.metrics.RedisCommandLatencyMeterBinder.DEFAULT_PERCENTILES;
+import static io.microsphere.redis.spring.metrics.RedisCommandLatencyMeterBinder.METER_NAME;
+import static io.microsphere.redis.spring.metrics.RedisCommandLatencyMeterBinder.NO_SOURCE_BEAN_NAME;
+import static io.microsphere.redis.spring.metrics.RedisCommandLatencyMeterBinder.SOURCE_BEAN_NAME_TAG_NAME;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link RedisCommandLatencyMeterBinder} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandLatencyMeterBinder
+ * @since 1.0.0
+ */
+@ContextConfiguration(
+        classes = {
+                RedisContextConfig.class,
+                RedisCommandLatencyHistograms.class,
+                RedisCommandLatencyMeterBinder.class,
+                RedisCommandLatencyMeterBinderTest.class
+        }
+)
+class RedisCommandLatencyMeterBinderTest extends AbstractRedisTest {
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    private RedisConnection redisConnection;
+
+    @Autowired
+    @Qualifier(BEAN_NAME)
+    private RedisContext redisContext;
+
+    @Autowired
+    private RedisCommandLatencyHistograms histograms;
+
+    @Autowired
+    private RedisCommandLatencyMeterBinder meterBinder;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        this.redisConnection = this.redisConnectionFactory.getConnection();
+        this.registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.histograms.reset();
+        this.registry.close();
+        this.redisConnection.close();
+    }
+
+    @Test
+    void testBindTo() {
+        // The histogram created before binding
+        execute(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+
+        this.meterBinder.bindTo(this.registry);
+
+        FunctionTimer timer = this.registry.find(METER_NAME)
+                .tag(COMMAND_TAG_NAME, "SET")
+                .tag(SOURCE_BEAN_NAME_TAG_NAME, SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE)
+                .functionTimer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(NANOSECONDS) >= 0);
+
+        TimeGauge maxGauge = this.registry.find(METER_NAME + ".max").tag(COMMAND_TAG_NAME, "SET").timeGauge();
+        assertNotNull(maxGauge);
+        assertTrue(maxGauge.value(NANOSECONDS) >= 0);
+
+        assertEquals(DEFAULT_PERCENTILES.length, this.registry.find(METER_NAME + ".percentile").timeGauges().size());
+        assertNotNull(this.registry.find(METER_NAME + ".percentile").tag("phi", "0.99").timeGauge());
+
+        // The histogram created after binding
+        assertNull(this.registry.find(METER_NAME).tag(SOURCE_BEAN_NAME_TAG_NAME, NO_SOURCE_BEAN_NAME).functionTimer());
+        execute(null);
+        execute(null);
+        timer = this.registry.find(METER_NAME).tag(SOURCE_BEAN_NAME_TAG_NAME, NO_SOURCE_BEAN_NAME).functionTimer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void testSetPercentiles() {
+        RedisCommandLatencyMeterBinder meterBinder = new RedisCommandLatencyMeterBinder(this.histograms);
+        assertArrayEquals(DEFAULT_PERCENTILES, meterBinder.getPercentiles());
+
+        meterBinder.setPercentiles(0.5, 0.95);
+        assertArrayEquals(new double[]{0.5, 0.95}, meterBinder.getPercentiles());
+
+        execute(SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE);
+        meterBinder.bindTo(this.registry);
+        assertEquals(2, this.registry.find(METER_NAME + ".percentile").timeGauges().size());
+        assertNotNull(this.registry.find(METER_NAME + ".percentile").tag("phi", "0.95").timeGauge());
+
+        assertThrows(IllegalArgumentException.class, () -> meterBinder.setPercentiles(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> meterBinder.setPercentiles(1.1));
+    }
+
+    private void execute(String sourceBeanName) {
+        RedisMethodContext<RedisCommands> context = new RedisMethodContext<>((RedisCommands) this.redisConnection,
+                SET_METHOD, SET_METHOD_ARGS, this.redisContext, null, sourceBeanName);
+        this.histograms.beforeExecute(context);
+        this.histograms.afterExecute(context, null, null);
+    }
+}
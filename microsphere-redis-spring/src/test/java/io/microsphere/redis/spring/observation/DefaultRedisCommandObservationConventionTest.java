@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.observation;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.Observation;
+import org.junit.jupiter.api.Test;
+
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.COMMAND_KEY;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.FAILURE;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.INSTANCE;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.INTERFACE_KEY;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.KEY_KEY;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.NAME;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.NONE;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.OUTCOME_KEY;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.SOURCE_BEAN_NAME_KEY;
+import static io.microsphere.redis.spring.observation.DefaultRedisCommandObservationConvention.SUCCESS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link DefaultRedisCommandObservationConvention} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see DefaultRedisCommandObservationConvention
+ * @since 1.0.0
+ */
+class DefaultRedisCommandObservationConventionTest {
+
+    private static final String INTERFACE_NAME = "org.springframework.data.redis.connection.RedisStringCommands";
+
+    @Test
+    void testGetName() {
+        assertEquals(NAME, INSTANCE.getName());
+    }
+
+    @Test
+    void testGetContextualName() {
+        assertEquals("SET", INSTANCE.getContextualName(newContext("redisTemplate", "key")));
+    }
+
+    @Test
+    void testGetLowCardinalityKeyValues() {
+        RedisCommandObservationContext context = newContext("redisTemplate", "key");
+        KeyValues keyValues = INSTANCE.getLowCardinalityKeyValues(context);
+        assertTrue(keyValues.stream().anyMatch(KeyValue.of(COMMAND_KEY, "SET")::equals));
+        assertTrue(keyValues.stream().anyMatch(KeyValue.of(INTERFACE_KEY, INTERFACE_NAME)::equals));
+        assertTrue(keyValues.stream().anyMatch(KeyValue.of(SOURCE_BEAN_NAME_KEY, "redisTemplate")::equals));
+        assertTrue(keyValues.stream().anyMatch(KeyValue.of(OUTCOME_KEY, SUCCESS)::equals));
+
+        context.setError(new RuntimeException());
+        keyValues = INSTANCE.getLowCardinalityKeyValues(context);
+        assertTrue(keyValues.stream().anyMatch(KeyValue.of(OUTCOME_KEY, FAILURE)::equals));
+    }
+
+    @Test
+    void testGetLowCardinalityKeyValuesWithoutSourceBean() {
+        KeyValues keyValues = INSTANCE.getLowCardinalityKeyValues(newContext(null, null));
+        assertTrue(keyValues.stream().anyMatch(KeyValue.of(SOURCE_BEAN_NAME_KEY, NONE)::equals));
+    }
+
+    @Test
+    void testGetHighCardinalityKeyValues() {
+        KeyValues keyValues = INSTANCE.getHighCardinalityKeyValues(newContext("redisTemplate", "key"));
+        assertTrue(keyValues.stream().anyMatch(KeyValue.of(KEY_KEY, "key")::equals));
+
+        keyValues = INSTANCE.getHighCardinalityKeyValues(newContext("redisTemplate", null));
+        assertFalse(keyValues.iterator().hasNext());
+    }
+
+    @Test
+    void testSupportsContext() {
+        assertTrue(INSTANCE.supportsContext(newContext("redisTemplate", "key")));
+        assertFalse(INSTANCE.supportsContext(new Observation.Context()));
+    }
+
+    private RedisCommandObservationContext newContext(String sourceBeanName, String key) {
+        return new RedisCommandObservationContext("SET", INTERFACE_NAME, sourceBeanName, key);
+    }
+}
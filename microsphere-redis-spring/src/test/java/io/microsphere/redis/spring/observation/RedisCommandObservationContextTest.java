@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.observation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * {@link RedisCommandObservationContext} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisCommandObservationContext
+ * @since 1.0.0
+ */
+class RedisCommandObservationContextTest {
+
+    @Test
+    void testGetters() {
+        RedisCommandObservationContext context = new RedisCommandObservationContext("GET",
+                "org.springframework.data.redis.connection.RedisStringCommands", "redisTemplate", "key");
+        assertEquals("GET", context.getCommand());
+        assertEquals("org.springframework.data.redis.connection.RedisStringCommands", context.getInterfaceName());
+        assertEquals("redisTemplate", context.getSourceBeanName());
+        assertEquals("key", context.getKey());
+    }
+
+    @Test
+    void testGettersOnNullable() {
+        RedisCommandObservationContext context = new RedisCommandObservationContext("GET",
+                "org.springframework.data.redis.connection.RedisStringCommands", null, null);
+        assertNull(context.getSourceBeanName());
+        assertNull(context.getKey());
+    }
+}
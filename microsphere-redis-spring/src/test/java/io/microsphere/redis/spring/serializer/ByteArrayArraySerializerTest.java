@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.serializer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import static io.microsphere.redis.spring.serializer.ByteArrayArraySerializer.BYTE_ARRAY_ARRAY_SERIALIZER;
+import static io.microsphere.redis.spring.serializer.ByteArrayArraySerializer.COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER;
+import static io.microsphere.redis.spring.serializer.ByteArrayArraySerializer.isJdkSerialized;
+import static io.microsphere.redis.spring.serializer.Serializers.defaultSerialize;
+import static java.util.Arrays.deepToString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ByteArrayArraySerializer} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see ByteArrayArraySerializer
+ * @since 1.0.0
+ */
+class ByteArrayArraySerializerTest extends AbstractSerializerTest<byte[][]> {
+
+    @Override
+    protected RedisSerializer<byte[][]> getSerializer() {
+        return BYTE_ARRAY_ARRAY_SERIALIZER;
+    }
+
+    @Override
+    protected byte[][] getValue() {
+        return new byte[][]{"k1".getBytes(), null, new byte[0], "v1".getBytes()};
+    }
+
+    @Override
+    protected Object getTestData(byte[][] value) {
+        return deepToString(value);
+    }
+
+    @Test
+    void testSerializedBytesLength() {
+        byte[] bytes = COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER.serialize(getValue());
+        assertEquals(4 + (4 + 2) + 4 + 4 + (4 + 2), bytes.length);
+        assertFalse(isJdkSerialized(bytes));
+        assertEquals(4, COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER.serialize(new byte[0][]).length);
+    }
+
+    @Test
+    void testSerializeWithJdkSerialization() {
+        byte[][] value = getValue();
+        byte[] bytes = BYTE_ARRAY_ARRAY_SERIALIZER.serialize(value);
+        assertTrue(isJdkSerialized(bytes));
+        assertArrayEquals(defaultSerialize(value), bytes);
+        assertFalse(BYTE_ARRAY_ARRAY_SERIALIZER.isCompact());
+        assertTrue(COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER.isCompact());
+    }
+
+    @Test
+    void testDeserializeCompactBytes() {
+        byte[][] value = getValue();
+        byte[] bytes = COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER.serialize(value);
+        assertArrayEquals(value, BYTE_ARRAY_ARRAY_SERIALIZER.deserialize(bytes));
+        assertArrayEquals(value, COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER.deserialize(bytes));
+    }
+
+    @Test
+    void testDeserializeJdkSerializedBytes() {
+        byte[][] value = getValue();
+        byte[] bytes = defaultSerialize(value);
+        assertTrue(isJdkSerialized(bytes));
+        assertArrayEquals(value, BYTE_ARRAY_ARRAY_SERIALIZER.deserialize(bytes));
+        assertArrayEquals(value, COMPACT_BYTE_ARRAY_ARRAY_SERIALIZER.deserialize(bytes));
+    }
+
+    @Test
+    void testDeserializeOnMalformedBytes() {
+        assertThrows(SerializationException.class, () -> BYTE_ARRAY_ARRAY_SERIALIZER.deserialize(new byte[]{0, 0, 0, 1, 0, 0, 0, 9}));
+    }
+}
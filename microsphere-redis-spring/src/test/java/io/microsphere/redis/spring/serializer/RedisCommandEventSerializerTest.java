@@ -26,7 +26,9 @@ import static io.microsphere.redis.spring.event.RedisCommandEvent.Builder.source
 import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getWriteCommandMethod;
 import static io.microsphere.redis.spring.serializer.RedisCommandEventSerializer.DEFAULT_REDIS_COMMAND_EVENT_REDIS_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.RedisCommandEventSerializer.VERSION_V1;
+import static io.microsphere.redis.spring.serializer.RedisCommandEventSerializer.VERSION_V2;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * {@link RedisCommandEventSerializer} Test
@@ -65,4 +67,25 @@ class RedisCommandEventSerializerTest extends AbstractSerializerTest<RedisComman
         assertEquals(value, deserialized);
     }
 
+    @Test
+    void testV2() {
+        RedisSerializer<RedisCommandEvent> serializer = getSerializer();
+        Method method = getWriteCommandMethod("org.springframework.data.redis.connection.RedisKeyCommands", "del", "[[B");
+        byte[][] keys = new byte[][]{"A".getBytes(), "B".getBytes()};
+        RedisCommandEvent.Builder builder = source("test")
+                .applicationName("test")
+                .method(method)
+                .args((Object) keys);
+
+        RedisCommandEvent v1Event = builder.serializationVersion(VERSION_V1).build();
+        byte[] v1Bytes = serializer.serialize(v1Event);
+        assertEquals(VERSION_V1, v1Bytes[0]);
+        assertEquals(v1Event, serializer.deserialize(v1Bytes));
+
+        RedisCommandEvent v2Event = builder.serializationVersion(VERSION_V2).build();
+        byte[] v2Bytes = serializer.serialize(v2Event);
+        assertEquals(VERSION_V2, v2Bytes[0]);
+        assertEquals(v2Event, serializer.deserialize(v2Bytes));
+        assertTrue(v2Bytes.length < v1Bytes.length);
+    }
 }
@@ -21,6 +21,8 @@ import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
 
 import static io.microsphere.redis.spring.serializer.BooleanSerializer.BOOLEAN_SERIALIZER;
+import static io.microsphere.redis.spring.serializer.ByteArrayArraySerializer.BYTE_ARRAY_ARRAY_SERIALIZER;
+import static io.microsphere.redis.spring.serializer.ByteArraySerializer.BYTE_ARRAY_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.DoubleSerializer.DOUBLE_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.ExpirationSerializer.EXPIRATION_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.GeoLocationSerializer.GEO_LOCATION_SERIALIZER;
@@ -37,6 +39,7 @@ import static io.microsphere.redis.spring.serializer.Serializers.getSerializer;
 import static io.microsphere.redis.spring.serializer.Serializers.initializeParameterizedSerializer;
 import static io.microsphere.redis.spring.serializer.Serializers.register;
 import static io.microsphere.redis.spring.serializer.Serializers.serialize;
+import static io.microsphere.redis.spring.serializer.Serializers.serializeParameterValue;
 import static io.microsphere.redis.spring.serializer.Serializers.serializeRawParameter;
 import static io.microsphere.redis.spring.serializer.ShortSerializer.SHORT_SERIALIZER;
 import static io.microsphere.redis.spring.serializer.SortParametersSerializer.SORT_PARAMETERS_SERIALIZER;
@@ -48,6 +51,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.data.redis.core.types.Expiration.seconds;
 
 /**
@@ -142,6 +146,20 @@ class SerializersTest {
         assertArrayEquals(serialize(value), serializeRawParameter(parameter));
     }
 
+    @Test
+    void testSerializeParameterValue() {
+        String value = "hello";
+        ParameterMetadata parameterMetadata = new ParameterMetadata(0, String.class.getName(), "name");
+        Parameter parameter = new Parameter(value, parameterMetadata, Serializers::serializeParameterValue);
+        assertArrayEquals(serialize(value), serializeParameterValue(parameter));
+        assertFalse(parameter.isRawValueResolved());
+        assertArrayEquals(serialize(value), serializeRawParameter(parameter));
+        assertTrue(parameter.isRawValueResolved());
+
+        parameter = new Parameter(new Integer(0), new ParameterMetadata(0, "", "name"));
+        assertNull(serializeParameterValue(parameter));
+    }
+
     @Test
     void testSerializeRawParameterWithNull() {
         assertNull(serializeRawParameter(null));
@@ -183,13 +201,13 @@ class SerializersTest {
     @Test
     void testGetArrayTypeSerializers() {
         // byte[] type
-        assertEquals(getSerializer(byte[][].class), DEFAULT_SERIALIZER);
+        assertEquals(getSerializer(byte[].class), BYTE_ARRAY_SERIALIZER);
 
         // int[] type
         assertEquals(getSerializer(int[].class), DEFAULT_SERIALIZER);
 
         // byte[][] type
-        assertEquals(getSerializer(int[].class), DEFAULT_SERIALIZER);
+        assertEquals(getSerializer(byte[][].class), BYTE_ARRAY_ARRAY_SERIALIZER);
     }
 
     @Test
@@ -21,28 +21,94 @@ import org.junit.jupiter.api.Test;
 
 import static io.microsphere.collection.Sets.ofSet;
 import static io.microsphere.redis.spring.util.RedisConstants.ALL_WRAPPED_REDIS_TEMPLATE_BEAN_NAMES;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_VALUE;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_VALUE;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_ENABLED;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_FAIL_FAST_ENABLED_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_VALUE;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ENABLED;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ENABLED_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_VALUE;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH;
+import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_SPRING_APPLICATION_NAME_PROPERTY_VALUE;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_WRAPPED_REDIS_TEMPLATE_BEAN_NAMES_PROPERTY_VALUE;
 import static io.microsphere.redis.spring.util.RedisConstants.DEFAULT_WRAP_REDIS_TEMPLATE_PLACEHOLDER;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_BUS_PROPERTY_NAME_PREFIX;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_COMMAND_EVENT_PROPERTY_NAME_PREFIX;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_ENABLED_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_FAIL_FAST_ENABLED;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_FAIL_FAST_ENABLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_PROPERTY_NAME_PREFIX;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_PROPERTY_NAME_PREFIX;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_PROPERTY_NAME_PREFIX;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_ENABLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_PROPERTY_NAME_PREFIX;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_PROPERTY_NAME_PREFIX;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_PROPERTY_NAME_PREFIX;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_COMMAND_RATES_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_PROPERTY_NAME_PREFIX;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH_PROPERTY_NAME;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_PROPERTY_NAME_PREFIX;
+import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.MICROSPHERE_REDIS_PROPERTY_NAME_PREFIX;
 import static io.microsphere.redis.spring.util.RedisConstants.REDIS_TEMPLATE_BEAN_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.SPRING_APPLICATION_NAME_PROPERTY_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.STRING_REDIS_TEMPLATE_BEAN_NAME;
 import static io.microsphere.redis.spring.util.RedisConstants.WRAPPED_REDIS_TEMPLATE_BEAN_NAMES_PROPERTY_NAME;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -67,6 +133,17 @@ class RedisConstantsTest {
         assertEquals("true", DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_VALUE);
         assertEquals("microsphere.redis.command-event.exposed", MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED_PROPERTY_NAME);
         assertTrue(DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_EXPOSED);
+        assertEquals("microsphere.redis.command-event.bus.", MICROSPHERE_REDIS_COMMAND_EVENT_BUS_PROPERTY_NAME_PREFIX);
+        assertEquals("microsphere.redis.command-event.bus.buffer-size", MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE_PROPERTY_NAME);
+        assertEquals(8192, DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BUFFER_SIZE);
+        assertEquals("microsphere.redis.command-event.bus.batch-size", MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE_PROPERTY_NAME);
+        assertEquals(256, DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_BATCH_SIZE);
+        assertEquals("microsphere.redis.command-event.bus.overflow-policy", MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_NAME);
+        assertEquals("block", DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_OVERFLOW_POLICY_PROPERTY_VALUE);
+        assertEquals("microsphere.redis.command-event.bus.coalescing-window", MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW_PROPERTY_NAME);
+        assertEquals(0L, DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_COALESCING_WINDOW);
+        assertEquals("microsphere.redis.command-event.bus.application-event-bridged", MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED_PROPERTY_NAME);
+        assertTrue(DEFAULT_MICROSPHERE_REDIS_COMMAND_EVENT_BUS_APPLICATION_EVENT_BRIDGED);
         assertEquals("true", DEFAULT_MICROSPHERE_REDIS_FAIL_FAST_ENABLED_PROPERTY_VALUE);
         assertEquals("microsphere.redis.fail-fast", MICROSPHERE_REDIS_FAIL_FAST_ENABLED_PROPERTY_NAME);
         assertTrue(MICROSPHERE_REDIS_FAIL_FAST_ENABLED);
@@ -77,6 +154,60 @@ class RedisConstantsTest {
         assertEquals("true", DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ENABLED_PROPERTY_VALUE);
         assertEquals("microsphere.redis.interceptor.enabled", MICROSPHERE_REDIS_INTERCEPTOR_ENABLED_PROPERTY_NAME);
         assertTrue(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ENABLED);
+        assertEquals("false", DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_VALUE);
+        assertEquals("microsphere.redis.interceptor.context-recycled", MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED_PROPERTY_NAME);
+        assertFalse(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CONTEXT_RECYCLED);
+        assertEquals("microsphere.redis.interceptor.sampling.", MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_PROPERTY_NAME_PREFIX);
+        assertEquals("fixed-rate", DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_VALUE);
+        assertEquals("microsphere.redis.interceptor.sampling.strategy", MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_STRATEGY_PROPERTY_NAME);
+        assertEquals("1.0", DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_VALUE);
+        assertEquals("microsphere.redis.interceptor.sampling.rate", MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE_PROPERTY_NAME);
+        assertEquals(1.0, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_RATE);
+        assertEquals("microsphere.redis.interceptor.sampling.command-rates", MICROSPHERE_REDIS_INTERCEPTOR_SAMPLING_COMMAND_RATES_PROPERTY_NAME);
+        assertEquals("microsphere.redis.interceptor.async.", MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_PROPERTY_NAME_PREFIX);
+        assertEquals("microsphere.redis.interceptor.async.buffer-size", MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE_PROPERTY_NAME);
+        assertEquals(1024, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BUFFER_SIZE);
+        assertEquals("microsphere.redis.interceptor.async.consumers", MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS_PROPERTY_NAME);
+        assertEquals(1, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_CONSUMERS);
+        assertEquals("microsphere.redis.interceptor.async.batch-size", MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE_PROPERTY_NAME);
+        assertEquals(64, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_BATCH_SIZE);
+        assertEquals("microsphere.redis.interceptor.async.overflow-policy", MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_NAME);
+        assertEquals("drop", DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_ASYNC_OVERFLOW_POLICY_PROPERTY_VALUE);
+        assertEquals("microsphere.redis.interceptor.hot-key.", MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_PROPERTY_NAME_PREFIX);
+        assertEquals("microsphere.redis.interceptor.hot-key.capacity", MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY_PROPERTY_NAME);
+        assertEquals(32, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_CAPACITY);
+        assertEquals("microsphere.redis.interceptor.hot-key.window", MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW_PROPERTY_NAME);
+        assertEquals(10000L, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_WINDOW);
+        assertEquals("microsphere.redis.interceptor.hot-key.threshold", MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD_PROPERTY_NAME);
+        assertEquals(0L, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_HOT_KEY_THRESHOLD);
+        assertEquals("microsphere.redis.interceptor.big-key.", MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_PROPERTY_NAME_PREFIX);
+        assertEquals("microsphere.redis.interceptor.big-key.capacity", MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY_PROPERTY_NAME);
+        assertEquals(16, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_CAPACITY);
+        assertEquals("microsphere.redis.interceptor.big-key.threshold", MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD_PROPERTY_NAME);
+        assertEquals(10240L, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_BIG_KEY_THRESHOLD);
+        assertEquals("microsphere.redis.interceptor.slow-log.", MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_PROPERTY_NAME_PREFIX);
+        assertEquals("microsphere.redis.interceptor.slow-log.enabled", MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED_PROPERTY_NAME);
+        assertFalse(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_ENABLED);
+        assertEquals("microsphere.redis.interceptor.slow-log.capacity", MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY_PROPERTY_NAME);
+        assertEquals(128, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_CAPACITY);
+        assertEquals("microsphere.redis.interceptor.slow-log.threshold", MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD_PROPERTY_NAME);
+        assertEquals(10L, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_THRESHOLD);
+        assertEquals("microsphere.redis.interceptor.slow-log.max-argument-length", MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH_PROPERTY_NAME);
+        assertEquals(128, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_SLOW_LOG_MAX_ARGUMENT_LENGTH);
+        assertEquals("microsphere.redis.interceptor.observation.", MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_PROPERTY_NAME_PREFIX);
+        assertEquals("microsphere.redis.interceptor.observation.key-enabled", MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED_PROPERTY_NAME);
+        assertFalse(DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_OBSERVATION_KEY_ENABLED);
+        assertEquals("microsphere.redis.interceptor.capture.", MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_PROPERTY_NAME_PREFIX);
+        assertEquals("microsphere.redis.interceptor.capture.directory", MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_NAME);
+        assertEquals("${java.io.tmpdir}/microsphere-redis-capture", DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_DIRECTORY_PROPERTY_VALUE);
+        assertEquals("microsphere.redis.interceptor.capture.file-name-prefix", MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_NAME);
+        assertEquals("redis-capture", DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_FILE_NAME_PREFIX_PROPERTY_VALUE);
+        assertEquals("microsphere.redis.interceptor.capture.buffer-size", MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE_PROPERTY_NAME);
+        assertEquals(65536, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_BUFFER_SIZE);
+        assertEquals("microsphere.redis.interceptor.capture.max-file-size", MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE_PROPERTY_NAME);
+        assertEquals(67108864L, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILE_SIZE);
+        assertEquals("microsphere.redis.interceptor.capture.max-files", MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES_PROPERTY_NAME);
+        assertEquals(16, DEFAULT_MICROSPHERE_REDIS_INTERCEPTOR_CAPTURE_MAX_FILES);
         assertEquals("${microsphere.redis.wrapped-redis-templates:}", DEFAULT_WRAP_REDIS_TEMPLATE_PLACEHOLDER);
     }
 }
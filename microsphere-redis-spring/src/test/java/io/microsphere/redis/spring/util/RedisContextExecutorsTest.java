@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.microsphere.redis.spring.util;
+
+import io.microsphere.lang.DelegatingWrapper;
+import io.microsphere.redis.spring.interceptor.RedisMethodContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.clearTarget;
+import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.getTargetBeanName;
+import static io.microsphere.redis.spring.connection.dynamic.DynamicRedisConnectionFactory.switchTarget;
+import static io.microsphere.redis.spring.interceptor.RedisMethodContext.clear;
+import static io.microsphere.redis.spring.interceptor.RedisMethodContext.set;
+import static io.microsphere.redis.spring.test.AbstractRedisTest.SET_METHOD;
+import static io.microsphere.redis.spring.test.AbstractRedisTest.SET_METHOD_ARGS;
+import static io.microsphere.redis.spring.util.RedisContextExecutors.captureRedisMethodContext;
+import static io.microsphere.redis.spring.util.RedisContextExecutors.wrap;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link RedisContextExecutors} Test
+ *
+ * @author <a href="mailto:mercyblitz@gmail.com">Mercy</a>
+ * @see RedisContextExecutors
+ * @since 1.0.0
+ */
+class RedisContextExecutorsTest {
+
+    private static final String TARGET_BEAN_NAME = "anotherRedisConnectionFactory";
+
+    private ExecutorService delegate;
+
+    private ExecutorService executorService;
+
+    private RedisMethodContext<RedisConnection> context;
+
+    @BeforeEach
+    void setUp() {
+        this.delegate = newSingleThreadExecutor();
+        this.executorService = wrap(this.delegate);
+        this.context = new RedisMethodContext<>(mock(RedisConnection.class), SET_METHOD, SET_METHOD_ARGS, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clear();
+        clearTarget();
+        this.executorService.shutdown();
+    }
+
+    @Test
+    void testWrapWithoutContext() {
+        Runnable runnable = () -> {
+        };
+        Callable<String> callable = () -> "";
+        assertSame(runnable, wrap(runnable));
+        assertSame(callable, wrap(callable));
+        assertNull(captureRedisMethodContext());
+    }
+
+    @Test
+    void testWrapExecutorService() throws Exception {
+        assertSame(this.executorService, wrap(this.executorService));
+        assertSame(this.delegate, ((DelegatingWrapper) this.executorService).getDelegate());
+        assertSame(this.executorService.getClass(), wrap((Executor) this.delegate).getClass());
+
+        set(this.context);
+        switchTarget(TARGET_BEAN_NAME);
+
+        assertSame(this.context, this.executorService.submit(() -> RedisMethodContext.get()).get());
+        assertEquals(TARGET_BEAN_NAME, this.executorService.submit(() -> getTargetBeanName()).get());
+        assertEquals(TARGET_BEAN_NAME, this.executorService.submit(this::assertContext, TARGET_BEAN_NAME).get());
+        assertNull(this.executorService.submit(this::assertContext).get());
+        this.executorService.execute(this::assertContext);
+
+        List<Callable<String>> tasks = asList(() -> getTargetBeanName());
+        List<Future<String>> futures = this.executorService.invokeAll(tasks);
+        assertEquals(TARGET_BEAN_NAME, futures.get(0).get());
+        futures = this.executorService.invokeAll(tasks, 1, SECONDS);
+        assertEquals(TARGET_BEAN_NAME, futures.get(0).get());
+        assertEquals(TARGET_BEAN_NAME, this.executorService.invokeAny(tasks));
+        assertEquals(TARGET_BEAN_NAME, this.executorService.invokeAny(tasks, 1, SECONDS));
+
+        // The context is not retained by the pooled thread
+        assertFalse(this.delegate.submit(() -> RedisMethodContext.get() != null || getTargetBeanName() != null).get());
+    }
+
+    @Test
+    void testWrapExecutor() throws Exception {
+        Executor executor = wrap((Executor) command -> {
+            Thread thread = new Thread(command);
+            thread.start();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        set(this.context);
+        switchTarget(TARGET_BEAN_NAME);
+
+        boolean[] propagated = new boolean[1];
+        executor.execute(() -> propagated[0] = RedisMethodContext.get() == this.context
+                && TARGET_BEAN_NAME.equals(getTargetBeanName()));
+        assertTrue(propagated[0]);
+    }
+
+    @Test
+    void testShutdown() throws Exception {
+        assertFalse(this.executorService.isShutdown());
+        assertFalse(this.executorService.isTerminated());
+        this.executorService.shutdown();
+        assertTrue(this.executorService.awaitTermination(1, SECONDS));
+        assertTrue(this.executorService.isShutdown());
+        assertTrue(this.executorService.isTerminated());
+        assertTrue(this.executorService.shutdownNow().isEmpty());
+    }
+
+    void assertContext() {
+        assertSame(this.context, RedisMethodContext.get());
+        assertEquals(TARGET_BEAN_NAME, getTargetBeanName());
+    }
+}
@@ -35,19 +35,26 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.mock.env.MockEnvironment;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static io.microsphere.collection.Sets.ofSet;
+import static io.microsphere.redis.spring.interceptor.RedisMethodSampler.Strategy.FIXED_RATE;
+import static io.microsphere.redis.spring.interceptor.RedisMethodSampler.Strategy.PROBABILISTIC;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisCommandInterceptors;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisConnectionFactoryBeanNames;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisConnectionInterceptors;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisTemplate;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.findRedisTemplateBeanNames;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.getApplicationName;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.getMicrosphereRedisInterceptorSamplingCommandRates;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.getMicrosphereRedisInterceptorSamplingRate;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.getMicrosphereRedisInterceptorSamplingStrategy;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.getRawRedisConnection;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.getWrappedRedisTemplateBeanNames;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.isMicrosphereRedisCommandEventExposed;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.isMicrosphereRedisEnabled;
+import static io.microsphere.redis.spring.util.RedisSpringUtils.isMicrosphereRedisInterceptorContextRecycled;
 import static io.microsphere.redis.spring.util.RedisSpringUtils.isMicrosphereRedisInterceptorEnabled;
 import static io.microsphere.spring.beans.BeanSource.BEAN_FACTORY;
 import static io.microsphere.spring.test.util.SpringTestUtils.testInSpringContainer;
@@ -126,6 +133,41 @@ class RedisSpringUtilsTest {
         assertFalse(isMicrosphereRedisInterceptorEnabled(this.environment));
     }
 
+    @Test
+    void testIsMicrosphereRedisInterceptorContextRecycled() {
+        assertFalse(isMicrosphereRedisInterceptorContextRecycled(this.environment));
+
+        this.environment.setProperty("microsphere.redis.interceptor.context-recycled", "true");
+        assertTrue(isMicrosphereRedisInterceptorContextRecycled(this.environment));
+    }
+
+    @Test
+    void testGetMicrosphereRedisInterceptorSamplingStrategy() {
+        assertSame(FIXED_RATE, getMicrosphereRedisInterceptorSamplingStrategy(this.environment));
+
+        this.environment.setProperty("microsphere.redis.interceptor.sampling.strategy", "probabilistic");
+        assertSame(PROBABILISTIC, getMicrosphereRedisInterceptorSamplingStrategy(this.environment));
+    }
+
+    @Test
+    void testGetMicrosphereRedisInterceptorSamplingRate() {
+        assertEquals(1.0, getMicrosphereRedisInterceptorSamplingRate(this.environment));
+
+        this.environment.setProperty("microsphere.redis.interceptor.sampling.rate", "0.1");
+        assertEquals(0.1, getMicrosphereRedisInterceptorSamplingRate(this.environment));
+    }
+
+    @Test
+    void testGetMicrosphereRedisInterceptorSamplingCommandRates() {
+        assertTrue(getMicrosphereRedisInterceptorSamplingCommandRates(this.environment).isEmpty());
+
+        this.environment.setProperty("microsphere.redis.interceptor.sampling.command-rates", "get=0.01, HGETALL = 0.1,SET,DEL=x,=1");
+        Map<String, Double> commandRates = getMicrosphereRedisInterceptorSamplingCommandRates(this.environment);
+        assertEquals(2, commandRates.size());
+        assertEquals(0.01, commandRates.get("GET"));
+        assertEquals(0.1, commandRates.get("HGETALL"));
+    }
+
     @Test
     void testGetWrappedRedisTemplateBeanNames() {
         DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
@@ -17,6 +17,8 @@
 
 package io.microsphere.redis.spring.util;
 
+import io.microsphere.redis.metadata.MethodInfo;
+import io.microsphere.redis.metadata.Parameter;
 import io.microsphere.redis.metadata.ParameterMetadata;
 import io.microsphere.redis.spring.config.RedisContextConfig;
 import io.microsphere.redis.spring.context.RedisContext;
@@ -25,6 +27,7 @@ import io.microsphere.redis.spring.interceptor.RedisMethodContext;
 import io.microsphere.redis.spring.test.config.RedisConfig;
 import io.microsphere.redis.util.RawValue;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
 import org.springframework.data.redis.connection.DefaultStringRedisConnection;
 import org.springframework.data.redis.connection.DefaultedRedisClusterConnection;
 import org.springframework.data.redis.connection.DefaultedRedisConnection;
@@ -39,9 +42,12 @@ import org.springframework.data.redis.connection.ReactiveScriptingCommands;
 import org.springframework.data.redis.connection.ReactiveServerCommands;
 import org.springframework.data.redis.connection.ReactiveSetCommands;
 import org.springframework.data.redis.connection.ReactiveStreamCommands;
+import org.springframework.data.redis.connection.ReactiveStringCommands;
 import org.springframework.data.redis.connection.ReactiveZSetCommands;
 import org.springframework.data.redis.connection.RedisClusterCommands;
 import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisClusterServerCommands;
 import org.springframework.data.redis.connection.RedisCommands;
 import org.springframework.data.redis.connection.RedisCommandsProvider;
 import org.springframework.data.redis.connection.RedisConnection;
@@ -64,11 +70,18 @@ import org.springframework.data.redis.connection.RedisZSetCommands;
 import org.springframework.data.redis.connection.StringRedisConnection;
 
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
 
 import static io.microsphere.redis.spring.context.RedisContext.get;
+import static io.microsphere.redis.spring.metadata.SpringRedisMetadataRepository.getRedisMethodInvoker;
+import static io.microsphere.redis.spring.serializer.Serializers.serialize;
 import static io.microsphere.redis.spring.test.AbstractRedisTest.SET_METHOD;
 import static io.microsphere.redis.spring.test.AbstractRedisTest.SET_METHOD_ARGS;
 import static io.microsphere.redis.spring.test.AbstractRedisTest.SOURCE_BEAN_NAME_FOR_REDIS_TEMPLATE;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.NO_PARAMETER_INDEX;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.NO_SLOT;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.REACTIVE_COMMANDS_INTERFACE_NAME_PREFIX;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.REDIS_COMMANDS_EXECUTE_METHOD;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.REDIS_COMMANDS_INTERFACE_NAME;
@@ -91,22 +104,38 @@ import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.REDIS_STR
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.REDIS_TX_COMMANDS_INTERFACE_NAME;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.REDIS_ZSET_COMMANDS_INTERFACE_NAME;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.buildCommandMethodId;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.calculateSlot;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.getRedisCommands;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.initializeParameters;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isBlockingParameterType;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isReactiveRedisCommandsInterface;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isRedisCommandsExecuteMethod;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.isRedisCommandsInterface;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.loadClasses;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.newParameter;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveBlockingInterfaceName;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveInterfaceName;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveKeyParameterIndex;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveNodeParameterIndex;
 import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveSimpleInterfaceName;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.resolveSingleKeyParameterIndex;
+import static io.microsphere.redis.spring.util.SpringRedisCommandUtils.toBlockingRedisCommandArgs;
 import static io.microsphere.redis.util.RedisCommandUtils.buildMethodId;
 import static io.microsphere.reflect.MethodUtils.findMethod;
 import static io.microsphere.spring.test.util.SpringTestUtils.testInSpringContainer;
 import static io.microsphere.util.ArrayUtils.EMPTY_OBJECT_ARRAY;
+import static io.microsphere.util.ArrayUtils.ofArray;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Stream.of;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -250,6 +279,104 @@ class SpringRedisCommandUtilsTest {
         assertFalse(isRedisCommandsInterface(Object.class));
     }
 
+    @Test
+    void testIsReactiveRedisCommandsInterface() {
+        assertTrue(isReactiveRedisCommandsInterface(ReactiveKeyCommands.class.getName()));
+        assertTrue(isReactiveRedisCommandsInterface(ReactiveStringCommands.class.getName()));
+        assertFalse(isReactiveRedisCommandsInterface(REDIS_STRING_COMMANDS_INTERFACE_NAME));
+        assertFalse(isReactiveRedisCommandsInterface("ReactiveStringCommands"));
+    }
+
+    @Test
+    void testResolveBlockingInterfaceName() {
+        assertEquals(REDIS_KEY_COMMANDS_INTERFACE_NAME, resolveBlockingInterfaceName(ReactiveKeyCommands.class.getName()));
+        assertEquals(REDIS_STRING_COMMANDS_INTERFACE_NAME, resolveBlockingInterfaceName(ReactiveStringCommands.class.getName()));
+        assertEquals(REDIS_ZSET_COMMANDS_INTERFACE_NAME, resolveBlockingInterfaceName(ReactiveZSetCommands.class.getName()));
+        assertNull(resolveBlockingInterfaceName(REDIS_STRING_COMMANDS_INTERFACE_NAME));
+    }
+
+    @Test
+    void testIsBlockingParameterType() {
+        assertTrue(isBlockingParameterType(long.class, long.class));
+        assertTrue(isBlockingParameterType(ByteBuffer.class, byte[].class));
+        assertTrue(isBlockingParameterType(ByteBuffer.class, byte[][].class));
+        assertTrue(isBlockingParameterType(List.class, byte[][].class));
+        assertFalse(isBlockingParameterType(ByteBuffer.class, String.class));
+        assertFalse(isBlockingParameterType(List.class, byte[].class));
+        assertFalse(isBlockingParameterType(String.class, byte[].class));
+    }
+
+    @Test
+    void testToBlockingRedisCommandArgs() {
+        byte[] key = "key".getBytes(UTF_8);
+        byte[] value = "value".getBytes(UTF_8);
+
+        Object[] args = toBlockingRedisCommandArgs(SET_METHOD, ofArray(wrap(key), wrap(value)));
+        assertArrayEquals(key, (byte[]) args[0]);
+        assertArrayEquals(value, (byte[]) args[1]);
+
+        Method delMethod = findMethod(RedisKeyCommands.class, "del", byte[][].class);
+        args = toBlockingRedisCommandArgs(delMethod, ofArray(wrap(key)));
+        assertArrayEquals(key, ((byte[][]) args[0])[0]);
+
+        args = toBlockingRedisCommandArgs(delMethod, ofArray(asList(wrap(key), wrap(value))));
+        assertArrayEquals(key, ((byte[][]) args[0])[0]);
+        assertArrayEquals(value, ((byte[][]) args[0])[1]);
+
+        Method mSetMethod = findMethod(RedisStringCommands.class, "mSet", Map.class);
+        args = toBlockingRedisCommandArgs(mSetMethod, ofArray(singletonMap(wrap(key), wrap(value))));
+        Map.Entry<?, ?> entry = ((Map<?, ?>) args[0]).entrySet().iterator().next();
+        assertArrayEquals(key, (byte[]) entry.getKey());
+        assertArrayEquals(value, (byte[]) entry.getValue());
+    }
+
+    @Test
+    void testResolveKeyParameterIndex() {
+        assertEquals(0, resolveKeyParameterIndex(methodInfo(SET_METHOD)));
+        assertEquals(0, resolveKeyParameterIndex(methodInfo(findMethod(RedisKeyCommands.class, "del", byte[][].class))));
+        // RedisKeyCommands#rename(byte[] oldKey, byte[] newKey)
+        assertEquals(0, resolveKeyParameterIndex(methodInfo(findMethod(RedisKeyCommands.class, "rename", byte[].class, byte[].class))));
+        assertEquals(NO_PARAMETER_INDEX, resolveKeyParameterIndex(methodInfo(findMethod(RedisServerCommands.class, "dbSize"))));
+        assertEquals(NO_PARAMETER_INDEX, resolveKeyParameterIndex(null));
+    }
+
+    @Test
+    void testResolveSingleKeyParameterIndex() {
+        assertEquals(0, resolveSingleKeyParameterIndex(methodInfo(SET_METHOD)));
+        assertEquals(0, resolveSingleKeyParameterIndex(methodInfo(findMethod(RedisStringCommands.class, "incr", byte[].class))));
+        assertEquals(NO_PARAMETER_INDEX, resolveSingleKeyParameterIndex(methodInfo(findMethod(RedisKeyCommands.class, "del", byte[][].class))));
+        assertEquals(NO_PARAMETER_INDEX, resolveSingleKeyParameterIndex(methodInfo(findMethod(RedisKeyCommands.class, "rename", byte[].class, byte[].class))));
+        assertEquals(NO_PARAMETER_INDEX, resolveSingleKeyParameterIndex(methodInfo(findMethod(RedisServerCommands.class, "dbSize"))));
+        assertEquals(NO_PARAMETER_INDEX, resolveSingleKeyParameterIndex(null));
+    }
+
+    MethodInfo methodInfo(Method method) {
+        return getRedisMethodInvoker(method).getMethodInfo();
+    }
+
+    @Test
+    void testResolveNodeParameterIndex() {
+        assertEquals(0, resolveNodeParameterIndex(findMethod(RedisClusterServerCommands.class, "flushDb", RedisClusterNode.class)));
+        assertEquals(NO_PARAMETER_INDEX, resolveNodeParameterIndex(SET_METHOD));
+    }
+
+    @Test
+    void testCalculateSlot() {
+        byte[] key = "key".getBytes(UTF_8);
+        int slot = ClusterSlotHashUtil.calculateSlot(key);
+        assertEquals(slot, calculateSlot(key));
+        assertEquals(slot, calculateSlot(wrap(key)));
+        assertEquals(slot, calculateSlot(new byte[][]{key, "another-key".getBytes(UTF_8)}));
+        assertEquals(slot, calculateSlot(asList(wrap(key))));
+        // The hash tags
+        assertEquals(calculateSlot("{user}:1".getBytes(UTF_8)), calculateSlot("{user}:2".getBytes(UTF_8)));
+
+        assertEquals(NO_SLOT, calculateSlot(null));
+        assertEquals(NO_SLOT, calculateSlot(new byte[0][]));
+        assertEquals(NO_SLOT, calculateSlot(emptyList()));
+        assertEquals(NO_SLOT, calculateSlot("key"));
+    }
+
     @Test
     void testGetRedisCommands() {
         testInSpringContainer(context -> {
@@ -289,6 +416,22 @@ class SpringRedisCommandUtilsTest {
         }, RedisContextConfig.class);
     }
 
+    @Test
+    void testNewParameter() {
+        ParameterMetadata metadata = new ParameterMetadata(0, "[B", "key");
+        byte[] key = "key".getBytes();
+        Parameter parameter = newParameter(key, metadata);
+        assertTrue(parameter.isRawValueResolved());
+        assertSame(key, parameter.getRawValue());
+
+        byte[][] keys = new byte[][]{key};
+        metadata = new ParameterMetadata(0, "[[B", "keys");
+        parameter = newParameter(keys, metadata);
+        assertFalse(parameter.isRawValueResolved());
+        assertArrayEquals(serialize(keys, byte[][].class), parameter.getRawValue());
+        assertTrue(parameter.isRawValueResolved());
+    }
+
     @Test
     void testInitializeParameters() {
         assertTrue(initializeParameters(SET_METHOD, SET_METHOD_ARGS, (parameter, integer) -> {
@@ -298,7 +441,9 @@ class SpringRedisCommandUtilsTest {
             assertEquals(index == 0 ? "key" : "value", metadata.getParameterName());
             assertEquals("[B", metadata.getParameterType());
         }, (parameter, integer) -> {
-            assertArrayEquals((byte[]) parameter.getValue(), parameter.getRawValue());
+            // byte[] value is used as the raw value without copying
+            assertTrue(parameter.isRawValueResolved());
+            assertSame(parameter.getValue(), parameter.getRawValue());
         }));
 
         assertTrue(initializeParameters(SET_METHOD, SET_METHOD_ARGS, (parameter, integer) -> {